@@ -8,17 +8,16 @@ import io.netty.bootstrap.ServerBootstrap
 import io.netty.channel.Channel
 import io.netty.channel.ChannelFuture
 import io.netty.channel.EventLoopGroup
-import io.netty.channel.nio.NioEventLoopGroup
-import io.netty.channel.socket.nio.NioDatagramChannel
 import org.cloudburstmc.netty.channel.raknet.RakChannelFactory
+import org.cloudburstmc.netty.channel.raknet.RakTransport
 import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption
-import org.cloudburstmc.netty.handler.codec.raknet.server.RakServerRateLimiter
+import org.cloudburstmc.netty.channel.raknet.telemetry.RakTelemetry
 import org.cloudburstmc.protocol.bedrock.BedrockPeer
 import org.cloudburstmc.protocol.bedrock.BedrockPong
 import org.cloudburstmc.protocol.bedrock.PacketDirection
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecRegistry
 import org.cloudburstmc.protocol.bedrock.codec.v786.Bedrock_v786
-import org.cloudburstmc.protocol.bedrock.codec.v818.Bedrock_v818
 import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockChannelInitializer
 import kotlin.random.Random
 
@@ -28,7 +27,8 @@ class LuminaRelay(
 ) {
 
     companion object {
-        val DefaultCodec: BedrockCodec = Bedrock_v818.CODEC
+        // Resolved on first use, initializing the codec chain is a noticeable part of the cold start
+        val DefaultCodec: BedrockCodec by lazy { BedrockCodecRegistry.getCodec(818)!! }
 
         
         init {
@@ -49,7 +49,15 @@ class LuminaRelay(
     private var channelFuture: ChannelFuture? = null
     private var luminaRelaySession: LuminaRelaySession? = null
     private var remoteAddress: LuminaAddress? = null
-    private val eventLoopGroup: EventLoopGroup = NioEventLoopGroup()
+    private val transport: RakTransport = RakTransport.best()
+    private val eventLoopGroup: EventLoopGroup = transport.newEventLoopGroup()
+
+    // Round trip, queueing and loss statistics of both legs of the relay; off unless set before capture, e.g. with an
+    // exporter started through RakTelemetry.dumpTo
+    var telemetry: RakTelemetry? = null
+
+    // Reuses high-rate packets such as PlayerAuthInputPacket; listeners must not keep or resend decoded packets
+    var packetRecycling: Boolean = false
 
     fun capture(
         remoteAddress: LuminaAddress = LuminaAddress(getNativeRemoteIp(), getNativeRemotePort()),
@@ -67,9 +75,11 @@ class LuminaRelay(
 
         ServerBootstrap()
             .group(eventLoopGroup)
-            .channelFactory(RakChannelFactory.server(NioDatagramChannel::class.java))
+            .channelFactory(RakChannelFactory.server(transport))
             .option(RakChannelOption.RAK_ADVERTISEMENT, advertisement.toByteBuf())
             .option(RakChannelOption.RAK_GUID, Random.nextLong())
+            // The game sends bursts while joining, allow them but keep the limiter for anyone else on the network
+            .option(RakChannelOption.RAK_PACKET_BURST, 1024)
             .childHandler(object : BedrockChannelInitializer<LuminaRelaySession.ServerSession>() {
                 override fun createSession0(peer: BedrockPeer, subClientId: Int): LuminaRelaySession.ServerSession {
                     return LuminaRelaySession(peer, subClientId, this@LuminaRelay)
@@ -83,6 +93,7 @@ class LuminaRelay(
                 override fun initSession(session: LuminaRelaySession.ServerSession) {}
                 override fun preInitChannel(channel: Channel) {
                     channel.attr(PacketDirection.ATTRIBUTE).set(PacketDirection.CLIENT_BOUND)
+                    telemetry?.attach(channel)
                     super.preInitChannel(channel)
                 }
             })
@@ -90,7 +101,6 @@ class LuminaRelay(
             .bind()
             .awaitUninterruptibly()
             .also {
-                it.channel().pipeline().remove(RakServerRateLimiter.NAME)
                 channelFuture = it
             }
 
@@ -102,7 +112,7 @@ class LuminaRelay(
 
         Bootstrap()
             .group(eventLoopGroup)
-            .channelFactory(RakChannelFactory.client(NioDatagramChannel::class.java))
+            .channelFactory(RakChannelFactory.client(transport))
             .option(RakChannelOption.RAK_PROTOCOL_VERSION, luminaRelaySession!!.server.codec.raknetProtocolVersion)
             .option(RakChannelOption.RAK_GUID, clientGUID)
             .option(RakChannelOption.RAK_REMOTE_GUID, clientGUID)
@@ -119,6 +129,7 @@ class LuminaRelay(
 
                 override fun preInitChannel(channel: Channel) {
                     channel.attr(PacketDirection.ATTRIBUTE).set(PacketDirection.SERVER_BOUND)
+                    telemetry?.attach(channel)
                     super.preInitChannel(channel)
                 }
             })
@@ -6,14 +6,19 @@ import io.netty.util.internal.PlatformDependent
 import org.cloudburstmc.protocol.bedrock.BedrockClientSession
 import org.cloudburstmc.protocol.bedrock.BedrockPeer
 import org.cloudburstmc.protocol.bedrock.BedrockServerSession
+import org.cloudburstmc.protocol.bedrock.BedrockSession
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper
 import org.cloudburstmc.protocol.bedrock.netty.BedrockPacketWrapper
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 import org.cloudburstmc.protocol.bedrock.packet.UnknownPacket
 import java.util.Queue
+import java.util.concurrent.ConcurrentHashMap
 
 class LuminaRelaySession(peer: BedrockPeer, subClientId: Int, val luminaRelay: LuminaRelay) {
     val server = ServerSession(peer, subClientId)
-    val listeners: MutableList<LuminaRelayPacketListener> = ArrayList()
+    private val listenerList = ListenerList()
+    val listeners: MutableList<LuminaRelayPacketListener>
+        get() = listenerList
     private val packetQueue: Queue<Pair<BedrockPacket, Boolean>> = PlatformDependent.newMpscQueue()
 
     var client: ClientSession? = null
@@ -34,14 +39,34 @@ class LuminaRelaySession(peer: BedrockPeer, subClientId: Int, val luminaRelay: L
             field = value
         }
 
-    fun clientBound(packet: BedrockPacket) = server.sendPacket(packet)
-    fun clientBoundImmediately(packet: BedrockPacket) = server.sendPacketImmediately(packet)
+    private val clientBoundBatch = BatchRelay({ client?.peer }, { server.peer }, ::forwardClientBound)
+    private val serverBoundBatch = BatchRelay({ server.peer }, { client?.peer }, ::forwardServerBound)
 
-    fun serverBound(packet: BedrockPacket) =
-        client?.sendPacket(packet) ?: packetQueue.add(packet to false)
+    fun clientBound(packet: BedrockPacket) {
+        clientBoundBatch.interrupt()
+        server.sendPacket(packet)
+    }
+
+    fun clientBoundImmediately(packet: BedrockPacket) {
+        clientBoundBatch.interrupt()
+        server.sendPacketImmediately(packet)
+    }
 
-    fun serverBoundImmediately(packet: BedrockPacket) =
+    fun serverBound(packet: BedrockPacket) {
+        serverBoundBatch.interrupt()
+        forwardServerBound(packet)
+    }
+
+    fun serverBoundImmediately(packet: BedrockPacket) {
+        serverBoundBatch.interrupt()
         client?.sendPacketImmediately(packet) ?: packetQueue.add(packet to true)
+    }
+
+    private fun forwardClientBound(packet: BedrockPacket) = server.sendPacket(packet)
+
+    private fun forwardServerBound(packet: BedrockPacket) {
+        client?.sendPacket(packet) ?: packetQueue.add(packet to false)
+    }
 
     private fun createDisconnectHandler(isServer: Boolean) = SessionCloseHandler { reason ->
         println("${if (isServer) "Server" else "Client"} disconnect: $reason")
@@ -51,45 +76,210 @@ class LuminaRelaySession(peer: BedrockPeer, subClientId: Int, val luminaRelay: L
         }
     }
 
-    private fun processPacket(wrapper: BedrockPacketWrapper,
-                              beforeFunc: (LuminaRelayPacketListener) -> Boolean,
-                              sendFunc: (BedrockPacket) -> Unit,
-                              afterFunc: (LuminaRelayPacketListener) -> Unit) {
-        listeners.forEach {
-            runCatching { if (beforeFunc(it)) return }
-                .onFailure { println("Before packet error: ${it.stackTraceToString()}") }
+    @Volatile
+    private var dispatch = ListenerDispatch(-1, emptyArray())
+
+    private fun interestedListeners(session: BedrockSession, wrapper: BedrockPacketWrapper): Array<LuminaRelayPacketListener> {
+        val packetClass = wrapper.packet?.javaClass
+            ?: session.codec.getPacketDefinition(wrapper.packetId)?.packetClass
+            ?: UnknownPacket::class.java
+
+        var current = dispatch
+        val version = listenerList.version
+        if (!current.isCurrent(version)) {
+            current = ListenerDispatch(version, listenerList.toTypedArray())
+            dispatch = current
+        }
+        return current.listenersFor(packetClass)
+    }
+
+    private fun processPacket(session: BedrockSession,
+                              wrapper: BedrockPacketWrapper,
+                              beforeFunc: (LuminaRelayPacketListener, BedrockPacket) -> Boolean,
+                              batch: BatchRelay,
+                              afterFunc: (LuminaRelayPacketListener, BedrockPacket) -> Unit) {
+        val interested = interestedListeners(session, wrapper)
+        val packet = if (interested.isEmpty()) null else wrapper.packet ?: session.peer.decodePacket(wrapper)
+
+        if (packet != null) {
+            interested.forEach {
+                runCatching {
+                    if (beforeFunc(it, packet)) {
+                        batch.interrupt()
+                        return
+                    }
+                }.onFailure { println("Before packet error: ${it.stackTraceToString()}") }
+            }
         }
 
-        UnknownPacket().apply {
+        batch.forward(wrapper, UnknownPacket().apply {
             payload = wrapper.packetBuffer.retainedSlice().skipBytes(wrapper.headerLength)
             packetId = wrapper.packetId
-        }.let(sendFunc)
+        })
+
+        if (packet != null) {
+            interested.forEach {
+                runCatching { afterFunc(it, packet) }
+                    .onFailure { println("After packet error: ${it.stackTraceToString()}") }
+            }
+        }
+    }
+
+    /**
+     * Listener list whose structural changes and replacements can be detected through [version].
+     */
+    private class ListenerList : ArrayList<LuminaRelayPacketListener>() {
+        val version: Int
+            get() = modCount
 
-        listeners.forEach {
-            runCatching { afterFunc(it) }
-                .onFailure { println("After packet error: ${it.stackTraceToString()}") }
+        override fun set(index: Int, element: LuminaRelayPacketListener): LuminaRelayPacketListener {
+            modCount++
+            return super.set(index, element)
+        }
+    }
+
+    /**
+     * Listeners interested in each packet class, built for one version of [listeners] and the interest sets their
+     * listeners had at that time. Listeners return the same set instance while their interest is unchanged.
+     */
+    private class ListenerDispatch(private val version: Int, private val listeners: Array<LuminaRelayPacketListener>) {
+        private val interests = Array(listeners.size) { listeners[it].interestedPackets }
+        private val byPacket = ConcurrentHashMap<Class<out BedrockPacket>, Array<LuminaRelayPacketListener>>()
+
+        fun isCurrent(version: Int): Boolean {
+            if (version != this.version) return false
+            for (i in listeners.indices) {
+                if (listeners[i].interestedPackets !== interests[i]) return false
+            }
+            return true
+        }
+
+        fun listenersFor(packetClass: Class<out BedrockPacket>): Array<LuminaRelayPacketListener> {
+            return byPacket.computeIfAbsent(packetClass) {
+                listeners.indices
+                    .filter { interests[it]?.contains(packetClass) ?: true }
+                    .map { listeners[it] }
+                    .toTypedArray()
+            }
+        }
+    }
+
+    /**
+     * Forwards an inbound batch in its compressed form when every packet in it is relayed untouched.
+     * Packets are held back until the batch ends; a dropped or injected packet releases them individually instead.
+     * Listener changes to decoded packets are never forwarded, so they do not affect the batch.
+     */
+    private inner class BatchRelay(
+        private val source: () -> BedrockPeer?,
+        private val target: () -> BedrockPeer?,
+        private val send: (BedrockPacket) -> Unit
+    ) {
+        private var batch: BedrockBatchWrapper? = null
+        private val deferred = ArrayList<UnknownPacket>()
+        private var intact = false
+        private var relayedBytes = 0
+
+        fun start(batch: BedrockBatchWrapper) {
+            this.batch = batch.retain()
+            intact = true
+            relayedBytes = 0
+        }
+
+        fun forward(wrapper: BedrockPacketWrapper, packet: UnknownPacket) {
+            if (batch != null && intact) {
+                val length = wrapper.packetBuffer.readableBytes()
+                relayedBytes += varIntSize(length) + length
+                deferred.add(packet)
+            } else {
+                send(packet)
+            }
+        }
+
+        fun interrupt() {
+            // Batches are only tracked on the source event loop, other threads cannot interleave with one
+            if (batch == null || !intact || source()?.channel?.eventLoop()?.inEventLoop() != true) {
+                return
+            }
+            intact = false
+            sendDeferred()
+        }
+
+        fun end(batch: BedrockBatchWrapper) {
+            try {
+                val passedThrough = intact && relayedBytes == batch.uncompressed.readableBytes() &&
+                        target()?.sendBatch(batch) == true
+                if (passedThrough) {
+                    deferred.forEach { it.release() }
+                    deferred.clear()
+                } else {
+                    sendDeferred()
+                }
+            } finally {
+                this.batch = null
+                intact = false
+                batch.release()
+            }
+        }
+
+        private fun sendDeferred() {
+            deferred.forEach(send)
+            deferred.clear()
         }
     }
 
     inner class ServerSession(peer: BedrockPeer, subClientId: Int) : BedrockServerSession(peer, subClientId) {
-        init { packetHandler = createDisconnectHandler(false) }
+        init {
+            packetHandler = createDisconnectHandler(false)
+            peer.isLazyDecoding = true
+            peer.isPacketRecycling = luminaRelay.packetRecycling
+            peer.isWriteThrough = true
+            peer.setBatchTracking(true)
+        }
+
+        override fun onReadComplete() {
+            client?.peer?.flush()
+        }
+
+        override fun onBatchStart(batch: BedrockBatchWrapper) = serverBoundBatch.start(batch)
+
+        override fun onBatchEnd(batch: BedrockBatchWrapper) = serverBoundBatch.end(batch)
 
         override fun onPacket(wrapper: BedrockPacketWrapper) = processPacket(
+            this,
             wrapper,
-            { it.beforeClientBound(wrapper.packet) },
-            ::serverBound,
-            { it.afterClientBound(wrapper.packet) }
+            { listener, packet -> listener.beforeClientBound(packet) },
+            serverBoundBatch,
+            { listener, packet -> listener.afterClientBound(packet) }
         )
     }
 
     inner class ClientSession(peer: BedrockPeer, subClientId: Int) : BedrockClientSession(peer, subClientId) {
-        init { packetHandler = createDisconnectHandler(true) }
+        init {
+            packetHandler = createDisconnectHandler(true)
+            peer.isLazyDecoding = true
+            peer.isPacketRecycling = luminaRelay.packetRecycling
+            peer.isWriteThrough = true
+            peer.setBatchTracking(true)
+        }
+
+        override fun onReadComplete() {
+            server.peer.flush()
+        }
+
+        override fun onBatchStart(batch: BedrockBatchWrapper) = clientBoundBatch.start(batch)
+
+        override fun onBatchEnd(batch: BedrockBatchWrapper) = clientBoundBatch.end(batch)
 
         override fun onPacket(wrapper: BedrockPacketWrapper) = processPacket(
+            this,
             wrapper,
-            { it.beforeServerBound(wrapper.packet) },
-            ::clientBound,
-            { it.afterServerBound(wrapper.packet) }
+            { listener, packet -> listener.beforeServerBound(packet) },
+            clientBoundBatch,
+            { listener, packet -> listener.afterServerBound(packet) }
         )
     }
+
+    private companion object {
+        fun varIntSize(value: Int): Int = (38 - Integer.numberOfLeadingZeros(value or 1)) / 7
+    }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package com.project.lumina.relay.listener
 import com.project.lumina.relay.LuminaRelaySession
 import com.project.lumina.relay.definition.Definitions
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecRegistry
 import org.cloudburstmc.protocol.bedrock.codec.v729.serializer.InventoryContentSerializer_v729
 import org.cloudburstmc.protocol.bedrock.codec.v729.serializer.InventorySlotSerializer_v729
 import org.cloudburstmc.protocol.bedrock.data.EncodingSettings
 import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.AdaptiveCompressionStrategy
 import org.cloudburstmc.protocol.bedrock.packet.*
 
 @Suppress("MemberVisibilityCanBePrivate")
@@ -16,13 +18,12 @@ class AutoCodecPacketListener(
 ) : LuminaRelayPacketListener {
 
     companion object {
-        init {
-            System.loadLibrary("lunaris")
-        }
-
-        @JvmStatic external fun pickProtocolCodec(protocolVersion: Int): BedrockCodec
+        private const val PREFIXED_COMPRESSION_VERSION = 649
     }
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> =
+        setOf(RequestNetworkSettingsPacket::class.java)
+
     private fun patchCodecIfNeeded(codec: BedrockCodec): BedrockCodec {
         return if (patchCodec && codec.protocolVersion > 729) {
             codec.toBuilder()
@@ -37,7 +38,7 @@ class AutoCodecPacketListener(
     override fun beforeClientBound(packet: BedrockPacket): Boolean {
         if (packet is RequestNetworkSettingsPacket) {
             val protocolVersion = packet.protocolVersion
-            val bedrockCodec = patchCodecIfNeeded(pickProtocolCodec(protocolVersion))
+            val bedrockCodec = patchCodecIfNeeded(BedrockCodecRegistry.resolve(protocolVersion))
             luminaRelaySession.server.codec = bedrockCodec
             luminaRelaySession.server.peer.codecHelper.apply {
                 itemDefinitions = Definitions.itemDefinitions
@@ -52,12 +53,16 @@ class AutoCodecPacketListener(
                     .build()
             }
 
+            // The client is on the same device, so compression only costs latency. Batches can only be sent
+            // uncompressed once they carry a compression header.
             val networkSettingsPacket = NetworkSettingsPacket()
-            networkSettingsPacket.compressionThreshold = 0
+            networkSettingsPacket.compressionThreshold =
+                if (protocolVersion >= PREFIXED_COMPRESSION_VERSION) AdaptiveCompressionStrategy.LOOPBACK_THRESHOLD else 0
             networkSettingsPacket.compressionAlgorithm = PacketCompressionAlgorithm.ZLIB
 
             luminaRelaySession.clientBoundImmediately(networkSettingsPacket)
-            luminaRelaySession.server.setCompression(PacketCompressionAlgorithm.ZLIB)
+            val peer = luminaRelaySession.server.peer
+            peer.setCompression(AdaptiveCompressionStrategy.loopback(peer.rakVersion > 9))
             return true
         }
         return false
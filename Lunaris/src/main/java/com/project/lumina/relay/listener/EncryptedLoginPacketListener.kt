@@ -8,6 +8,7 @@ import com.project.lumina.relay.util.jwtPayload
 import com.project.lumina.relay.util.signJWT
 import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm
 import org.cloudburstmc.protocol.bedrock.data.auth.CertificateChainPayload
+import org.cloudburstmc.protocol.bedrock.netty.codec.compression.AdaptiveCompressionStrategy
 import org.cloudburstmc.protocol.bedrock.packet.*
 import org.cloudburstmc.protocol.bedrock.util.EncryptionUtils
 import java.security.KeyPair
@@ -21,6 +22,12 @@ open class EncryptedLoginPacketListener : LuminaRelayPacketListener {
 
     lateinit var luminaRelaySession: LuminaRelaySession
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = setOf(
+        LoginPacket::class.java,
+        NetworkSettingsPacket::class.java,
+        ServerToClientHandshakePacket::class.java
+    )
+
     override fun beforeClientBound(packet: BedrockPacket): Boolean {
         if (packet is LoginPacket) {
             var newChain: String? = null
@@ -53,7 +60,12 @@ open class EncryptedLoginPacketListener : LuminaRelayPacketListener {
             is NetworkSettingsPacket -> {
                 val threshold = packet.compressionThreshold
                 if (threshold > 0) {
-                    luminaRelaySession.client!!.setCompression(packet.compressionAlgorithm)
+                    val peer = luminaRelaySession.client!!.peer
+                    if (packet.compressionAlgorithm == PacketCompressionAlgorithm.ZLIB) {
+                        peer.setCompression(AdaptiveCompressionStrategy.remote(peer.rakVersion > 9, threshold))
+                    } else {
+                        peer.setCompression(packet.compressionAlgorithm)
+                    }
                     println("Compression threshold set to $threshold")
                 } else {
                     luminaRelaySession.client!!.setCompression(PacketCompressionAlgorithm.NONE)
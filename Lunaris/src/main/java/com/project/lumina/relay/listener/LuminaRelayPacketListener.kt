@@ -4,6 +4,14 @@ import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 interface LuminaRelayPacketListener {
 
+    /**
+     * Packet classes this listener inspects, or null to receive every packet.
+     * Packets no listener is interested in are relayed without being decoded.
+     * The relay caches its dispatch per returned instance, so return the same set while the interest is unchanged.
+     */
+    val interestedPackets: Set<Class<out BedrockPacket>>?
+        get() = null
+
     fun beforeClientBound(packet: BedrockPacket): Boolean {
         return false
     }
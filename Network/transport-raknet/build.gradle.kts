@@ -23,7 +23,8 @@ plugins {
 dependencies {
     api(libs.bundles.netty)
     api(libs.expiringmap)
-    implementation("io.netty:netty-transport-native-epoll:4.1.107.Final:linux-x86_64")
-    implementation("io.netty:netty-transport-native-epoll:4.1.107.Final:linux-aarch_64")
+    implementation(libs.netty.transport.classes.epoll)
+    implementation(variantOf(libs.netty.transport.native.epoll) { classifier("linux-x86_64") })
+    implementation(variantOf(libs.netty.transport.native.epoll) { classifier("linux-aarch_64") })
     testImplementation(libs.bundles.junit.jupiter)
 }
\ No newline at end of file
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.channel.raknet;
+
+import static org.cloudburstmc.netty.channel.raknet.RakConstants.CC_ADDITIONAL_VARIANCE;
+import static org.cloudburstmc.netty.channel.raknet.RakConstants.CC_MAXIMUM_THRESHOLD;
+
+import org.cloudburstmc.netty.channel.raknet.packet.RakDatagramPacket;
+
+/**
+ * Delay based {@link RakCongestionControl} modelled after BBR.
+ * <p>
+ * Instead of reacting to loss, the controller estimates the bottleneck bandwidth as the highest delivery rate seen
+ * over the last rounds and the propagation delay as the lowest round trip time seen over the last seconds. New
+ * datagrams are paced at the estimated bandwidth and the bytes in flight are limited to a small multiple of the
+ * bandwidth-delay product, so random loss on wireless links does not collapse the sending rate.
+ * <p>
+ * Only reliable datagrams are paced, unreliable datagrams are assumed to be small and infrequent.
+ */
+public class RakBbrCongestionControl implements RakCongestionControl {
+
+    private static final double HIGH_GAIN = 2.885D;
+    private static final double DRAIN_GAIN = 1.0D / HIGH_GAIN;
+    private static final double CWND_GAIN = 2.0D;
+    private static final double[] PACING_GAIN_CYCLE = {1.25D, 0.75D, 1.0D, 1.0D, 1.0D, 1.0D, 1.0D, 1.0D};
+
+    private static final int BANDWIDTH_WINDOW_ROUNDS = 10;
+    private static final long MIN_RTT_WINDOW = 10_000;
+    private static final long PROBE_RTT_DURATION = 200;
+    private static final int FULL_BANDWIDTH_ROUNDS = 3;
+    private static final double FULL_BANDWIDTH_GROWTH = 1.25D;
+    private static final int INITIAL_WINDOW_DATAGRAMS = 10;
+    private static final int MINIMUM_WINDOW_DATAGRAMS = 4;
+    private static final long MAXIMUM_BURST_TIME = 20;
+    private static final int HISTORY_SIZE = 256;
+
+    private enum State {
+        STARTUP,
+        DRAIN,
+        PROBE_BW,
+        PROBE_RTT
+    }
+
+    private final int mtu;
+    private State state = State.STARTUP;
+    private double pacingGain = HIGH_GAIN;
+    private double cwndGain = HIGH_GAIN;
+    private double cwnd;
+    private int unackedBytes;
+
+    private double estimatedRTT = -1;
+    private double deviationRTT = -1;
+    private long minRTTMicros = -1;
+    private long minRTTStamp;
+    private long probeRTTDone = -1;
+
+    // Delivered byte counter at the send time of recent datagrams
+    private final long[] historyTimes = new long[HISTORY_SIZE];
+    private final long[] historyDelivered = new long[HISTORY_SIZE];
+    private int historyHead = -1;
+    private long delivered;
+
+    private final double[] bandwidthRounds = new double[BANDWIDTH_WINDOW_ROUNDS];
+    private double bottleneckBandwidth;
+    private long roundCount;
+    private long nextRoundDelivered;
+    private double fullBandwidth;
+    private int fullBandwidthCount;
+    private boolean filledPipe;
+    private int cycleIndex;
+    private long cycleStart;
+
+    private double pacingBudget;
+    private long lastPacingTime = -1;
+
+    public RakBbrCongestionControl(int mtu) {
+        this.mtu = mtu;
+        this.cwnd = mtu * INITIAL_WINDOW_DATAGRAMS;
+    }
+
+    @Override
+    public int getRetransmissionBandwidth() {
+        return this.unackedBytes;
+    }
+
+    @Override
+    public int getTransmissionBandwidth(long curTime) {
+        int window = this.getWindowBandwidth(curTime);
+        double rate = this.getPacingRate();
+        if (rate <= 0) {
+            return window; // No estimate yet, send the initial window at once
+        }
+
+        if (this.lastPacingTime != -1 && curTime > this.lastPacingTime) {
+            double maxBudget = Math.max(2.0D * this.mtu, rate * MAXIMUM_BURST_TIME);
+            this.pacingBudget = Math.min(maxBudget, this.pacingBudget + rate * (curTime - this.lastPacingTime));
+        }
+        this.lastPacingTime = curTime;
+        return Math.min(window, (int) Math.max(0, this.pacingBudget));
+    }
+
+    @Override
+    public int getWindowBandwidth(long curTime) {
+        return this.unackedBytes < this.cwnd ? (int) (this.cwnd - this.unackedBytes) : 0;
+    }
+
+    @Override
+    public void onPacketReceived(long curTime) {
+    }
+
+    @Override
+    public void onResend(long curSequenceIndex) {
+        // Loss is not a congestion signal, lost datagrams stay in flight until they are acknowledged
+    }
+
+    @Override
+    public void onNak() {
+    }
+
+    @Override
+    public void onAck(long curTime, RakDatagramPacket datagram, long rttMicros, long curSequenceIndex) {
+        int size = datagram.getSize();
+        this.unackedBytes -= size;
+        this.delivered += size;
+
+        this.updateRTT(curTime, rttMicros);
+
+        int history = this.findHistory(datagram.getSendTime());
+        if (history != -1) {
+            long priorDelivered = this.historyDelivered[history];
+            if (priorDelivered >= this.nextRoundDelivered) {
+                this.nextRoundDelivered = this.delivered;
+                this.roundCount++;
+                this.bandwidthRounds[(int) (this.roundCount % BANDWIDTH_WINDOW_ROUNDS)] = 0;
+                this.onRoundStart();
+            }
+
+            long interval = Math.max(1, curTime - this.historyTimes[history]);
+            double rate = (double) (this.delivered - priorDelivered) / interval;
+            int round = (int) (this.roundCount % BANDWIDTH_WINDOW_ROUNDS);
+            if (rate > this.bandwidthRounds[round]) {
+                this.bandwidthRounds[round] = rate;
+            }
+            this.bottleneckBandwidth = 0;
+            for (double bandwidth : this.bandwidthRounds) {
+                this.bottleneckBandwidth = Math.max(this.bottleneckBandwidth, bandwidth);
+            }
+        }
+
+        this.updateState(curTime);
+        this.updateWindow(size);
+    }
+
+    @Override
+    public void onReliableSend(RakDatagramPacket datagram) {
+        this.unackedBytes += datagram.getSize();
+        this.pacingBudget -= datagram.getSize();
+
+        long sendTime = datagram.getSendTime();
+        if (this.historyHead == -1 || this.historyTimes[this.historyHead] != sendTime) {
+            this.historyHead = (this.historyHead + 1) % HISTORY_SIZE;
+            this.historyTimes[this.historyHead] = sendTime;
+            this.historyDelivered[this.historyHead] = this.delivered;
+        }
+    }
+
+    @Override
+    public void onSendAck() {
+    }
+
+    @Override
+    @SuppressWarnings("ManualMinMaxCalculation")
+    public long getRtoForRetransmission() {
+        if (this.estimatedRTT == -1) {
+            return CC_MAXIMUM_THRESHOLD;
+        }
+
+        long threshold = (long) ((2.0D * this.estimatedRTT + 4.0D * this.deviationRTT) + CC_ADDITIONAL_VARIANCE);
+
+        return threshold > CC_MAXIMUM_THRESHOLD ? CC_MAXIMUM_THRESHOLD : threshold;
+    }
+
+    @Override
+    public double getRTT() {
+        return this.estimatedRTT;
+    }
+
+    @Override
+    public int getUnackedBytes() {
+        return this.unackedBytes;
+    }
+
+    /**
+     * @return estimated bottleneck bandwidth in bytes per millisecond, 0 until the first acknowledgement
+     */
+    public double getBottleneckBandwidth() {
+        return this.bottleneckBandwidth;
+    }
+
+    /**
+     * @return lowest round trip time of the current window or -1 until the first acknowledgement
+     */
+    public double getMinRTT() {
+        return this.minRTTMicros == -1 ? -1 : this.minRTTMicros / 1000.0D;
+    }
+
+    /**
+     * @return rate new datagrams are sent at in bytes per millisecond
+     */
+    @Override
+    public double getPacingRate() {
+        return this.pacingGain * this.bottleneckBandwidth;
+    }
+
+    @Override
+    public int getCongestionWindow() {
+        return (int) this.cwnd;
+    }
+
+    private void updateRTT(long curTime, long rttMicros) {
+        if (rttMicros < 0) {
+            return;
+        }
+
+        double rtt = rttMicros / 1000.0D;
+        if (this.estimatedRTT == -1) {
+            this.estimatedRTT = rtt;
+            this.deviationRTT = rtt;
+        } else {
+            double d = 0.05D;
+            double difference = rtt - this.estimatedRTT;
+            this.estimatedRTT += d * difference;
+            this.deviationRTT += d * (Math.abs(difference) - this.deviationRTT);
+        }
+
+        if (this.minRTTMicros == -1 || rttMicros <= this.minRTTMicros) {
+            this.minRTTMicros = rttMicros;
+            this.minRTTStamp = curTime;
+        }
+    }
+
+    private int findHistory(long sendTime) {
+        if (this.historyHead == -1) {
+            return -1;
+        }
+        for (int i = 0, index = this.historyHead; i < HISTORY_SIZE; i++) {
+            long time = this.historyTimes[index];
+            if (time == sendTime) {
+                return index;
+            }
+            if (time < sendTime) {
+                return -1;
+            }
+            index = index == 0 ? HISTORY_SIZE - 1 : index - 1;
+        }
+        return -1;
+    }
+
+    private void onRoundStart() {
+        if (this.filledPipe) {
+            return;
+        }
+        if (this.bottleneckBandwidth >= this.fullBandwidth * FULL_BANDWIDTH_GROWTH) {
+            this.fullBandwidth = this.bottleneckBandwidth;
+            this.fullBandwidthCount = 0;
+        } else if (++this.fullBandwidthCount >= FULL_BANDWIDTH_ROUNDS) {
+            this.filledPipe = true;
+        }
+    }
+
+    private void updateState(long curTime) {
+        switch (this.state) {
+            case STARTUP:
+                if (this.filledPipe) {
+                    this.setState(State.DRAIN, curTime);
+                }
+                break;
+            case DRAIN:
+                if (this.unackedBytes <= this.getBdp()) {
+                    this.setState(State.PROBE_BW, curTime);
+                }
+                break;
+            case PROBE_BW:
+                if (curTime - this.cycleStart > Math.max(1, this.minRTTMicros / 1000)) {
+                    this.cycleIndex = (this.cycleIndex + 1) % PACING_GAIN_CYCLE.length;
+                    this.cycleStart = curTime;
+                    this.pacingGain = PACING_GAIN_CYCLE[this.cycleIndex];
+                }
+                break;
+            case PROBE_RTT:
+                if (this.probeRTTDone == -1 && this.unackedBytes <= this.getMinimumWindow()) {
+                    this.probeRTTDone = curTime + PROBE_RTT_DURATION;
+                } else if (this.probeRTTDone != -1 && curTime >= this.probeRTTDone) {
+                    this.minRTTStamp = curTime;
+                    this.setState(this.filledPipe ? State.PROBE_BW : State.STARTUP, curTime);
+                }
+                return;
+        }
+
+        if (curTime - this.minRTTStamp > MIN_RTT_WINDOW) {
+            // The path may have changed, drain the queue to measure the propagation delay again
+            this.minRTTMicros = -1;
+            this.probeRTTDone = -1;
+            this.setState(State.PROBE_RTT, curTime);
+        }
+    }
+
+    private void setState(State state, long curTime) {
+        this.state = state;
+        switch (state) {
+            case STARTUP:
+                this.pacingGain = HIGH_GAIN;
+                this.cwndGain = HIGH_GAIN;
+                break;
+            case DRAIN:
+                this.pacingGain = DRAIN_GAIN;
+                this.cwndGain = HIGH_GAIN;
+                break;
+            case PROBE_BW:
+                this.cycleIndex = 2;
+                this.cycleStart = curTime;
+                this.pacingGain = PACING_GAIN_CYCLE[this.cycleIndex];
+                this.cwndGain = CWND_GAIN;
+                break;
+            case PROBE_RTT:
+                this.pacingGain = 1.0D;
+                this.cwndGain = 1.0D;
+                break;
+        }
+    }
+
+    private void updateWindow(int ackedBytes) {
+        if (this.state == State.PROBE_RTT) {
+            this.cwnd = Math.min(this.cwnd, this.getMinimumWindow());
+            return;
+        }
+
+        double target = this.cwndGain * this.getBdp() + 2.0D * this.mtu;
+        if (this.filledPipe) {
+            this.cwnd = Math.min(this.cwnd + ackedBytes, target);
+        } else if (this.cwnd < target || this.delivered < (long) this.mtu * INITIAL_WINDOW_DATAGRAMS) {
+            this.cwnd += ackedBytes;
+        }
+        this.cwnd = Math.max(this.cwnd, this.getMinimumWindow());
+    }
+
+    private double getBdp() {
+        return this.bottleneckBandwidth * Math.max(0, this.minRTTMicros) / 1000.0D;
+    }
+
+    private int getMinimumWindow() {
+        return this.mtu * MINIMUM_WINDOW_DATAGRAMS;
+    }
+}
@@ -16,7 +16,10 @@
 
 package org.cloudburstmc.netty.channel.raknet;
 
+import java.net.SocketAddress;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -24,6 +27,8 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.ReflectiveChannelFactory;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.util.internal.StringUtil;
 
@@ -70,6 +75,45 @@ public class RakChannelFactory<T extends Channel> implements ChannelFactory<T> {
         return new RakChannelFactory<>(RakServerChannel.class, ch -> new RakServerChannel(ch, childConsumer), channelFactory, parentConsumer);
     }
 
+    public static RakChannelFactory<RakServerChannel> server(RakTransport transport) {
+        return server(transport, null, null);
+    }
+
+    /**
+     * Creates server channels on top of the datagram channel of the given transport, see {@link RakTransport#best()}.
+     * The bootstrap has to use an event loop group created by the same transport.
+     */
+    public static RakChannelFactory<RakServerChannel> server(RakTransport transport, Consumer<DatagramChannel> parentConsumer, Consumer<RakChannel> childConsumer) {
+        return server(transport.datagramChannelFactory(), configure(transport, parentConsumer), childConsumer);
+    }
+
+    public static RakChannelFactory<RakServerChannel> reusePortServer(Class<? extends EpollDatagramChannel> clazz) {
+        return reusePortServer(clazz, null, null);
+    }
+
+    public static RakChannelFactory<RakServerChannel> reusePortServer(Class<? extends EpollDatagramChannel> clazz, Consumer<DatagramChannel> parentConsumer, Consumer<RakChannel> childConsumer) {
+        return reusePortServer(new ReflectiveChannelFactory<>(clazz), parentConsumer, childConsumer);
+    }
+
+    /**
+     * Creates server channels which can be bound to the same address several times, each on its own event loop.
+     * <p>
+     * Bind the {@link io.netty.bootstrap.ServerBootstrap} once per shard. The kernel spreads remote addresses over the
+     * bound channels with SO_REUSEPORT, and each session stays on the event loop of the channel that accepted it. All
+     * channels created by the returned factory share one session table, so a datagram arriving at another shard is
+     * handed over to the owning one.
+     */
+    public static RakChannelFactory<RakServerChannel> reusePortServer(ChannelFactory<? extends EpollDatagramChannel> channelFactory, Consumer<DatagramChannel> parentConsumer, Consumer<RakChannel> childConsumer) {
+        Map<SocketAddress, RakChildChannel> childChannelMap = new ConcurrentHashMap<>();
+        Consumer<DatagramChannel> reusePortConsumer = channel -> {
+            channel.config().setOption(EpollChannelOption.SO_REUSEPORT, true);
+            if (parentConsumer != null) {
+                parentConsumer.accept(channel);
+            }
+        };
+        return new RakChannelFactory<>(RakServerChannel.class, ch -> new RakServerChannel(ch, childConsumer, childChannelMap), channelFactory, reusePortConsumer);
+    }
+
     public static RakChannelFactory<RakClientChannel> client(Class<? extends DatagramChannel> clazz) {
         return client(clazz, null);
     }
@@ -86,6 +130,28 @@ public class RakChannelFactory<T extends Channel> implements ChannelFactory<T> {
         return new RakChannelFactory<>(RakClientChannel.class, RakClientChannel::new, channelFactory, parentConsumer);
     }
 
+    public static RakChannelFactory<RakClientChannel> client(RakTransport transport) {
+        return client(transport, null);
+    }
+
+    /**
+     * Creates client channels on top of the datagram channel of the given transport, see {@link RakTransport#best()}.
+     * The bootstrap has to use an event loop group created by the same transport.
+     */
+    public static RakChannelFactory<RakClientChannel> client(RakTransport transport, Consumer<DatagramChannel> parentConsumer) {
+        return client(transport.datagramChannelFactory(), configure(transport, parentConsumer));
+    }
+
+    private static Consumer<DatagramChannel> configure(RakTransport transport, Consumer<DatagramChannel> parentConsumer) {
+        Objects.requireNonNull(transport, "transport");
+        return channel -> {
+            transport.configure(channel);
+            if (parentConsumer != null) {
+                parentConsumer.accept(channel);
+            }
+        };
+    }
+
     @Override
     public T newChannel() {
         try {
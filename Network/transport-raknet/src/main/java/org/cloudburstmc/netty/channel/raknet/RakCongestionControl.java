@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.channel.raknet;
+
+import org.cloudburstmc.netty.channel.raknet.packet.RakDatagramPacket;
+
+/**
+ * Decides how many bytes a RakNet session may have in flight and when unacknowledged datagrams are resent.
+ * <p>
+ * A new instance is created for every session through the {@link Factory} set as
+ * {@link org.cloudburstmc.netty.channel.raknet.config.RakChannelOption#RAK_CONGESTION_CONTROL}.
+ * All methods are called from the event loop of the session. Times are in milliseconds unless noted otherwise.
+ */
+public interface RakCongestionControl {
+
+    /**
+     * @return maximum number of bytes of stale datagrams to resend in one flush
+     */
+    int getRetransmissionBandwidth();
+
+    /**
+     * @return maximum number of bytes of new datagrams to send in the flush at the given time
+     */
+    int getTransmissionBandwidth(long curTime);
+
+    /**
+     * Bandwidth of new datagrams when the session paces its sends at {@link #getPacingRate()}. Implementations which
+     * pace inside {@link #getTransmissionBandwidth(long)} return their window alone here, so sends are not limited by
+     * two budgets at once.
+     *
+     * @return maximum number of bytes of new datagrams the window allows at the given time
+     */
+    default int getWindowBandwidth(long curTime) {
+        return this.getTransmissionBandwidth(curTime);
+    }
+
+    /**
+     * Called for every datagram received from the remote peer.
+     */
+    void onPacketReceived(long curTime);
+
+    /**
+     * Called once per flush in which stale datagrams were resent.
+     *
+     * @param curSequenceIndex next sequence index that will be assigned to an outgoing datagram
+     */
+    void onResend(long curSequenceIndex);
+
+    /**
+     * Called for every datagram the remote peer reported as missing.
+     */
+    void onNak();
+
+    /**
+     * Called for every reliable datagram acknowledged by the remote peer.
+     *
+     * @param rttMicros        time between the latest transmission of the datagram and its acknowledgement in
+     *                         microseconds
+     * @param curSequenceIndex next sequence index that will be assigned to an outgoing datagram
+     */
+    void onAck(long curTime, RakDatagramPacket datagram, long rttMicros, long curSequenceIndex);
+
+    /**
+     * Called when a reliable datagram is sent for the first time.
+     */
+    void onReliableSend(RakDatagramPacket datagram);
+
+    /**
+     * Called whenever acknowledgements were sent to the remote peer.
+     */
+    void onSendAck();
+
+    /**
+     * @return delay after which an unacknowledged datagram is resent
+     */
+    long getRtoForRetransmission();
+
+    /**
+     * @return smoothed round trip time or -1 if no datagram was acknowledged yet
+     */
+    double getRTT();
+
+    int getUnackedBytes();
+
+    /**
+     * Rate new datagrams are spread at when the session paces its sends.
+     *
+     * @return bytes per millisecond or 0 to send the whole window at once
+     */
+    double getPacingRate();
+
+    /**
+     * @return bytes allowed in flight or -1 if the implementation does not use a window
+     */
+    default int getCongestionWindow() {
+        return -1;
+    }
+
+    /**
+     * @return mean deviation of the round trip time or -1 if it is not tracked
+     */
+    default double getRTTDeviation() {
+        return -1;
+    }
+
+    @FunctionalInterface
+    interface Factory {
+
+        RakCongestionControl create(int mtu);
+    }
+}
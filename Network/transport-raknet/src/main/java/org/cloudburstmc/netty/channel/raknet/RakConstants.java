@@ -33,6 +33,10 @@ public class RakConstants {
      * Maximum amount of ordering channels as defined in vanilla RakNet.
      */
     public static final int MAXIMUM_ORDERING_CHANNELS = 16;
+    /**
+     * Maximum payload a split packet may carry, larger ones are dropped while being reassembled.
+     */
+    public static final int MAXIMUM_SPLIT_PACKET_SIZE = 16 * 1024 * 1024;
     /**
      * Maximum size of an {@link EncapsulatedPacket} header.
      */
@@ -57,6 +61,14 @@ public class RakConstants {
      * A number of datagram packets each address can send within one RakNet tick (10ms)
      */
     public static final int DEFAULT_PACKET_LIMIT = 120;
+    /**
+     * A number of datagram packets each address can send at once before being limited to {@link #DEFAULT_PACKET_LIMIT}.
+     */
+    public static final int DEFAULT_PACKET_BURST = 240;
+    /**
+     * Time in milliseconds an address is blocked for after exceeding its packet limit.
+     */
+    public static final int DEFAULT_BLOCK_DURATION_MS = 10000;
     /**
      * A number of all datagrams that will be handled within one RakNet tick before server starts dropping any incoming data.
      */
@@ -48,7 +48,7 @@ public class RakServerChannel extends ProxyChannel<DatagramChannel> implements S
     private static final InternalLogger log = InternalLoggerFactory.getInstance(RakServerChannel.class);
 
     private final RakServerChannelConfig config;
-    private final Map<SocketAddress, RakChildChannel> childChannelMap = new ConcurrentHashMap<>();
+    private final Map<SocketAddress, RakChildChannel> childChannelMap;
     private final Consumer<RakChannel> childConsumer;
 
     public RakServerChannel(DatagramChannel channel) {
@@ -56,8 +56,16 @@ public class RakServerChannel extends ProxyChannel<DatagramChannel> implements S
     }
 
     public RakServerChannel(DatagramChannel channel, Consumer<RakChannel> childConsumer) {
+        this(channel, childConsumer, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param childChannelMap session table, shared by all server channels bound to the same port with SO_REUSEPORT
+     */
+    public RakServerChannel(DatagramChannel channel, Consumer<RakChannel> childConsumer, Map<SocketAddress, RakChildChannel> childChannelMap) {
         super(channel);
         this.childConsumer = childConsumer;
+        this.childChannelMap = childChannelMap;
         this.config = new DefaultRakServerConfig(this);
         // Default common handler of offline phase. Handles only raknet packets, forwards rest.
         this.pipeline().addLast(UnconnectedPongEncoder.NAME, UnconnectedPongEncoder.INSTANCE);
@@ -78,20 +86,33 @@ public class RakServerChannel extends ProxyChannel<DatagramChannel> implements S
     public RakChildChannel createChildChannel(InetSocketAddress address, InetSocketAddress localAddress,
                                               long clientGuid, int protocolVersion, int mtu) {
         RakChildChannel existingChannel = this.childChannelMap.get(address);
-        if (this.config().getSendCookie() && existingChannel != null) {
-            // We know this player is coming from this IP address due to the cookie, so we can safely close the existing channel.
-            existingChannel.close();
-        } else if (existingChannel != null) {
+        if (existingChannel != null && !this.config().getSendCookie()) {
             // Could be spoofed, so we don't close the existing channel.
             return null;
         }
 
         RakChildChannel channel = new RakChildChannel(address, localAddress, this, clientGuid, protocolVersion, mtu, childConsumer);
+        // Server channels bound with SO_REUSEPORT share the map and may race for the same address, so the address is
+        // claimed before the channel is handed to the application.
+        while ((existingChannel = this.childChannelMap.putIfAbsent(address, channel)) != null) {
+            if (!this.config().getSendCookie()) {
+                // Lost the race. The channel was never registered, only its internal pipeline has to go.
+                destroyRakPipeline(channel);
+                return null;
+            }
+            if (this.childChannelMap.replace(address, existingChannel, channel)) {
+                // We know this player is coming from this IP address due to the cookie, so we can safely close the existing channel.
+                // Its shard may still be handing it to the application, closing on that shard's loop runs after that.
+                RakChildChannel replacedChannel = existingChannel;
+                replacedChannel.parent().eventLoop().execute(replacedChannel::close);
+                break;
+            }
+        }
+
         channel.closeFuture().addListener((GenericFutureListener<ChannelFuture>) this::onChildClosed);
         // Fire channel thought ServerBootstrap,
         // register to eventLoop, assign default options and attributes
         this.pipeline().fireChannelRead(channel).fireChannelReadComplete();
-        this.childChannelMap.put(address, channel);
 
         if (this.config().getMetrics() != null) {
             this.config().getMetrics().channelOpen(address);
@@ -105,12 +126,16 @@ public class RakServerChannel extends ProxyChannel<DatagramChannel> implements S
 
     private void onChildClosed(ChannelFuture channelFuture) {
         RakChildChannel channel = (RakChildChannel) channelFuture.channel();
-        this.childChannelMap.remove(channel.remoteAddress());
+        this.childChannelMap.remove(channel.remoteAddress(), channel);
 
         if (this.config().getMetrics() != null) {
             this.config().getMetrics().channelClose(channel.remoteAddress());
         }
 
+        destroyRakPipeline(channel);
+    }
+
+    private static void destroyRakPipeline(RakChildChannel channel) {
         channel.rakPipeline().fireChannelInactive();
         channel.rakPipeline().fireChannelUnregistered();
         // Need to use reflection to destroy pipeline because
@@ -125,7 +150,11 @@ public class RakServerChannel extends ProxyChannel<DatagramChannel> implements S
             log.trace("Closing RakServerChannel: {}", Thread.currentThread().getName(), new Throwable());
         }
         PromiseCombiner combiner = new PromiseCombiner(this.eventLoop());
-        this.childChannelMap.values().forEach(channel -> combiner.add(channel.close()));
+        for (RakChildChannel channel : this.childChannelMap.values()) {
+            if (channel.parent() == this) {
+                combiner.add(channel.close());
+            }
+        }
 
         ChannelPromise combinedPromise = this.newPromise();
         combinedPromise.addListener(future -> super.onCloseTriggered(promise));
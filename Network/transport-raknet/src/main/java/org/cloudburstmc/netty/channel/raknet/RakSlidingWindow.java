@@ -21,8 +21,13 @@ import static org.cloudburstmc.netty.channel.raknet.RakConstants.CC_MAXIMUM_THRE
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.CC_SYN;
 
 import org.cloudburstmc.netty.channel.raknet.packet.RakDatagramPacket;
+import org.cloudburstmc.netty.util.RakUtils;
 
-public class RakSlidingWindow {
+/**
+ * Window based {@link RakCongestionControl} of the original RakNet implementation, growing the window like TCP Reno
+ * and shrinking it to a single datagram whenever datagrams time out.
+ */
+public class RakSlidingWindow implements RakCongestionControl {
     private final int mtu;
     private double cwnd;
     private double ssThresh;
@@ -30,7 +35,7 @@ public class RakSlidingWindow {
     private double lastRTT = -1;
     private double deviationRTT = -1;
     private long oldestUnsentAck;
-    private long nextCongestionControlBlock;
+    private int nextCongestionControlBlock;
     private boolean backoffThisBlock;
     private int unackedBytes;
 
@@ -39,11 +44,13 @@ public class RakSlidingWindow {
         this.cwnd = mtu;
     }
 
+    @Override
     public int getRetransmissionBandwidth() {
         return unackedBytes;
     }
 
-    public int getTransmissionBandwidth() {
+    @Override
+    public int getTransmissionBandwidth(long curTime) {
         if (this.unackedBytes <= this.cwnd) {
             return (int) (this.cwnd - this.unackedBytes);
         } else {
@@ -51,12 +58,14 @@ public class RakSlidingWindow {
         }
     }
 
+    @Override
     public void onPacketReceived(long curTime) {
         if (this.oldestUnsentAck == 0) {
             this.oldestUnsentAck = curTime;
         }
     }
 
+    @Override
     public void onResend(long curSequenceIndex) {
         if (!this.backoffThisBlock && this.cwnd > this.mtu * 2D) {
             this.ssThresh = this.cwnd * 0.5D;
@@ -66,19 +75,21 @@ public class RakSlidingWindow {
             }
             this.cwnd = this.mtu;
 
-            this.nextCongestionControlBlock = curSequenceIndex;
+            this.nextCongestionControlBlock = (int) curSequenceIndex;
             this.backoffThisBlock = true;
         }
     }
 
+    @Override
     public void onNak() {
         if (!this.backoffThisBlock) {
             this.ssThresh = this.cwnd * 0.75D;
         }
     }
 
-    public void onAck(long curTime, RakDatagramPacket datagram, long curSequenceIndex) {
-        long rtt = curTime - datagram.getSendTime();
+    @Override
+    public void onAck(long curTime, RakDatagramPacket datagram, long rttMicros, long curSequenceIndex) {
+        double rtt = rttMicros / 1000.0D;
         this.lastRTT = rtt;
         this.unackedBytes -= datagram.getSize();
 
@@ -92,11 +103,12 @@ public class RakSlidingWindow {
             this.deviationRTT += d * (Math.abs(difference) - this.deviationRTT);
         }
 
-        boolean isNewCongestionControlPeriod = datagram.getSequenceIndex() > this.nextCongestionControlBlock;
+        boolean isNewCongestionControlPeriod =
+                RakUtils.sequenceDistance(this.nextCongestionControlBlock, datagram.getSequenceIndex()) > 0;
 
         if (isNewCongestionControlPeriod) {
             this.backoffThisBlock = false;
-            this.nextCongestionControlBlock = curSequenceIndex;
+            this.nextCongestionControlBlock = (int) curSequenceIndex;
         }
 
         if (this.isInSlowStart()) {
@@ -110,6 +122,7 @@ public class RakSlidingWindow {
         }
     }
 
+    @Override
     public void onReliableSend(RakDatagramPacket datagram) {
         this.unackedBytes += datagram.getSize();
     }
@@ -118,10 +131,12 @@ public class RakSlidingWindow {
         return this.cwnd <= this.ssThresh || this.ssThresh == 0;
     }
 
+    @Override
     public void onSendAck() {
         this.oldestUnsentAck = 0;
     }
 
+    @Override
     @SuppressWarnings("ManualMinMaxCalculation")
     public long getRtoForRetransmission() {
         if (this.estimatedRTT == -1) {
@@ -133,6 +148,7 @@ public class RakSlidingWindow {
         return threshold > CC_MAXIMUM_THRESHOLD ? CC_MAXIMUM_THRESHOLD : threshold;
     }
 
+    @Override
     public double getRTT() {
         return this.estimatedRTT;
     }
@@ -151,7 +167,32 @@ public class RakSlidingWindow {
         }
     }
 
+    @Override
+    public int getCongestionWindow() {
+        return (int) this.cwnd;
+    }
+
+    public double getSlowStartThreshold() {
+        return this.ssThresh;
+    }
+
+    @Override
+    public double getRTTDeviation() {
+        return this.deviationRTT;
+    }
+
+    @Override
     public int getUnackedBytes() {
         return unackedBytes;
     }
+
+    @Override
+    public double getPacingRate() {
+        if (this.estimatedRTT <= 0) {
+            return 0;
+        }
+        // Leave headroom to grow the window, more of it while in slow start
+        double gain = this.isInSlowStart() ? 2.0D : 1.2D;
+        return gain * this.cwnd / this.estimatedRTT;
+    }
 }
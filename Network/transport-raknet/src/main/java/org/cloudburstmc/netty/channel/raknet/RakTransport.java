@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.channel.raknet;
+
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import org.cloudburstmc.netty.handler.codec.raknet.common.RakDatagramCoalescer;
+
+/**
+ * Datagram transport underneath the RakNet channels.
+ * <p>
+ * {@link #EPOLL} reads batches of datagrams with a single recvmmsg call and coalesces equally sized datagrams to the
+ * same peer into one send with UDP segmentation offload where the kernel supports it. {@link #NIO} works everywhere
+ * and is used when the native transport can not be loaded. The event loop group and the channel factory of a
+ * bootstrap must come from the same transport.
+ */
+public enum RakTransport {
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new EpollEventLoopGroup(threads);
+        }
+
+        @Override
+        public ChannelFactory<? extends DatagramChannel> datagramChannelFactory() {
+            return EpollDatagramChannel::new;
+        }
+
+        @Override
+        public void configure(DatagramChannel channel) {
+            channel.config().setOption(EpollChannelOption.MAX_DATAGRAM_PAYLOAD_SIZE, MAX_DATAGRAM_SIZE);
+            channel.config().setRecvByteBufAllocator(new FixedRecvByteBufAllocator(MAX_DATAGRAM_SIZE * RECEIVE_BATCH_SIZE));
+            if (EpollDatagramChannel.isSegmentedDatagramPacketSupported()) {
+                channel.pipeline().addLast(RakDatagramCoalescer.NAME, new RakDatagramCoalescer());
+            }
+        }
+    },
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new NioEventLoopGroup(threads);
+        }
+
+        @Override
+        public ChannelFactory<? extends DatagramChannel> datagramChannelFactory() {
+            return NioDatagramChannel::new;
+        }
+
+        @Override
+        public void configure(DatagramChannel channel) {
+        }
+    };
+
+    /**
+     * Largest datagram read without truncation. RakNet never negotiates an MTU above the ethernet one.
+     */
+    public static final int MAX_DATAGRAM_SIZE = 2048;
+    /**
+     * Datagrams read by one recvmmsg call.
+     */
+    public static final int RECEIVE_BATCH_SIZE = 16;
+
+    public abstract boolean isAvailable();
+
+    /**
+     * @param threads number of event loops or 0 for the Netty default
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int threads);
+
+    public EventLoopGroup newEventLoopGroup() {
+        return this.newEventLoopGroup(0);
+    }
+
+    public abstract ChannelFactory<? extends DatagramChannel> datagramChannelFactory();
+
+    /**
+     * Applies the transport specific options and handlers to a freshly created datagram channel.
+     */
+    public abstract void configure(DatagramChannel channel);
+
+    /**
+     * @return the native transport when it can be loaded on this system, NIO otherwise
+     */
+    public static RakTransport best() {
+        return EPOLL.isAvailable() ? EPOLL : NIO;
+    }
+}
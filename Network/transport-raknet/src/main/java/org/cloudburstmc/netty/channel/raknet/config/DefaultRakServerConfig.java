@@ -45,6 +45,8 @@ public class DefaultRakServerConfig extends DefaultChannelConfig implements RakS
     private volatile int maxMtu = RakConstants.MAXIMUM_MTU_SIZE;
     private volatile int minMtu = RakConstants.MINIMUM_MTU_SIZE;
     private volatile int packetLimit = RakConstants.DEFAULT_PACKET_LIMIT;
+    private volatile int packetBurst = RakConstants.DEFAULT_PACKET_BURST;
+    private volatile int blockDuration = RakConstants.DEFAULT_BLOCK_DURATION_MS;
     private volatile int globalPacketLimit = RakConstants.DEFAULT_GLOBAL_PACKET_LIMIT;
     private volatile RakServerMetrics metrics;
     private volatile boolean sendCookie;
@@ -59,7 +61,7 @@ public class DefaultRakServerConfig extends DefaultChannelConfig implements RakS
         return getOptions(
                 super.getOptions(),
                 RakChannelOption.RAK_GUID, RakChannelOption.RAK_MAX_CHANNELS, RakChannelOption.RAK_MAX_CONNECTIONS, RakChannelOption.RAK_SUPPORTED_PROTOCOLS, RakChannelOption.RAK_UNCONNECTED_MAGIC,
-                RakChannelOption.RAK_ADVERTISEMENT, RakChannelOption.RAK_HANDLE_PING, RakChannelOption.RAK_PACKET_LIMIT, RakChannelOption.RAK_GLOBAL_PACKET_LIMIT, RakChannelOption.RAK_SEND_COOKIE,
+                RakChannelOption.RAK_ADVERTISEMENT, RakChannelOption.RAK_HANDLE_PING, RakChannelOption.RAK_PACKET_LIMIT, RakChannelOption.RAK_PACKET_BURST, RakChannelOption.RAK_BLOCK_DURATION, RakChannelOption.RAK_GLOBAL_PACKET_LIMIT, RakChannelOption.RAK_SEND_COOKIE,
                 RakChannelOption.RAK_SERVER_METRICS, RakChannelOption.RAK_IP_DONT_FRAGMENT);
     }
 
@@ -96,6 +98,12 @@ public class DefaultRakServerConfig extends DefaultChannelConfig implements RakS
         if (option == RakChannelOption.RAK_PACKET_LIMIT) {
             return (T) Integer.valueOf(this.getPacketLimit());
         }
+        if (option == RakChannelOption.RAK_PACKET_BURST) {
+            return (T) Integer.valueOf(this.getPacketBurst());
+        }
+        if (option == RakChannelOption.RAK_BLOCK_DURATION) {
+            return (T) Integer.valueOf(this.getBlockDuration());
+        }
         if (option == RakChannelOption.RAK_GLOBAL_PACKET_LIMIT) {
             return (T) Integer.valueOf(this.getGlobalPacketLimit());
         }
@@ -132,6 +140,10 @@ public class DefaultRakServerConfig extends DefaultChannelConfig implements RakS
             this.setMinMtu((Integer) value);
         } else if (option == RakChannelOption.RAK_PACKET_LIMIT) {
             this.setPacketLimit((Integer) value);
+        } else if (option == RakChannelOption.RAK_PACKET_BURST) {
+            this.setPacketBurst((Integer) value);
+        } else if (option == RakChannelOption.RAK_BLOCK_DURATION) {
+            this.setBlockDuration((Integer) value);
         } else if (option == RakChannelOption.RAK_GLOBAL_PACKET_LIMIT) {
             this.setGlobalPacketLimit((Integer) value);
         } else if (option == RakChannelOption.RAK_SEND_COOKIE) {
@@ -264,6 +276,26 @@ public class DefaultRakServerConfig extends DefaultChannelConfig implements RakS
         return this.packetLimit;
     }
 
+    @Override
+    public int getPacketBurst() {
+        return this.packetBurst;
+    }
+
+    @Override
+    public void setPacketBurst(int burst) {
+        this.packetBurst = burst;
+    }
+
+    @Override
+    public int getBlockDuration() {
+        return this.blockDuration;
+    }
+
+    @Override
+    public void setBlockDuration(int blockDuration) {
+        this.blockDuration = blockDuration;
+    }
+
     @Override
     public int getGlobalPacketLimit() {
         return globalPacketLimit;
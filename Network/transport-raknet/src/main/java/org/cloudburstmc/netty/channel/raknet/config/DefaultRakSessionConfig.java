@@ -24,6 +24,8 @@ import java.util.Map;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelConfig;
+import org.cloudburstmc.netty.channel.raknet.RakCongestionControl;
+import org.cloudburstmc.netty.channel.raknet.RakSlidingWindow;
 
 /**
  * The default {@link RakChannelConfig} implementation for RakNet server child channel or client channel.
@@ -39,6 +41,8 @@ public class DefaultRakSessionConfig extends DefaultChannelConfig implements Rak
     private volatile boolean autoFlush = true;
     private volatile int flushInterval = 10;
     private volatile int maxQueuedBytes = 64 * 1024 * 1024; // 64 MB
+    private volatile RakCongestionControl.Factory congestionControl = RakSlidingWindow::new;
+    private volatile boolean pacing;
 
     public DefaultRakSessionConfig(Channel channel) {
         super(channel);
@@ -49,7 +53,8 @@ public class DefaultRakSessionConfig extends DefaultChannelConfig implements Rak
         return this.getOptions(
                 super.getOptions(),
                 RakChannelOption.RAK_GUID, RakChannelOption.RAK_MAX_CHANNELS, RakChannelOption.RAK_MTU, RakChannelOption.RAK_PROTOCOL_VERSION, RakChannelOption.RAK_ORDERING_CHANNELS,
-                RakChannelOption.RAK_METRICS, RakChannelOption.RAK_SESSION_TIMEOUT, RakChannelOption.RAK_AUTO_FLUSH, RakChannelOption.RAK_FLUSH_INTERVAL);
+                RakChannelOption.RAK_METRICS, RakChannelOption.RAK_SESSION_TIMEOUT, RakChannelOption.RAK_AUTO_FLUSH, RakChannelOption.RAK_FLUSH_INTERVAL,
+                RakChannelOption.RAK_CONGESTION_CONTROL, RakChannelOption.RAK_PACING);
     }
 
     @SuppressWarnings("unchecked")
@@ -82,6 +87,12 @@ public class DefaultRakSessionConfig extends DefaultChannelConfig implements Rak
         if (option == RakChannelOption.RAK_MAX_QUEUED_BYTES) {
             return (T) Integer.valueOf(this.getMaxQueuedBytes());
         }
+        if (option == RakChannelOption.RAK_CONGESTION_CONTROL) {
+            return (T) this.getCongestionControl();
+        }
+        if (option == RakChannelOption.RAK_PACING) {
+            return (T) Boolean.valueOf(this.isPacing());
+        }
         return this.channel.parent().config().getOption(option);
     }
 
@@ -108,6 +119,10 @@ public class DefaultRakSessionConfig extends DefaultChannelConfig implements Rak
             this.setFlushInterval((Integer) value);
         } else if (option == RakChannelOption.RAK_MAX_QUEUED_BYTES) {
             this.setMaxQueuedBytes((Integer) value);
+        } else if (option == RakChannelOption.RAK_CONGESTION_CONTROL) {
+            this.setCongestionControl((RakCongestionControl.Factory) value);
+        } else if (option == RakChannelOption.RAK_PACING) {
+            this.setPacing((Boolean) value);
         } else {
             return this.channel.parent().config().setOption(option, value);
         }
@@ -210,4 +225,26 @@ public class DefaultRakSessionConfig extends DefaultChannelConfig implements Rak
     public int getMaxQueuedBytes() {
         return maxQueuedBytes;
     }
+
+    @Override
+    public RakCongestionControl.Factory getCongestionControl() {
+        return this.congestionControl;
+    }
+
+    @Override
+    public RakChannelConfig setCongestionControl(RakCongestionControl.Factory factory) {
+        this.congestionControl = factory;
+        return this;
+    }
+
+    @Override
+    public boolean isPacing() {
+        return this.pacing;
+    }
+
+    @Override
+    public RakChannelConfig setPacing(boolean pacing) {
+        this.pacing = pacing;
+        return this;
+    }
 }
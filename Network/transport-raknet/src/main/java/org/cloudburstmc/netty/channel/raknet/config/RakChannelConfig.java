@@ -17,6 +17,7 @@
 package org.cloudburstmc.netty.channel.raknet.config;
 
 import io.netty.channel.ChannelConfig;
+import org.cloudburstmc.netty.channel.raknet.RakCongestionControl;
 
 public interface RakChannelConfig extends ChannelConfig {
 
@@ -55,4 +56,12 @@ public interface RakChannelConfig extends ChannelConfig {
     void setMaxQueuedBytes(int maxQueuedBytes);
 
     int getMaxQueuedBytes();
+
+    RakCongestionControl.Factory getCongestionControl();
+
+    RakChannelConfig setCongestionControl(RakCongestionControl.Factory factory);
+
+    boolean isPacing();
+
+    RakChannelConfig setPacing(boolean pacing);
 }
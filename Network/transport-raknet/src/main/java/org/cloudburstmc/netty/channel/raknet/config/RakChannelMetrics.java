@@ -16,6 +16,7 @@
 
 package org.cloudburstmc.netty.channel.raknet.config;
 
+import org.cloudburstmc.netty.channel.raknet.RakCongestionControl;
 import org.cloudburstmc.netty.channel.raknet.RakState;
 
 public interface RakChannelMetrics {
@@ -58,4 +59,34 @@ public interface RakChannelMetrics {
 
     default void queuedPacketBytes(int count) {
     }
+
+    /**
+     * Round trip time of an acknowledged datagram in microseconds.
+     */
+    default void roundTripTime(long rttMicros) {
+    }
+
+    /**
+     * Time an encapsulated packet waited in the send queue before its first transmission, in microseconds.
+     */
+    default void sendQueueDelay(long delayMicros) {
+    }
+
+    /**
+     * Time between the first and the last part of a split packet arriving, in microseconds.
+     */
+    default void splitPacketReassembled(long durationMicros, int partCount) {
+    }
+
+    /**
+     * Number of times an acknowledged datagram was resent before it got through.
+     */
+    default void retransmissions(int count) {
+    }
+
+    /**
+     * Called every tick of the session with its congestion control, on the event loop of the session.
+     */
+    default void congestionControl(RakCongestionControl congestionControl) {
+    }
 }
@@ -18,6 +18,7 @@ package org.cloudburstmc.netty.channel.raknet.config;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelOption;
+import org.cloudburstmc.netty.channel.raknet.RakCongestionControl;
 
 public class RakChannelOption<T> extends ChannelOption<T> {
 
@@ -139,12 +140,26 @@ public class RakChannelOption<T> extends ChannelOption<T> {
             valueOf(RakChannelOption.class, "RAK_FLUSH_INTERVAL");
 
     /**
-     * A number of datagram packets each address can send within one RakNet tick (10ms).
+     * A number of datagram packets each address can send within one RakNet tick (10ms) on average.
      * Default is 120 packets.
      */
     public static final ChannelOption<Integer> RAK_PACKET_LIMIT =
             valueOf(RakChannelOption.class, "RAK_PACKET_LIMIT");
 
+    /**
+     * A number of datagram packets each address can send at once, the size of its token bucket.
+     * Default is 240 packets.
+     */
+    public static final ChannelOption<Integer> RAK_PACKET_BURST =
+            valueOf(RakChannelOption.class, "RAK_PACKET_BURST");
+
+    /**
+     * Time in milliseconds an address is blocked for after exceeding its packet limit.
+     * Default is 10 seconds.
+     */
+    public static final ChannelOption<Integer> RAK_BLOCK_DURATION =
+            valueOf(RakChannelOption.class, "RAK_BLOCK_DURATION");
+
     /**
      * A number of all datagrams that will be handled within one RakNet tick before server starts dropping any incoming data.
      * Default is 100_000 (RAK_PACKET_LIMIT * 0.56 * 1500 different connections).
@@ -195,6 +210,21 @@ public class RakChannelOption<T> extends ChannelOption<T> {
     public static final ChannelOption<Integer> RAK_MAX_QUEUED_BYTES =
             valueOf(RakChannelOption.class, "RAK_MAX_QUEUED_BYTES");
 
+    /**
+     * Factory of the congestion control used by each RakNet session.
+     * Default is {@link org.cloudburstmc.netty.channel.raknet.RakSlidingWindow}.
+     */
+    public static final ChannelOption<RakCongestionControl.Factory> RAK_CONGESTION_CONTROL =
+            valueOf(RakChannelOption.class, "RAK_CONGESTION_CONTROL");
+
+    /**
+     * Whether new datagrams are spread over the flush interval at the pacing rate of the congestion control instead
+     * of being sent in one burst per flush.
+     * Default is false.
+     */
+    public static final ChannelOption<Boolean> RAK_PACING =
+            valueOf(RakChannelOption.class, "RAK_PACING");
+
     @SuppressWarnings("deprecation")
     protected RakChannelOption() {
         super(null);
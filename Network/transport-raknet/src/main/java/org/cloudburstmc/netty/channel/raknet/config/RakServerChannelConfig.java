@@ -61,6 +61,14 @@ public interface RakServerChannelConfig extends ChannelConfig {
 
     void setPacketLimit(int limit);
 
+    int getPacketBurst();
+
+    void setPacketBurst(int burst);
+
+    int getBlockDuration();
+
+    void setBlockDuration(int blockDuration);
+
     int getGlobalPacketLimit();
 
     void setGlobalPacketLimit(int limit);
@@ -42,6 +42,7 @@ public class EncapsulatedPacket extends AbstractReferenceCounted {
     private int partIndex;
     private ByteBuf buffer;
     private boolean needsBAS;
+    private long queuedNanoTime;
 
     public static EncapsulatedPacket newInstance() {
         return RECYCLER.get();
@@ -148,6 +149,7 @@ public class EncapsulatedPacket extends AbstractReferenceCounted {
         this.partId = 0;
         this.partIndex = 0;
         this.buffer = null;
+        this.queuedNanoTime = 0;
         setRefCnt(1);
         this.handle.recycle(this);
     }
@@ -251,6 +253,17 @@ public class EncapsulatedPacket extends AbstractReferenceCounted {
         this.needsBAS = needsBAS;
     }
 
+    /**
+     * @return time the packet entered the send queue or 0 if it was not recorded
+     */
+    public long getQueuedNanoTime() {
+        return this.queuedNanoTime;
+    }
+
+    public void setQueuedNanoTime(long queuedNanoTime) {
+        this.queuedNanoTime = queuedNanoTime;
+    }
+
     public RakMessage toMessage() {
         return new RakMessage(buffer, reliability);
     }
@@ -35,8 +35,10 @@ public class RakDatagramPacket extends AbstractReferenceCounted {
     private final List<EncapsulatedPacket> packets = new ArrayList<>();
     private byte flags = FLAG_VALID | FLAG_NEEDS_B_AND_AS;
     private long sendTime;
+    private long sendNanoTime;
     private long nextSend;
     private int sequenceIndex = -1;
+    private int transmissions;
 
     public static RakDatagramPacket newInstance() {
         return RECYCLER.get();
@@ -91,8 +93,10 @@ public class RakDatagramPacket extends AbstractReferenceCounted {
         this.packets.clear();
         this.flags = FLAG_VALID | FLAG_NEEDS_B_AND_AS;
         this.sendTime = 0;
+        this.sendNanoTime = 0;
         this.nextSend = 0;
         this.sequenceIndex = -1;
+        this.transmissions = 0;
         setRefCnt(1);
         this.handle.recycle(this);
     }
@@ -125,6 +129,17 @@ public class RakDatagramPacket extends AbstractReferenceCounted {
         this.sendTime = sendTime;
     }
 
+    /**
+     * @return {@link System#nanoTime()} of the latest transmission, used to sample round trip times
+     */
+    public long getSendNanoTime() {
+        return this.sendNanoTime;
+    }
+
+    public void setSendNanoTime(long sendNanoTime) {
+        this.sendNanoTime = sendNanoTime;
+    }
+
     public long getNextSend() {
         return this.nextSend;
     }
@@ -133,6 +148,17 @@ public class RakDatagramPacket extends AbstractReferenceCounted {
         this.nextSend = nextSend;
     }
 
+    /**
+     * @return number of times the datagram was sent
+     */
+    public int getTransmissions() {
+        return this.transmissions;
+    }
+
+    public void setTransmissions(int transmissions) {
+        this.transmissions = transmissions;
+    }
+
     public int getSequenceIndex() {
         return this.sequenceIndex;
     }
@@ -148,8 +174,10 @@ public class RakDatagramPacket extends AbstractReferenceCounted {
                 ", packets=" + packets +
                 ", flags=" + flags +
                 ", sendTime=" + sendTime +
+                ", sendNanoTime=" + sendNanoTime +
                 ", nextSend=" + nextSend +
                 ", sequenceIndex=" + sequenceIndex +
+                ", transmissions=" + transmissions +
                 '}';
     }
 }
\ No newline at end of file
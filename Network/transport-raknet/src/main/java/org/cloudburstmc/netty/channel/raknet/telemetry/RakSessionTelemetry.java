@@ -0,0 +1,391 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.channel.raknet.telemetry;
+
+import org.cloudburstmc.netty.channel.raknet.RakCongestionControl;
+import org.cloudburstmc.netty.channel.raknet.RakState;
+import org.cloudburstmc.netty.channel.raknet.config.RakChannelMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of one RakNet session, kept as counters and {@link RakHistogram}s.
+ * <p>
+ * Set it as {@link org.cloudburstmc.netty.channel.raknet.config.RakChannelOption#RAK_METRICS} of a session, or let
+ * {@link RakTelemetry} do that. Values are recorded on the event loop of the session and {@link #snapshot()} may be
+ * called from any thread. Times are in microseconds.
+ */
+public class RakSessionTelemetry implements RakChannelMetrics {
+
+    private final long createdTime = System.currentTimeMillis();
+
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong datagramsIn = new AtomicLong();
+    private final AtomicLong datagramsOut = new AtomicLong();
+    private final AtomicLong encapsulatedIn = new AtomicLong();
+    private final AtomicLong encapsulatedOut = new AtomicLong();
+    private final AtomicLong staleDatagrams = new AtomicLong();
+    private final AtomicLong acksIn = new AtomicLong();
+    private final AtomicLong acksOut = new AtomicLong();
+    private final AtomicLong nacksIn = new AtomicLong();
+    private final AtomicLong nacksOut = new AtomicLong();
+
+    private final RakHistogram roundTripTime = new RakHistogram();
+    private final RakHistogram sendQueueDelay = new RakHistogram();
+    private final RakHistogram reassemblyTime = new RakHistogram();
+    private final RakHistogram retransmissions = new RakHistogram();
+    private final RakHistogram queuedBytes = new RakHistogram();
+
+    private volatile RakState state;
+    private volatile int congestionWindow = -1;
+    private volatile int unackedBytes;
+    private volatile double smoothedRTT = -1;
+    private volatile double deviationRTT = -1;
+    private volatile double pacingRate;
+
+    @Override
+    public void bytesIn(int count) {
+        this.bytesIn.addAndGet(count);
+    }
+
+    @Override
+    public void bytesOut(int count) {
+        this.bytesOut.addAndGet(count);
+    }
+
+    @Override
+    public void rakDatagramsIn(int count) {
+        this.datagramsIn.addAndGet(count);
+    }
+
+    @Override
+    public void rakDatagramsOut(int count) {
+        this.datagramsOut.addAndGet(count);
+    }
+
+    @Override
+    public void encapsulatedIn(int count) {
+        this.encapsulatedIn.addAndGet(count);
+    }
+
+    @Override
+    public void encapsulatedOut(int count) {
+        this.encapsulatedOut.addAndGet(count);
+    }
+
+    @Override
+    public void rakStaleDatagrams(int count) {
+        this.staleDatagrams.addAndGet(count);
+    }
+
+    @Override
+    public void ackIn(int count) {
+        this.acksIn.addAndGet(count);
+    }
+
+    @Override
+    public void ackOut(int count) {
+        this.acksOut.addAndGet(count);
+    }
+
+    @Override
+    public void nackOut(int count) {
+        this.nacksOut.addAndGet(count);
+    }
+
+    @Override
+    public void nackIn(int count) {
+        this.nacksIn.addAndGet(count);
+    }
+
+    @Override
+    public void stateChange(RakState state) {
+        this.state = state;
+    }
+
+    @Override
+    public void queuedPacketBytes(int count) {
+        this.queuedBytes.record(count);
+    }
+
+    @Override
+    public void roundTripTime(long rttMicros) {
+        this.roundTripTime.record(rttMicros);
+    }
+
+    @Override
+    public void sendQueueDelay(long delayMicros) {
+        this.sendQueueDelay.record(delayMicros);
+    }
+
+    @Override
+    public void splitPacketReassembled(long durationMicros, int partCount) {
+        this.reassemblyTime.record(durationMicros);
+    }
+
+    @Override
+    public void retransmissions(int count) {
+        this.retransmissions.record(count);
+    }
+
+    @Override
+    public void congestionControl(RakCongestionControl congestionControl) {
+        this.congestionWindow = congestionControl.getCongestionWindow();
+        this.unackedBytes = congestionControl.getUnackedBytes();
+        this.smoothedRTT = congestionControl.getRTT();
+        this.deviationRTT = congestionControl.getRTTDeviation();
+        this.pacingRate = congestionControl.getPacingRate();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    public static class Snapshot {
+        private final long time = System.currentTimeMillis();
+        private final long createdTime;
+        private final RakState state;
+        private final long bytesIn;
+        private final long bytesOut;
+        private final long datagramsIn;
+        private final long datagramsOut;
+        private final long encapsulatedIn;
+        private final long encapsulatedOut;
+        private final long staleDatagrams;
+        private final long acksIn;
+        private final long acksOut;
+        private final long nacksIn;
+        private final long nacksOut;
+        private final int congestionWindow;
+        private final int unackedBytes;
+        private final double smoothedRTT;
+        private final double deviationRTT;
+        private final double pacingRate;
+        private final RakHistogram.Snapshot roundTripTime;
+        private final RakHistogram.Snapshot sendQueueDelay;
+        private final RakHistogram.Snapshot reassemblyTime;
+        private final RakHistogram.Snapshot retransmissions;
+        private final RakHistogram.Snapshot queuedBytes;
+
+        private Snapshot(RakSessionTelemetry telemetry) {
+            this.createdTime = telemetry.createdTime;
+            this.state = telemetry.state;
+            this.bytesIn = telemetry.bytesIn.get();
+            this.bytesOut = telemetry.bytesOut.get();
+            this.datagramsIn = telemetry.datagramsIn.get();
+            this.datagramsOut = telemetry.datagramsOut.get();
+            this.encapsulatedIn = telemetry.encapsulatedIn.get();
+            this.encapsulatedOut = telemetry.encapsulatedOut.get();
+            this.staleDatagrams = telemetry.staleDatagrams.get();
+            this.acksIn = telemetry.acksIn.get();
+            this.acksOut = telemetry.acksOut.get();
+            this.nacksIn = telemetry.nacksIn.get();
+            this.nacksOut = telemetry.nacksOut.get();
+            this.congestionWindow = telemetry.congestionWindow;
+            this.unackedBytes = telemetry.unackedBytes;
+            this.smoothedRTT = telemetry.smoothedRTT;
+            this.deviationRTT = telemetry.deviationRTT;
+            this.pacingRate = telemetry.pacingRate;
+            this.roundTripTime = telemetry.roundTripTime.snapshot();
+            this.sendQueueDelay = telemetry.sendQueueDelay.snapshot();
+            this.reassemblyTime = telemetry.reassemblyTime.snapshot();
+            this.retransmissions = telemetry.retransmissions.snapshot();
+            this.queuedBytes = telemetry.queuedBytes.snapshot();
+        }
+
+        public long getTime() {
+            return this.time;
+        }
+
+        public long getCreatedTime() {
+            return this.createdTime;
+        }
+
+        public RakState getState() {
+            return this.state;
+        }
+
+        public long getBytesIn() {
+            return this.bytesIn;
+        }
+
+        public long getBytesOut() {
+            return this.bytesOut;
+        }
+
+        public long getDatagramsIn() {
+            return this.datagramsIn;
+        }
+
+        public long getDatagramsOut() {
+            return this.datagramsOut;
+        }
+
+        public long getEncapsulatedIn() {
+            return this.encapsulatedIn;
+        }
+
+        public long getEncapsulatedOut() {
+            return this.encapsulatedOut;
+        }
+
+        public long getStaleDatagrams() {
+            return this.staleDatagrams;
+        }
+
+        public long getAcksIn() {
+            return this.acksIn;
+        }
+
+        public long getAcksOut() {
+            return this.acksOut;
+        }
+
+        public long getNacksIn() {
+            return this.nacksIn;
+        }
+
+        public long getNacksOut() {
+            return this.nacksOut;
+        }
+
+        /**
+         * @return share of sent datagrams that were resent after a timeout or reported missing
+         */
+        public double getLossRate() {
+            return this.datagramsOut == 0 ? 0 : (double) (this.staleDatagrams + this.nacksIn) / this.datagramsOut;
+        }
+
+        public int getCongestionWindow() {
+            return this.congestionWindow;
+        }
+
+        public int getUnackedBytes() {
+            return this.unackedBytes;
+        }
+
+        /**
+         * @return smoothed round trip time of the congestion control in milliseconds
+         */
+        public double getSmoothedRTT() {
+            return this.smoothedRTT;
+        }
+
+        public double getDeviationRTT() {
+            return this.deviationRTT;
+        }
+
+        /**
+         * @return pacing rate in bytes per millisecond
+         */
+        public double getPacingRate() {
+            return this.pacingRate;
+        }
+
+        public RakHistogram.Snapshot getRoundTripTime() {
+            return this.roundTripTime;
+        }
+
+        public RakHistogram.Snapshot getSendQueueDelay() {
+            return this.sendQueueDelay;
+        }
+
+        public RakHistogram.Snapshot getReassemblyTime() {
+            return this.reassemblyTime;
+        }
+
+        public RakHistogram.Snapshot getRetransmissions() {
+            return this.retransmissions;
+        }
+
+        public RakHistogram.Snapshot getQueuedBytes() {
+            return this.queuedBytes;
+        }
+
+        /**
+         * Writes the snapshot as a single line JSON object, histograms are summarized by percentiles.
+         */
+        public void writeJson(StringBuilder builder) {
+            builder.append('{');
+            field(builder, "time", this.time).append(',');
+            field(builder, "age", this.time - this.createdTime).append(',');
+            builder.append("\"state\":");
+            if (this.state == null) {
+                builder.append("null");
+            } else {
+                builder.append('"').append(this.state.name()).append('"');
+            }
+            builder.append(',');
+            field(builder, "bytesIn", this.bytesIn).append(',');
+            field(builder, "bytesOut", this.bytesOut).append(',');
+            field(builder, "datagramsIn", this.datagramsIn).append(',');
+            field(builder, "datagramsOut", this.datagramsOut).append(',');
+            field(builder, "encapsulatedIn", this.encapsulatedIn).append(',');
+            field(builder, "encapsulatedOut", this.encapsulatedOut).append(',');
+            field(builder, "staleDatagrams", this.staleDatagrams).append(',');
+            field(builder, "acksIn", this.acksIn).append(',');
+            field(builder, "acksOut", this.acksOut).append(',');
+            field(builder, "nacksIn", this.nacksIn).append(',');
+            field(builder, "nacksOut", this.nacksOut).append(',');
+            field(builder, "lossRate", this.getLossRate()).append(',');
+            field(builder, "cwnd", this.congestionWindow).append(',');
+            field(builder, "unackedBytes", this.unackedBytes).append(',');
+            field(builder, "srtt", this.smoothedRTT).append(',');
+            field(builder, "rttDeviation", this.deviationRTT).append(',');
+            field(builder, "pacingRate", this.pacingRate).append(',');
+            histogram(builder, "rttMicros", this.roundTripTime).append(',');
+            histogram(builder, "sendQueueDelayMicros", this.sendQueueDelay).append(',');
+            histogram(builder, "reassemblyMicros", this.reassemblyTime).append(',');
+            histogram(builder, "retransmissions", this.retransmissions).append(',');
+            histogram(builder, "queuedBytes", this.queuedBytes);
+            builder.append('}');
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(1024);
+            this.writeJson(builder);
+            return builder.toString();
+        }
+
+        private static StringBuilder field(StringBuilder builder, String name, long value) {
+            return builder.append('"').append(name).append("\":").append(value);
+        }
+
+        private static StringBuilder field(StringBuilder builder, String name, double value) {
+            builder.append('"').append(name).append("\":");
+            if (Double.isFinite(value)) {
+                builder.append(Math.round(value * 1000) / 1000.0D);
+            } else {
+                builder.append("null");
+            }
+            return builder;
+        }
+
+        private static StringBuilder histogram(StringBuilder builder, String name, RakHistogram.Snapshot histogram) {
+            builder.append('"').append(name).append("\":{");
+            field(builder, "count", histogram.getCount()).append(',');
+            field(builder, "mean", histogram.getMean()).append(',');
+            field(builder, "p50", histogram.getValueAtPercentile(50)).append(',');
+            field(builder, "p90", histogram.getValueAtPercentile(90)).append(',');
+            field(builder, "p99", histogram.getValueAtPercentile(99)).append(',');
+            field(builder, "max", histogram.getMax());
+            return builder.append('}');
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.channel.raknet.telemetry;
+
+import io.netty.channel.Channel;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the {@link RakSessionTelemetry} of many sessions and exports their snapshots.
+ * <p>
+ * Sessions are attached when their channel is initialized and dropped again once it closes. Snapshots are exported
+ * as JSON lines, one object per session, either on demand or periodically to a file or to a UDP collector. Dumps run
+ * on a daemon thread of the registry so they never block an event loop.
+ */
+public class RakTelemetry implements AutoCloseable {
+    private static final InternalLogger log = InternalLoggerFactory.getInstance(RakTelemetry.class);
+
+    /**
+     * Largest payload sent to a UDP collector in one datagram.
+     */
+    private static final int MAX_DATAGRAM_SIZE = 1400;
+
+    private final Map<Channel, RakSessionTelemetry> sessions = new ConcurrentHashMap<>();
+    private final List<ScheduledFuture<?>> dumps = Collections.synchronizedList(new ArrayList<>());
+    private final List<DatagramChannel> sockets = Collections.synchronizedList(new ArrayList<>());
+    private volatile ScheduledExecutorService executor;
+
+    /**
+     * Starts collecting metrics of a session, replacing any metrics set before. Call it from the channel initializer
+     * to include the connection handshake.
+     *
+     * @return telemetry of the session
+     */
+    public RakSessionTelemetry attach(Channel channel) {
+        RakSessionTelemetry telemetry = new RakSessionTelemetry();
+        channel.config().setOption(RakChannelOption.RAK_METRICS, telemetry);
+        this.sessions.put(channel, telemetry);
+        channel.closeFuture().addListener(future -> this.sessions.remove(channel));
+        return telemetry;
+    }
+
+    public RakSessionTelemetry get(Channel channel) {
+        return this.sessions.get(channel);
+    }
+
+    public int getSessionCount() {
+        return this.sessions.size();
+    }
+
+    /**
+     * @return snapshots of all attached sessions keyed by their remote address
+     */
+    public Map<SocketAddress, RakSessionTelemetry.Snapshot> snapshot() {
+        Map<SocketAddress, RakSessionTelemetry.Snapshot> snapshots = new LinkedHashMap<>();
+        this.sessions.forEach((channel, telemetry) -> snapshots.put(channel.remoteAddress(), telemetry.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Writes one JSON line per attached session.
+     */
+    public void writeJsonLines(Writer writer) throws IOException {
+        StringBuilder builder = new StringBuilder(1024);
+        for (Map.Entry<SocketAddress, RakSessionTelemetry.Snapshot> entry : this.snapshot().entrySet()) {
+            builder.setLength(0);
+            this.writeLine(builder, entry.getKey(), entry.getValue());
+            writer.write(builder.toString());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Appends the snapshots of all sessions to the file at the given period.
+     */
+    public ScheduledFuture<?> dumpTo(Path path, long period, TimeUnit unit) {
+        return this.schedule(() -> {
+            StringBuilder builder = new StringBuilder(4096);
+            this.snapshot().forEach((address, snapshot) -> this.writeLine(builder, address, snapshot));
+            if (builder.length() == 0) {
+                return;
+            }
+            try {
+                Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                log.warn("Unable to write RakNet telemetry to {}", path, e);
+            }
+        }, period, unit);
+    }
+
+    /**
+     * Sends the snapshots of all sessions to a UDP collector at the given period, one datagram per session.
+     */
+    public ScheduledFuture<?> dumpTo(InetSocketAddress collector, long period, TimeUnit unit) throws IOException {
+        DatagramChannel socket = DatagramChannel.open();
+        try {
+            socket.connect(collector);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+
+        ScheduledFuture<?> future = this.schedule(() -> {
+            StringBuilder builder = new StringBuilder(1024);
+            this.snapshot().forEach((address, snapshot) -> {
+                builder.setLength(0);
+                this.writeLine(builder, address, snapshot);
+                byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > MAX_DATAGRAM_SIZE) {
+                    log.debug("RakNet telemetry of {} exceeds {} bytes, sending it anyway", address, MAX_DATAGRAM_SIZE);
+                }
+                try {
+                    socket.write(ByteBuffer.wrap(bytes));
+                } catch (IOException e) {
+                    // Collector is not listening, keep going as UDP gives no delivery guarantee anyway
+                    log.debug("Unable to send RakNet telemetry to {}", collector, e);
+                }
+            });
+        }, period, unit);
+        this.sockets.add(socket);
+        return future;
+    }
+
+    /**
+     * Stops all periodic dumps. Attached sessions keep recording.
+     */
+    @Override
+    public void close() {
+        synchronized (this.dumps) {
+            for (ScheduledFuture<?> dump : this.dumps) {
+                dump.cancel(false);
+            }
+            this.dumps.clear();
+        }
+        synchronized (this.sockets) {
+            for (DatagramChannel socket : this.sockets) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    log.debug("Unable to close RakNet telemetry socket", e);
+                }
+            }
+            this.sockets.clear();
+        }
+
+        ScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            this.executor = null;
+        }
+    }
+
+    private void writeLine(StringBuilder builder, SocketAddress address, RakSessionTelemetry.Snapshot snapshot) {
+        builder.append("{\"address\":\"").append(address).append("\",\"session\":");
+        snapshot.writeJson(builder);
+        builder.append("}\n");
+    }
+
+    private ScheduledFuture<?> schedule(Runnable dump, long period, TimeUnit unit) {
+        ScheduledFuture<?> future = this.executor().scheduleAtFixedRate(() -> {
+            try {
+                dump.run();
+            } catch (Throwable t) {
+                // An exception would cancel all following runs
+                log.error("Failed to dump RakNet telemetry", t);
+            }
+        }, period, period, unit);
+        this.dumps.add(future);
+        return future;
+    }
+
+    private ScheduledExecutorService executor() {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            synchronized (this) {
+                if ((executor = this.executor) == null) {
+                    this.executor = executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "rak-telemetry");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+}
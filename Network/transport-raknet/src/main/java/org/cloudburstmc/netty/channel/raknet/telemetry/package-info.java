@@ -14,18 +14,7 @@
  * under the License.
  */
 
-package org.cloudburstmc.netty.util;
-
-public class IntRange {
-    public int start;
-    public int end;
-
-    public IntRange(int num) {
-        this(num, num);
-    }
-
-    public IntRange(int start, int end) {
-        this.start = start;
-        this.end = end;
-    }
-}
\ No newline at end of file
+/**
+ * Per-session RakNet telemetry: latency histograms, snapshots and their export.
+ */
+package org.cloudburstmc.netty.channel.raknet.telemetry;
@@ -16,6 +16,7 @@
 
 package org.cloudburstmc.netty.handler.codec.raknet.client;
 
+import static org.cloudburstmc.netty.channel.raknet.RakConstants.FLAG_VALID;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.ID_ALREADY_CONNECTED;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.ID_INCOMPATIBLE_PROTOCOL_VERSION;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.ID_IP_RECENTLY_CONNECTED;
@@ -139,6 +140,11 @@ public class RakClientOfflineHandler extends SimpleChannelInboundHandler<ByteBuf
         }
 
         short packetId = buf.readUnsignedByte();
+        if ((packetId & FLAG_VALID) != 0) {
+            // Connected datagram of the server session that overtook the open connection reply on a reordering path
+            return;
+        }
+
         ByteBuf magicBuf = this.rakChannel.config().getOption(RakChannelOption.RAK_UNCONNECTED_MAGIC);
         if (!buf.isReadable(magicBuf.readableBytes()) || !ByteBufUtil.equals(buf.readSlice(magicBuf.readableBytes()), magicBuf)) {
             this.successPromise.tryFailure(new CorruptedFrameException("RakMagic does not match"));
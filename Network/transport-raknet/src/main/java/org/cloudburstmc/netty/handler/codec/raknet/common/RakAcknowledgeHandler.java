@@ -22,9 +22,7 @@ import static org.cloudburstmc.netty.channel.raknet.RakConstants.FLAG_VALID;
 
 import org.cloudburstmc.netty.channel.raknet.RakDisconnectReason;
 import org.cloudburstmc.netty.channel.raknet.config.RakChannelMetrics;
-import org.cloudburstmc.netty.util.IntRange;
-
-import java.util.Queue;
+import org.cloudburstmc.netty.util.AckRangeSet;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -63,7 +61,7 @@ public class RakAcknowledgeHandler extends SimpleChannelInboundHandler<ByteBuf>
         boolean nack = (buffer.readByte() & FLAG_NACK) != 0;
         int entriesCount = buffer.readUnsignedShort();
 
-        Queue<IntRange> queue = this.sessionCodec.getAcknowledgeQueue(nack);
+        AckRangeSet ranges = this.sessionCodec.getAcknowledgeSet(nack);
         for (int i = 0; i < entriesCount; i++) {
             boolean singleton = buffer.readBoolean();
             int start = buffer.readUnsignedMediumLE();
@@ -71,17 +69,21 @@ public class RakAcknowledgeHandler extends SimpleChannelInboundHandler<ByteBuf>
             int end = singleton ? start : buffer.readUnsignedMediumLE();
 
             if (start <= end) {
-                queue.offer(new IntRange(start, end));
+                ranges.add(start, end);
                 continue;
             }
 
             if (log.isTraceEnabled()) {
-                log.trace("{} sent an IntRange with a start value {} greater than an end value of {}", sessionCodec.getChannel().remoteAddress(), start, end);
+                log.trace("{} sent an acknowledge range with a start value {} greater than an end value of {}", sessionCodec.getChannel().remoteAddress(), start, end);
             }
             this.sessionCodec.disconnect(RakDisconnectReason.BAD_PACKET);
             return;
         }
 
+        if (!nack) {
+            this.sessionCodec.handleIncomingAcks();
+        }
+
         RakChannelMetrics metrics = this.sessionCodec.getMetrics();
         if (metrics != null) {
             if (nack) {
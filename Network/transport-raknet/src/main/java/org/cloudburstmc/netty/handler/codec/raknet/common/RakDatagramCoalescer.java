@@ -0,0 +1,159 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.handler.codec.raknet.common;
+
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.unix.SegmentedDatagramPacket;
+import io.netty.util.concurrent.PromiseNotifier;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Merges consecutive datagrams written to the same peer between two flushes into one segmented datagram, which the
+ * epoll transport sends with a single UDP_SEGMENT (GSO) call.
+ * <p>
+ * Every datagram of a run has the size of the first one, except for the last one which may be shorter. This matches
+ * what the session codec produces when a large packet is split, so bulk transfers like chunks go out in one syscall.
+ * Must only be added to an {@link io.netty.channel.epoll.EpollDatagramChannel} when
+ * {@link io.netty.channel.epoll.EpollDatagramChannel#isSegmentedDatagramPacketSupported()}.
+ */
+public class RakDatagramCoalescer extends ChannelOutboundHandlerAdapter {
+    public static final String NAME = "rak-datagram-coalescer";
+
+    /**
+     * Kernel limit of segments in one send.
+     */
+    private static final int MAX_SEGMENTS = 64;
+    /**
+     * Payload of a single UDP datagram before segmentation.
+     */
+    private static final int MAX_COALESCED_SIZE = 65000;
+
+    private final List<DatagramPacket> pending = new ArrayList<>(MAX_SEGMENTS);
+    private final List<ChannelPromise> promises = new ArrayList<>(MAX_SEGMENTS);
+    private int segmentSize;
+    private int pendingSize;
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof DatagramPacket) || msg instanceof SegmentedDatagramPacket) {
+            this.writePending(ctx);
+            ctx.write(msg, promise);
+            return;
+        }
+
+        DatagramPacket datagram = (DatagramPacket) msg;
+        if (!this.canCoalesce(datagram)) {
+            this.writePending(ctx);
+        }
+
+        int size = datagram.content().readableBytes();
+        if (this.pending.isEmpty()) {
+            this.segmentSize = size;
+        }
+        this.pending.add(datagram);
+        this.promises.add(promise);
+        this.pendingSize += size;
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        this.writePending(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        this.writePending(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        this.writePending(ctx);
+    }
+
+    private boolean canCoalesce(DatagramPacket datagram) {
+        if (this.pending.isEmpty()) {
+            return true;
+        }
+
+        DatagramPacket last = this.pending.get(this.pending.size() - 1);
+        int size = datagram.content().readableBytes();
+        return this.pending.size() < MAX_SEGMENTS &&
+                // Only the last segment may be shorter
+                last.content().readableBytes() == this.segmentSize &&
+                size <= this.segmentSize && size > 0 &&
+                this.pendingSize + size <= MAX_COALESCED_SIZE &&
+                datagram.recipient().equals(last.recipient()) &&
+                Objects.equals(datagram.sender(), last.sender());
+    }
+
+    private void writePending(ChannelHandlerContext ctx) {
+        int count = this.pending.size();
+        if (count == 0) {
+            return;
+        }
+
+        if (count == 1) {
+            ctx.write(this.pending.get(0), this.promises.get(0));
+        } else {
+            DatagramPacket first = this.pending.get(0);
+            InetSocketAddress recipient = first.recipient();
+            InetSocketAddress sender = first.sender();
+
+            // The datagrams are composites themselves, the native transport gathers all components with one iovec each
+            CompositeByteBuf content = ctx.alloc().compositeDirectBuffer(count);
+            for (DatagramPacket datagram : this.pending) {
+                content.addComponent(true, datagram.content());
+            }
+
+            ChannelPromise promise = ctx.newPromise();
+            promise.addListener(new PromiseNotifier<>(false, this.nonVoidPromises()));
+            ctx.write(new SegmentedDatagramPacket(content, this.segmentSize, recipient, sender), promise);
+        }
+
+        this.pending.clear();
+        this.promises.clear();
+        this.pendingSize = 0;
+    }
+
+    private ChannelPromise[] nonVoidPromises() {
+        int count = 0;
+        for (ChannelPromise promise : this.promises) {
+            if (!promise.isVoid()) {
+                count++;
+            }
+        }
+
+        ChannelPromise[] promises = new ChannelPromise[count];
+        int index = 0;
+        for (ChannelPromise promise : this.promises) {
+            if (!promise.isVoid()) {
+                promises[index++] = promise;
+            }
+        }
+        return promises;
+    }
+}
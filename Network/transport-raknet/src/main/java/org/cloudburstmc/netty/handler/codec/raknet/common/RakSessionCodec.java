@@ -22,15 +22,16 @@ import static org.cloudburstmc.netty.channel.raknet.RakConstants.FLAG_VALID;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.ID_CONNECTED_PING;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.ID_DISCONNECTION_NOTIFICATION;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.MAXIMUM_ENCAPSULATED_HEADER_SIZE;
+import static org.cloudburstmc.netty.channel.raknet.RakConstants.MAXIMUM_SPLIT_PACKET_SIZE;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.RAKNET_DATAGRAM_HEADER_SIZE;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.SESSION_STALE_MS;
 import static org.cloudburstmc.netty.channel.raknet.RakConstants.UDP_HEADER_SIZE;
 
 import org.cloudburstmc.netty.channel.raknet.RakChannel;
+import org.cloudburstmc.netty.channel.raknet.RakCongestionControl;
 import org.cloudburstmc.netty.channel.raknet.RakDisconnectReason;
 import org.cloudburstmc.netty.channel.raknet.RakPriority;
 import org.cloudburstmc.netty.channel.raknet.RakReliability;
-import org.cloudburstmc.netty.channel.raknet.RakSlidingWindow;
 import org.cloudburstmc.netty.channel.raknet.RakState;
 import org.cloudburstmc.netty.channel.raknet.config.RakChannelMetrics;
 import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
@@ -39,17 +40,16 @@ import org.cloudburstmc.netty.channel.raknet.packet.RakDatagramPacket;
 import org.cloudburstmc.netty.channel.raknet.packet.RakMessage;
 import org.cloudburstmc.netty.util.BitQueue;
 import org.cloudburstmc.netty.util.FastBinaryMinHeap;
-import org.cloudburstmc.netty.util.IntRange;
+import org.cloudburstmc.netty.util.AckRangeSet;
 import org.cloudburstmc.netty.util.RakUtils;
 import org.cloudburstmc.netty.util.RoundRobinArray;
+import org.cloudburstmc.netty.util.SentDatagramTracker;
 import org.cloudburstmc.netty.util.SplitPacketHelper;
 
 import java.net.Inet6Address;
 import java.net.InetSocketAddress;
-import java.util.ArrayDeque;
-import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.buffer.ByteBuf;
@@ -67,6 +67,10 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 public class RakSessionCodec extends ChannelDuplexHandler {
     private static final InternalLogger log = InternalLoggerFactory.getInstance(RakSessionCodec.class);
     public static final String NAME = "rak-session-codec";
+    private static final long MIN_FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+    // Largest burst sent at once while pacing, in milliseconds worth of the pacing rate
+    private static final double PACING_QUANTUM = 1.0D;
 
     private final RakChannel channel;
     private ScheduledFuture<?> tickFuture;
@@ -74,10 +78,10 @@ public class RakSessionCodec extends ChannelDuplexHandler {
     private volatile RakState state;
 
     private volatile long lastTouched = System.currentTimeMillis();
-    private volatile long lastFlush;
+    private volatile long lastFlush = System.nanoTime() - MIN_FLUSH_INTERVAL_NANOS;
 
     // Reliability, Ordering, Sequencing and datagram indexes
-    private RakSlidingWindow slidingWindow;
+    private RakCongestionControl congestionControl;
     private int splitIndex;
     private int datagramReadIndex;
     private int datagramWriteIndex;
@@ -95,11 +99,16 @@ public class RakSessionCodec extends ChannelDuplexHandler {
     private long currentPingTime = -1;
     private long lastPingTime = -1;
     private long lastPongTime = -1;
-    private Map<Integer, RakDatagramPacket> sentDatagrams;
-    private Queue<IntRange> incomingAcks;
-    private Queue<IntRange> incomingNaks;
-    private Queue<IntRange> outgoingAcks;
-    private Queue<IntRange> outgoingNaks;
+    private SentDatagramTracker sentDatagrams;
+    private final List<RakDatagramPacket> datagramScratch = new ArrayList<>();
+    private boolean pacing;
+    private double pacingBudget;
+    private long lastPacingRefill;
+    private ScheduledFuture<?> pacingFuture;
+    private AckRangeSet incomingAcks;
+    private AckRangeSet incomingNaks;
+    private AckRangeSet outgoingAcks;
+    private AckRangeSet outgoingNaks;
     private long lastMinWeight;
 
     public RakSessionCodec(RakChannel channel) {
@@ -112,7 +121,9 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         this.setState(RakState.CONNECTED);
         int mtu = this.getMtu();
 
-        this.slidingWindow = new RakSlidingWindow(mtu);
+        this.congestionControl = this.channel.config().getCongestionControl().create(mtu);
+        this.pacing = this.channel.config().isPacing();
+        this.lastPacingRefill = System.nanoTime();
 
         this.outgoingPacketNextWeights = new long[4];
         this.initHeapWeights();
@@ -128,12 +139,12 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         }
 
         this.outgoingPackets = new FastBinaryMinHeap<>(8);
-        this.sentDatagrams = new ConcurrentHashMap<>();
+        this.sentDatagrams = new SentDatagramTracker(1024, System.currentTimeMillis());
 
-        this.incomingAcks = new ArrayDeque<>();
-        this.incomingNaks = new ArrayDeque<>();
-        this.outgoingAcks = new ArrayDeque<>();
-        this.outgoingNaks = new ArrayDeque<>();
+        this.incomingAcks = new AckRangeSet(64);
+        this.incomingNaks = new AckRangeSet(64);
+        this.outgoingAcks = new AckRangeSet(64);
+        this.outgoingNaks = new AckRangeSet(64);
 
         this.reliableDatagramQueue = new BitQueue(512);
         this.splitPackets = new RoundRobinArray<>(256);
@@ -157,6 +168,10 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         this.setState(RakState.DISCONNECTED);
         this.tickFuture.cancel(false);
         this.tickFuture = null;
+        if (this.pacingFuture != null) {
+            this.pacingFuture.cancel(false);
+            this.pacingFuture = null;
+        }
 
         // Perform resource clean up.
         for (SplitPacketHelper helper : this.splitPackets) {
@@ -166,9 +181,7 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         }
         this.splitPackets = null;
 
-        for (RakDatagramPacket packet : this.sentDatagrams.values()) {
-            packet.release();
-        }
+        this.sentDatagrams.clear();
         this.sentDatagrams = null;
 
         FastBinaryMinHeap<EncapsulatedPacket>[] orderingHeaps = this.orderingHeaps;
@@ -275,6 +288,13 @@ public class RakSessionCodec extends ChannelDuplexHandler {
             return;
         }
 
+        if (metrics != null) {
+            long curNanos = System.nanoTime();
+            for (EncapsulatedPacket packet : packets) {
+                packet.setQueuedNanoTime(curNanos);
+            }
+        }
+
         long weight = this.getNextWeight(message.priority());
         if (packets.length == 1) {
             this.outgoingPackets.insert(weight, packets[0]);
@@ -290,19 +310,28 @@ public class RakSessionCodec extends ChannelDuplexHandler {
             metrics.rakDatagramsIn(1);
         }
 
-        this.slidingWindow.onPacketReceived(packet.getSendTime());
+        this.congestionControl.onPacketReceived(packet.getSendTime());
 
-        int prevSequenceIndex = this.datagramReadIndex;
-        if (prevSequenceIndex <= packet.getSequenceIndex()) {
-            this.datagramReadIndex = packet.getSequenceIndex() + 1;
+        int sequenceIndex = packet.getSequenceIndex();
+        int missedDatagrams = RakUtils.sequenceDistance(this.datagramReadIndex, sequenceIndex);
+        if (missedDatagrams >= 0) {
+            this.datagramReadIndex = (sequenceIndex + 1) & 0xFFFFFF;
         }
 
-        int missedDatagrams = packet.getSequenceIndex() - prevSequenceIndex;
         if (missedDatagrams > 0) {
-            this.outgoingNaks.offer(new IntRange(packet.getSequenceIndex() - missedDatagrams, packet.getSequenceIndex() - 1));
+            int firstMissed = (sequenceIndex - missedDatagrams) & 0xFFFFFF;
+            if (firstMissed < sequenceIndex) {
+                this.outgoingNaks.add(firstMissed, sequenceIndex - 1);
+            } else {
+                // The gap spans the wrap of the sequence index
+                this.outgoingNaks.add(firstMissed, 0xFFFFFF);
+                if (sequenceIndex > 0) {
+                    this.outgoingNaks.add(0, sequenceIndex - 1);
+                }
+            }
         }
 
-        this.outgoingAcks.offer(new IntRange(packet.getSequenceIndex(), packet.getSequenceIndex()));
+        this.outgoingAcks.add(sequenceIndex);
 
         for (final EncapsulatedPacket encapsulated : packet.getPackets()) {
             if (encapsulated.getReliability().isReliable()) {
@@ -408,14 +437,32 @@ public class RakSessionCodec extends ChannelDuplexHandler {
 
         SplitPacketHelper helper = this.splitPackets.get(splitPacket.getPartId());
         if (helper == null) {
-            this.splitPackets.set(splitPacket.getPartId(), helper = new SplitPacketHelper(splitPacket.getPartCount()));
+            // Only timed when the reassembly time is going to be recorded
+            helper = new SplitPacketHelper(splitPacket.getPartCount(), this.getMetrics() != null);
+            this.splitPackets.set(splitPacket.getPartId(), helper);
         }
 
         // Try reassembling the packet.
         EncapsulatedPacket result = helper.add(splitPacket, alloc);
+        if (helper.getReceivedBytes() > MAXIMUM_SPLIT_PACKET_SIZE) {
+            // Stop buffering the parts of a split packet that outgrew the limit
+            this.splitPackets.remove(splitPacket.getPartId(), helper);
+            if (result != null) {
+                result.release();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Dropped split packet {} from {} exceeding {} bytes", splitPacket.getPartId(), this.getRemoteAddress(), MAXIMUM_SPLIT_PACKET_SIZE);
+            }
+            return null;
+        }
         if (result != null) {
             // Packet reassembled. Remove the helper
             this.splitPackets.remove(splitPacket.getPartId(), helper);
+
+            RakChannelMetrics metrics = this.getMetrics();
+            if (metrics != null && helper.getCreatedNanoTime() != 0) {
+                metrics.splitPacketReassembled((System.nanoTime() - helper.getCreatedNanoTime()) / 1000, helper.getPartCount());
+            }
         }
 
         return result;
@@ -465,6 +512,11 @@ public class RakSessionCodec extends ChannelDuplexHandler {
             return;
         }
 
+        RakChannelMetrics metrics = this.getMetrics();
+        if (metrics != null) {
+            metrics.congestionControl(this.congestionControl);
+        }
+
         ChannelHandlerContext ctx = ctx();
 
         if (this.currentPingTime + 2000L < curTime) {
@@ -479,14 +531,15 @@ public class RakSessionCodec extends ChannelDuplexHandler {
     }
 
     private void internalFlush(ChannelHandlerContext ctx) {
-        long curTime = System.currentTimeMillis();
-        if (this.lastFlush == curTime) {
+        long curNanos = System.nanoTime();
+        if (curNanos - this.lastFlush < MIN_FLUSH_INTERVAL_NANOS) {
             return; // do not flush multiple times within one ms
         }
-        this.lastFlush = curTime;
+        this.lastFlush = curNanos;
+        long curTime = System.currentTimeMillis();
 
-        this.handleIncomingAcknowledge(ctx, curTime, this.incomingAcks, false);
-        this.handleIncomingAcknowledge(ctx, curTime, this.incomingNaks, true);
+        this.handleIncomingAcknowledge(ctx, curTime, curNanos, this.incomingAcks, false);
+        this.handleIncomingAcknowledge(ctx, curTime, curNanos, this.incomingNaks, true);
 
         // Send our know outgoing acknowledge packets.
         int mtuSize = this.getMtu();
@@ -494,13 +547,13 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         int writtenAcks = 0;
         int writtenNacks = 0;
 
-        // if (this.slidingWindow.shouldSendAcks(curTime)) {
+        // if (this.congestionControl.shouldSendAcks(curTime)) {
         while (!this.outgoingAcks.isEmpty()) {
             ByteBuf buffer = ctx.alloc().ioBuffer(ackMtu);
             buffer.writeByte(FLAG_VALID | FLAG_ACK);
             writtenAcks += RakUtils.writeAckEntries(buffer, this.outgoingAcks, ackMtu - 1);
             ctx.write(buffer);
-            this.slidingWindow.onSendAck();
+            this.congestionControl.onSendAck();
         }
         // }
 
@@ -526,33 +579,51 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         }
     }
 
-    private void handleIncomingAcknowledge(ChannelHandlerContext ctx, long curTime, Queue<IntRange> queue, boolean nack) {
-        if (queue.isEmpty()) {
+    /**
+     * Applies received acknowledgements right away, so round trip times are not inflated by the flush interval.
+     * Negative acknowledgements cause resends and are left to the next flush.
+     */
+    void handleIncomingAcks() {
+        if (this.sentDatagrams != null) {
+            this.handleIncomingAcknowledge(null, System.currentTimeMillis(), System.nanoTime(), this.incomingAcks, false);
+        }
+    }
+
+    private void handleIncomingAcknowledge(ChannelHandlerContext ctx, long curTime, long curNanos, AckRangeSet ranges, boolean nack) {
+        if (ranges.isEmpty()) {
             return;
         }
 
 //        if (nack) {
-//            this.slidingWindow.onNak();
+//            this.congestionControl.onNak();
 //        }
 
-        IntRange range;
-        while ((range = queue.poll()) != null) {
-            for (int i = range.start; i <= range.end; i++) {
-                RakDatagramPacket datagram = this.sentDatagrams.remove(i);
-                if (datagram != null) {
-                    if (nack) {
-                        this.onIncomingNack(ctx, datagram, curTime);
-                    } else {
-                        this.onIncomingAck(datagram, curTime);
-                    }
+        List<RakDatagramPacket> datagrams = this.datagramScratch;
+        while (!ranges.isEmpty()) {
+            this.sentDatagrams.removeRange(ranges.firstStart(), ranges.firstEnd(), datagrams);
+            ranges.removeFirst();
+            for (int i = 0; i < datagrams.size(); i++) {
+                if (nack) {
+                    this.onIncomingNack(ctx, datagrams.get(i), curTime);
+                } else {
+                    this.onIncomingAck(datagrams.get(i), curTime, curNanos);
                 }
             }
+            datagrams.clear();
         }
     }
 
-    private void onIncomingAck(RakDatagramPacket datagram, long curTime) {
+    private void onIncomingAck(RakDatagramPacket datagram, long curTime, long curNanos) {
         try {
-            this.slidingWindow.onAck(curTime, datagram, this.datagramReadIndex);
+            // Every transmission gets a new sequence index, so the sample is never ambiguous
+            long rttMicros = (curNanos - datagram.getSendNanoTime()) / 1000;
+            this.congestionControl.onAck(curTime, datagram, rttMicros, this.datagramWriteIndex);
+
+            RakChannelMetrics metrics = this.getMetrics();
+            if (metrics != null) {
+                metrics.roundTripTime(rttMicros);
+                metrics.retransmissions(datagram.getTransmissions() - 1);
+            }
         } finally {
             datagram.release();
         }
@@ -563,40 +634,24 @@ public class RakSessionCodec extends ChannelDuplexHandler {
             log.trace("NAK'ed datagram {} from {}", datagram.getSequenceIndex(), this.getRemoteAddress());
         }
 
-        this.slidingWindow.onNak(); // TODO: verify this
+        this.congestionControl.onNak(); // TODO: verify this
         this.sendDatagram(ctx, datagram, curTime);
     }
 
     private int sendStaleDatagrams(ChannelHandlerContext ctx, long curTime) {
-        if (this.sentDatagrams.isEmpty()) {
-            return 0;
-        }
-
-        boolean hasResent = false;
-        int resendCount = 0;
-        int transmissionBandwidth = this.slidingWindow.getRetransmissionBandwidth();
-
-        for (RakDatagramPacket datagram : this.sentDatagrams.values()) {
-            if (datagram.getNextSend() <= curTime) {
-                int size = datagram.getSize();
-                if (transmissionBandwidth < size) {
-                    break;
-                }
-                transmissionBandwidth -= size;
-
-                if (!hasResent) {
-                    hasResent = true;
-                }
-                if (log.isTraceEnabled()) {
-                    log.trace("Stale datagram {} from {}", datagram.getSequenceIndex(), this.getRemoteAddress());
-                }
-                resendCount++;
-                this.sendDatagram(ctx, datagram, curTime);
+        List<RakDatagramPacket> datagrams = this.datagramScratch;
+        int resendCount = this.sentDatagrams.pollExpired(curTime, this.congestionControl.getRetransmissionBandwidth(), datagrams);
+        for (int i = 0; i < resendCount; i++) {
+            RakDatagramPacket datagram = datagrams.get(i);
+            if (log.isTraceEnabled()) {
+                log.trace("Stale datagram {} from {}", datagram.getSequenceIndex(), this.getRemoteAddress());
             }
+            this.sendDatagram(ctx, datagram, curTime);
         }
+        datagrams.clear();
 
-        if (hasResent) {
-            this.slidingWindow.onResend(curTime);
+        if (resendCount > 0) {
+            this.congestionControl.onResend(this.datagramWriteIndex);
         }
 
         return resendCount;
@@ -607,9 +662,16 @@ public class RakSessionCodec extends ChannelDuplexHandler {
             return;
         }
 
-        int transmissionBandwidth = this.slidingWindow.getTransmissionBandwidth();
+        int pacingBudget = this.pacing ? this.refillPacingBudget(mtuSize) : -1;
+        // While pacing here the congestion control only limits the window, its own pacing would be a second budget
+        int windowBandwidth = this.pacing ? this.congestionControl.getWindowBandwidth(curTime) :
+                this.congestionControl.getTransmissionBandwidth(curTime);
+        int transmissionBandwidth = pacingBudget == -1 ? windowBandwidth : Math.min(windowBandwidth, pacingBudget);
+        int availableBandwidth = transmissionBandwidth;
         RakDatagramPacket datagram = RakDatagramPacket.newInstance();
         datagram.setSendTime(curTime);
+        RakChannelMetrics metrics = this.getMetrics();
+        long curNanos = metrics != null ? System.nanoTime() : 0;
         EncapsulatedPacket packet;
 
         while ((packet = this.outgoingPackets.peek()) != null) {
@@ -620,6 +682,9 @@ public class RakSessionCodec extends ChannelDuplexHandler {
 
             transmissionBandwidth -= size;
             this.outgoingPackets.remove();
+            if (metrics != null && packet.getQueuedNanoTime() != 0) {
+                metrics.sendQueueDelay((curNanos - packet.getQueuedNanoTime()) / 1000);
+            }
 
             // Send full datagram
             if (!datagram.tryAddPacket(packet, mtuSize)) {
@@ -635,6 +700,62 @@ public class RakSessionCodec extends ChannelDuplexHandler {
 
         if (!datagram.getPackets().isEmpty()) {
             this.sendDatagram(ctx, datagram, curTime);
+        } else {
+            datagram.release();
+        }
+
+        if (pacingBudget != -1) {
+            int sentBytes = availableBandwidth - transmissionBandwidth;
+            this.pacingBudget -= sentBytes;
+
+            // Come back once the budget allows the next packet, unless the window is what holds it back
+            packet = this.outgoingPackets.peek();
+            if (packet != null && windowBandwidth - sentBytes >= packet.getSize()) {
+                this.schedulePacedSend(ctx, packet.getSize());
+            }
+        }
+    }
+
+    /**
+     * @return bytes that may be sent now while pacing or -1 if the congestion control has no pacing rate yet
+     */
+    private int refillPacingBudget(int mtuSize) {
+        long curNanos = System.nanoTime();
+        double rate = this.congestionControl.getPacingRate();
+        long elapsed = curNanos - this.lastPacingRefill;
+        this.lastPacingRefill = curNanos;
+        if (rate <= 0) {
+            this.pacingBudget = 0;
+            return -1;
+        }
+
+        double maxBudget = Math.max(2.0D * mtuSize, rate * PACING_QUANTUM);
+        this.pacingBudget = Math.min(maxBudget, this.pacingBudget + rate * elapsed / NANOS_PER_MILLI);
+        return (int) Math.max(0, this.pacingBudget);
+    }
+
+    private void schedulePacedSend(ChannelHandlerContext ctx, int size) {
+        if (this.pacingFuture != null) {
+            return;
+        }
+        double rate = this.congestionControl.getPacingRate();
+        long delay = (long) (Math.max(0, size - this.pacingBudget) / rate * NANOS_PER_MILLI);
+        this.pacingFuture = ctx.channel().eventLoop().schedule(this::tryPacedSend, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void tryPacedSend() {
+        this.pacingFuture = null;
+        if (this.state == RakState.DISCONNECTED || this.tickFuture == null) {
+            return;
+        }
+
+        try {
+            ChannelHandlerContext ctx = ctx();
+            this.sendDatagrams(ctx, System.currentTimeMillis(), this.getMtu());
+            ctx.flush();
+        } catch (Throwable t) {
+            log.error("[{}] Error while pacing RakSessionCodec state={} channelActive={}", this.getRemoteAddress(), this.state, this.channel.isActive(), t);
+            this.channel.close();
         }
     }
 
@@ -669,18 +790,24 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         }
 
         int oldIndex = datagram.getSequenceIndex();
-        datagram.setSequenceIndex(this.datagramWriteIndex++);
+        if (oldIndex != -1) {
+            // Hand the tracked reference over to the resend
+            this.sentDatagrams.remove(oldIndex);
+        }
+        datagram.setSequenceIndex(this.datagramWriteIndex);
+        datagram.setSendNanoTime(System.nanoTime());
+        datagram.setTransmissions(datagram.getTransmissions() + 1);
+        // Sequence numbers are 24 bit on the wire
+        this.datagramWriteIndex = (this.datagramWriteIndex + 1) & 0xFFFFFF;
 
         for (EncapsulatedPacket packet : datagram.getPackets()) {
             // Check if packet is reliable so it can be resent later if a NAK is received.
             if (packet.getReliability().isReliable()) {
-                datagram.setNextSend(time + this.slidingWindow.getRtoForRetransmission());
+                datagram.setNextSend(time + this.congestionControl.getRtoForRetransmission());
                 if (oldIndex == -1) {
-                    this.slidingWindow.onReliableSend(datagram);
-                } else {
-                    this.sentDatagrams.remove(oldIndex, datagram);
+                    this.congestionControl.onReliableSend(datagram);
                 }
-                this.sentDatagrams.put(datagram.getSequenceIndex(), datagram.retain()); // Keep for resending
+                this.sentDatagrams.add(datagram.retain()); // Keep for resending
                 break;
             }
         }
@@ -885,7 +1012,7 @@ public class RakSessionCodec extends ChannelDuplexHandler {
     }
 
     public double getRTT() {
-        return this.slidingWindow.getRTT();
+        return this.congestionControl.getRTT();
     }
 
     public int getMtu() {
@@ -900,7 +1027,7 @@ public class RakSessionCodec extends ChannelDuplexHandler {
         return (InetSocketAddress) this.channel.remoteAddress();
     }
 
-    protected Queue<IntRange> getAcknowledgeQueue(boolean nack) {
+    protected AckRangeSet getAcknowledgeSet(boolean nack) {
         return nack ? this.incomingNaks : this.incomingAcks;
     }
 
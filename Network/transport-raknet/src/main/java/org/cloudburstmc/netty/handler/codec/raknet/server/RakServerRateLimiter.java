@@ -17,40 +17,56 @@
 package org.cloudburstmc.netty.handler.codec.raknet.server;
 
 import org.cloudburstmc.netty.channel.raknet.RakServerChannel;
+import org.cloudburstmc.netty.channel.raknet.config.RakServerChannelConfig;
 import org.cloudburstmc.netty.channel.raknet.config.RakServerMetrics;
+import org.cloudburstmc.netty.util.AddressRateTable;
 
 import java.net.InetAddress;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.DatagramPacket;
 import io.netty.util.concurrent.ScheduledFuture;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
+/**
+ * Limits the datagrams each address may send with a token bucket per address.
+ * <p>
+ * A bucket holds up to {@link RakServerChannelConfig#getPacketBurst()} tokens and refills at
+ * {@link RakServerChannelConfig#getPacketLimit()} tokens per RakNet tick, addresses added with
+ * {@link #addException(InetAddress)} skip their bucket. Buckets are only refilled when their address
+ * sends, and a periodic sweep drops the ones that have been full for a while together with expired blocks. An address
+ * running out of tokens is blocked for {@link RakServerChannelConfig#getBlockDuration()} milliseconds. All datagrams
+ * together share one more bucket sized by {@link RakServerChannelConfig#getGlobalPacketLimit()}.
+ * <p>
+ * The buckets are only touched on the event loop of the server channel. Blocked addresses are additionally published
+ * to a concurrent map, so {@link #isAddressBlocked(InetAddress)} can be answered from any thread without waiting on
+ * the event loop.
+ */
 public class RakServerRateLimiter extends SimpleChannelInboundHandler<DatagramPacket> {
     public static final String NAME = "rak-server-rate-limiter";
     private static final InternalLogger log = InternalLoggerFactory.getInstance(RakServerRateLimiter.class);
 
-    private final RakServerChannel channel;
-
-    private final ConcurrentHashMap<InetAddress, AtomicInteger> rateLimitMap = new ConcurrentHashMap<>();
-    private final Map<InetAddress, Long> blockedConnections = new ConcurrentHashMap<>();
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SWEEP_INTERVAL_MS = 1000;
 
+    private final RakServerChannel channel;
+    private final AddressRateTable buckets = new AddressRateTable(256);
     private final Collection<InetAddress> exceptions = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // Time each blocked address is blocked until, written on the event loop only
+    private final Map<InetAddress, Long> blockedAddresses = new ConcurrentHashMap<>();
 
-    private final AtomicLong globalCounter = new AtomicLong(0);
+    private double globalTokens = -1;
+    private long globalRefill;
 
-    private ScheduledFuture<?> tickFuture;
-    private ScheduledFuture<?> blockedTickFuture;
+    private ScheduledFuture<?> sweepFuture;
 
     public RakServerRateLimiter(RakServerChannel channel) {
         this.channel = channel;
@@ -58,36 +74,38 @@ public class RakServerRateLimiter extends SimpleChannelInboundHandler<DatagramPa
 
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
-        this.tickFuture = ctx.channel().eventLoop().scheduleAtFixedRate(this::onRakTick, 10, 10, TimeUnit.MILLISECONDS);
-        this.blockedTickFuture = ctx.channel().eventLoop().scheduleAtFixedRate(this::onBlockedTick, 100, 100, TimeUnit.MILLISECONDS);
+        this.sweepFuture = ctx.channel().eventLoop().scheduleAtFixedRate(this::onSweep, SWEEP_INTERVAL_MS, SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
-        this.tickFuture.cancel(false);
-        this.blockedTickFuture.cancel(true);
-        this.rateLimitMap.clear();
+        this.sweepFuture.cancel(false);
+        this.buckets.clear();
+        this.blockedAddresses.clear();
     }
 
-    private void onRakTick() {
-        this.rateLimitMap.clear();
-        this.globalCounter.set(0);
-    }
+    private void onSweep() {
+        long curTime = System.nanoTime();
+        RakServerChannelConfig config = this.channel.config();
+        long refillNanos = (long) (TICK_NANOS * ((double) Math.max(1, config.getPacketBurst()) / Math.max(1, config.getPacketLimit())));
 
-    private void onBlockedTick() {
-        long currTime = System.currentTimeMillis();
+        for (int i = 0; i < this.buckets.capacity(); ) {
+            if (!this.buckets.isUsed(i)) {
+                i++;
+                continue;
+            }
 
-        RakServerMetrics metrics = this.channel.config().getMetrics();
+            long blockedUntil = this.buckets.getBlockedUntil(i);
+            if (blockedUntil != 0 && curTime - blockedUntil >= 0) {
+                this.onUnblocked(i);
+                blockedUntil = 0;
+            }
 
-        Iterator<Map.Entry<InetAddress, Long>> iterator = this.blockedConnections.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<InetAddress, Long> entry = iterator.next();
-            if (entry.getValue() != 0 && currTime > entry.getValue()) {
-                iterator.remove();
-                log.info("Unblocked address {}", entry.getKey());
-                if (metrics != null) {
-                    metrics.addressUnblocked(entry.getKey());
-                }
+            // A bucket which would be full again holds no state worth keeping
+            if (blockedUntil == 0 && curTime - this.buckets.getLastRefill(i) >= refillNanos) {
+                this.buckets.remove(i);
+            } else {
+                i++;
             }
         }
     }
@@ -97,8 +115,25 @@ public class RakServerRateLimiter extends SimpleChannelInboundHandler<DatagramPa
             return false;
         }
 
-        long millis = unit.toMillis(time);
-        this.blockedConnections.put(address, System.currentTimeMillis() + millis);
+        if (!this.inEventLoop()) {
+            this.channel.eventLoop().execute(() -> this.blockAddress(address, time, unit));
+            return true;
+        }
+
+        long curTime = System.nanoTime();
+        int index = this.buckets.getOrInsert(address, curTime, this.channel.config().getPacketBurst());
+        if (index < 0) {
+            log.warn("[{}] Could not block address, too many addresses are tracked", address);
+            return false;
+        }
+
+        // Keep clear of 0, which marks an address that is not blocked
+        long blockedUntil = curTime + Math.min(unit.toNanos(time), Long.MAX_VALUE >> 2);
+        if (blockedUntil == 0) {
+            blockedUntil = 1;
+        }
+        this.buckets.setBlockedUntil(index, blockedUntil);
+        this.blockedAddresses.put(address, blockedUntil);
 
         if (this.channel.config().getMetrics() != null) {
             this.channel.config().getMetrics().addressBlocked(address);
@@ -107,19 +142,23 @@ public class RakServerRateLimiter extends SimpleChannelInboundHandler<DatagramPa
     }
 
     public void unblockAddress(InetAddress address) {
-        if (this.blockedConnections.remove(address) == null) {
+        if (!this.inEventLoop()) {
+            this.channel.eventLoop().execute(() -> this.unblockAddress(address));
             return;
         }
 
-        log.info("Unblocked address {}", address);
-
-        if (this.channel.config().getMetrics() != null) {
-            this.channel.config().getMetrics().addressUnblocked(address);
+        int index = this.buckets.indexOf(address);
+        if (index >= 0 && this.buckets.getBlockedUntil(index) != 0) {
+            this.onUnblocked(index);
         }
     }
 
+    /**
+     * Safe to call from any thread. A block requested from another thread shows up once the event loop applied it.
+     */
     public boolean isAddressBlocked(InetAddress address) {
-        return this.blockedConnections.containsKey(address);
+        Long blockedUntil = this.blockedAddresses.get(address);
+        return blockedUntil != null && System.nanoTime() - blockedUntil < 0;
     }
 
     public void addException(InetAddress address) {
@@ -132,24 +171,86 @@ public class RakServerRateLimiter extends SimpleChannelInboundHandler<DatagramPa
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket datagram) throws Exception {
-        if (this.globalCounter.incrementAndGet() > this.channel.config().getGlobalPacketLimit()) {
+        long curTime = System.nanoTime();
+        RakServerChannelConfig config = this.channel.config();
+
+        if (!this.tryAcquireGlobal(curTime, config.getGlobalPacketLimit())) {
             if (log.isTraceEnabled()) {
-                log.trace("[{}] Dropped incoming packet because global packet limit was reached: {}", datagram.sender(), this.globalCounter.get());
+                log.trace("[{}] Dropped incoming packet because global packet limit was reached", datagram.sender());
             }
             return;
         }
 
         InetAddress address = datagram.sender().getAddress();
-        if (this.blockedConnections.containsKey(address)) {
+        if (this.exceptions.contains(address)) {
+            ctx.fireChannelRead(datagram.retain());
+            return;
+        }
+
+        int burst = config.getPacketBurst();
+        int index = this.buckets.getOrInsert(address, curTime, burst);
+        if (index < 0) {
+            // Too many addresses to track, only the global limit applies until the next sweep
+            ctx.fireChannelRead(datagram.retain());
             return;
         }
 
-        AtomicInteger counter = this.rateLimitMap.computeIfAbsent(address, a -> new AtomicInteger());
-        if (counter.incrementAndGet() > this.channel.config().getPacketLimit() &&
-                this.blockAddress(address, 10, TimeUnit.SECONDS)) {
+        long blockedUntil = this.buckets.getBlockedUntil(index);
+        if (blockedUntil != 0) {
+            if (curTime - blockedUntil < 0) {
+                return;
+            }
+            this.onUnblocked(index);
+        }
+
+        double rate = (double) config.getPacketLimit() / TICK_NANOS;
+        double tokens = Math.min(burst, this.buckets.getTokens(index) + (curTime - this.buckets.getLastRefill(index)) * rate);
+        this.buckets.setLastRefill(index, curTime);
+        if (tokens >= 1) {
+            this.buckets.setTokens(index, tokens - 1);
+            ctx.fireChannelRead(datagram.retain());
+            return;
+        }
+
+        this.buckets.setTokens(index, tokens);
+        if (this.blockAddress(address, config.getBlockDuration(), TimeUnit.MILLISECONDS)) {
             log.warn("[{}] Blocked because packet limit was reached", address);
         } else {
             ctx.fireChannelRead(datagram.retain());
         }
     }
+
+    private boolean tryAcquireGlobal(long curTime, int limit) {
+        if (this.globalTokens < 0) {
+            this.globalTokens = limit;
+        } else {
+            this.globalTokens = Math.min(limit, this.globalTokens + (double) (curTime - this.globalRefill) * limit / TICK_NANOS);
+        }
+        this.globalRefill = curTime;
+
+        if (this.globalTokens < 1) {
+            return false;
+        }
+        this.globalTokens--;
+        return true;
+    }
+
+    private void onUnblocked(int index) {
+        this.buckets.setBlockedUntil(index, 0);
+        // Start over with a full bucket
+        this.buckets.setTokens(index, this.channel.config().getPacketBurst());
+
+        InetAddress address = this.buckets.getAddress(index);
+        this.blockedAddresses.remove(address);
+        log.info("Unblocked address {}", address);
+        RakServerMetrics metrics = this.channel.config().getMetrics();
+        if (metrics != null) {
+            metrics.addressUnblocked(address);
+        }
+    }
+
+    private boolean inEventLoop() {
+        EventLoop eventLoop = this.channel.isRegistered() ? this.channel.eventLoop() : null;
+        return eventLoop == null || eventLoop.inEventLoop();
+    }
 }
@@ -58,6 +58,17 @@ public class RakServerRouteHandler extends ChannelDuplexHandler {
             // In this case remote address is already known from ChannelHandlerContext
             // so we can pass only payload.
             ByteBuf buffer = packet.content().retain();
+            if (channel.parent() != this.parent) {
+                // Received by another SO_REUSEPORT shard, the session stays on the loop that owns it
+                channel.parent().eventLoop().execute(() -> {
+                    if (channel.isOpen()) {
+                        channel.rakPipeline().fireChannelRead(buffer).fireChannelReadComplete();
+                    } else {
+                        buffer.release();
+                    }
+                });
+                return;
+            }
             channel.rakPipeline().fireChannelRead(buffer).fireChannelReadComplete();
         } finally {
             packet.release();
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.util;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of datagram sequence numbers stored as disjoint inclusive ranges in primitive arrays.
+ * <p>
+ * Overlapping and adjacent ranges are merged on insert, so a run of datagrams received in order occupies a
+ * single range. Ranges are consumed from the lowest one, which makes in-order inserts and draining constant time
+ * without allocating.
+ * <p>
+ * Not thread safe, the set is only used from the event loop of its session.
+ */
+public class AckRangeSet {
+
+    private int[] starts;
+    private int[] ends;
+    private int head;
+    private int tail;
+
+    public AckRangeSet(int initialCapacity) {
+        int capacity = Math.max(4, RakUtils.powerOfTwoCeiling(initialCapacity));
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
+
+    public void add(int value) {
+        this.add(value, value);
+    }
+
+    /**
+     * Adds all sequence numbers of the inclusive range.
+     */
+    public void add(int start, int end) {
+        if (start > end) {
+            throw new IllegalArgumentException("Range start " + start + " is greater than end " + end);
+        }
+
+        if (this.head == this.tail) {
+            this.insert(this.tail, start, end);
+            return;
+        }
+
+        // Fast path for datagrams arriving in order
+        int last = this.tail - 1;
+        if (start > this.ends[last] + 1) {
+            this.insert(this.tail, start, end);
+            return;
+        }
+        if (start >= this.starts[last]) {
+            if (end > this.ends[last]) {
+                this.ends[last] = end;
+            }
+            return;
+        }
+
+        // First range that overlaps or touches the new one, or the one it belongs before
+        int low = this.head;
+        int high = this.tail;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.ends[mid] < start - 1) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int merged = low;
+        while (merged < this.tail && this.starts[merged] <= end + 1) {
+            merged++;
+        }
+
+        if (merged == low) {
+            this.insert(low, start, end);
+            return;
+        }
+
+        this.starts[low] = Math.min(start, this.starts[low]);
+        this.ends[low] = Math.max(end, this.ends[merged - 1]);
+        int removed = merged - low - 1;
+        if (removed > 0) {
+            System.arraycopy(this.starts, merged, this.starts, low + 1, this.tail - merged);
+            System.arraycopy(this.ends, merged, this.ends, low + 1, this.tail - merged);
+            this.tail -= removed;
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.head == this.tail;
+    }
+
+    /**
+     * @return number of disjoint ranges
+     */
+    public int size() {
+        return this.tail - this.head;
+    }
+
+    public int firstStart() {
+        this.checkNotEmpty();
+        return this.starts[this.head];
+    }
+
+    public int firstEnd() {
+        this.checkNotEmpty();
+        return this.ends[this.head];
+    }
+
+    public void removeFirst() {
+        this.checkNotEmpty();
+        if (++this.head == this.tail) {
+            this.head = 0;
+            this.tail = 0;
+        }
+    }
+
+    public void clear() {
+        this.head = 0;
+        this.tail = 0;
+    }
+
+    private void checkNotEmpty() {
+        if (this.head == this.tail) {
+            throw new IllegalStateException("Set is empty");
+        }
+    }
+
+    private void insert(int index, int start, int end) {
+        if (this.tail == this.starts.length) {
+            if (this.head > 0) {
+                // Reclaim the space of consumed ranges
+                int size = this.tail - this.head;
+                System.arraycopy(this.starts, this.head, this.starts, 0, size);
+                System.arraycopy(this.ends, this.head, this.ends, 0, size);
+                index -= this.head;
+                this.head = 0;
+                this.tail = size;
+            } else {
+                this.starts = Arrays.copyOf(this.starts, this.starts.length << 1);
+                this.ends = Arrays.copyOf(this.ends, this.ends.length << 1);
+            }
+        }
+
+        if (index < this.tail) {
+            System.arraycopy(this.starts, index, this.starts, index + 1, this.tail - index);
+            System.arraycopy(this.ends, index, this.ends, index + 1, this.tail - index);
+        }
+        this.starts[index] = start;
+        this.ends[index] = end;
+        this.tail++;
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.util;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
+/**
+ * Token bucket and block state per remote address, stored in parallel primitive arrays.
+ * <p>
+ * Addresses are packed into two longs, IPv4 addresses in their IPv4-mapped IPv6 form, and looked up with linear
+ * probing. Removal shifts the following entries back instead of leaving tombstones, so lookups stay short however
+ * many addresses come and go. The table stops growing at a fixed capacity to bound the memory a flood of spoofed
+ * source addresses can take.
+ * <p>
+ * Not thread safe, the table is only used from the event loop of its server channel.
+ */
+public class AddressRateTable {
+
+    private static final int MAX_CAPACITY = 1 << 18;
+    private static final long IPV4_MAPPED_PREFIX = 0xFFFFL << 32;
+
+    private long[] keysHigh;
+    private long[] keysLow;
+    private boolean[] used;
+    private double[] tokens;
+    private long[] lastRefill;
+    private long[] blockedUntil;
+    private int mask;
+    private int size;
+
+    // Key of the last probed address, reused by the insert that may follow
+    private long probeHigh;
+    private long probeLow;
+
+    public AddressRateTable(int initialCapacity) {
+        this.allocate(Math.max(16, RakUtils.powerOfTwoCeiling(initialCapacity)));
+    }
+
+    /**
+     * @return slot of the address or -1 if it is not in the table
+     */
+    public int indexOf(InetAddress address) {
+        return this.probe(address);
+    }
+
+    /**
+     * Returns the slot of the address, adding it with a full bucket and no block if it is missing.
+     *
+     * @return slot of the address or -1 if the table is full
+     */
+    public int getOrInsert(InetAddress address, long curTime, double initialTokens) {
+        int index = this.probe(address);
+        if (index >= 0) {
+            return index;
+        }
+
+        if ((this.size + 1) << 1 > this.used.length && this.used.length < MAX_CAPACITY) {
+            this.rehash(this.used.length << 1);
+        } else if (this.size >= (this.used.length >> 2) * 3) {
+            return -1;
+        }
+
+        index = this.slot(this.probeHigh, this.probeLow);
+        while (this.used[index]) {
+            index = (index + 1) & this.mask;
+        }
+        this.used[index] = true;
+        this.keysHigh[index] = this.probeHigh;
+        this.keysLow[index] = this.probeLow;
+        this.tokens[index] = initialTokens;
+        this.lastRefill[index] = curTime;
+        this.blockedUntil[index] = 0;
+        this.size++;
+        return index;
+    }
+
+    /**
+     * Removes the entry in the given slot. Entries of later slots may move into it, so a sweep over all slots has to
+     * look at the same slot again.
+     */
+    public void remove(int index) {
+        this.checkUsed(index);
+        int hole = index;
+        int next = (hole + 1) & this.mask;
+        while (this.used[next]) {
+            int home = this.slot(this.keysHigh[next], this.keysLow[next]);
+            // Move the entry back if its home slot is not between the hole and its current slot
+            if (((next - home) & this.mask) >= ((next - hole) & this.mask)) {
+                this.move(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.used[hole] = false;
+        this.size--;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return number of slots, valid slot indices are below it
+     */
+    public int capacity() {
+        return this.used.length;
+    }
+
+    public boolean isUsed(int index) {
+        return this.used[index];
+    }
+
+    public double getTokens(int index) {
+        return this.tokens[index];
+    }
+
+    public void setTokens(int index, double tokens) {
+        this.tokens[index] = tokens;
+    }
+
+    public long getLastRefill(int index) {
+        return this.lastRefill[index];
+    }
+
+    public void setLastRefill(int index, long lastRefill) {
+        this.lastRefill[index] = lastRefill;
+    }
+
+    /**
+     * @return time the block of the address ends or 0 if it is not blocked
+     */
+    public long getBlockedUntil(int index) {
+        return this.blockedUntil[index];
+    }
+
+    public void setBlockedUntil(int index, long blockedUntil) {
+        this.blockedUntil[index] = blockedUntil;
+    }
+
+    /**
+     * Unpacks the address of a slot, only meant for logging and metrics.
+     */
+    public InetAddress getAddress(int index) {
+        this.checkUsed(index);
+        long high = this.keysHigh[index];
+        long low = this.keysLow[index];
+        byte[] bytes;
+        if (high == 0 && (low >>> 32) == 0xFFFFL) {
+            bytes = new byte[4];
+            writeLong(bytes, 0, low << 32, 4);
+        } else {
+            bytes = new byte[16];
+            writeLong(bytes, 0, high, 8);
+            writeLong(bytes, 8, low, 8);
+        }
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(this.used, false);
+        this.size = 0;
+    }
+
+    /**
+     * @return slot of the address or -1 if it is missing. The packed key is kept in the probe fields.
+     */
+    private int probe(InetAddress address) {
+        long high;
+        long low;
+        if (address instanceof Inet4Address) {
+            // The hash code of an IPv4 address is the address itself, this saves copying its bytes
+            high = 0;
+            low = IPV4_MAPPED_PREFIX | (address.hashCode() & 0xFFFFFFFFL);
+        } else {
+            byte[] bytes = address.getAddress();
+            high = readLong(bytes, 0);
+            low = readLong(bytes, 8);
+        }
+        this.probeHigh = high;
+        this.probeLow = low;
+
+        int index = this.slot(high, low);
+        while (this.used[index]) {
+            if (this.keysHigh[index] == high && this.keysLow[index] == low) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    private int slot(long high, long low) {
+        long hash = (high * 0x9E3779B97F4A7C15L) ^ low;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & this.mask;
+    }
+
+    private void move(int from, int to) {
+        this.used[to] = true;
+        this.keysHigh[to] = this.keysHigh[from];
+        this.keysLow[to] = this.keysLow[from];
+        this.tokens[to] = this.tokens[from];
+        this.lastRefill[to] = this.lastRefill[from];
+        this.blockedUntil[to] = this.blockedUntil[from];
+    }
+
+    private void allocate(int capacity) {
+        this.keysHigh = new long[capacity];
+        this.keysLow = new long[capacity];
+        this.used = new boolean[capacity];
+        this.tokens = new double[capacity];
+        this.lastRefill = new long[capacity];
+        this.blockedUntil = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] keysHigh = this.keysHigh;
+        long[] keysLow = this.keysLow;
+        boolean[] used = this.used;
+        double[] tokens = this.tokens;
+        long[] lastRefill = this.lastRefill;
+        long[] blockedUntil = this.blockedUntil;
+
+        this.allocate(capacity);
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) {
+                continue;
+            }
+            int index = this.slot(keysHigh[i], keysLow[i]);
+            while (this.used[index]) {
+                index = (index + 1) & this.mask;
+            }
+            this.used[index] = true;
+            this.keysHigh[index] = keysHigh[i];
+            this.keysLow[index] = keysLow[i];
+            this.tokens[index] = tokens[i];
+            this.lastRefill[index] = lastRefill[i];
+            this.blockedUntil[index] = blockedUntil[i];
+        }
+    }
+
+    private void checkUsed(int index) {
+        if (!this.used[index]) {
+            throw new IllegalArgumentException("Slot " + index + " is empty");
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value, int length) {
+        for (int i = 0; i < length; i++) {
+            bytes[offset + i] = (byte) (value >>> (56 - (i << 3)));
+        }
+    }
+}
@@ -24,7 +24,6 @@ import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
-import java.util.Queue;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
@@ -145,15 +144,21 @@ public class RakUtils {
         }
     }
 
-    public static int writeAckEntries(ByteBuf buffer, Queue<IntRange> ackQueue, int mtu) {
+    /**
+     * Writes ranges from the front of the set until the buffer holds {@code mtu} bytes and removes the written ones.
+     *
+     * @return number of ranges written
+     */
+    public static int writeAckEntries(ByteBuf buffer, AckRangeSet ackSet, int mtu) {
         int startIndex = buffer.writerIndex();
         buffer.writeZero(2);
         mtu -= 2; // Skip entries size (short)
 
         int count = 0;
-        IntRange ackRange;
-        while ((ackRange = ackQueue.peek()) != null) {
-            boolean singleton = ackRange.start == ackRange.end;
+        while (!ackSet.isEmpty()) {
+            int start = ackSet.firstStart();
+            int end = ackSet.firstEnd();
+            boolean singleton = start == end;
             int size = singleton ? 4 : 7;
             if (mtu < size) {
                 break;
@@ -163,11 +168,11 @@ public class RakUtils {
             mtu -= size;
 
             buffer.writeBoolean(singleton);
-            buffer.writeMediumLE(ackRange.start);
+            buffer.writeMediumLE(start);
             if (!singleton) {
-                buffer.writeMediumLE(ackRange.end);
+                buffer.writeMediumLE(end);
             }
-            ackQueue.remove();
+            ackSet.removeFirst();
         }
 
         int finalIndex = buffer.writerIndex();
@@ -181,6 +186,14 @@ public class RakUtils {
         return value < low ? low : value > high ? high : value;
     }
 
+    /**
+     * Signed distance from {@code from} to {@code to} between two 24 bit datagram sequence indices, which wrap around.
+     * Positive if {@code to} was assigned after {@code from}, as long as they are less than 2^23 apart.
+     */
+    public static int sequenceDistance(int from, int to) {
+        return ((to - from) << 8) >> 8;
+    }
+
     public static int powerOfTwoCeiling(int value) {
         value--;
         value |= value >> 1;
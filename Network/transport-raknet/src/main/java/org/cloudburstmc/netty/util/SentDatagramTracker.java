@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty.util;
+
+import org.cloudburstmc.netty.channel.raknet.packet.RakDatagramPacket;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reliable datagrams waiting for an acknowledgement.
+ * <p>
+ * Datagrams are stored in a ring indexed by their sequence number, which grows whenever the in-flight window
+ * outgrows it. Retransmission deadlines are kept in a hashed timer wheel. Acknowledged or resent datagrams are
+ * not removed from the wheel; their entries are dropped when their slot is next visited.
+ * <p>
+ * Not thread safe, the tracker is only used from the event loop of its session.
+ */
+public class SentDatagramTracker {
+
+    private static final int MAX_CAPACITY = 1 << 24;
+    private static final int WHEEL_SLOTS = 1024;
+    private static final int WHEEL_MASK = WHEEL_SLOTS - 1;
+    private static final long TICK_MS = 4;
+
+    private RakDatagramPacket[] datagrams;
+    private int mask;
+    private int size;
+
+    private final RakDatagramPacket[][] slotDatagrams = new RakDatagramPacket[WHEEL_SLOTS][];
+    private final int[][] slotSequences = new int[WHEEL_SLOTS][];
+    private final int[] slotSizes = new int[WHEEL_SLOTS];
+    private long cursorTick;
+
+    public SentDatagramTracker(int initialCapacity, long curTime) {
+        int capacity = RakUtils.powerOfTwoCeiling(initialCapacity);
+        this.datagrams = new RakDatagramPacket[capacity];
+        this.mask = capacity - 1;
+        this.cursorTick = curTime / TICK_MS;
+    }
+
+    /**
+     * Tracks a datagram under its current sequence index and schedules its retransmission at its next send time.
+     * The tracker takes over one reference of the datagram.
+     */
+    public void add(RakDatagramPacket datagram) {
+        int sequenceIndex = datagram.getSequenceIndex();
+        while (true) {
+            RakDatagramPacket existing = this.datagrams[sequenceIndex & this.mask];
+            if (existing == null) {
+                break;
+            }
+            if (existing.getSequenceIndex() == sequenceIndex) {
+                throw new IllegalStateException("Sequence index " + sequenceIndex + " is already tracked");
+            }
+            this.grow();
+        }
+
+        this.datagrams[sequenceIndex & this.mask] = datagram;
+        this.size++;
+        this.schedule(datagram, sequenceIndex);
+    }
+
+    public RakDatagramPacket get(int sequenceIndex) {
+        RakDatagramPacket datagram = this.datagrams[sequenceIndex & this.mask];
+        return datagram != null && datagram.getSequenceIndex() == sequenceIndex ? datagram : null;
+    }
+
+    /**
+     * Stops tracking a datagram and hands its reference to the caller.
+     *
+     * @return the datagram or null if the sequence index is not tracked
+     */
+    public RakDatagramPacket remove(int sequenceIndex) {
+        int slot = sequenceIndex & this.mask;
+        RakDatagramPacket datagram = this.datagrams[slot];
+        if (datagram == null || datagram.getSequenceIndex() != sequenceIndex) {
+            return null;
+        }
+        this.datagrams[slot] = null;
+        this.size--;
+        return datagram;
+    }
+
+    /**
+     * Removes every tracked datagram with a sequence index in the inclusive range and adds it to {@code out}.
+     * Costs the length of the range, but never more than a single pass over the ring.
+     *
+     * @return number of datagrams removed
+     */
+    public int removeRange(int start, int end, List<RakDatagramPacket> out) {
+        if (end < start || this.size == 0) {
+            return 0;
+        }
+
+        int removed = 0;
+        if ((long) end - start < this.datagrams.length) {
+            for (int i = start; i <= end; i++) {
+                RakDatagramPacket datagram = this.remove(i);
+                if (datagram != null) {
+                    out.add(datagram);
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        for (int slot = 0; slot < this.datagrams.length; slot++) {
+            RakDatagramPacket datagram = this.datagrams[slot];
+            if (datagram != null && datagram.getSequenceIndex() >= start && datagram.getSequenceIndex() <= end) {
+                this.datagrams[slot] = null;
+                this.size--;
+                out.add(datagram);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Collects the tracked datagrams whose next send time has passed, oldest wheel slot first, up to the given
+     * budget. The datagrams stay tracked and are expected to be resent under a new sequence index.
+     * <p>
+     * Every slot passed since the last call is visited once, which also drops its stale entries.
+     *
+     * @param bandwidth maximum number of bytes to collect
+     * @return number of datagrams added to {@code out}
+     */
+    public int pollExpired(long curTime, int bandwidth, List<RakDatagramPacket> out) {
+        long endTick = curTime / TICK_MS;
+        long lastTick = Math.min(endTick, this.cursorTick + WHEEL_MASK);
+        int collected = 0;
+        for (long tick = this.cursorTick; tick <= lastTick; tick++) {
+            int slot = (int) (tick & WHEEL_MASK);
+            RakDatagramPacket[] entries = this.slotDatagrams[slot];
+            int[] sequences = this.slotSequences[slot];
+            int count = this.slotSizes[slot];
+            boolean exhausted = false;
+
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                RakDatagramPacket datagram = entries[i];
+                int sequenceIndex = sequences[i];
+                entries[i] = null;
+
+                if (this.get(sequenceIndex) != datagram) {
+                    continue; // Acknowledged or already resent
+                }
+
+                if (!exhausted && datagram.getNextSend() <= curTime) {
+                    int size = datagram.getSize();
+                    if (size <= bandwidth) {
+                        bandwidth -= size;
+                        out.add(datagram);
+                        collected++;
+                        continue;
+                    }
+                    exhausted = true;
+                }
+
+                entries[kept] = datagram;
+                sequences[kept] = sequenceIndex;
+                kept++;
+            }
+            this.slotSizes[slot] = kept;
+
+            if (exhausted) {
+                // Continue from this slot once bandwidth is available again
+                this.cursorTick = tick;
+                return collected;
+            }
+        }
+
+        // The current slot may hold datagrams due later within this tick, so it is visited again
+        this.cursorTick = endTick;
+        return collected;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Stops tracking all datagrams and releases them.
+     */
+    public void clear() {
+        for (int slot = 0; slot < this.datagrams.length; slot++) {
+            RakDatagramPacket datagram = this.datagrams[slot];
+            if (datagram != null) {
+                this.datagrams[slot] = null;
+                datagram.release();
+            }
+        }
+        this.size = 0;
+
+        for (int slot = 0; slot < WHEEL_SLOTS; slot++) {
+            if (this.slotDatagrams[slot] != null) {
+                Arrays.fill(this.slotDatagrams[slot], null);
+            }
+            this.slotSizes[slot] = 0;
+        }
+    }
+
+    private void schedule(RakDatagramPacket datagram, int sequenceIndex) {
+        long tick = Math.max(datagram.getNextSend() / TICK_MS, this.cursorTick);
+        int slot = (int) (tick & WHEEL_MASK);
+
+        int count = this.slotSizes[slot];
+        RakDatagramPacket[] entries = this.slotDatagrams[slot];
+        if (entries == null) {
+            entries = this.slotDatagrams[slot] = new RakDatagramPacket[4];
+            this.slotSequences[slot] = new int[4];
+        } else if (count == entries.length) {
+            entries = this.slotDatagrams[slot] = Arrays.copyOf(entries, count << 1);
+            this.slotSequences[slot] = Arrays.copyOf(this.slotSequences[slot], count << 1);
+        }
+
+        entries[count] = datagram;
+        this.slotSequences[slot][count] = sequenceIndex;
+        this.slotSizes[slot] = count + 1;
+    }
+
+    private void grow() {
+        int capacity = this.datagrams.length;
+        RakDatagramPacket[] grown;
+        outer:
+        while (true) {
+            capacity <<= 1;
+            if (capacity > MAX_CAPACITY) {
+                throw new IllegalStateException("Too many datagrams in flight");
+            }
+
+            grown = new RakDatagramPacket[capacity];
+            int mask = capacity - 1;
+            for (RakDatagramPacket datagram : this.datagrams) {
+                if (datagram == null) {
+                    continue;
+                }
+                int slot = datagram.getSequenceIndex() & mask;
+                if (grown[slot] != null) {
+                    continue outer;
+                }
+                grown[slot] = datagram;
+            }
+            break;
+        }
+
+        this.datagrams = grown;
+        this.mask = capacity - 1;
+    }
+}
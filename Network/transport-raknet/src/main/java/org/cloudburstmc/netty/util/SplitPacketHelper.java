@@ -20,8 +20,8 @@ import org.cloudburstmc.netty.channel.raknet.packet.EncapsulatedPacket;
 
 import java.util.Objects;
 
-import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.util.AbstractReferenceCounted;
 import io.netty.util.IllegalReferenceCountException;
 import io.netty.util.ReferenceCountUtil;
@@ -30,12 +30,23 @@ import io.netty.util.ReferenceCounted;
 public class SplitPacketHelper extends AbstractReferenceCounted {
     private final EncapsulatedPacket[] packets;
     private final long created = System.currentTimeMillis();
+    private final long createdNanoTime;
+    private int receivedParts;
+    private int receivedBytes;
 
     public SplitPacketHelper(long expectedLength) {
+        this(expectedLength, false);
+    }
+
+    /**
+     * @param timed whether to record when the first part arrived, see {@link #getCreatedNanoTime()}
+     */
+    public SplitPacketHelper(long expectedLength, boolean timed) {
         if (expectedLength < 2) {
             throw new IllegalArgumentException("expectedLength must be greater than 1");
         }
         this.packets = new EncapsulatedPacket[(int) expectedLength];
+        this.createdNanoTime = timed ? System.nanoTime() : 0;
     }
 
     public EncapsulatedPacket add(EncapsulatedPacket packet, ByteBufAllocator alloc) {
@@ -54,25 +65,39 @@ public class SplitPacketHelper extends AbstractReferenceCounted {
         }
         // Retain the packet so it can be reassembled later.
         this.packets[partIndex] = packet.retain();
-
-        int sz = 0;
-        for (EncapsulatedPacket netPacket : this.packets) {
-            if (netPacket == null) {
-                return null;
-            }
-            sz += netPacket.getBuffer().readableBytes();
+        this.receivedBytes += packet.getBuffer().readableBytes();
+        if (++this.receivedParts < this.packets.length) {
+            return null;
         }
 
-        // We can't use a composite buffer as the native code will choke on it
-        ByteBuf reassembled = alloc.ioBuffer(sz);
+        // Reference the parts instead of copying them. Consumers which need contiguous memory copy the buffer once
+        // themselves, the others read it component by component.
+        CompositeByteBuf reassembled = alloc.compositeDirectBuffer(this.packets.length);
         for (EncapsulatedPacket netPacket : this.packets) {
-            ByteBuf buf = netPacket.getBuffer();
-            reassembled.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+            reassembled.addComponent(true, netPacket.getBuffer().retain());
         }
 
         return packet.fromSplit(reassembled);
     }
 
+    /**
+     * @return number of payload bytes received so far
+     */
+    public int getReceivedBytes() {
+        return this.receivedBytes;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} at which the first part arrived or 0 if it was not recorded
+     */
+    public long getCreatedNanoTime() {
+        return this.createdNanoTime;
+    }
+
+    public int getPartCount() {
+        return this.packets.length;
+    }
+
     public boolean expired() {
         // If we're waiting on a split packet for more than 30 seconds, the client on the other end is either severely
         // lagging, or has died.
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.cloudburstmc.netty.util.AckRangeSet;
+import org.cloudburstmc.netty.util.RakUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+public class AckRangeSetTests {
+
+    @Test
+    public void testMergeInOrder() {
+        AckRangeSet set = new AckRangeSet(4);
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        set.add(1002);
+
+        Assertions.assertEquals(2, set.size());
+        Assertions.assertEquals(0, set.firstStart());
+        Assertions.assertEquals(999, set.firstEnd());
+        set.removeFirst();
+        Assertions.assertEquals(1002, set.firstStart());
+        Assertions.assertEquals(1002, set.firstEnd());
+    }
+
+    @Test
+    public void testMergeOutOfOrder() {
+        AckRangeSet set = new AckRangeSet(4);
+        set.add(10);
+        set.add(20, 25);
+        set.add(5);
+        set.add(30);
+        Assertions.assertEquals(4, set.size());
+
+        // Bridges the ranges starting at 10 and 20
+        set.add(11, 19);
+        Assertions.assertEquals(3, set.size());
+        set.removeFirst();
+        Assertions.assertEquals(10, set.firstStart());
+        Assertions.assertEquals(25, set.firstEnd());
+
+        // Swallows everything that is left
+        set.add(0, 100);
+        Assertions.assertEquals(1, set.size());
+        Assertions.assertEquals(0, set.firstStart());
+        Assertions.assertEquals(100, set.firstEnd());
+    }
+
+    @Test
+    public void testRandomInserts() {
+        Random random = new Random(7);
+        AckRangeSet set = new AckRangeSet(4);
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 5000; i++) {
+            int start = random.nextInt(4096);
+            int end = start + random.nextInt(4);
+            set.add(start, end);
+            expected.set(start, end + 1);
+        }
+
+        BitSet actual = new BitSet();
+        int previousEnd = -2;
+        while (!set.isEmpty()) {
+            // Ranges come out sorted, disjoint and not adjacent
+            Assertions.assertTrue(set.firstStart() > previousEnd + 1);
+            actual.set(set.firstStart(), set.firstEnd() + 1);
+            previousEnd = set.firstEnd();
+            set.removeFirst();
+        }
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testWriteEntries() {
+        AckRangeSet set = new AckRangeSet(4);
+        set.add(1);
+        set.add(3, 5);
+        set.add(7);
+
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            // Room for the count, one singleton and one range
+            Assertions.assertEquals(2, RakUtils.writeAckEntries(buffer, set, 2 + 4 + 7));
+            Assertions.assertEquals(2, buffer.readUnsignedShort());
+            Assertions.assertTrue(buffer.readBoolean());
+            Assertions.assertEquals(1, buffer.readUnsignedMediumLE());
+            Assertions.assertFalse(buffer.readBoolean());
+            Assertions.assertEquals(3, buffer.readUnsignedMediumLE());
+            Assertions.assertEquals(5, buffer.readUnsignedMediumLE());
+
+            Assertions.assertEquals(1, set.size());
+            Assertions.assertEquals(7, set.firstStart());
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import org.cloudburstmc.netty.util.AddressRateTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class AddressRateTableTests {
+
+    @Test
+    public void testAddressRoundTrip() throws UnknownHostException {
+        AddressRateTable table = new AddressRateTable(16);
+        InetAddress ipv4 = InetAddress.getByName("192.168.1.20");
+        InetAddress ipv6 = InetAddress.getByName("2001:db8::ff00:42:8329");
+
+        int ipv4Index = table.getOrInsert(ipv4, 0, 10);
+        int ipv6Index = table.getOrInsert(ipv6, 0, 20);
+        Assertions.assertNotEquals(ipv4Index, ipv6Index);
+        Assertions.assertEquals(ipv4, table.getAddress(ipv4Index));
+        Assertions.assertEquals(ipv6, table.getAddress(ipv6Index));
+        Assertions.assertEquals(ipv4Index, table.getOrInsert(ipv4, 5, 0));
+        Assertions.assertEquals(10, table.getTokens(ipv4Index));
+        Assertions.assertEquals(-1, table.indexOf(InetAddress.getByName("192.168.1.21")));
+    }
+
+    @Test
+    public void testRandomInsertsAndRemovals() throws UnknownHostException {
+        Random random = new Random(3);
+        AddressRateTable table = new AddressRateTable(16);
+        Map<InetAddress, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            // Small address space so inserts, hits and removals all happen
+            InetAddress address = InetAddress.getByAddress(new byte[]{10, 0, (byte) random.nextInt(8), (byte) random.nextInt(256)});
+            if (random.nextInt(3) == 0) {
+                int index = table.indexOf(address);
+                Assertions.assertEquals(expected.containsKey(address), index >= 0);
+                if (index >= 0) {
+                    table.remove(index);
+                    expected.remove(address);
+                }
+            } else {
+                int index = table.getOrInsert(address, i, 0);
+                Long value = expected.putIfAbsent(address, (long) i);
+                Assertions.assertEquals(value == null ? i : value, table.getLastRefill(index));
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), table.size());
+        for (Map.Entry<InetAddress, Long> entry : expected.entrySet()) {
+            int index = table.indexOf(entry.getKey());
+            Assertions.assertTrue(index >= 0, "Lost " + entry.getKey());
+            Assertions.assertEquals(entry.getValue(), table.getLastRefill(index));
+        }
+    }
+}
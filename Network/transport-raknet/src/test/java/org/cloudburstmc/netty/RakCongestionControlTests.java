@@ -0,0 +1,310 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.buffer.Unpooled;
+import org.cloudburstmc.netty.channel.raknet.RakBbrCongestionControl;
+import org.cloudburstmc.netty.channel.raknet.RakCongestionControl;
+import org.cloudburstmc.netty.channel.raknet.RakReliability;
+import org.cloudburstmc.netty.channel.raknet.RakSlidingWindow;
+import org.cloudburstmc.netty.channel.raknet.packet.EncapsulatedPacket;
+import org.cloudburstmc.netty.channel.raknet.packet.RakDatagramPacket;
+import org.cloudburstmc.netty.util.RakUtils;
+import org.cloudburstmc.netty.util.SentDatagramTracker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+public class RakCongestionControlTests {
+
+    private static final int MTU = 1400;
+    private static final int PAYLOAD = 1200;
+    private static final int LINK_RATE = 1000; // bytes per ms, 8 Mbit/s
+    private static final int LINK_DELAY = 50; // one way, ms
+    private static final int LINK_BUFFER = 64 * 1024;
+    private static final int SHALLOW_LINK_BUFFER = 8 * 1024;
+    private static final int FLUSH_INTERVAL = 10;
+    private static final int DURATION = 20_000;
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.02, 0.05})
+    public void testLossyLinkThroughput(double loss) {
+        double window = new LinkSimulation(RakSlidingWindow::new, loss, LINK_BUFFER, false, 1).run();
+        double bbr = new LinkSimulation(RakBbrCongestionControl::new, loss, LINK_BUFFER, false, 1).run();
+
+        // Random loss is not congestion, the link should stay mostly utilized
+        Assertions.assertTrue(bbr > LINK_RATE * 0.75, "BBR goodput " + bbr + " bytes/ms");
+        Assertions.assertTrue(bbr > window * 2, "BBR goodput " + bbr + " not above sliding window goodput " + window);
+    }
+
+    @Test
+    public void testDeterministic() {
+        double first = new LinkSimulation(RakBbrCongestionControl::new, 0.03, LINK_BUFFER, true, 42).run();
+        double second = new LinkSimulation(RakBbrCongestionControl::new, 0.03, LINK_BUFFER, true, 42).run();
+        Assertions.assertEquals(first, second);
+    }
+
+    @Test
+    public void testBbrEstimates() {
+        LinkSimulation simulation = new LinkSimulation(RakBbrCongestionControl::new, 0.0, LINK_BUFFER, false, 1);
+        simulation.run();
+
+        RakBbrCongestionControl bbr = (RakBbrCongestionControl) simulation.congestionControl;
+        Assertions.assertEquals(LINK_RATE, bbr.getBottleneckBandwidth(), LINK_RATE * 0.25);
+        Assertions.assertTrue(bbr.getMinRTT() >= 2 * LINK_DELAY && bbr.getMinRTT() <= 2 * LINK_DELAY + 3 * FLUSH_INTERVAL,
+                "Min RTT " + bbr.getMinRTT());
+    }
+
+    @Test
+    public void testPacingAvoidsQueueOverflow() {
+        LinkSimulation burst = new LinkSimulation(RakSlidingWindow::new, 0.0, SHALLOW_LINK_BUFFER, false, 1);
+        double burstGoodput = burst.run();
+        LinkSimulation paced = new LinkSimulation(RakSlidingWindow::new, 0.0, SHALLOW_LINK_BUFFER, true, 1);
+        double pacedGoodput = paced.run();
+
+        // A whole window per flush overflows the queue, so the burst sender keeps timing out and resetting its window
+        Assertions.assertTrue(pacedGoodput > LINK_RATE * 0.75, "Paced goodput " + pacedGoodput + " bytes/ms");
+        Assertions.assertTrue(pacedGoodput > burstGoodput * 2, "Paced goodput " + pacedGoodput + " not above burst goodput " + burstGoodput);
+        Assertions.assertTrue(paced.getDropRatio() < burst.getDropRatio(), "Paced drop ratio " + paced.getDropRatio() + ", burst drop ratio " + burst.getDropRatio());
+    }
+
+    @Test
+    public void testBbrPacedBySession() {
+        double burst = new LinkSimulation(RakBbrCongestionControl::new, 0.0, SHALLOW_LINK_BUFFER, false, 1).run();
+        LinkSimulation simulation = new LinkSimulation(RakBbrCongestionControl::new, 0.0, SHALLOW_LINK_BUFFER, true, 1);
+        double paced = simulation.run();
+
+        Assertions.assertTrue(paced > LINK_RATE * 0.75, "Paced BBR goodput " + paced + " bytes/ms");
+        Assertions.assertTrue(paced > burst, "Paced BBR goodput " + paced + " not above burst goodput " + burst);
+
+        // The sends of the session also spend the own pacing budget of BBR, only the window may limit them
+        RakCongestionControl bbr = simulation.congestionControl;
+        int window = bbr.getWindowBandwidth(DURATION);
+        Assertions.assertTrue(window > 0, "Window is full");
+        Assertions.assertEquals(bbr.getCongestionWindow() - bbr.getUnackedBytes(), window, 1);
+        Assertions.assertTrue(bbr.getTransmissionBandwidth(DURATION) < window, "Pacing budget of BBR is not spent");
+    }
+
+    @Test
+    public void testSlidingWindowAcrossSequenceWrap() {
+        Assertions.assertEquals(2, RakUtils.sequenceDistance(0xFFFFFF, 1));
+        Assertions.assertEquals(-2, RakUtils.sequenceDistance(1, 0xFFFFFF));
+
+        RakSlidingWindow window = new RakSlidingWindow(MTU);
+        acknowledge(window, 0xFFFFE0, 0xFFFFF0);
+        acknowledge(window, 0xFFFFE1, 0xFFFFF0);
+        acknowledge(window, 0xFFFFE2, 0xFFFFF0);
+        window.onResend(0xFFFFF0);
+        Assertions.assertEquals(MTU, window.getCongestionWindow());
+
+        // Sent after the wrap, so it starts a new congestion control period which may back off again
+        acknowledge(window, 2, 5);
+        acknowledge(window, 3, 5);
+        Assertions.assertTrue(window.getCongestionWindow() > 2 * MTU);
+        window.onResend(6);
+        Assertions.assertEquals(MTU, window.getCongestionWindow());
+    }
+
+    private static void acknowledge(RakCongestionControl congestionControl, int sequenceIndex, int curSequenceIndex) {
+        RakDatagramPacket datagram = RakDatagramPacket.newInstance();
+        datagram.setSequenceIndex(sequenceIndex);
+        congestionControl.onReliableSend(datagram);
+        congestionControl.onAck(0, datagram, 50_000, curSequenceIndex);
+        datagram.release();
+    }
+
+    /**
+     * A sender with unlimited data behind a single bottleneck link with random loss, a constant propagation delay
+     * and a drop-tail queue. The receiver acknowledges every datagram and reports gaps. Runs in virtual time with
+     * the flush loop of {@code RakSessionCodec}, optionally sending new datagrams every millisecond while pacing.
+     */
+    private static class LinkSimulation {
+        private final RakCongestionControl congestionControl;
+        private final double loss;
+        private final int linkBuffer;
+        private final boolean paced;
+        private final Random random;
+        private final SentDatagramTracker sentDatagrams = new SentDatagramTracker(1024, 0);
+        private final List<RakDatagramPacket> scratch = new ArrayList<>();
+
+        // Datagrams on the link as {sequence index, message index, size, arrival time}
+        private final ArrayDeque<long[]> linkQueue = new ArrayDeque<>();
+        private final ArrayDeque<long[]> inFlight = new ArrayDeque<>();
+        // Acknowledgements travelling back as {sequence index, nack, arrival time}
+        private final ArrayDeque<long[]> acknowledgements = new ArrayDeque<>();
+        private final BitSet received = new BitSet();
+
+        private int queuedBytes;
+        private int writeIndex;
+        private int messageIndex;
+        private int highestReceived = -1;
+        private int receivedMessages;
+        private int queueDrops;
+        private double pacingBudget;
+
+        LinkSimulation(RakCongestionControl.Factory factory, double loss, int linkBuffer, boolean paced, long seed) {
+            this.congestionControl = factory.create(MTU);
+            this.loss = loss;
+            this.linkBuffer = linkBuffer;
+            this.paced = paced;
+            this.random = new Random(seed);
+        }
+
+        /**
+         * @return goodput in bytes per ms
+         */
+        double run() {
+            double linkCredit = 0;
+            for (long time = 0; time < DURATION; time++) {
+                // Bottleneck link
+                linkCredit = Math.min(linkCredit + LINK_RATE, LINK_RATE + MTU);
+                while (!this.linkQueue.isEmpty() && this.linkQueue.peek()[2] <= linkCredit) {
+                    long[] datagram = this.linkQueue.poll();
+                    linkCredit -= datagram[2];
+                    this.queuedBytes -= (int) datagram[2];
+                    if (this.random.nextDouble() >= this.loss) {
+                        datagram[3] = time + LINK_DELAY;
+                        this.inFlight.add(datagram);
+                    }
+                }
+                if (this.linkQueue.isEmpty()) {
+                    linkCredit = 0;
+                }
+
+                // Receiver
+                while (!this.inFlight.isEmpty() && this.inFlight.peek()[3] <= time) {
+                    this.receive(this.inFlight.poll(), time);
+                }
+
+                // Sender
+                if (time % FLUSH_INTERVAL == 0) {
+                    this.flush(time);
+                }
+                if (this.paced) {
+                    this.sendNew(time);
+                }
+            }
+            this.sentDatagrams.clear();
+            return (double) this.receivedMessages * PAYLOAD / DURATION;
+        }
+
+        /**
+         * @return datagrams dropped by the full queue per delivered message
+         */
+        double getDropRatio() {
+            return (double) this.queueDrops / Math.max(1, this.receivedMessages);
+        }
+
+        private void receive(long[] datagram, long time) {
+            int sequenceIndex = (int) datagram[0];
+            for (int missing = this.highestReceived + 1; missing < sequenceIndex; missing++) {
+                this.acknowledgements.add(new long[]{missing, 1, time + LINK_DELAY});
+            }
+            this.highestReceived = Math.max(this.highestReceived, sequenceIndex);
+            this.acknowledgements.add(new long[]{sequenceIndex, 0, time + LINK_DELAY});
+
+            int message = (int) datagram[1];
+            if (!this.received.get(message)) {
+                this.received.set(message);
+                this.receivedMessages++;
+            }
+        }
+
+        private void flush(long time) {
+            while (!this.acknowledgements.isEmpty() && this.acknowledgements.peek()[2] <= time) {
+                long[] acknowledgement = this.acknowledgements.poll();
+                RakDatagramPacket datagram = this.sentDatagrams.remove((int) acknowledgement[0]);
+                if (datagram == null) {
+                    continue;
+                }
+                if (acknowledgement[1] == 0) {
+                    long rttMicros = time * 1000 - datagram.getSendNanoTime() / 1000;
+                    this.congestionControl.onAck(time, datagram, rttMicros, this.writeIndex);
+                    datagram.release();
+                } else {
+                    this.congestionControl.onNak();
+                    this.send(datagram, time);
+                }
+            }
+
+            int resendCount = this.sentDatagrams.pollExpired(time, this.congestionControl.getRetransmissionBandwidth(), this.scratch);
+            for (int i = 0; i < resendCount; i++) {
+                RakDatagramPacket datagram = this.scratch.get(i);
+                this.sentDatagrams.remove(datagram.getSequenceIndex());
+                this.send(datagram, time);
+            }
+            this.scratch.clear();
+            if (resendCount > 0) {
+                this.congestionControl.onResend(this.writeIndex);
+            }
+
+            if (!this.paced) {
+                this.sendNew(time);
+            }
+        }
+
+        private void sendNew(long time) {
+            int bandwidth = this.paced ? this.congestionControl.getWindowBandwidth(time) :
+                    this.congestionControl.getTransmissionBandwidth(time);
+            double rate = this.congestionControl.getPacingRate();
+            if (this.paced && rate > 0) {
+                this.pacingBudget = Math.min(Math.max(2.0D * MTU, rate), this.pacingBudget + rate);
+                bandwidth = Math.min(bandwidth, (int) Math.max(0, this.pacingBudget));
+            }
+
+            int available = bandwidth;
+            while (bandwidth >= MTU) {
+                RakDatagramPacket datagram = RakDatagramPacket.newInstance();
+                datagram.setSendTime(time);
+                EncapsulatedPacket packet = EncapsulatedPacket.newInstance();
+                packet.setReliability(RakReliability.RELIABLE);
+                packet.setReliabilityIndex(this.messageIndex++);
+                packet.setBuffer(Unpooled.wrappedBuffer(new byte[PAYLOAD]));
+                datagram.tryAddPacket(packet, MTU);
+
+                bandwidth -= datagram.getSize();
+                this.congestionControl.onReliableSend(datagram);
+                this.send(datagram, time);
+            }
+            if (this.paced && rate > 0) {
+                this.pacingBudget -= available - bandwidth;
+            }
+        }
+
+        private void send(RakDatagramPacket datagram, long time) {
+            datagram.setSequenceIndex(this.writeIndex++);
+            datagram.setSendNanoTime(time * 1_000_000);
+            datagram.setNextSend(time + this.congestionControl.getRtoForRetransmission());
+            this.sentDatagrams.add(datagram);
+
+            int size = datagram.getSize();
+            if (this.queuedBytes + size <= this.linkBuffer) {
+                this.queuedBytes += size;
+                this.linkQueue.add(new long[]{datagram.getSequenceIndex(), datagram.getPackets().get(0).getReliabilityIndex(), size, 0});
+            } else {
+                this.queueDrops++;
+            }
+        }
+    }
+}
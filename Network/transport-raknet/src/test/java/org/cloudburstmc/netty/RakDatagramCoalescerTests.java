@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.unix.SegmentedDatagramPacket;
+import org.cloudburstmc.netty.handler.codec.raknet.common.RakDatagramCoalescer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+public class RakDatagramCoalescerTests {
+
+    private static final InetSocketAddress FIRST = new InetSocketAddress("127.0.0.1", 19132);
+    private static final InetSocketAddress SECOND = new InetSocketAddress("127.0.0.1", 19133);
+
+    @Test
+    public void testCoalesceSplitDatagrams() {
+        EmbeddedChannel channel = new EmbeddedChannel(new RakDatagramCoalescer());
+        ChannelFuture first = channel.write(datagram(1400, FIRST));
+        ChannelFuture last = null;
+        for (int i = 0; i < 3; i++) {
+            last = channel.write(datagram(i == 2 ? 300 : 1400, FIRST));
+        }
+        Assertions.assertNull(channel.readOutbound(), "Datagrams written before the flush");
+        channel.flush();
+
+        SegmentedDatagramPacket segmented = channel.readOutbound();
+        try {
+            Assertions.assertEquals(1400, segmented.segmentSize());
+            Assertions.assertEquals(3 * 1400 + 300, segmented.content().readableBytes());
+            Assertions.assertEquals(FIRST, segmented.recipient());
+        } finally {
+            segmented.release();
+        }
+        Assertions.assertNull(channel.readOutbound());
+        Assertions.assertTrue(first.isSuccess());
+        Assertions.assertTrue(last.isSuccess());
+        Assertions.assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testSplitRuns() {
+        EmbeddedChannel channel = new EmbeddedChannel(new RakDatagramCoalescer());
+        channel.write(datagram(1400, FIRST));
+        channel.write(datagram(600, FIRST));
+        // Nothing may follow a shorter segment
+        channel.write(datagram(600, FIRST));
+        channel.write(datagram(600, SECOND));
+        channel.writeAndFlush(datagram(600, SECOND));
+
+        SegmentedDatagramPacket run = channel.readOutbound();
+        Assertions.assertEquals(2000, run.content().readableBytes());
+        run.release();
+
+        DatagramPacket single = channel.readOutbound();
+        Assertions.assertFalse(single instanceof SegmentedDatagramPacket);
+        Assertions.assertEquals(FIRST, single.recipient());
+        single.release();
+
+        run = channel.readOutbound();
+        Assertions.assertEquals(SECOND, run.recipient());
+        Assertions.assertEquals(1200, run.content().readableBytes());
+        run.release();
+        Assertions.assertFalse(channel.finish());
+    }
+
+    private static DatagramPacket datagram(int size, InetSocketAddress recipient) {
+        return new DatagramPacket(Unpooled.wrappedBuffer(new byte[size]), recipient);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import org.cloudburstmc.netty.channel.raknet.telemetry.RakHistogram;
+import org.cloudburstmc.netty.channel.raknet.telemetry.RakSessionTelemetry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class RakHistogramTests {
+
+    @Test
+    public void testEmpty() {
+        RakHistogram.Snapshot snapshot = new RakHistogram().snapshot();
+        Assertions.assertEquals(0, snapshot.getCount());
+        Assertions.assertEquals(0, snapshot.getMax());
+        Assertions.assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        RakHistogram histogram = new RakHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        RakHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(10, snapshot.getCount());
+        Assertions.assertEquals(5.5, snapshot.getMean(), 0.0001);
+        Assertions.assertEquals(5, snapshot.getValueAtPercentile(50));
+        Assertions.assertEquals(9, snapshot.getValueAtPercentile(90));
+        Assertions.assertEquals(10, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentilePrecision() {
+        Random random = new Random(11);
+        RakHistogram histogram = new RakHistogram();
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            // Spread over several orders of magnitude like round trip times in microseconds
+            values[i] = (long) Math.exp(random.nextDouble() * 14);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        RakHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(values[values.length - 1], snapshot.getMax());
+        for (double percentile : new double[]{1, 25, 50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(values.length * percentile / 100) - 1];
+            long actual = snapshot.getValueAtPercentile(percentile);
+            Assertions.assertTrue(actual >= expected, "p" + percentile + " " + actual + " < " + expected);
+            Assertions.assertTrue(actual <= expected + expected / 8, "p" + percentile + " " + actual + " >> " + expected);
+        }
+    }
+
+    @Test
+    public void testExtremeValues() {
+        RakHistogram histogram = new RakHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        RakHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(2, snapshot.getCount());
+        Assertions.assertEquals(0, snapshot.getValueAtPercentile(50));
+        Assertions.assertEquals(Long.MAX_VALUE, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSessionSnapshotJson() {
+        RakSessionTelemetry telemetry = new RakSessionTelemetry();
+        telemetry.rakDatagramsOut(10);
+        telemetry.rakStaleDatagrams(1);
+        telemetry.roundTripTime(25000);
+        telemetry.retransmissions(1);
+
+        RakSessionTelemetry.Snapshot snapshot = telemetry.snapshot();
+        Assertions.assertEquals(0.1, snapshot.getLossRate(), 0.0001);
+        Assertions.assertEquals(1, snapshot.getRoundTripTime().getCount());
+
+        String json = snapshot.toString();
+        Assertions.assertTrue(json.startsWith("{") && json.endsWith("}"));
+        Assertions.assertTrue(json.contains("\"datagramsOut\":10"));
+        Assertions.assertTrue(json.contains("\"rttMicros\":{\"count\":1,"));
+        Assertions.assertFalse(json.contains("\n"));
+    }
+}
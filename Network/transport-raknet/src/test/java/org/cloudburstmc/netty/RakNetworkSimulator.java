@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Impairs the datagrams written to a channel like a bad network path would.
+ * <p>
+ * Added first to the pipeline of the datagram channel underneath a RakNet channel, it drops, duplicates, delays and
+ * reorders outgoing datagrams and drops those exceeding the path MTU. Every datagram draws the same amount of
+ * numbers from a generator seeded by the {@link Profile}, so the n-th datagram through a simulator always meets
+ * the same fate.
+ */
+public class RakNetworkSimulator extends ChannelOutboundHandlerAdapter {
+    public static final String NAME = "rak-network-simulator";
+
+    private static final int IPV4_UDP_HEADER_SIZE = 20 + 8;
+
+    private final Profile profile;
+    private final Random random;
+    private long datagrams;
+    private long dropped;
+    private long duplicated;
+    private long reordered;
+
+    /**
+     * @param stream distinguishes the directions of a link, so both ends do not drop the same datagrams
+     */
+    public RakNetworkSimulator(Profile profile, int stream) {
+        this.profile = profile;
+        this.random = new Random(profile.seed * 31 + stream);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        ByteBuf content;
+        if (msg instanceof DatagramPacket) {
+            content = ((DatagramPacket) msg).content();
+        } else if (msg instanceof ByteBuf) {
+            // Connected channels write plain buffers
+            content = (ByteBuf) msg;
+        } else {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        this.datagrams++;
+        double loss = this.random.nextDouble();
+        double duplicate = this.random.nextDouble();
+        double reorder = this.random.nextDouble();
+        int jitter = this.random.nextInt(this.profile.jitterMillis + 1);
+        int duplicateJitter = this.random.nextInt(this.profile.jitterMillis + 1);
+
+        if (content.readableBytes() + IPV4_UDP_HEADER_SIZE > this.profile.mtu || loss < this.profile.loss) {
+            this.dropped++;
+            ReferenceCountUtil.release(msg);
+            // Datagrams are lost silently
+            promise.trySuccess();
+            return;
+        }
+
+        int delay = this.profile.latencyMillis + jitter;
+        if (reorder < this.profile.reorder) {
+            this.reordered++;
+            delay += this.profile.reorderDelayMillis;
+        }
+
+        if (duplicate < this.profile.duplicate) {
+            this.duplicated++;
+            Object copy = msg instanceof DatagramPacket ? ((DatagramPacket) msg).retainedDuplicate() : content.retainedDuplicate();
+            this.write(ctx, copy, ctx.voidPromise(), delay + duplicateJitter);
+        }
+        this.write(ctx, msg, promise, delay);
+    }
+
+    private void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise, int delay) {
+        if (delay <= 0) {
+            ctx.write(msg, promise);
+        } else {
+            ctx.executor().schedule(() -> ctx.writeAndFlush(msg, promise), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public long getDatagrams() {
+        return this.datagrams;
+    }
+
+    public long getDropped() {
+        return this.dropped;
+    }
+
+    public long getDuplicated() {
+        return this.duplicated;
+    }
+
+    public long getReordered() {
+        return this.reordered;
+    }
+
+    /**
+     * Impairments of one direction of a link, probabilities are between 0 and 1.
+     */
+    public static class Profile {
+        private final String name;
+        private long seed = 1;
+        private double loss;
+        private double duplicate;
+        private double reorder;
+        private int latencyMillis;
+        private int jitterMillis;
+        private int reorderDelayMillis = 20;
+        private int mtu = Integer.MAX_VALUE;
+
+        public Profile(String name) {
+            this.name = name;
+        }
+
+        public Profile seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Profile loss(double loss) {
+            this.loss = loss;
+            return this;
+        }
+
+        public Profile duplicate(double duplicate) {
+            this.duplicate = duplicate;
+            return this;
+        }
+
+        /**
+         * @param reorder share of datagrams held back long enough to arrive after later ones
+         */
+        public Profile reorder(double reorder, int delayMillis) {
+            this.reorder = reorder;
+            this.reorderDelayMillis = delayMillis;
+            return this;
+        }
+
+        public Profile latency(int latencyMillis, int jitterMillis) {
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            return this;
+        }
+
+        /**
+         * @param mtu largest IPv4 datagram including its headers that passes the path
+         */
+        public Profile mtu(int mtu) {
+            this.mtu = mtu;
+            return this;
+        }
+
+        public double getLoss() {
+            return this.loss;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.concurrent.Future;
+import org.cloudburstmc.netty.channel.raknet.RakChildChannel;
+import org.cloudburstmc.netty.channel.raknet.RakServerChannel;
+import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server channels sharing one session table, as {@link org.cloudburstmc.netty.channel.raknet.RakChannelFactory#reusePortServer}
+ * creates them. The shards are NIO channels on separate ports here since SO_REUSEPORT needs the native transport, the
+ * session table is shared the same way.
+ */
+public class RakReusePortTests {
+
+    private static final int SHARDS = 2;
+    private static final int ATTEMPTS = 200;
+
+    private final Map<SocketAddress, RakChildChannel> childChannelMap = new ConcurrentHashMap<>();
+    private EventLoopGroup group;
+    private RakServerChannel[] shards;
+
+    @BeforeEach
+    public void setup() {
+        this.group = new NioEventLoopGroup(SHARDS);
+        this.shards = new RakServerChannel[SHARDS];
+    }
+
+    @AfterEach
+    public void teardown() {
+        for (RakServerChannel shard : this.shards) {
+            if (shard != null) {
+                shard.close().syncUninterruptibly();
+            }
+        }
+        this.group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    public void testConcurrentFirstDatagramsCreateOneChild() throws Exception {
+        this.bindShards(false);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", 20000 + i);
+            RakChildChannel[] created = this.createConcurrently(address);
+
+            RakChildChannel winner = null;
+            for (RakChildChannel channel : created) {
+                if (channel != null) {
+                    Assertions.assertNull(winner, "More than one child channel created for " + address);
+                    winner = channel;
+                }
+            }
+            Assertions.assertNotNull(winner, "No child channel created for " + address);
+            for (RakServerChannel shard : this.shards) {
+                Assertions.assertSame(winner, shard.getChildChannel(address));
+            }
+            Assertions.assertTrue(winner.isOpen());
+        }
+        Assertions.assertEquals(ATTEMPTS, this.childChannelMap.size());
+    }
+
+    @Test
+    public void testConcurrentCookieReconnectsKeepOneChild() throws Exception {
+        this.bindShards(true);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", 20000 + i);
+            RakChildChannel[] created = this.createConcurrently(address);
+
+            RakChildChannel registered = this.childChannelMap.get(address);
+            Assertions.assertNotNull(registered);
+            for (RakChildChannel channel : created) {
+                Assertions.assertNotNull(channel, "Cookie verified connections replace the existing channel");
+                if (channel != registered) {
+                    Assertions.assertTrue(channel.closeFuture().await(5, TimeUnit.SECONDS), "Replaced channel was not closed");
+                }
+            }
+            Assertions.assertTrue(registered.isOpen());
+        }
+        Assertions.assertEquals(ATTEMPTS, this.childChannelMap.size());
+    }
+
+    private void bindShards(boolean sendCookie) {
+        for (int i = 0; i < SHARDS; i++) {
+            this.shards[i] = (RakServerChannel) new ServerBootstrap()
+                    .channelFactory(() -> new RakServerChannel(new NioDatagramChannel(), null, this.childChannelMap))
+                    .group(this.group.next(), this.group)
+                    .option(RakChannelOption.RAK_SEND_COOKIE, sendCookie)
+                    .childHandler(new ChannelInitializer<RakChildChannel>() {
+                        @Override
+                        protected void initChannel(RakChildChannel ch) {
+                        }
+                    })
+                    .bind(new InetSocketAddress("127.0.0.1", 0))
+                    .syncUninterruptibly()
+                    .channel();
+        }
+    }
+
+    /**
+     * Creates a child for the address on every shard at once, each on the event loop of its shard.
+     */
+    private RakChildChannel[] createConcurrently(InetSocketAddress address) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(SHARDS);
+        @SuppressWarnings("unchecked")
+        Future<RakChildChannel>[] futures = new Future[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            RakServerChannel shard = this.shards[i];
+            futures[i] = shard.eventLoop().submit(() -> {
+                barrier.await(5, TimeUnit.SECONDS);
+                return shard.createChildChannel(address, (InetSocketAddress) shard.localAddress(), 1, 11, 1400);
+            });
+        }
+
+        RakChildChannel[] created = new RakChildChannel[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            created[i] = futures[i].get(5, TimeUnit.SECONDS);
+        }
+        return created;
+    }
+}
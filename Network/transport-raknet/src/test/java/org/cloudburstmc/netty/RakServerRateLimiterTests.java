@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import org.cloudburstmc.netty.channel.raknet.RakServerChannel;
+import org.cloudburstmc.netty.handler.codec.raknet.server.RakServerRateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+public class RakServerRateLimiterTests {
+
+    private static final InetSocketAddress LOCAL = new InetSocketAddress("127.0.0.1", 19132);
+    private static final int DATAGRAMS = 50;
+
+    private NioDatagramChannel datagramChannel;
+    private RakServerChannel server;
+    private RakServerRateLimiter limiter;
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    public void setup() {
+        this.datagramChannel = new NioDatagramChannel();
+        this.server = new RakServerChannel(this.datagramChannel);
+        this.server.config().setPacketLimit(1);
+        this.server.config().setPacketBurst(2);
+        this.server.config().setGlobalPacketLimit(100000);
+        this.limiter = new RakServerRateLimiter(this.server);
+        this.channel = new EmbeddedChannel(this.limiter);
+    }
+
+    @AfterEach
+    public void teardown() {
+        this.channel.finishAndReleaseAll();
+        // Never registered, so the socket is closed directly
+        this.datagramChannel.unsafe().closeForcibly();
+    }
+
+    @Test
+    public void testAddressOverLimitIsBlocked() {
+        InetSocketAddress sender = new InetSocketAddress("10.0.0.1", 40000);
+
+        Assertions.assertTrue(this.readAll(sender) < DATAGRAMS);
+        Assertions.assertTrue(this.limiter.isAddressBlocked(sender.getAddress()));
+    }
+
+    @Test
+    public void testExemptAddressOverLimitIsForwarded() {
+        InetSocketAddress sender = new InetSocketAddress("10.0.0.2", 40000);
+        this.limiter.addException(sender.getAddress());
+
+        Assertions.assertEquals(DATAGRAMS, this.readAll(sender));
+        Assertions.assertFalse(this.limiter.isAddressBlocked(sender.getAddress()));
+    }
+
+    private int readAll(InetSocketAddress sender) {
+        for (int i = 0; i < DATAGRAMS; i++) {
+            this.channel.writeInbound(new DatagramPacket(Unpooled.wrappedBuffer(new byte[]{(byte) i}), LOCAL, sender));
+        }
+
+        int forwarded = 0;
+        DatagramPacket datagram;
+        while ((datagram = this.channel.readInbound()) != null) {
+            datagram.release();
+            forwarded++;
+        }
+        return forwarded;
+    }
+}
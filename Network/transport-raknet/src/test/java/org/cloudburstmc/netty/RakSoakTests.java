@@ -0,0 +1,272 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.cloudburstmc.netty.channel.raknet.RakChannelFactory;
+import org.cloudburstmc.netty.channel.raknet.RakChildChannel;
+import org.cloudburstmc.netty.channel.raknet.RakClientChannel;
+import org.cloudburstmc.netty.channel.raknet.RakServerChannel;
+import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
+import org.cloudburstmc.netty.channel.raknet.packet.RakMessage;
+import org.cloudburstmc.netty.channel.raknet.telemetry.RakHistogram;
+import org.cloudburstmc.netty.channel.raknet.telemetry.RakSessionTelemetry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Soak tests of the session codec over loopback links impaired by {@link RakNetworkSimulator}.
+ * <p>
+ * A client streams ordered messages of mixed sizes, some of which need splitting, to a server which checks their
+ * order and records their one-way latency. Throughput and latency are logged for comparison between changes.
+ */
+public class RakSoakTests {
+
+    private static final InternalLogger log = InternalLoggerFactory.getInstance(RakSoakTests.class);
+    private static final int MESSAGE_ID = 0xFE;
+    private static final int MESSAGE_COUNT = 2000;
+    private static final int MESSAGES_PER_TICK = 20;
+    private static final int TICK_MILLIS = 5;
+    private static final int[] MESSAGE_SIZES = {32, 256, 1000, 3000};
+
+    private static Stream<RakNetworkSimulator.Profile> profiles() {
+        return Stream.of(
+                new RakNetworkSimulator.Profile("clean"),
+                new RakNetworkSimulator.Profile("latency").latency(20, 5),
+                new RakNetworkSimulator.Profile("lossy").loss(0.05).latency(10, 2),
+                new RakNetworkSimulator.Profile("reordering").reorder(0.1, 15).duplicate(0.02).latency(5, 10),
+                new RakNetworkSimulator.Profile("small-mtu").mtu(1200).loss(0.01)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("profiles")
+    public void testOrderedStream(RakNetworkSimulator.Profile profile) throws Exception {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            List<RakNetworkSimulator> simulators = new ArrayList<>();
+            RakHistogram latency = new RakHistogram();
+            Promise<Integer> received = group.next().newPromise();
+
+            Channel server = new ServerBootstrap()
+                    .group(group)
+                    .channelFactory(RakChannelFactory.server(NioDatagramChannel.class, channel -> {
+                        RakNetworkSimulator simulator = new RakNetworkSimulator(profile, 0);
+                        simulators.add(simulator);
+                        channel.pipeline().addFirst(RakNetworkSimulator.NAME, simulator);
+                    }))
+                    .option(RakChannelOption.RAK_SUPPORTED_PROTOCOLS, new int[]{11})
+                    .option(RakChannelOption.RAK_GUID, 1L)
+                    .option(RakChannelOption.RAK_ADVERTISEMENT, Unpooled.EMPTY_BUFFER)
+                    .childOption(RakChannelOption.RAK_ORDERING_CHANNELS, 1)
+                    .childHandler(new ChannelInitializer<RakChildChannel>() {
+                        @Override
+                        protected void initChannel(RakChildChannel ch) throws Exception {
+                            ch.pipeline().addLast(new Receiver(latency, received));
+                        }
+                    })
+                    .bind(new InetSocketAddress("127.0.0.1", 0))
+                    .syncUninterruptibly()
+                    .channel();
+
+            RakSessionTelemetry telemetry = new RakSessionTelemetry();
+            new Bootstrap()
+                    .group(group)
+                    .channelFactory(RakChannelFactory.client(NioDatagramChannel.class, channel -> {
+                        RakNetworkSimulator simulator = new RakNetworkSimulator(profile, 1);
+                        simulators.add(simulator);
+                        channel.pipeline().addFirst(RakNetworkSimulator.NAME, simulator);
+                    }))
+                    .option(RakChannelOption.RAK_PROTOCOL_VERSION, 11)
+                    .option(RakChannelOption.RAK_ORDERING_CHANNELS, 1)
+                    .option(RakChannelOption.RAK_TIME_BETWEEN_SEND_CONNECTION_ATTEMPTS_MS, 100)
+                    .option(RakChannelOption.RAK_METRICS, telemetry)
+                    .handler(new ChannelInitializer<RakClientChannel>() {
+                        @Override
+                        protected void initChannel(RakClientChannel ch) throws Exception {
+                            ch.pipeline().addLast(new Sender(new Random(7)));
+                        }
+                    })
+                    .connect(server.localAddress())
+                    .syncUninterruptibly();
+
+            long start = System.nanoTime();
+            Assertions.assertTrue(received.await(30, TimeUnit.SECONDS), "Timed out");
+            Assertions.assertTrue(received.isSuccess(), () -> received.cause().toString());
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            RakHistogram.Snapshot snapshot = latency.snapshot();
+            RakSessionTelemetry.Snapshot client = telemetry.snapshot();
+            log.info(String.format("%s: %d messages in %.2f s, %.1f KiB/s, latency p50 %.1f ms p99 %.1f ms max %.1f ms, " +
+                            "%d datagrams sent, %d resent, dropped %s",
+                    profile, MESSAGE_COUNT, seconds, client.getBytesOut() / 1024.0 / seconds,
+                    snapshot.getValueAtPercentile(50) / 1000.0, snapshot.getValueAtPercentile(99) / 1000.0,
+                    snapshot.getMax() / 1000.0, client.getDatagramsOut(), client.getStaleDatagrams() + client.getNacksIn(),
+                    simulators.stream().map(simulator -> Long.toString(simulator.getDropped())).toList()));
+            Assertions.assertEquals(MESSAGE_COUNT, snapshot.getCount());
+            Assertions.assertTrue(snapshot.getValueAtPercentile(50) <= snapshot.getValueAtPercentile(99));
+            Assertions.assertTrue(snapshot.getValueAtPercentile(99) <= snapshot.getMax());
+            Assertions.assertTrue(client.getDatagramsOut() > 0);
+            Assertions.assertTrue(client.getBytesOut() > 0);
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test
+    public void testSimulatorIsDeterministic() {
+        RakNetworkSimulator.Profile profile = new RakNetworkSimulator.Profile("test").seed(42).loss(0.2).duplicate(0.1);
+        List<Integer> first = this.simulate(profile);
+        List<Integer> second = this.simulate(profile);
+        Assertions.assertEquals(first, second);
+
+        // Roughly the configured share is lost, and some datagrams arrive twice
+        long lost = 1000 - first.stream().distinct().count();
+        Assertions.assertTrue(lost > 150 && lost < 250, "Lost " + lost);
+        Assertions.assertTrue(first.size() > first.stream().distinct().count());
+
+        Assertions.assertNotEquals(first, this.simulate(new RakNetworkSimulator.Profile("test").seed(43).loss(0.2).duplicate(0.1)));
+    }
+
+    @Test
+    public void testSimulatorMtu() {
+        RakNetworkSimulator simulator = new RakNetworkSimulator(new RakNetworkSimulator.Profile("test").mtu(576), 0);
+        EmbeddedChannel channel = new EmbeddedChannel(simulator);
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 19132);
+
+        channel.writeOutbound(new DatagramPacket(Unpooled.wrappedBuffer(new byte[576 - 28]), address));
+        channel.writeOutbound(new DatagramPacket(Unpooled.wrappedBuffer(new byte[576 - 27]), address));
+        Assertions.assertEquals(1, channel.outboundMessages().size());
+        Assertions.assertEquals(1, simulator.getDropped());
+        channel.finishAndReleaseAll();
+    }
+
+    private List<Integer> simulate(RakNetworkSimulator.Profile profile) {
+        EmbeddedChannel channel = new EmbeddedChannel(new RakNetworkSimulator(profile, 0));
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 19132);
+        for (int i = 0; i < 1000; i++) {
+            ByteBuf buffer = Unpooled.buffer(4).writeInt(i);
+            channel.writeOutbound(new DatagramPacket(buffer, address));
+        }
+
+        List<Integer> delivered = new ArrayList<>();
+        DatagramPacket packet;
+        while ((packet = channel.readOutbound()) != null) {
+            delivered.add(packet.content().getInt(0));
+            packet.release();
+        }
+        channel.finishAndReleaseAll();
+        return delivered;
+    }
+
+    private static class Sender extends ChannelInboundHandlerAdapter {
+        private final Random random;
+        private Future<?> pump;
+        private int sent;
+
+        private Sender(Random random) {
+            this.random = random;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            this.pump = ctx.executor().scheduleAtFixedRate(() -> this.send(ctx), 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            ctx.fireChannelActive();
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            if (this.pump != null) {
+                this.pump.cancel(false);
+            }
+            ctx.fireChannelInactive();
+        }
+
+        private void send(ChannelHandlerContext ctx) {
+            for (int i = 0; i < MESSAGES_PER_TICK && this.sent < MESSAGE_COUNT; i++) {
+                int size = MESSAGE_SIZES[this.random.nextInt(MESSAGE_SIZES.length)];
+                ByteBuf buffer = ctx.alloc().buffer(size);
+                buffer.writeByte(MESSAGE_ID);
+                buffer.writeInt(this.sent++);
+                buffer.writeLong(System.nanoTime());
+                buffer.writeZero(size - buffer.writerIndex());
+                ctx.write(new RakMessage(buffer));
+            }
+            ctx.flush();
+
+            if (this.sent == MESSAGE_COUNT) {
+                this.pump.cancel(false);
+            }
+        }
+    }
+
+    private static class Receiver extends SimpleChannelInboundHandler<RakMessage> {
+        private final RakHistogram latency;
+        private final Promise<Integer> received;
+        private int expected;
+
+        private Receiver(RakHistogram latency, Promise<Integer> received) {
+            this.latency = latency;
+            this.received = received;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, RakMessage message) throws Exception {
+            ByteBuf buffer = message.content();
+            if (buffer.readUnsignedByte() != MESSAGE_ID) {
+                return;
+            }
+
+            int sequence = buffer.readInt();
+            if (sequence != this.expected) {
+                this.received.tryFailure(new IllegalStateException("Expected message " + this.expected + " but got " + sequence));
+                return;
+            }
+            this.latency.record((System.nanoTime() - buffer.readLong()) / 1000);
+
+            if (++this.expected == MESSAGE_COUNT) {
+                this.received.trySuccess(this.expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import org.cloudburstmc.netty.channel.raknet.packet.RakDatagramPacket;
+import org.cloudburstmc.netty.util.SentDatagramTracker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SentDatagramTrackerTests {
+
+    private static RakDatagramPacket datagram(int sequenceIndex, long nextSend) {
+        RakDatagramPacket datagram = RakDatagramPacket.newInstance();
+        datagram.setSequenceIndex(sequenceIndex);
+        datagram.setNextSend(nextSend);
+        return datagram;
+    }
+
+    @Test
+    public void testAcknowledgeRange() {
+        SentDatagramTracker tracker = new SentDatagramTracker(4, 0);
+        for (int i = 0; i < 100; i++) {
+            tracker.add(datagram(i, 1000));
+        }
+        Assertions.assertEquals(100, tracker.size());
+
+        List<RakDatagramPacket> out = new ArrayList<>();
+        Assertions.assertEquals(11, tracker.removeRange(10, 20, out));
+        Assertions.assertNull(tracker.get(15));
+        Assertions.assertNotNull(tracker.get(21));
+
+        // Ranges wider than the ring are resolved with a single pass
+        out.clear();
+        Assertions.assertEquals(89, tracker.removeRange(0, 1 << 23, out));
+        Assertions.assertTrue(tracker.isEmpty());
+    }
+
+    @Test
+    public void testExpiry() {
+        SentDatagramTracker tracker = new SentDatagramTracker(16, 0);
+        for (int i = 0; i < 10; i++) {
+            tracker.add(datagram(i, 100 + i * 100));
+        }
+
+        List<RakDatagramPacket> out = new ArrayList<>();
+        Assertions.assertEquals(0, tracker.pollExpired(50, Integer.MAX_VALUE, out));
+        Assertions.assertEquals(3, tracker.pollExpired(300, Integer.MAX_VALUE, out));
+
+        // Acknowledged datagrams are never reported as expired
+        tracker.remove(3);
+        out.clear();
+        Assertions.assertEquals(6, tracker.pollExpired(5000, Integer.MAX_VALUE, out));
+        for (RakDatagramPacket datagram : out) {
+            Assertions.assertNotEquals(3, datagram.getSequenceIndex());
+        }
+    }
+
+    @Test
+    public void testBandwidthLimit() {
+        SentDatagramTracker tracker = new SentDatagramTracker(16, 0);
+        for (int i = 0; i < 10; i++) {
+            tracker.add(datagram(i, 100));
+        }
+
+        int size = tracker.get(0).getSize();
+        List<RakDatagramPacket> out = new ArrayList<>();
+        Assertions.assertEquals(4, tracker.pollExpired(200, size * 4, out));
+
+        // The rest is picked up on the next poll
+        out.clear();
+        Assertions.assertEquals(6, tracker.pollExpired(210, Integer.MAX_VALUE, out));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 CloudburstMC
+ *
+ * CloudburstMC licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.cloudburstmc.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.cloudburstmc.netty.channel.raknet.RakReliability;
+import org.cloudburstmc.netty.channel.raknet.packet.EncapsulatedPacket;
+import org.cloudburstmc.netty.util.SplitPacketHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SplitPacketHelperTests {
+
+    @Test
+    public void testReassembleWithoutCopy() {
+        byte[] payload = new byte[1000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+
+        ByteBuf[] parts = new ByteBuf[4];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Unpooled.directBuffer(250).writeBytes(payload, i * 250, 250);
+        }
+
+        SplitPacketHelper helper = new SplitPacketHelper(parts.length);
+        EncapsulatedPacket reassembled = null;
+        for (int i : new int[]{2, 0, 3, 0, 1}) {
+            EncapsulatedPacket part = part(i, parts.length, parts[i].retain());
+            try {
+                EncapsulatedPacket result = helper.add(part, ByteBufAllocator.DEFAULT);
+                if (result != null) {
+                    Assertions.assertNull(reassembled);
+                    reassembled = result;
+                }
+            } finally {
+                part.release();
+            }
+            if (reassembled == null) {
+                Assertions.assertTrue(helper.getReceivedBytes() <= 750);
+            }
+        }
+        helper.release();
+
+        Assertions.assertNotNull(reassembled);
+        ByteBuf buffer = reassembled.getBuffer();
+        Assertions.assertEquals(parts.length, buffer.nioBufferCount(), "Parts were copied");
+        byte[] actual = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), actual);
+        Assertions.assertArrayEquals(payload, actual);
+
+        reassembled.release();
+        for (ByteBuf part : parts) {
+            Assertions.assertEquals(1, part.refCnt());
+            part.release();
+        }
+    }
+
+    private static EncapsulatedPacket part(int index, int count, ByteBuf buffer) {
+        EncapsulatedPacket packet = EncapsulatedPacket.newInstance();
+        packet.setReliability(RakReliability.RELIABLE_ORDERED);
+        packet.setSplit(true);
+        packet.setPartId(1);
+        packet.setPartCount(count);
+        packet.setPartIndex(index);
+        packet.setBuffer(buffer);
+        return packet;
+    }
+}
@@ -21,6 +21,7 @@ import org.cloudburstmc.nbt.NbtType;
 import org.cloudburstmc.nbt.NbtUtils;
 import org.cloudburstmc.protocol.bedrock.data.EncodingSettings;
 import org.cloudburstmc.protocol.bedrock.data.ExperimentData;
+import org.cloudburstmc.protocol.bedrock.data.LazyNbtMap;
 import org.cloudburstmc.protocol.bedrock.data.PlayerAbilityHolder;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
@@ -359,7 +360,7 @@ public abstract class BaseBedrockCodecHelper implements BedrockCodecHelper {
             Object tag = reader.readTag();
             checkArgument(expected.isInstance(tag), "Expected tag of %s type but received %s",
                     expected, tag.getClass());
-            return (T) reader.readTag();
+            return (T) tag;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -373,6 +374,21 @@ public abstract class BaseBedrockCodecHelper implements BedrockCodecHelper {
         }
     }
 
+    @Override
+    public LazyNbtMap readLazyTag(ByteBuf buffer) {
+        return this.readLazyTag(buffer, this.encodingSettings.maxNetworkNBTSize());
+    }
+
+    @Override
+    public LazyNbtMap readLazyTag(ByteBuf buffer, long maxReadSize) {
+        return LazyNbtMap.read(buffer, LazyNbtMap.Encoding.NETWORK, maxReadSize);
+    }
+
+    @Override
+    public void writeLazyTag(ByteBuf buffer, LazyNbtMap tag) {
+        tag.write(buffer, LazyNbtMap.Encoding.NETWORK);
+    }
+
     @Override
     public <T> T readTagValue(ByteBuf buffer, NbtType<T> type) {
         return this.readTagValue(buffer, type, this.encodingSettings.maxNetworkNBTSize());
@@ -11,6 +11,7 @@ import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.cloudburstmc.protocol.bedrock.data.PacketRecipient;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RecyclablePacket;
 import org.cloudburstmc.protocol.bedrock.packet.UnknownPacket;
 
 import java.util.Arrays;
@@ -43,13 +44,22 @@ public final class BedrockCodec {
         return tryDecode(helper, buf, id, null);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public BedrockPacket tryDecode(BedrockCodecHelper helper, ByteBuf buf, int id, PacketRecipient recipient) throws PacketSerializeException {
+        return tryDecode(helper, buf, id, recipient, false);
+    }
+
+    /**
+     * Decodes a packet, taking the instance from {@link BedrockPacketPool} when recycling is enabled and the packet is a
+     * {@link RecyclablePacket}. The caller then owns the instance and has to return it with
+     * {@link BedrockPacketPool#recycle(RecyclablePacket)} once it is no longer used.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BedrockPacket tryDecode(BedrockCodecHelper helper, ByteBuf buf, int id, PacketRecipient recipient, boolean recycle) throws PacketSerializeException {
         BedrockPacketDefinition<? extends BedrockPacket> definition = getPacketDefinition(id);
 
         if (definition != null && recipient != null && definition.getRecipient() != PacketRecipient.BOTH &&
                 definition.getRecipient() != recipient) {
-            throw new IllegalArgumentException("Packet " + definition.getFactory().get().getClass().getSimpleName() + " was sent to " + recipient + " instead of " + definition.getRecipient());
+            throw new IllegalArgumentException("Packet " + definition.getPacketClass().getSimpleName() + " was sent to " + recipient + " instead of " + definition.getRecipient());
         }
 
         BedrockPacket packet;
@@ -60,14 +70,18 @@ public final class BedrockCodec {
             packet = unknownPacket;
             serializer = (BedrockPacketSerializer) unknownPacket;
         } else {
-            packet = definition.getFactory().get();
+            packet = recycle ? BedrockPacketPool.get(definition) : definition.getFactory().get();
             serializer = (BedrockPacketSerializer) definition.getSerializer();
         }
 
         try {
             serializer.deserialize(buf, helper, packet);
         } catch (Exception e) {
-            throw new PacketSerializeException("Error whilst deserializing " + packet, e);
+            PacketSerializeException exception = new PacketSerializeException("Error whilst deserializing " + packet, e);
+            if (recycle && packet instanceof RecyclablePacket) {
+                BedrockPacketPool.recycle((RecyclablePacket) packet);
+            }
+            throw exception;
         }
 
         if (log.isDebugEnabled() && buf.isReadable()) {
@@ -130,13 +144,21 @@ public final class BedrockCodec {
         private String minecraftVersion = null;
         private Supplier<BedrockCodecHelper> helperFactory;
 
+        /**
+         * Registers a packet, creating an instance to find its class. Prefer
+         * {@link #registerPacket(Class, Supplier, BedrockPacketSerializer, int, PacketRecipient)} which does not.
+         */
         public <T extends BedrockPacket> Builder registerPacket(Supplier<T> factory, BedrockPacketSerializer<T> serializer, @NonNegative int id, PacketRecipient recipient) {
-            Class<? extends BedrockPacket> packetClass = factory.get().getClass();
+            return registerPacket((Class<T>) factory.get().getClass(), factory, serializer, id, recipient);
+        }
 
+        public <T extends BedrockPacket> Builder registerPacket(Class<T> packetClass, Supplier<T> factory, BedrockPacketSerializer<T> serializer, @NonNegative int id, PacketRecipient recipient) {
+            checkNotNull(packetClass, "packetClass");
+            checkNotNull(factory, "factory");
             checkArgument(id >= 0, "id cannot be negative");
             checkArgument(!packets.containsKey(packetClass), "Packet class already registered");
 
-            BedrockPacketDefinition<T> info = new BedrockPacketDefinition<>(id, factory, serializer, recipient);
+            BedrockPacketDefinition<T> info = new BedrockPacketDefinition<>(id, packetClass, factory, serializer, recipient);
 
             packets.put(packetClass, info);
 
@@ -146,7 +168,7 @@ public final class BedrockCodec {
         public <T extends BedrockPacket> Builder updateSerializer(Class<T> packetClass, BedrockPacketSerializer<T> serializer) {
             BedrockPacketDefinition<T> info = (BedrockPacketDefinition<T>) packets.get(packetClass);
             checkArgument(info != null, "Packet does not exist");
-            BedrockPacketDefinition<T> updatedInfo = new BedrockPacketDefinition<>(info.getId(), info.getFactory(), serializer, info.getRecipient());
+            BedrockPacketDefinition<T> updatedInfo = new BedrockPacketDefinition<>(info.getId(), info.getPacketClass(), info.getFactory(), serializer, info.getRecipient());
 
             packets.replace(packetClass, info, updatedInfo);
 
@@ -9,6 +9,7 @@ import org.cloudburstmc.nbt.NbtType;
 import org.cloudburstmc.protocol.bedrock.data.EncodingSettings;
 import org.cloudburstmc.protocol.bedrock.data.ExperimentData;
 import org.cloudburstmc.protocol.bedrock.data.GameRuleData;
+import org.cloudburstmc.protocol.bedrock.data.LazyNbtMap;
 import org.cloudburstmc.protocol.bedrock.data.PlayerAbilityHolder;
 import org.cloudburstmc.protocol.bedrock.data.command.CommandEnumData;
 import org.cloudburstmc.protocol.bedrock.data.command.CommandOriginData;
@@ -197,6 +198,12 @@ public interface BedrockCodecHelper {
 
     void writeTagValue(ByteBuf buffer, Object tag);
 
+    LazyNbtMap readLazyTag(ByteBuf buffer);
+
+    LazyNbtMap readLazyTag(ByteBuf buffer, long maxReadSize);
+
+    void writeLazyTag(ByteBuf buffer, LazyNbtMap tag);
+
     void readItemUse(ByteBuf buffer, InventoryTransactionPacket packet);
 
     void writeItemUse(ByteBuf buffer, InventoryTransactionPacket packet);
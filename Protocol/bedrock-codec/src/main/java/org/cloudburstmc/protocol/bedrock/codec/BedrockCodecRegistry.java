@@ -0,0 +1,242 @@
+package org.cloudburstmc.protocol.bedrock.codec;
+
+import org.cloudburstmc.protocol.bedrock.codec.v291.Bedrock_v291;
+import org.cloudburstmc.protocol.bedrock.codec.v313.Bedrock_v313;
+import org.cloudburstmc.protocol.bedrock.codec.v332.Bedrock_v332;
+import org.cloudburstmc.protocol.bedrock.codec.v340.Bedrock_v340;
+import org.cloudburstmc.protocol.bedrock.codec.v354.Bedrock_v354;
+import org.cloudburstmc.protocol.bedrock.codec.v361.Bedrock_v361;
+import org.cloudburstmc.protocol.bedrock.codec.v388.Bedrock_v388;
+import org.cloudburstmc.protocol.bedrock.codec.v389.Bedrock_v389;
+import org.cloudburstmc.protocol.bedrock.codec.v390.Bedrock_v390;
+import org.cloudburstmc.protocol.bedrock.codec.v407.Bedrock_v407;
+import org.cloudburstmc.protocol.bedrock.codec.v408.Bedrock_v408;
+import org.cloudburstmc.protocol.bedrock.codec.v419.Bedrock_v419;
+import org.cloudburstmc.protocol.bedrock.codec.v422.Bedrock_v422;
+import org.cloudburstmc.protocol.bedrock.codec.v428.Bedrock_v428;
+import org.cloudburstmc.protocol.bedrock.codec.v431.Bedrock_v431;
+import org.cloudburstmc.protocol.bedrock.codec.v440.Bedrock_v440;
+import org.cloudburstmc.protocol.bedrock.codec.v448.Bedrock_v448;
+import org.cloudburstmc.protocol.bedrock.codec.v465.Bedrock_v465;
+import org.cloudburstmc.protocol.bedrock.codec.v471.Bedrock_v471;
+import org.cloudburstmc.protocol.bedrock.codec.v475.Bedrock_v475;
+import org.cloudburstmc.protocol.bedrock.codec.v486.Bedrock_v486;
+import org.cloudburstmc.protocol.bedrock.codec.v503.Bedrock_v503;
+import org.cloudburstmc.protocol.bedrock.codec.v527.Bedrock_v527;
+import org.cloudburstmc.protocol.bedrock.codec.v534.Bedrock_v534;
+import org.cloudburstmc.protocol.bedrock.codec.v544.Bedrock_v544;
+import org.cloudburstmc.protocol.bedrock.codec.v545.Bedrock_v545;
+import org.cloudburstmc.protocol.bedrock.codec.v554.Bedrock_v554;
+import org.cloudburstmc.protocol.bedrock.codec.v557.Bedrock_v557;
+import org.cloudburstmc.protocol.bedrock.codec.v560.Bedrock_v560;
+import org.cloudburstmc.protocol.bedrock.codec.v567.Bedrock_v567;
+import org.cloudburstmc.protocol.bedrock.codec.v568.Bedrock_v568;
+import org.cloudburstmc.protocol.bedrock.codec.v575.Bedrock_v575;
+import org.cloudburstmc.protocol.bedrock.codec.v582.Bedrock_v582;
+import org.cloudburstmc.protocol.bedrock.codec.v589.Bedrock_v589;
+import org.cloudburstmc.protocol.bedrock.codec.v594.Bedrock_v594;
+import org.cloudburstmc.protocol.bedrock.codec.v618.Bedrock_v618;
+import org.cloudburstmc.protocol.bedrock.codec.v622.Bedrock_v622;
+import org.cloudburstmc.protocol.bedrock.codec.v630.Bedrock_v630;
+import org.cloudburstmc.protocol.bedrock.codec.v649.Bedrock_v649;
+import org.cloudburstmc.protocol.bedrock.codec.v662.Bedrock_v662;
+import org.cloudburstmc.protocol.bedrock.codec.v671.Bedrock_v671;
+import org.cloudburstmc.protocol.bedrock.codec.v685.Bedrock_v685;
+import org.cloudburstmc.protocol.bedrock.codec.v686.Bedrock_v686;
+import org.cloudburstmc.protocol.bedrock.codec.v712.Bedrock_v712;
+import org.cloudburstmc.protocol.bedrock.codec.v729.Bedrock_v729;
+import org.cloudburstmc.protocol.bedrock.codec.v748.Bedrock_v748;
+import org.cloudburstmc.protocol.bedrock.codec.v766.Bedrock_v766;
+import org.cloudburstmc.protocol.bedrock.codec.v776.Bedrock_v776;
+import org.cloudburstmc.protocol.bedrock.codec.v786.Bedrock_v786;
+import org.cloudburstmc.protocol.bedrock.codec.v800.Bedrock_v800;
+import org.cloudburstmc.protocol.bedrock.codec.v818.Bedrock_v818;
+import org.cloudburstmc.protocol.bedrock.codec.v819.Bedrock_v819;
+import org.cloudburstmc.protocol.bedrock.codec.v827.Bedrock_v827;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Codecs of all supported protocol versions, looked up by protocol number.
+ * <p>
+ * Each {@code Bedrock_vNNN.CODEC} is derived from the codec of the previous version when its class is initialized.
+ * The registry only holds a sorted table of the protocol numbers and initializes a codec class the first time its
+ * version is asked for, so resolving one version never touches newer versions or versions that are not used. Resolved
+ * codecs are cached per version.
+ */
+public final class BedrockCodecRegistry {
+
+    private static final int[] PROTOCOL_VERSIONS = {
+            291, 313, 332, 340, 354, 361, 388, 389, 390, 407, 408, 419, 422, 428, 431, 440, 448, 465, 471, 475, 486,
+            503, 527, 534, 544, 545, 554, 557, 560, 567, 568, 575, 582, 589, 594, 618, 622, 630, 649, 662, 671, 685,
+            686, 712, 729, 748, 766, 776, 786, 800, 818, 819, 827
+    };
+
+    private static final AtomicReferenceArray<BedrockCodec> CODECS = new AtomicReferenceArray<>(PROTOCOL_VERSIONS.length);
+
+    private BedrockCodecRegistry() {
+    }
+
+    /**
+     * @return the codec of exactly this protocol version or null if it is not supported
+     */
+    public static BedrockCodec getCodec(int protocolVersion) {
+        int index = Arrays.binarySearch(PROTOCOL_VERSIONS, protocolVersion);
+        return index < 0 ? null : getCodecAt(index);
+    }
+
+    /**
+     * Finds the codec to talk to a client of the given protocol version. Versions between two supported ones use the
+     * older codec, versions older than every supported one use the latest codec.
+     */
+    public static BedrockCodec resolve(int protocolVersion) {
+        int index = Arrays.binarySearch(PROTOCOL_VERSIONS, protocolVersion);
+        if (index < 0) {
+            // The insertion point minus one is the newest version below the requested one
+            index = -index - 2;
+            if (index < 0) {
+                index = PROTOCOL_VERSIONS.length - 1;
+            }
+        }
+        return getCodecAt(index);
+    }
+
+    public static BedrockCodec getLatestCodec() {
+        return getCodecAt(PROTOCOL_VERSIONS.length - 1);
+    }
+
+    public static boolean isSupported(int protocolVersion) {
+        return Arrays.binarySearch(PROTOCOL_VERSIONS, protocolVersion) >= 0;
+    }
+
+    /**
+     * @return the supported protocol versions in ascending order
+     */
+    public static int[] getProtocolVersions() {
+        return PROTOCOL_VERSIONS.clone();
+    }
+
+    private static BedrockCodec getCodecAt(int index) {
+        BedrockCodec codec = CODECS.get(index);
+        if (codec == null) {
+            // Class initialization is synchronized by the VM, threads racing here store the same instance
+            codec = load(PROTOCOL_VERSIONS[index]);
+            CODECS.set(index, codec);
+        }
+        return codec;
+    }
+
+    private static BedrockCodec load(int protocolVersion) {
+        switch (protocolVersion) {
+            case 291:
+                return Bedrock_v291.CODEC;
+            case 313:
+                return Bedrock_v313.CODEC;
+            case 332:
+                return Bedrock_v332.CODEC;
+            case 340:
+                return Bedrock_v340.CODEC;
+            case 354:
+                return Bedrock_v354.CODEC;
+            case 361:
+                return Bedrock_v361.CODEC;
+            case 388:
+                return Bedrock_v388.CODEC;
+            case 389:
+                return Bedrock_v389.CODEC;
+            case 390:
+                return Bedrock_v390.CODEC;
+            case 407:
+                return Bedrock_v407.CODEC;
+            case 408:
+                return Bedrock_v408.CODEC;
+            case 419:
+                return Bedrock_v419.CODEC;
+            case 422:
+                return Bedrock_v422.CODEC;
+            case 428:
+                return Bedrock_v428.CODEC;
+            case 431:
+                return Bedrock_v431.CODEC;
+            case 440:
+                return Bedrock_v440.CODEC;
+            case 448:
+                return Bedrock_v448.CODEC;
+            case 465:
+                return Bedrock_v465.CODEC;
+            case 471:
+                return Bedrock_v471.CODEC;
+            case 475:
+                return Bedrock_v475.CODEC;
+            case 486:
+                return Bedrock_v486.CODEC;
+            case 503:
+                return Bedrock_v503.CODEC;
+            case 527:
+                return Bedrock_v527.CODEC;
+            case 534:
+                return Bedrock_v534.CODEC;
+            case 544:
+                return Bedrock_v544.CODEC;
+            case 545:
+                return Bedrock_v545.CODEC;
+            case 554:
+                return Bedrock_v554.CODEC;
+            case 557:
+                return Bedrock_v557.CODEC;
+            case 560:
+                return Bedrock_v560.CODEC;
+            case 567:
+                return Bedrock_v567.CODEC;
+            case 568:
+                return Bedrock_v568.CODEC;
+            case 575:
+                return Bedrock_v575.CODEC;
+            case 582:
+                return Bedrock_v582.CODEC;
+            case 589:
+                return Bedrock_v589.CODEC;
+            case 594:
+                return Bedrock_v594.CODEC;
+            case 618:
+                return Bedrock_v618.CODEC;
+            case 622:
+                return Bedrock_v622.CODEC;
+            case 630:
+                return Bedrock_v630.CODEC;
+            case 649:
+                return Bedrock_v649.CODEC;
+            case 662:
+                return Bedrock_v662.CODEC;
+            case 671:
+                return Bedrock_v671.CODEC;
+            case 685:
+                return Bedrock_v685.CODEC;
+            case 686:
+                return Bedrock_v686.CODEC;
+            case 712:
+                return Bedrock_v712.CODEC;
+            case 729:
+                return Bedrock_v729.CODEC;
+            case 748:
+                return Bedrock_v748.CODEC;
+            case 766:
+                return Bedrock_v766.CODEC;
+            case 776:
+                return Bedrock_v776.CODEC;
+            case 786:
+                return Bedrock_v786.CODEC;
+            case 800:
+                return Bedrock_v800.CODEC;
+            case 818:
+                return Bedrock_v818.CODEC;
+            case 819:
+                return Bedrock_v819.CODEC;
+            case 827:
+                return Bedrock_v827.CODEC;
+            default:
+                throw new IllegalStateException("No codec for protocol version " + protocolVersion);
+        }
+    }
+}
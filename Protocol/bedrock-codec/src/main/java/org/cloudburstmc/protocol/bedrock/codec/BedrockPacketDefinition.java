@@ -9,6 +9,7 @@ import java.util.function.Supplier;
 @Value
 public class BedrockPacketDefinition<T extends BedrockPacket> {
     int id;
+    Class<T> packetClass;
     Supplier<T> factory;
     BedrockPacketSerializer<T> serializer;
     PacketRecipient recipient;
@@ -0,0 +1,72 @@
+package org.cloudburstmc.protocol.bedrock.codec;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RecyclablePacket;
+
+import java.util.ArrayDeque;
+
+/**
+ * Per-thread pools of {@link RecyclablePacket} instances, used by {@link BedrockCodec} when a packet is decoded with
+ * recycling enabled.
+ * <p>
+ * Instances are taken on the thread decoding the packet and returned on the thread releasing it. Both are usually the
+ * event loop of the session, a packet released elsewhere simply moves to the pool of that thread. Each pool keeps at
+ * most {@link #MAX_CAPACITY_PER_THREAD} instances per packet type, anything beyond that is left to the garbage
+ * collector.
+ */
+public final class BedrockPacketPool {
+
+    public static final int MAX_CAPACITY_PER_THREAD = Integer.getInteger("cloudburst.packetPool.maxCapacityPerThread", 64);
+
+    private static final ClassValue<FastThreadLocal<ArrayDeque<RecyclablePacket>>> POOLS = new ClassValue<FastThreadLocal<ArrayDeque<RecyclablePacket>>>() {
+        @Override
+        protected FastThreadLocal<ArrayDeque<RecyclablePacket>> computeValue(Class<?> type) {
+            if (!RecyclablePacket.class.isAssignableFrom(type)) {
+                return null;
+            }
+            return new FastThreadLocal<ArrayDeque<RecyclablePacket>>() {
+                @Override
+                protected ArrayDeque<RecyclablePacket> initialValue() {
+                    return new ArrayDeque<>();
+                }
+            };
+        }
+    };
+
+    private BedrockPacketPool() {
+    }
+
+    public static boolean isRecyclable(Class<? extends BedrockPacket> packetClass) {
+        return POOLS.get(packetClass) != null;
+    }
+
+    /**
+     * @return a pooled instance if the packet is recyclable and one is available, a new one from the factory otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends BedrockPacket> T get(BedrockPacketDefinition<T> definition) {
+        FastThreadLocal<ArrayDeque<RecyclablePacket>> pool = POOLS.get(definition.getPacketClass());
+        if (pool != null) {
+            RecyclablePacket packet = pool.get().pollLast();
+            if (packet != null) {
+                return (T) packet;
+            }
+        }
+        return definition.getFactory().get();
+    }
+
+    /**
+     * Resets the packet and returns it to the pool of the current thread. The caller must hold the only reference to
+     * the packet.
+     */
+    public static void recycle(RecyclablePacket packet) {
+        FastThreadLocal<ArrayDeque<RecyclablePacket>> pool = POOLS.get(packet.getClass());
+        packet.reset();
+
+        ArrayDeque<RecyclablePacket> packets = pool.get();
+        if (packets.size() < MAX_CAPACITY_PER_THREAD) {
+            packets.addLast(packet);
+        }
+    }
+}
@@ -23,10 +23,10 @@ public class BedrockCompat {
      */
     public static BedrockCodec CODEC = BedrockCodec.builder()
             .helper(() -> NoopBedrockCodecHelper.INSTANCE)
-            .registerPacket(LoginPacket::new, LoginSerializerCompat.INSTANCE, 1, PacketRecipient.SERVER)
-            .registerPacket(PlayStatusPacket::new, PlayStatusSerializerCompat.INSTANCE, 2, PacketRecipient.CLIENT)
-            .registerPacket(DisconnectPacket::new, DisconnectSerializer_v712.INSTANCE, 5, PacketRecipient.BOTH)
-            .registerPacket(RequestNetworkSettingsPacket::new, RequestNetworkSettingsSerializerCompat.INSTANCE, 193, PacketRecipient.SERVER)
+            .registerPacket(LoginPacket.class, LoginPacket::new, LoginSerializerCompat.INSTANCE, 1, PacketRecipient.SERVER)
+            .registerPacket(PlayStatusPacket.class, PlayStatusPacket::new, PlayStatusSerializerCompat.INSTANCE, 2, PacketRecipient.CLIENT)
+            .registerPacket(DisconnectPacket.class, DisconnectPacket::new, DisconnectSerializer_v712.INSTANCE, 5, PacketRecipient.BOTH)
+            .registerPacket(RequestNetworkSettingsPacket.class, RequestNetworkSettingsPacket::new, RequestNetworkSettingsSerializerCompat.INSTANCE, 193, PacketRecipient.SERVER)
             .protocolVersion(0)
             .minecraftVersion("0.0.0")
             .build();
@@ -233,53 +233,51 @@ public class BedrockCodecHelper_v291 extends BaseBedrockCodecHelper {
 
         for (int i = 0; i < length; i++) {
             int id = VarInts.readUnsignedInt(buffer);
-            EntityDataFormat format = EntityDataFormat.values()[VarInts.readUnsignedInt(buffer)];
+            EntityDataFormat format = EntityDataFormat.from(VarInts.readUnsignedInt(buffer));
+            EntityDataTypeMap.Definition<?>[] definitions = this.entityData.fromId(id, format);
 
-            Object value;
+            long bits = 0;
+            Object value = null;
             switch (format) {
                 case BYTE:
-                    value = buffer.readByte();
+                    bits = buffer.readByte();
                     break;
                 case SHORT:
-                    value = buffer.readShortLE();
+                    bits = buffer.readShortLE();
                     break;
                 case INT:
-                    value = VarInts.readInt(buffer);
+                    bits = VarInts.readInt(buffer);
                     break;
                 case FLOAT:
-                    value = buffer.readFloatLE();
-                    break;
-                case STRING:
-                    value = readString(buffer);
-                    break;
-                case NBT:
-                    value = this.readItem(buffer).getTag();
-                    break;
-                case VECTOR3I:
-                    value = readVector3i(buffer);
+                    bits = buffer.readIntLE();
                     break;
                 case LONG:
-                    value = VarInts.readLong(buffer);
-                    break;
-                case VECTOR3F:
-                    value = readVector3f(buffer);
+                    bits = VarInts.readLong(buffer);
                     break;
                 default:
-                    throw new UnsupportedOperationException("Unknown entity data type received");
+                    value = this.readEntityDataObject(buffer, format);
             }
 
-            EntityDataTypeMap.Definition<?>[] definitions = this.entityData.fromId(id, format);
-            if (definitions != null) {
-                for (EntityDataTypeMap.Definition<?> definition : definitions) {
-                    //noinspection unchecked
-                    EntityDataTransformer<Object, ?> transformer = (EntityDataTransformer<Object, ?>) definition.getTransformer();
-                    Object transformedValue = transformer.deserialize(this, entityDataMap, value);
-                    if (transformedValue != null) {
-                        entityDataMap.put(definition.getType(), transformer.deserialize(this, entityDataMap, value));
-                    }
+            if (definitions == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unknown entity data: {} type {} value {}", id, format, value == null ? boxEntityData(format, bits) : value);
+                }
+                continue;
+            }
+
+            for (EntityDataTypeMap.Definition<?> definition : definitions) {
+                if (value == null && isPrimitiveIdentity(definition, format)) {
+                    // Stored as is, no need to box the value for the transformer
+                    entityDataMap.putPrimitiveBits(definition.getType(), bits);
+                    continue;
+                }
+
+                //noinspection unchecked
+                EntityDataTransformer<Object, ?> transformer = (EntityDataTransformer<Object, ?>) definition.getTransformer();
+                Object transformedValue = transformer.deserialize(this, entityDataMap, value == null ? boxEntityData(format, bits) : value);
+                if (transformedValue != null) {
+                    entityDataMap.put(definition.getType(), transformedValue);
                 }
-            } else {
-                log.debug("Unknown entity data: {} type {} value {}", id, format, value);
             }
         }
     }
@@ -291,17 +289,23 @@ public class BedrockCodecHelper_v291 extends BaseBedrockCodecHelper {
 
         VarInts.writeUnsignedInt(buffer, entityDataMap.size());
 
-        for (Map.Entry<EntityDataType<?>, Object> entry : entityDataMap.entrySet()) {
-            EntityDataTypeMap.Definition<?> definition = this.entityData.fromType(entry.getKey());
+        for (EntityDataType<?> type : entityDataMap.keySet()) {
+            EntityDataTypeMap.Definition<?> definition = this.entityData.fromType(type);
+            EntityDataFormat format = definition.getFormat();
 
             VarInts.writeUnsignedInt(buffer, definition.getId());
-            VarInts.writeUnsignedInt(buffer, definition.getFormat().ordinal());
+            VarInts.writeUnsignedInt(buffer, format.ordinal());
 
             try {
+                if (isPrimitiveIdentity(definition, format)) {
+                    this.writeEntityDataPrimitive(buffer, format, entityDataMap.getPrimitiveBits(type));
+                    continue;
+                }
+
                 Object value = ((EntityDataTransformer<?, Object>) definition.getTransformer())
-                        .serialize(this, entityDataMap, entry.getValue());
+                        .serialize(this, entityDataMap, entityDataMap.get(type));
 
-                switch (definition.getFormat()) {
+                switch (format) {
                     case BYTE:
                         buffer.writeByte((byte) value);
                         break;
@@ -314,28 +318,11 @@ public class BedrockCodecHelper_v291 extends BaseBedrockCodecHelper {
                     case FLOAT:
                         buffer.writeFloatLE((float) value);
                         break;
-                    case STRING:
-                        writeString(buffer, (String) value);
-                        break;
-                    case NBT:
-                        this.writeItem(buffer, ItemData.builder()
-                                .definition(ItemDefinition.LEGACY_FIREWORK)
-                                .damage(0)
-                                .count(1)
-                                .tag((NbtMap) value)
-                                .build());
-                        break;
-                    case VECTOR3I:
-                        writeVector3i(buffer, (Vector3i) value);
-                        break;
                     case LONG:
                         VarInts.writeLong(buffer, (long) value);
                         break;
-                    case VECTOR3F:
-                        writeVector3f(buffer, (Vector3f) value);
-                        break;
                     default:
-                        throw new UnsupportedOperationException("Unknown entity data type " + definition.getFormat());
+                        this.writeEntityDataObject(buffer, format, value);
                 }
             } catch (Exception e) {
                 throw new IllegalArgumentException("Failed to encode EntityData " + definition.getId() + " of " + definition.getType().getTypeName(), e);
@@ -343,6 +330,89 @@ public class BedrockCodecHelper_v291 extends BaseBedrockCodecHelper {
         }
     }
 
+    protected Object readEntityDataObject(ByteBuf buffer, EntityDataFormat format) {
+        switch (format) {
+            case STRING:
+                return readString(buffer);
+            case NBT:
+                return this.readItem(buffer).getTag();
+            case VECTOR3I:
+                return readVector3i(buffer);
+            case VECTOR3F:
+                return readVector3f(buffer);
+            default:
+                throw new IllegalArgumentException("Unknown entity data type received");
+        }
+    }
+
+    protected void writeEntityDataObject(ByteBuf buffer, EntityDataFormat format, Object value) {
+        switch (format) {
+            case STRING:
+                writeString(buffer, (String) value);
+                break;
+            case NBT:
+                this.writeItem(buffer, ItemData.builder()
+                        .definition(ItemDefinition.LEGACY_FIREWORK)
+                        .damage(0)
+                        .count(1)
+                        .tag((NbtMap) value)
+                        .build());
+                break;
+            case VECTOR3I:
+                writeVector3i(buffer, (Vector3i) value);
+                break;
+            case VECTOR3F:
+                writeVector3f(buffer, (Vector3f) value);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unknown entity data type " + format);
+        }
+    }
+
+    private void writeEntityDataPrimitive(ByteBuf buffer, EntityDataFormat format, long bits) {
+        switch (format) {
+            case BYTE:
+                buffer.writeByte((int) bits);
+                break;
+            case SHORT:
+                buffer.writeShortLE((int) bits);
+                break;
+            case INT:
+                VarInts.writeInt(buffer, (int) bits);
+                break;
+            case FLOAT:
+                buffer.writeIntLE((int) bits);
+                break;
+            case LONG:
+                VarInts.writeLong(buffer, bits);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unknown entity data type " + format);
+        }
+    }
+
+    /**
+     * Values of primitive types without a transformer are kept unboxed by {@link EntityDataMap}.
+     */
+    private static boolean isPrimitiveIdentity(EntityDataTypeMap.Definition<?> definition, EntityDataFormat format) {
+        return definition.getTransformer() == EntityDataTransformer.IDENTITY && definition.getType().getPrimitiveFormat() == format;
+    }
+
+    private static Object boxEntityData(EntityDataFormat format, long bits) {
+        switch (format) {
+            case BYTE:
+                return (byte) bits;
+            case SHORT:
+                return (short) bits;
+            case INT:
+                return (int) bits;
+            case FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            default:
+                return bits;
+        }
+    }
+
     @Override
     public CommandEnumData readCommandEnum(ByteBuf buffer, boolean soft) {
 
@@ -6,21 +6,13 @@ import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.codec.EntityDataTypeMap;
 import org.cloudburstmc.protocol.bedrock.codec.v340.BedrockCodecHelper_v340;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataFormat;
-import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataMap;
-import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataType;
 import org.cloudburstmc.protocol.bedrock.data.structure.StructureAnimationMode;
 import org.cloudburstmc.protocol.bedrock.data.structure.StructureMirror;
 import org.cloudburstmc.protocol.bedrock.data.structure.StructureRotation;
 import org.cloudburstmc.protocol.bedrock.data.structure.StructureSettings;
-import org.cloudburstmc.protocol.bedrock.transformer.EntityDataTransformer;
 import org.cloudburstmc.protocol.common.util.TypeMap;
 import org.cloudburstmc.protocol.common.util.VarInts;
 
-import java.util.Map;
-
-import static org.cloudburstmc.protocol.common.util.Preconditions.checkArgument;
-import static org.cloudburstmc.protocol.common.util.Preconditions.checkNotNull;
-
 public class BedrockCodecHelper_v361 extends BedrockCodecHelper_v340 {
 
     public BedrockCodecHelper_v361(EntityDataTypeMap entityData, TypeMap<Class<?>> gameRulesTypes) {
@@ -28,118 +20,20 @@ public class BedrockCodecHelper_v361 extends BedrockCodecHelper_v340 {
     }
 
     @Override
-    public void readEntityData(ByteBuf buffer, EntityDataMap entityDataMap) {
-        checkNotNull(entityDataMap, "entityDataDictionary");
-
-        int length = VarInts.readUnsignedInt(buffer);
-        checkArgument(this.encodingSettings.maxListSize() <= 0 || length <= this.encodingSettings.maxListSize(), "Entity data size is too big: %s", length);
-
-        for (int i = 0; i < length; i++) {
-            int id = VarInts.readUnsignedInt(buffer);
-            int formatId = VarInts.readUnsignedInt(buffer);
-            EntityDataFormat format = EntityDataFormat.values()[formatId];
-
-            Object value;
-            switch (format) {
-                case BYTE:
-                    value = buffer.readByte();
-                    break;
-                case SHORT:
-                    value = buffer.readShortLE();
-                    break;
-                case INT:
-                    value = VarInts.readInt(buffer);
-                    break;
-                case FLOAT:
-                    value = buffer.readFloatLE();
-                    break;
-                case STRING:
-                    value = readString(buffer);
-                    break;
-                case NBT:
-                    value = this.readTag(buffer, Object.class);
-                    break;
-                case VECTOR3I:
-                    value = readVector3i(buffer);
-                    break;
-                case LONG:
-                    value = VarInts.readLong(buffer);
-                    break;
-                case VECTOR3F:
-                    value = readVector3f(buffer);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown entity data type received");
-            }
-
-            EntityDataTypeMap.Definition<?>[] definitions = this.entityData.fromId(id, format);
-            if (definitions != null) {
-                for (EntityDataTypeMap.Definition<?> definition : definitions) {
-                    //noinspection unchecked
-                    EntityDataTransformer<Object, ?> transformer = (EntityDataTransformer<Object, ?>) definition.getTransformer();
-                    Object transformedValue = transformer.deserialize(this, entityDataMap, value);
-                    if (transformedValue != null) {
-                        entityDataMap.put(definition.getType(), transformer.deserialize(this, entityDataMap, value));
-                    }
-                }
-            } else {
-                log.debug("Unknown entity data: {} type {} value {}", id, format, value);
-            }
+    protected Object readEntityDataObject(ByteBuf buffer, EntityDataFormat format) {
+        if (format == EntityDataFormat.NBT) {
+            return this.readTag(buffer, Object.class);
         }
+        return super.readEntityDataObject(buffer, format);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public void writeEntityData(ByteBuf buffer, EntityDataMap entityDataMap) {
-        checkNotNull(entityDataMap, "entityDataDictionary");
-
-        VarInts.writeUnsignedInt(buffer, entityDataMap.size());
-
-        for (Map.Entry<EntityDataType<?>, Object> entry : entityDataMap.entrySet()) {
-            EntityDataTypeMap.Definition<?> definition = this.entityData.fromType(entry.getKey());
-
-            VarInts.writeUnsignedInt(buffer, definition.getId());
-            VarInts.writeUnsignedInt(buffer, definition.getFormat().ordinal());
-
-            try {
-                Object value = ((EntityDataTransformer<?, Object>) definition.getTransformer())
-                        .serialize(this, entityDataMap, entry.getValue());
-
-                switch (definition.getFormat()) {
-                    case BYTE:
-                        buffer.writeByte((byte) value);
-                        break;
-                    case SHORT:
-                        buffer.writeShortLE((short) value);
-                        break;
-                    case INT:
-                        VarInts.writeInt(buffer, (int) value);
-                        break;
-                    case FLOAT:
-                        buffer.writeFloatLE((float) value);
-                        break;
-                    case STRING:
-                        writeString(buffer, (String) value);
-                        break;
-                    case NBT:
-                        this.writeTag(buffer, value);
-                        break;
-                    case VECTOR3I:
-                        writeVector3i(buffer, (Vector3i) value);
-                        break;
-                    case LONG:
-                        VarInts.writeLong(buffer, (long) value);
-                        break;
-                    case VECTOR3F:
-                        writeVector3f(buffer, (Vector3f) value);
-                        break;
-                    default:
-                        throw new UnsupportedOperationException("Unknown entity data type " + definition.getFormat());
-                }
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Failed to encode EntityData " + definition.getId() + " of " + definition.getType().getTypeName(), e);
-            }
+    protected void writeEntityDataObject(ByteBuf buffer, EntityDataFormat format, Object value) {
+        if (format == EntityDataFormat.NBT) {
+            this.writeTag(buffer, value);
+            return;
         }
+        super.writeEntityDataObject(buffer, format, value);
     }
 
     @Override
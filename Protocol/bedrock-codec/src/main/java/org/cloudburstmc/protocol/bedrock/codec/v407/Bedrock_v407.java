@@ -199,17 +199,17 @@ public class Bedrock_v407 extends Bedrock_v390 {
             .updateSerializer(LevelEventPacket.class, new LevelEventSerializer_v291(LEVEL_EVENTS))
             .updateSerializer(LevelEventGenericPacket.class, new LevelEventGenericSerializer_v361(LEVEL_EVENTS))
             .updateSerializer(EducationSettingsPacket.class, EducationSettingsSerializer_v407.INSTANCE)
-            .registerPacket(CreativeContentPacket::new, CreativeContentSerializer_v407.INSTANCE, 145, PacketRecipient.CLIENT)
-            .registerPacket(PlayerEnchantOptionsPacket::new, PlayerEnchantOptionsSerializer_v407.INSTANCE, 146, PacketRecipient.CLIENT)
-            .registerPacket(ItemStackRequestPacket::new, ItemStackRequestSerializer_v407.INSTANCE, 147, PacketRecipient.SERVER)
-            .registerPacket(ItemStackResponsePacket::new, ItemStackResponseSerializer_v407.INSTANCE, 148, PacketRecipient.CLIENT)
-            .registerPacket(PlayerArmorDamagePacket::new, PlayerArmorDamageSerializer_v407.INSTANCE, 149, PacketRecipient.CLIENT)
-            .registerPacket(CodeBuilderPacket::new, CodeBuilderSerializer_v407.INSTANCE, 150, PacketRecipient.CLIENT)
-            .registerPacket(UpdatePlayerGameTypePacket::new, UpdatePlayerGameTypeSerializer_v407.INSTANCE, 151, PacketRecipient.CLIENT)
-            .registerPacket(EmoteListPacket::new, EmoteListSerializer_v407.INSTANCE, 152, PacketRecipient.BOTH)
-            .registerPacket(PositionTrackingDBServerBroadcastPacket::new, PositionTrackingDBServerBroadcastSerializer_v407.INSTANCE, 153, PacketRecipient.CLIENT)
-            .registerPacket(PositionTrackingDBClientRequestPacket::new, PositionTrackingDBClientRequestSerializer_v407.INSTANCE, 154, PacketRecipient.SERVER)
-            .registerPacket(DebugInfoPacket::new, DebugInfoSerializer_v407.INSTANCE, 155, PacketRecipient.BOTH)
-            .registerPacket(PacketViolationWarningPacket::new, PacketViolationWarningSerializer_v407.INSTANCE, 156, PacketRecipient.SERVER)
+            .registerPacket(CreativeContentPacket.class, CreativeContentPacket::new, CreativeContentSerializer_v407.INSTANCE, 145, PacketRecipient.CLIENT)
+            .registerPacket(PlayerEnchantOptionsPacket.class, PlayerEnchantOptionsPacket::new, PlayerEnchantOptionsSerializer_v407.INSTANCE, 146, PacketRecipient.CLIENT)
+            .registerPacket(ItemStackRequestPacket.class, ItemStackRequestPacket::new, ItemStackRequestSerializer_v407.INSTANCE, 147, PacketRecipient.SERVER)
+            .registerPacket(ItemStackResponsePacket.class, ItemStackResponsePacket::new, ItemStackResponseSerializer_v407.INSTANCE, 148, PacketRecipient.CLIENT)
+            .registerPacket(PlayerArmorDamagePacket.class, PlayerArmorDamagePacket::new, PlayerArmorDamageSerializer_v407.INSTANCE, 149, PacketRecipient.CLIENT)
+            .registerPacket(CodeBuilderPacket.class, CodeBuilderPacket::new, CodeBuilderSerializer_v407.INSTANCE, 150, PacketRecipient.CLIENT)
+            .registerPacket(UpdatePlayerGameTypePacket.class, UpdatePlayerGameTypePacket::new, UpdatePlayerGameTypeSerializer_v407.INSTANCE, 151, PacketRecipient.CLIENT)
+            .registerPacket(EmoteListPacket.class, EmoteListPacket::new, EmoteListSerializer_v407.INSTANCE, 152, PacketRecipient.BOTH)
+            .registerPacket(PositionTrackingDBServerBroadcastPacket.class, PositionTrackingDBServerBroadcastPacket::new, PositionTrackingDBServerBroadcastSerializer_v407.INSTANCE, 153, PacketRecipient.CLIENT)
+            .registerPacket(PositionTrackingDBClientRequestPacket.class, PositionTrackingDBClientRequestPacket::new, PositionTrackingDBClientRequestSerializer_v407.INSTANCE, 154, PacketRecipient.SERVER)
+            .registerPacket(DebugInfoPacket.class, DebugInfoPacket::new, DebugInfoSerializer_v407.INSTANCE, 155, PacketRecipient.BOTH)
+            .registerPacket(PacketViolationWarningPacket.class, PacketViolationWarningPacket::new, PacketViolationWarningSerializer_v407.INSTANCE, 156, PacketRecipient.SERVER)
             .build();
 }
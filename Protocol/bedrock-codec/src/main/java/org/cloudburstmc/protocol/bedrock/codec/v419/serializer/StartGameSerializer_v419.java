@@ -45,7 +45,7 @@ public class StartGameSerializer_v419 implements BedrockPacketSerializer<StartGa
 
         helper.writeArray(buffer, packet.getBlockProperties(), (buf, packetHelper, block) -> {
             packetHelper.writeString(buf, block.getName());
-            packetHelper.writeTag(buf, block.getProperties());
+            packetHelper.writeLazyTag(buf, block.getLazyProperties());
         });
 
         this.writeItemDefinitions(buffer, helper, packet.getItemDefinitions());
@@ -74,7 +74,7 @@ public class StartGameSerializer_v419 implements BedrockPacketSerializer<StartGa
 
         helper.readArray(buffer, packet.getBlockProperties(), (buf, packetHelper) -> {
             String name = packetHelper.readString(buf);
-            NbtMap properties = packetHelper.readTag(buf, NbtMap.class);
+            LazyNbtMap properties = packetHelper.readLazyTag(buf);
             return new BlockPropertyData(name, properties);
         });
 
@@ -8,6 +8,7 @@ import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
 import org.cloudburstmc.protocol.bedrock.codec.v419.serializer.StartGameSerializer_v419;
 import org.cloudburstmc.protocol.bedrock.data.BlockPropertyData;
 import org.cloudburstmc.protocol.bedrock.data.GameType;
+import org.cloudburstmc.protocol.bedrock.data.LazyNbtMap;
 import org.cloudburstmc.protocol.bedrock.data.definitions.SimpleItemDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.StartGamePacket;
 import org.cloudburstmc.protocol.common.util.VarInts;
@@ -38,7 +39,7 @@ public class StartGameSerializer_v428 extends StartGameSerializer_v419 {
 
         helper.writeArray(buffer, packet.getBlockProperties(), (buf, packetHelper, block) -> {
             packetHelper.writeString(buf, block.getName());
-            packetHelper.writeTag(buf, block.getProperties());
+            packetHelper.writeLazyTag(buf, block.getLazyProperties());
         });
 
         this.writeItemDefinitions(buffer, helper, packet.getItemDefinitions());
@@ -67,7 +68,7 @@ public class StartGameSerializer_v428 extends StartGameSerializer_v419 {
 
         helper.readArray(buffer, packet.getBlockProperties(), (buf, packetHelper) -> {
             String name = packetHelper.readString(buf);
-            NbtMap properties = packetHelper.readTag(buf, NbtMap.class);
+            LazyNbtMap properties = packetHelper.readLazyTag(buf);
             return new BlockPropertyData(name, properties);
         });
 
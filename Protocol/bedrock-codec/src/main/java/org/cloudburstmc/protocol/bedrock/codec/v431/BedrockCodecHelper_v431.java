@@ -3,11 +3,9 @@ package org.cloudburstmc.protocol.bedrock.codec.v431;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufUtil;
-import org.cloudburstmc.nbt.NBTInputStream;
-import org.cloudburstmc.nbt.NBTOutputStream;
-import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.protocol.bedrock.codec.EntityDataTypeMap;
 import org.cloudburstmc.protocol.bedrock.codec.v428.BedrockCodecHelper_v428;
+import org.cloudburstmc.protocol.bedrock.data.LazyNbtMap;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ContainerSlotType;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
@@ -45,22 +43,22 @@ public class BedrockCodecHelper_v431 extends BedrockCodecHelper_v428 {
         int damage = VarInts.readUnsignedInt(buffer);
         int blockRuntimeId = VarInts.readInt(buffer);
 
-        NbtMap compoundTag = null;
+        LazyNbtMap compoundTag = null;
         long blockingTicks = 0;
         String[] canPlace;
         String[] canBreak;
 
         ByteBuf buf = buffer.readSlice(VarInts.readUnsignedInt(buffer));
-        try (LittleEndianByteBufInputStream stream = new LittleEndianByteBufInputStream(buf);
-             NBTInputStream nbtStream = new NBTInputStream(stream, this.encodingSettings.maxItemNBTSize())) {
+        try (LittleEndianByteBufInputStream stream = new LittleEndianByteBufInputStream(buf)) {
             int nbtSize = stream.readShort();
 
+            // Only copied here, most tags are relayed or stored without ever being looked at
             if (nbtSize > 0) {
-                compoundTag = (NbtMap) nbtStream.readTag();
+                compoundTag = LazyNbtMap.read(buf, LazyNbtMap.Encoding.LITTLE_ENDIAN, this.encodingSettings.maxItemNBTSize());
             } else if (nbtSize == -1) {
                 int tagCount = stream.readUnsignedByte();
                 if (tagCount != 1) throw new IllegalArgumentException("Expected 1 tag but got " + tagCount);
-                compoundTag = (NbtMap) nbtStream.readTag();
+                compoundTag = LazyNbtMap.read(buf, LazyNbtMap.Encoding.LITTLE_ENDIAN, this.encodingSettings.maxItemNBTSize());
             }
 
             canPlace = new String[stream.readInt()];
@@ -88,7 +86,7 @@ public class BedrockCodecHelper_v431 extends BedrockCodecHelper_v428 {
                 .definition(definition)
                 .damage(damage)
                 .count(count)
-                .tag(compoundTag)
+                .lazyTag(compoundTag)
                 .canPlace(canPlace)
                 .canBreak(canBreak)
                 .blockingTicks(blockingTicks)
@@ -115,22 +113,22 @@ public class BedrockCodecHelper_v431 extends BedrockCodecHelper_v428 {
 
         int blockRuntimeId = VarInts.readInt(buffer);
 
-        NbtMap compoundTag = null;
+        LazyNbtMap compoundTag = null;
         long blockingTicks = 0;
         String[] canPlace;
         String[] canBreak;
 
         ByteBuf buf = buffer.readSlice(VarInts.readUnsignedInt(buffer));
-        try (LittleEndianByteBufInputStream stream = new LittleEndianByteBufInputStream(buf);
-             NBTInputStream nbtStream = new NBTInputStream(stream, this.encodingSettings.maxItemNBTSize())) {
+        try (LittleEndianByteBufInputStream stream = new LittleEndianByteBufInputStream(buf)) {
             int nbtSize = stream.readShort();
 
+            // Only copied here, most tags are relayed or stored without ever being looked at
             if (nbtSize > 0) {
-                compoundTag = (NbtMap) nbtStream.readTag();
+                compoundTag = LazyNbtMap.read(buf, LazyNbtMap.Encoding.LITTLE_ENDIAN, this.encodingSettings.maxItemNBTSize());
             } else if (nbtSize == -1) {
                 int tagCount = stream.readUnsignedByte();
                 if (tagCount != 1) throw new IllegalArgumentException("Expected 1 tag but got " + tagCount);
-                compoundTag = (NbtMap) nbtStream.readTag();
+                compoundTag = LazyNbtMap.read(buf, LazyNbtMap.Encoding.LITTLE_ENDIAN, this.encodingSettings.maxItemNBTSize());
             }
 
             canPlace = new String[stream.readInt()];
@@ -161,7 +159,7 @@ public class BedrockCodecHelper_v431 extends BedrockCodecHelper_v428 {
                 .definition(definition)
                 .damage(damage)
                 .count(count)
-                .tag(compoundTag)
+                .lazyTag(compoundTag)
                 .canPlace(canPlace)
                 .canBreak(canBreak)
                 .blockingTicks(blockingTicks)
@@ -195,12 +193,12 @@ public class BedrockCodecHelper_v431 extends BedrockCodecHelper_v428 {
         VarInts.writeInt(buffer, item.getBlockDefinition() == null ? 0 : item.getBlockDefinition().getRuntimeId());
 
         ByteBuf userDataBuf = ByteBufAllocator.DEFAULT.ioBuffer();
-        try (LittleEndianByteBufOutputStream stream = new LittleEndianByteBufOutputStream(userDataBuf);
-             NBTOutputStream nbtStream = new NBTOutputStream(stream)) {
-            if (item.getTag() != null) {
+        try (LittleEndianByteBufOutputStream stream = new LittleEndianByteBufOutputStream(userDataBuf)) {
+            LazyNbtMap tag = item.getLazyTag();
+            if (tag != null) {
                 stream.writeShort(-1);
                 stream.writeByte(1); // Hardcoded in current version
-                nbtStream.writeTag(item.getTag());
+                tag.write(userDataBuf, LazyNbtMap.Encoding.LITTLE_ENDIAN);
             } else {
                 userDataBuf.writeShortLE(0);
             }
@@ -255,12 +253,12 @@ public class BedrockCodecHelper_v431 extends BedrockCodecHelper_v428 {
         VarInts.writeInt(buffer, item.getBlockDefinition() == null ? 0 : item.getBlockDefinition().getRuntimeId());
 
         ByteBuf userDataBuf = ByteBufAllocator.DEFAULT.ioBuffer();
-        try (LittleEndianByteBufOutputStream stream = new LittleEndianByteBufOutputStream(userDataBuf);
-             NBTOutputStream nbtStream = new NBTOutputStream(stream)) {
-            if (item.getTag() != null) {
+        try (LittleEndianByteBufOutputStream stream = new LittleEndianByteBufOutputStream(userDataBuf)) {
+            LazyNbtMap tag = item.getLazyTag();
+            if (tag != null) {
                 stream.writeShort(-1);
                 stream.writeByte(1); // Hardcoded in current version
-                nbtStream.writeTag(item.getTag());
+                tag.write(userDataBuf, LazyNbtMap.Encoding.LITTLE_ENDIAN);
             } else {
                 userDataBuf.writeShortLE(0);
             }
@@ -65,7 +65,7 @@ public class Bedrock_v448 extends Bedrock_v440 {
             .updateSerializer(NpcRequestPacket.class, NpcRequestSerializer_v448.INSTANCE)
             .updateSerializer(SetTitlePacket.class, SetTitleSerializer_v448.INSTANCE)
             .updateSerializer(ResourcePacksInfoPacket.class, ResourcePacksInfoSerializer_v448.INSTANCE)
-            .registerPacket(SimulationTypePacket::new, SimulationTypeSerializer_v448.INSTANCE, 168, PacketRecipient.CLIENT)
-            .registerPacket(NpcDialoguePacket::new, NpcDialogueSerializer_v448.INSTANCE, 169, PacketRecipient.CLIENT)
+            .registerPacket(SimulationTypePacket.class, SimulationTypePacket::new, SimulationTypeSerializer_v448.INSTANCE, 168, PacketRecipient.CLIENT)
+            .registerPacket(NpcDialoguePacket.class, NpcDialoguePacket::new, NpcDialogueSerializer_v448.INSTANCE, 169, PacketRecipient.CLIENT)
             .build();
 }
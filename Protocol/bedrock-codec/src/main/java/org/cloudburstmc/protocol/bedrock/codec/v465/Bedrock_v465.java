@@ -69,8 +69,8 @@ public class Bedrock_v465 extends Bedrock_v448 {
             .updateSerializer(EducationSettingsPacket.class, EducationSettingsSerializer_v465.INSTANCE)
             .updateSerializer(HurtArmorPacket.class, HurtArmorSerializer_v465.INSTANCE)
             .updateSerializer(CraftingDataPacket.class, CraftingDataSerializer_v465.INSTANCE)
-            .registerPacket(EduUriResourcePacket::new, EduUriResourceSerializer_v465.INSTANCE, 170, PacketRecipient.CLIENT)
-            .registerPacket(CreatePhotoPacket::new, CreatePhotoSerializer_v465.INSTANCE, 171, PacketRecipient.SERVER)
-            .registerPacket(UpdateSubChunkBlocksPacket::new, UpdateSubChunkBlocksSerializer_v465.INSTANCE, 172, PacketRecipient.CLIENT)
+            .registerPacket(EduUriResourcePacket.class, EduUriResourcePacket::new, EduUriResourceSerializer_v465.INSTANCE, 170, PacketRecipient.CLIENT)
+            .registerPacket(CreatePhotoPacket.class, CreatePhotoPacket::new, CreatePhotoSerializer_v465.INSTANCE, 171, PacketRecipient.SERVER)
+            .registerPacket(UpdateSubChunkBlocksPacket.class, UpdateSubChunkBlocksPacket::new, UpdateSubChunkBlocksSerializer_v465.INSTANCE, 172, PacketRecipient.CLIENT)
             .build();
 }
@@ -54,8 +54,8 @@ public class Bedrock_v486 extends Bedrock_v475 {
             .updateSerializer(LevelChunkPacket.class, LevelChunkSerializer_v486.INSTANCE)
             .updateSerializer(SubChunkPacket.class, SubChunkSerializer_v486.INSTANCE)
             .updateSerializer(SubChunkRequestPacket.class, SubChunkRequestSerializer_v486.INSTANCE)
-            .registerPacket(PlayerStartItemCooldownPacket::new, PlayerStartItemCooldownSerializer_v486.INSTANCE, 176, PacketRecipient.CLIENT)
-            .registerPacket(ScriptMessagePacket::new, ScriptMessageSerializer_v486.INSTANCE, 177, PacketRecipient.BOTH)
-            .registerPacket(CodeBuilderSourcePacket::new, CodeBuilderSourceSerializer_v486.INSTANCE, 178, PacketRecipient.SERVER)
+            .registerPacket(PlayerStartItemCooldownPacket.class, PlayerStartItemCooldownPacket::new, PlayerStartItemCooldownSerializer_v486.INSTANCE, 176, PacketRecipient.CLIENT)
+            .registerPacket(ScriptMessagePacket.class, ScriptMessagePacket::new, ScriptMessageSerializer_v486.INSTANCE, 177, PacketRecipient.BOTH)
+            .registerPacket(CodeBuilderSourcePacket.class, CodeBuilderSourcePacket::new, CodeBuilderSourceSerializer_v486.INSTANCE, 178, PacketRecipient.SERVER)
             .build();
 }
@@ -127,9 +127,9 @@ public class Bedrock_v503 extends Bedrock_v486 {
             .updateSerializer(SpawnParticleEffectPacket.class, new SpawnParticleEffectSerializer_v503())
             .updateSerializer(AddVolumeEntityPacket.class, new AddVolumeEntitySerializer_v503())
             .updateSerializer(RemoveVolumeEntityPacket.class, new RemoveVolumeEntitySerializer_v503())
-            .registerPacket(TickingAreasLoadStatusPacket::new, new TickingAreasLoadStatusSerializer_v503(), 179, PacketRecipient.CLIENT)
-            .registerPacket(DimensionDataPacket::new, new DimensionDataSerializer_v503(), 180, PacketRecipient.CLIENT)
-            .registerPacket(AgentActionEventPacket::new, new AgentActionEventSerializer_v503(), 181, PacketRecipient.CLIENT)
-            .registerPacket(ChangeMobPropertyPacket::new, new ChangeMobPropertySerializer_v503(), 182, PacketRecipient.CLIENT)
+            .registerPacket(TickingAreasLoadStatusPacket.class, TickingAreasLoadStatusPacket::new, new TickingAreasLoadStatusSerializer_v503(), 179, PacketRecipient.CLIENT)
+            .registerPacket(DimensionDataPacket.class, DimensionDataPacket::new, new DimensionDataSerializer_v503(), 180, PacketRecipient.CLIENT)
+            .registerPacket(AgentActionEventPacket.class, AgentActionEventPacket::new, new AgentActionEventSerializer_v503(), 181, PacketRecipient.CLIENT)
+            .registerPacket(ChangeMobPropertyPacket.class, ChangeMobPropertyPacket::new, new ChangeMobPropertySerializer_v503(), 182, PacketRecipient.CLIENT)
             .build();
 }
@@ -83,9 +83,9 @@ public class Bedrock_v527 extends Bedrock_v503 {
             .updateSerializer(LevelSoundEventPacket.class, new LevelSoundEventSerializer_v332(SOUND_EVENTS))
             .updateSerializer(PlayerActionPacket.class, new PlayerActionSerializer_v527())
             .updateSerializer(PlayerAuthInputPacket.class, new PlayerAuthInputSerializer_v527())
-            .registerPacket(LessonProgressPacket::new, new LessonProgressSerializer_v527(), 183, PacketRecipient.CLIENT)
-            .registerPacket(RequestAbilityPacket::new, new RequestAbilitySerializer_v527(), 184, PacketRecipient.SERVER)
-            .registerPacket(RequestPermissionsPacket::new, new RequestPermissionsSerializer_v527(), 185, PacketRecipient.SERVER)
-            .registerPacket(ToastRequestPacket::new, new ToastRequestSerializer_v527(), 186, PacketRecipient.CLIENT)
+            .registerPacket(LessonProgressPacket.class, LessonProgressPacket::new, new LessonProgressSerializer_v527(), 183, PacketRecipient.CLIENT)
+            .registerPacket(RequestAbilityPacket.class, RequestAbilityPacket::new, new RequestAbilitySerializer_v527(), 184, PacketRecipient.SERVER)
+            .registerPacket(RequestPermissionsPacket.class, RequestPermissionsPacket::new, new RequestPermissionsSerializer_v527(), 185, PacketRecipient.SERVER)
+            .registerPacket(ToastRequestPacket.class, ToastRequestPacket::new, new ToastRequestSerializer_v527(), 186, PacketRecipient.CLIENT)
             .build();
 }
@@ -59,9 +59,9 @@ public class Bedrock_v534 extends Bedrock_v527 {
             .updateSerializer(LevelSoundEvent1Packet.class, new LevelSoundEvent1Serializer_v291(SOUND_EVENTS))
             .updateSerializer(LevelSoundEvent2Packet.class, new LevelSoundEvent2Serializer_v313(SOUND_EVENTS))
             .updateSerializer(LevelSoundEventPacket.class, new LevelSoundEventSerializer_v332(SOUND_EVENTS))
-            .registerPacket(UpdateAbilitiesPacket::new, UpdateAbilitiesSerializer_v534.INSTANCE, 187, PacketRecipient.CLIENT)
-            .registerPacket(UpdateAdventureSettingsPacket::new, UpdateAdventureSettingsSerializer_v534.INSTANCE, 188, PacketRecipient.CLIENT)
-            .registerPacket(DeathInfoPacket::new, DeathInfoSerializer_v534.INSTANCE, 189, PacketRecipient.CLIENT)
-            .registerPacket(EditorNetworkPacket::new, EditorNetworkSerializer_v534.INSTANCE, 190, PacketRecipient.BOTH)
+            .registerPacket(UpdateAbilitiesPacket.class, UpdateAbilitiesPacket::new, UpdateAbilitiesSerializer_v534.INSTANCE, 187, PacketRecipient.CLIENT)
+            .registerPacket(UpdateAdventureSettingsPacket.class, UpdateAdventureSettingsPacket::new, UpdateAdventureSettingsSerializer_v534.INSTANCE, 188, PacketRecipient.CLIENT)
+            .registerPacket(DeathInfoPacket.class, DeathInfoPacket::new, DeathInfoSerializer_v534.INSTANCE, 189, PacketRecipient.CLIENT)
+            .registerPacket(EditorNetworkPacket.class, EditorNetworkPacket::new, EditorNetworkSerializer_v534.INSTANCE, 190, PacketRecipient.BOTH)
             .build();
 }
@@ -32,10 +32,10 @@ public class Bedrock_v554 extends Bedrock_v545 {
             .updateSerializer(LevelSoundEvent1Packet.class, new LevelSoundEvent1Serializer_v291(SOUND_EVENTS))
             .updateSerializer(LevelSoundEvent2Packet.class, new LevelSoundEvent2Serializer_v313(SOUND_EVENTS))
             .updateSerializer(LevelSoundEventPacket.class, new LevelSoundEventSerializer_v332(SOUND_EVENTS))
-            .registerPacket(ServerStatsPacket::new, new ServerStatsSerializer_v554(), 192, PacketRecipient.CLIENT)
-            .registerPacket(RequestNetworkSettingsPacket::new, new RequestNetworkSettingsSerializer_v554(), 193, PacketRecipient.SERVER)
-            .registerPacket(GameTestRequestPacket::new, new GameTestRequestSerializer_v554(), 194, PacketRecipient.SERVER)
-            .registerPacket(GameTestResultsPacket::new, new GameTestResultsSerializer_v554(), 195, PacketRecipient.CLIENT)
+            .registerPacket(ServerStatsPacket.class, ServerStatsPacket::new, new ServerStatsSerializer_v554(), 192, PacketRecipient.CLIENT)
+            .registerPacket(RequestNetworkSettingsPacket.class, RequestNetworkSettingsPacket::new, new RequestNetworkSettingsSerializer_v554(), 193, PacketRecipient.SERVER)
+            .registerPacket(GameTestRequestPacket.class, GameTestRequestPacket::new, new GameTestRequestSerializer_v554(), 194, PacketRecipient.SERVER)
+            .registerPacket(GameTestResultsPacket.class, GameTestResultsPacket::new, new GameTestResultsSerializer_v554(), 195, PacketRecipient.CLIENT)
             .build();
 
 }
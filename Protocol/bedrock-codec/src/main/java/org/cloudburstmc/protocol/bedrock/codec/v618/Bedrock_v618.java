@@ -69,6 +69,6 @@ public class Bedrock_v618 extends Bedrock_v594 {
             .updateSerializer(ResourcePacksInfoPacket.class, ResourcePacksInfoSerializer_v618.INSTANCE)
             .updateSerializer(CameraPresetsPacket.class, CameraPresetsSerializer_v618.INSTANCE)
             .updateSerializer(CameraInstructionPacket.class, new CameraInstructionSerializer_618())
-            .registerPacket(RefreshEntitlementsPacket::new, new RefreshEntitlementsSerializer_v618(), 305, PacketRecipient.SERVER)
+            .registerPacket(RefreshEntitlementsPacket.class, RefreshEntitlementsPacket::new, new RefreshEntitlementsSerializer_v618(), 305, PacketRecipient.SERVER)
             .build();
 }
\ No newline at end of file
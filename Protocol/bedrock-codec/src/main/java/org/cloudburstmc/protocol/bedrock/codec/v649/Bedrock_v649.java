@@ -66,6 +66,6 @@ public class Bedrock_v649 extends Bedrock_v630 {
             .updateSerializer(LevelChunkPacket.class, LevelChunkSerializer_v649.INSTANCE)
             .updateSerializer(PlayerAuthInputPacket.class, new PlayerAuthInputSerializer_v649())
             .updateSerializer(PlayerListPacket.class, PlayerListSerializer_v649.INSTANCE)
-            .registerPacket(SetHudPacket::new, SetHudSerializer_v649.INSTANCE, 308, PacketRecipient.CLIENT)
+            .registerPacket(SetHudPacket.class, SetHudPacket::new, SetHudSerializer_v649.INSTANCE, 308, PacketRecipient.CLIENT)
             .build();
 }
@@ -81,7 +81,7 @@ public class Bedrock_v685 extends Bedrock_v671 {
             .updateSerializer(EventPacket.class, EventSerializer_v685.INSTANCE)
             .updateSerializer(StartGamePacket.class, StartGameSerializer_v685.INSTANCE)
             .updateSerializer(TextPacket.class, TextSerializer_v685.INSTANCE)
-            .registerPacket(AwardAchievementPacket::new, AwardAchievementSerializer_v685.INSTANCE, 309, PacketRecipient.CLIENT)
+            .registerPacket(AwardAchievementPacket.class, AwardAchievementPacket::new, AwardAchievementSerializer_v685.INSTANCE, 309, PacketRecipient.CLIENT)
             .deregisterPacket(TickSyncPacket.class) // this packet is now deprecated
             .build();
 }
\ No newline at end of file
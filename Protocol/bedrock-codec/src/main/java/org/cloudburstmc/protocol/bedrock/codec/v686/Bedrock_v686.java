@@ -11,6 +11,6 @@ public class Bedrock_v686 extends Bedrock_v685 {
     public static final BedrockCodec CODEC = Bedrock_v685.CODEC.toBuilder()
             .protocolVersion(686)
             .minecraftVersion("1.21.2")
-            .registerPacket(ClientboundCloseFormPacket::new, ClientboundCloseFormSerializer_v686.INSTANCE, 310, PacketRecipient.CLIENT)
+            .registerPacket(ClientboundCloseFormPacket.class, ClientboundCloseFormPacket::new, ClientboundCloseFormSerializer_v686.INSTANCE, 310, PacketRecipient.CLIENT)
             .build();
 }
\ No newline at end of file
@@ -55,9 +55,9 @@ public class Bedrock_v712 extends Bedrock_v686 {
             .updateSerializer(ResourcePacksInfoPacket.class, ResourcePacksInfoSerializer_v712.INSTANCE)
             .updateSerializer(SetTitlePacket.class, SetTitleSerializer_v712.INSTANCE)
             .updateSerializer(StopSoundPacket.class, StopSoundSerializer_v712.INSTANCE)
-            .registerPacket(ServerboundLoadingScreenPacket::new, ServerboundLoadingScreenSerializer_v712.INSTANCE, 312, PacketRecipient.SERVER)
-            .registerPacket(JigsawStructureDataPacket::new, JigsawStructureDataSerializer_v712.INSTANCE, 313, PacketRecipient.CLIENT)
-            .registerPacket(CurrentStructureFeaturePacket::new, CurrentStructureFeatureSerializer_v712.INSTANCE, 314, PacketRecipient.CLIENT)
-            .registerPacket(ServerboundDiagnosticsPacket::new, ServerboundDiagnosticsSerializer_v712.INSTANCE, 315, PacketRecipient.SERVER)
+            .registerPacket(ServerboundLoadingScreenPacket.class, ServerboundLoadingScreenPacket::new, ServerboundLoadingScreenSerializer_v712.INSTANCE, 312, PacketRecipient.SERVER)
+            .registerPacket(JigsawStructureDataPacket.class, JigsawStructureDataPacket::new, JigsawStructureDataSerializer_v712.INSTANCE, 313, PacketRecipient.CLIENT)
+            .registerPacket(CurrentStructureFeaturePacket.class, CurrentStructureFeaturePacket::new, CurrentStructureFeatureSerializer_v712.INSTANCE, 314, PacketRecipient.CLIENT)
+            .registerPacket(ServerboundDiagnosticsPacket.class, ServerboundDiagnosticsPacket::new, ServerboundDiagnosticsSerializer_v712.INSTANCE, 315, PacketRecipient.SERVER)
             .build();
 }
\ No newline at end of file
@@ -36,7 +36,7 @@ public class Bedrock_v729 extends Bedrock_v712 {
             .updateSerializer(TransferPacket.class, TransferSerializer_v729.INSTANCE)
             .updateSerializer(UpdateAttributesPacket.class, UpdateAttributesSerializer_v729.INSTANCE)
             .updateSerializer(CameraPresetsPacket.class, CameraPresetsSerializer_v729.INSTANCE)
-            .registerPacket(CameraAimAssistPacket::new, CameraAimAssistSerializer_v729.INSTANCE, 316, PacketRecipient.CLIENT)
-            .registerPacket(ContainerRegistryCleanupPacket::new, ContainerRegistryCleanupSerializer_v729.INSTANCE, 317, PacketRecipient.CLIENT)
+            .registerPacket(CameraAimAssistPacket.class, CameraAimAssistPacket::new, CameraAimAssistSerializer_v729.INSTANCE, 316, PacketRecipient.CLIENT)
+            .registerPacket(ContainerRegistryCleanupPacket.class, ContainerRegistryCleanupPacket::new, ContainerRegistryCleanupSerializer_v729.INSTANCE, 317, PacketRecipient.CLIENT)
             .build();
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ public class Bedrock_v748 extends Bedrock_v729 {
             .updateSerializer(MobEffectPacket.class, MobEffectSerializer_v748.INSTANCE)
             .updateSerializer(PlayerAuthInputPacket.class, PlayerAuthInputSerializer_v748.INSTANCE)
             .updateSerializer(ResourcePacksInfoPacket.class, ResourcePacksInfoSerializer_v748.INSTANCE)
-            .registerPacket(MovementEffectPacket::new, MovementEffectSerializer_v748.INSTANCE, 318, PacketRecipient.CLIENT)
-            .registerPacket(SetMovementAuthorityPacket::new, SetMovementAuthoritySerializer_v748.INSTANCE, 319, PacketRecipient.CLIENT)
+            .registerPacket(MovementEffectPacket.class, MovementEffectPacket::new, MovementEffectSerializer_v748.INSTANCE, 318, PacketRecipient.CLIENT)
+            .registerPacket(SetMovementAuthorityPacket.class, SetMovementAuthorityPacket::new, SetMovementAuthoritySerializer_v748.INSTANCE, 319, PacketRecipient.CLIENT)
             .build();
 }
\ No newline at end of file
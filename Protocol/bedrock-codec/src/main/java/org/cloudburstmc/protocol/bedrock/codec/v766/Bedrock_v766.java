@@ -57,6 +57,6 @@ public class Bedrock_v766 extends Bedrock_v748 {
             .updateSerializer(ResourcePacksInfoPacket.class, ResourcePacksInfoSerializer_v766.INSTANCE)
             .updateSerializer(PlayerAuthInputPacket.class, PlayerAuthInputSerializer_v766.INSTANCE)
             .updateSerializer(CameraPresetsPacket.class, CameraPresetsSerializer_v766.INSTANCE)
-            .registerPacket(CameraAimAssistPresetsPacket::new, CameraAimAssistPresetsSerializer_v766.INSTANCE, 320, PacketRecipient.CLIENT)
+            .registerPacket(CameraAimAssistPresetsPacket.class, CameraAimAssistPresetsPacket::new, CameraAimAssistPresetsSerializer_v766.INSTANCE, 320, PacketRecipient.CLIENT)
             .build();
 }
\ No newline at end of file
@@ -36,9 +36,9 @@ public class Bedrock_v786 extends Bedrock_v776 {
             .updateSerializer(MovementPredictionSyncPacket.class, MovementPredictionSyncSerializer_v786.INSTANCE)
             .updateSerializer(LevelSoundEventPacket.class, new LevelSoundEventSerializer_v786(SOUND_EVENTS))
             .updateSerializer(SetHudPacket.class, SetHudSerializer_v786.INSTANCE)
-            .registerPacket(UpdateClientOptionsPacket::new, UpdateClientOptionsSerializer_v786.INSTANCE, 323, PacketRecipient.SERVER)
-            .registerPacket(PlayerVideoCapturePacket::new, PlayerVideoCaptureSerializer_v786.INSTANCE, 324, PacketRecipient.CLIENT)
-            .registerPacket(PlayerUpdateEntityOverridesPacket::new, PlayerUpdateEntityOverridesSerializer_v786.INSTANCE, 325, PacketRecipient.CLIENT)
+            .registerPacket(UpdateClientOptionsPacket.class, UpdateClientOptionsPacket::new, UpdateClientOptionsSerializer_v786.INSTANCE, 323, PacketRecipient.SERVER)
+            .registerPacket(PlayerVideoCapturePacket.class, PlayerVideoCapturePacket::new, PlayerVideoCaptureSerializer_v786.INSTANCE, 324, PacketRecipient.CLIENT)
+            .registerPacket(PlayerUpdateEntityOverridesPacket.class, PlayerUpdateEntityOverridesPacket::new, PlayerUpdateEntityOverridesSerializer_v786.INSTANCE, 325, PacketRecipient.CLIENT)
             .deregisterPacket(LevelSoundEvent1Packet.class) // removed in favor of LevelSoundEventPacket
             .deregisterPacket(LevelSoundEvent2Packet.class) // removed in favor of LevelSoundEventPacket
             .build();
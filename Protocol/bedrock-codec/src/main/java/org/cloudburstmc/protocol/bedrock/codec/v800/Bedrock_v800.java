@@ -55,8 +55,8 @@ public class Bedrock_v800 extends Bedrock_v786 {
             .updateSerializer(CameraPresetsPacket.class, CameraPresetsSerializer_v800.INSTANCE)
             .updateSerializer(PlayerListPacket.class, PlayerListSerializer_v800.INSTANCE)
             .updateSerializer(CameraAimAssistPresetsPacket.class, CameraAimAssistPresetsSerializer_v800.INSTANCE)
-            .registerPacket(PlayerLocationPacket::new, PlayerLocationSerializer_v800.INSTANCE, 326, PacketRecipient.BOTH)
-            .registerPacket(ClientboundControlSchemeSetPacket::new, ClientboundControlSchemeSetSerializer_v800.INSTANCE, 327, PacketRecipient.CLIENT)
+            .registerPacket(PlayerLocationPacket.class, PlayerLocationPacket::new, PlayerLocationSerializer_v800.INSTANCE, 326, PacketRecipient.BOTH)
+            .registerPacket(ClientboundControlSchemeSetPacket.class, ClientboundControlSchemeSetPacket::new, ClientboundControlSchemeSetSerializer_v800.INSTANCE, 327, PacketRecipient.CLIENT)
             .deregisterPacket(CompressedBiomeDefinitionListPacket.class)
             .deregisterPacket(PlayerInputPacket.class)
             .deregisterPacket(RiderJumpPacket.class)
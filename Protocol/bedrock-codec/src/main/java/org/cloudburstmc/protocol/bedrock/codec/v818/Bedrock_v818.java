@@ -53,6 +53,6 @@ public class Bedrock_v818 extends Bedrock_v800 {
             .updateSerializer(CameraPresetsPacket.class, CameraPresetsSerializer_v818.INSTANCE)
             .updateSerializer(CameraInstructionPacket.class, CameraInstructionSerializer_v818.INSTANCE)
             .updateSerializer(StartGamePacket.class, StartGameSerializer_v818.INSTANCE)
-            .registerPacket(ServerScriptDebugDrawerPacket::new, ServerScriptDebugDrawerSerializer_v818.INSTANCE, 328, PacketRecipient.CLIENT)
+            .registerPacket(ServerScriptDebugDrawerPacket.class, ServerScriptDebugDrawerPacket::new, ServerScriptDebugDrawerSerializer_v818.INSTANCE, 328, PacketRecipient.CLIENT)
             .build();
 }
@@ -1,10 +1,36 @@
 package org.cloudburstmc.protocol.bedrock.data;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.Value;
 import org.cloudburstmc.nbt.NbtMap;
 
 @Value
 public class BlockPropertyData {
-    private final String name;
-    private final NbtMap properties;
+    String name;
+    @Getter(AccessLevel.NONE)
+    LazyNbtMap properties;
+
+    public BlockPropertyData(String name, NbtMap properties) {
+        this(name, properties == null ? null : LazyNbtMap.of(properties));
+    }
+
+    public BlockPropertyData(String name, LazyNbtMap properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    /**
+     * @throws IllegalStateException if the lazily read properties fail to parse, see {@link LazyNbtMap#get()}
+     */
+    public NbtMap getProperties() {
+        return this.properties == null ? null : this.properties.get();
+    }
+
+    /**
+     * @return the properties without parsing them if they were read lazily
+     */
+    public LazyNbtMap getLazyProperties() {
+        return this.properties;
+    }
 }
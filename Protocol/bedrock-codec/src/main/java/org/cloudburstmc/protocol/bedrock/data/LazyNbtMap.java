@@ -0,0 +1,246 @@
+package org.cloudburstmc.protocol.bedrock.data;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import org.cloudburstmc.nbt.NBTInputStream;
+import org.cloudburstmc.nbt.NBTOutputStream;
+import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.nbt.NbtType;
+import org.cloudburstmc.nbt.NbtUtils;
+import org.cloudburstmc.protocol.common.util.VarInts;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.cloudburstmc.protocol.common.util.Preconditions.checkArgument;
+
+/**
+ * Compound tag that is kept in its encoded form until it is first accessed.
+ * <p>
+ * Reading only walks the tag to find its end and copies its bytes, the {@link NbtMap} is built on the first call to
+ * {@link #get()}. Writing a tag that was read with the same encoding emits the original bytes, so tags passed along
+ * untouched are never parsed.
+ * <p>
+ * {@link #read} checks the structure of the tag, so truncated or malformed tags fail while decoding the packet.
+ * Errors only the full parse detects, such as strings that are not valid UTF-8, are deferred: they surface as an
+ * {@link IllegalStateException} from {@link #get()} and therefore also from {@link #equals}, {@link #hashCode} and
+ * {@link #toString} of an unparsed tag.
+ */
+public final class LazyNbtMap {
+    private static final int MAX_DEPTH = 512;
+
+    private final byte[] encoded;
+    private final Encoding encoding;
+    private final long maxReadSize;
+    private volatile NbtMap value;
+
+    private LazyNbtMap(byte[] encoded, Encoding encoding, long maxReadSize, NbtMap value) {
+        this.encoded = encoded;
+        this.encoding = encoding;
+        this.maxReadSize = maxReadSize;
+        this.value = value;
+    }
+
+    public static LazyNbtMap of(NbtMap value) {
+        Objects.requireNonNull(value, "value");
+        return new LazyNbtMap(null, null, 0, value);
+    }
+
+    /**
+     * Reads a named compound tag without parsing it.
+     *
+     * @param maxReadSize largest accepted size of the encoded tag, 0 or less for no limit
+     */
+    public static LazyNbtMap read(ByteBuf buffer, Encoding encoding, long maxReadSize) {
+        int start = buffer.readerIndex();
+        int type = buffer.readUnsignedByte();
+        checkArgument(type == NbtType.COMPOUND.getId(), "Expected compound tag but received type %s", type);
+        skipString(buffer, encoding);
+        skipValue(buffer, type, encoding, 0);
+
+        int length = buffer.readerIndex() - start;
+        checkArgument(maxReadSize <= 0 || length <= maxReadSize, "NBT size is too big: %s", length);
+        byte[] encoded = new byte[length];
+        buffer.getBytes(start, encoded);
+        return new LazyNbtMap(encoded, encoding, maxReadSize, null);
+    }
+
+    /**
+     * @throws IllegalStateException if the encoded tag cannot be parsed
+     */
+    public NbtMap get() {
+        NbtMap value = this.value;
+        if (value == null) {
+            try (NBTInputStream reader = this.encoding.createReader(this.encoded, this.maxReadSize)) {
+                value = (NbtMap) reader.readTag();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to parse NBT", e);
+            }
+            this.value = value;
+        }
+        return value;
+    }
+
+    public boolean isParsed() {
+        return this.value != null;
+    }
+
+    public void write(ByteBuf buffer, Encoding encoding) {
+        if (this.encoded != null && this.encoding == encoding) {
+            buffer.writeBytes(this.encoded);
+            return;
+        }
+
+        try (NBTOutputStream writer = encoding.createWriter(buffer)) {
+            writer.writeTag(this.get());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write NBT", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LazyNbtMap)) return false;
+        LazyNbtMap that = (LazyNbtMap) o;
+        if (this.encoded != null && this.encoding == that.encoding && Arrays.equals(this.encoded, that.encoded)) {
+            return true;
+        }
+        return this.get().equals(that.get());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.get().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.get().toString();
+    }
+
+    private static void skipValue(ByteBuf buffer, int type, Encoding encoding, int depth) {
+        checkArgument(depth <= MAX_DEPTH, "Reached depth limit");
+        switch (type) {
+            case 0: // End
+                break;
+            case 1: // Byte
+                buffer.skipBytes(1);
+                break;
+            case 2: // Short
+                buffer.skipBytes(2);
+                break;
+            case 3: // Int
+            case 4: // Long
+                if (encoding == Encoding.NETWORK) {
+                    skipVarInt(buffer);
+                } else {
+                    buffer.skipBytes(type == 3 ? 4 : 8);
+                }
+                break;
+            case 5: // Float
+                buffer.skipBytes(4);
+                break;
+            case 6: // Double
+                buffer.skipBytes(8);
+                break;
+            case 7: // Byte array
+                buffer.skipBytes(readLength(buffer, encoding));
+                break;
+            case 8: // String
+                skipString(buffer, encoding);
+                break;
+            case 9: { // List
+                int elementType = buffer.readUnsignedByte();
+                int count = readLength(buffer, encoding);
+                if (elementType != 0) {
+                    checkArgument(count <= buffer.readableBytes(), "List size is too big: %s", count);
+                    for (int i = 0; i < count; i++) {
+                        skipValue(buffer, elementType, encoding, depth + 1);
+                    }
+                }
+                break;
+            }
+            case 10: { // Compound
+                int entryType;
+                while ((entryType = buffer.readUnsignedByte()) != 0) {
+                    skipString(buffer, encoding);
+                    skipValue(buffer, entryType, encoding, depth + 1);
+                }
+                break;
+            }
+            case 11: // Int array
+            case 12: { // Long array
+                int count = readLength(buffer, encoding);
+                if (encoding == Encoding.NETWORK) {
+                    checkArgument(count <= buffer.readableBytes(), "Array size is too big: %s", count);
+                    for (int i = 0; i < count; i++) {
+                        skipVarInt(buffer);
+                    }
+                } else {
+                    buffer.skipBytes(Math.multiplyExact(count, type == 11 ? 4 : 8));
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void skipString(ByteBuf buffer, Encoding encoding) {
+        int length = encoding == Encoding.NETWORK ? VarInts.readUnsignedInt(buffer) : buffer.readUnsignedShortLE();
+        buffer.skipBytes(length);
+    }
+
+    private static int readLength(ByteBuf buffer, Encoding encoding) {
+        int length = encoding == Encoding.NETWORK ? VarInts.readInt(buffer) : buffer.readIntLE();
+        checkArgument(length >= 0, "Negative length %s", length);
+        return length;
+    }
+
+    private static void skipVarInt(ByteBuf buffer) {
+        for (int i = 0; i < 10; i++) {
+            if ((buffer.readByte() & 0x80) == 0) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("VarInt was too large");
+    }
+
+    public enum Encoding {
+        /**
+         * Little endian NBT, used for item user data.
+         */
+        LITTLE_ENDIAN {
+            @Override
+            NBTInputStream createReader(byte[] encoded, long maxReadSize) {
+                return NbtUtils.createReaderLE(new ByteArrayInputStream(encoded), maxReadSize);
+            }
+
+            @Override
+            NBTOutputStream createWriter(ByteBuf buffer) {
+                return NbtUtils.createWriterLE(new ByteBufOutputStream(buffer));
+            }
+        },
+        /**
+         * Little endian NBT with variable length integers, used by {@link org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper#readTag}.
+         */
+        NETWORK {
+            @Override
+            NBTInputStream createReader(byte[] encoded, long maxReadSize) {
+                return NbtUtils.createNetworkReader(new ByteArrayInputStream(encoded), maxReadSize);
+            }
+
+            @Override
+            NBTOutputStream createWriter(ByteBuf buffer) {
+                return NbtUtils.createNetworkWriter(new ByteBufOutputStream(buffer));
+            }
+        };
+
+        abstract NBTInputStream createReader(byte[] encoded, long maxReadSize);
+
+        abstract NBTOutputStream createWriter(ByteBuf buffer);
+    }
+}
@@ -13,4 +13,13 @@ public enum EntityDataFormat {
     VECTOR3I,
     LONG,
     VECTOR3F;
+
+    private static final EntityDataFormat[] VALUES = values();
+
+    public static EntityDataFormat from(int id) {
+        if (id < 0 || id >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown entity data format " + id);
+        }
+        return VALUES[id];
+    }
 }
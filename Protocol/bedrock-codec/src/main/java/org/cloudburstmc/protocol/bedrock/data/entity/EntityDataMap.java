@@ -10,9 +10,28 @@ import static org.cloudburstmc.protocol.bedrock.data.entity.EntityDataTypes.FLAG
 import static org.cloudburstmc.protocol.common.util.Preconditions.checkArgument;
 import static org.cloudburstmc.protocol.common.util.Preconditions.checkNotNull;
 
-public final class EntityDataMap implements Map<EntityDataType<?>, Object> {
+/**
+ * Entity metadata keyed by {@link EntityDataType}, iterated in insertion order.
+ * <p>
+ * Entries live in parallel arrays. Values of byte, short, int, float and long types are stored as raw bits in a
+ * {@code long[]} and only boxed when read through the {@link Map} interface, use the typed accessors such as
+ * {@link #getInt(EntityDataType, int)} to avoid that. Entries are found through a table indexed by
+ * {@link EntityDataType#ordinal()}.
+ */
+public final class EntityDataMap extends AbstractMap<EntityDataType<?>, Object> implements Map<EntityDataType<?>, Object> {
 
-    private final Map<EntityDataType<?>, Object> map = new LinkedHashMap<>();
+    private static final short[] EMPTY_POSITIONS = new short[0];
+
+    private EntityDataType<?>[] types = new EntityDataType[8];
+    private long[] primitives = new long[8];
+    private Object[] objects = new Object[8];
+    // Ordinal of a type to its entry index plus one, 0 if it is missing
+    private short[] positions = EMPTY_POSITIONS;
+    private int size;
+    private int modCount;
+
+    private Set<Entry<EntityDataType<?>, Object>> entrySet;
+    private Set<EntityDataType<?>> keySet;
 
     @NonNull
     public EnumSet<EntityFlag> getOrCreateFlags() {
@@ -45,55 +64,115 @@ public final class EntityDataMap implements Map<EntityDataType<?>, Object> {
 
     public EnumSet<EntityFlag> putFlags(EnumSet<EntityFlag> flags) {
         Objects.requireNonNull(flags, "flags");
-        this.map.put(FLAGS, flags);
-        this.map.put(FLAGS_2, flags);
+        this.objects[this.insert(FLAGS)] = flags;
+        this.objects[this.insert(FLAGS_2)] = flags;
         return flags;
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(EntityDataType<T> type) {
-        return (T) this.map.get(type);
-    }
-
-    @NonNull
-    @SuppressWarnings("unchecked")
-    private <T> T getOrDefault(EntityDataType<T> type, T defaultValue) {
-        Objects.requireNonNull(type, "type");
-        Object object = this.map.getOrDefault(type, defaultValue);
-        try {
-            return (T) object;
-        } catch (ClassCastException e) {
-            return defaultValue;
-        }
+        return (T) this.get((Object) type);
     }
 
     public <T> void putType(EntityDataType<T> type, T value) {
         this.put(type, value);
     }
 
+    public byte getByte(EntityDataType<Byte> type, byte defaultValue) {
+        int index = this.indexOfPrimitive(type, EntityDataFormat.BYTE);
+        return index < 0 ? defaultValue : (byte) this.primitives[index];
+    }
+
+    public short getShort(EntityDataType<Short> type, short defaultValue) {
+        int index = this.indexOfPrimitive(type, EntityDataFormat.SHORT);
+        return index < 0 ? defaultValue : (short) this.primitives[index];
+    }
+
+    public int getInt(EntityDataType<Integer> type, int defaultValue) {
+        int index = this.indexOfPrimitive(type, EntityDataFormat.INT);
+        return index < 0 ? defaultValue : (int) this.primitives[index];
+    }
+
+    public float getFloat(EntityDataType<Float> type, float defaultValue) {
+        int index = this.indexOfPrimitive(type, EntityDataFormat.FLOAT);
+        return index < 0 ? defaultValue : Float.intBitsToFloat((int) this.primitives[index]);
+    }
+
+    public long getLong(EntityDataType<Long> type, long defaultValue) {
+        int index = this.indexOfPrimitive(type, EntityDataFormat.LONG);
+        return index < 0 ? defaultValue : this.primitives[index];
+    }
+
+    public void putByte(EntityDataType<Byte> type, byte value) {
+        this.putPrimitive(type, EntityDataFormat.BYTE, value);
+    }
+
+    public void putShort(EntityDataType<Short> type, short value) {
+        this.putPrimitive(type, EntityDataFormat.SHORT, value);
+    }
+
+    public void putInt(EntityDataType<Integer> type, int value) {
+        this.putPrimitive(type, EntityDataFormat.INT, value);
+    }
+
+    public void putFloat(EntityDataType<Float> type, float value) {
+        this.putPrimitive(type, EntityDataFormat.FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    public void putLong(EntityDataType<Long> type, long value) {
+        this.putPrimitive(type, EntityDataFormat.LONG, value);
+    }
+
+    /**
+     * Stores a primitive value given as the bits returned by {@link #getPrimitiveBits(EntityDataType)}, which lets
+     * codecs move values of any primitive type without boxing.
+     *
+     * @param type  type with a {@link EntityDataType#getPrimitiveFormat() primitive format}
+     * @param value raw bits of the value, floats as their int bits
+     */
+    public void putPrimitiveBits(EntityDataType<?> type, long value) {
+        checkNotNull(type, "type");
+        EntityDataFormat format = type.getPrimitiveFormat();
+        checkArgument(format != null, "%s is not a primitive type", type);
+        this.putPrimitive(type, format, value);
+    }
+
+    /**
+     * @param type type with a {@link EntityDataType#getPrimitiveFormat() primitive format}
+     * @return raw bits of the value, floats as their int bits
+     * @throws NoSuchElementException if there is no value of the type
+     */
+    public long getPrimitiveBits(EntityDataType<?> type) {
+        checkNotNull(type, "type");
+        int index = this.indexOfPrimitive(type, type.getPrimitiveFormat());
+        if (index < 0) {
+            throw new NoSuchElementException("No value for " + type);
+        }
+        return this.primitives[index];
+    }
+
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return this.size == 0;
     }
 
     @Override
     public boolean containsKey(Object key) {
-        return this.map.containsKey(key);
-    }
-
-    @Override
-    public boolean containsValue(Object value) {
-        return this.map.containsValue(value);
+        return key instanceof EntityDataType && this.indexOf((EntityDataType<?>) key) >= 0;
     }
 
     @Override
     public Object get(Object key) {
-        return this.map.get(key);
+        if (!(key instanceof EntityDataType)) {
+            return null;
+        }
+        int index = this.indexOf((EntityDataType<?>) key);
+        return index < 0 ? null : this.valueAt(index);
     }
 
     @SuppressWarnings("unchecked")
@@ -105,74 +184,331 @@ public final class EntityDataMap implements Map<EntityDataType<?>, Object> {
         if (key == FLAGS || key == FLAGS_2) {
             return this.putFlags((EnumSet<EntityFlag>) value);
         }
-        return this.map.put(key, value);
+        return this.put0(key, value);
     }
 
     @Override
     public Object remove(Object key) {
-        return this.map.remove(key);
+        if (!(key instanceof EntityDataType)) {
+            return null;
+        }
+        int index = this.indexOf((EntityDataType<?>) key);
+        if (index < 0) {
+            return null;
+        }
+        Object value = this.valueAt(index);
+        this.removeAt(index);
+        return value;
     }
 
     @Override
     public void putAll(@NonNull Map<? extends EntityDataType<?>, ?> map) {
         checkNotNull(map, "map");
-        this.map.putAll(map);
+        if (map instanceof EntityDataMap) {
+            EntityDataMap other = (EntityDataMap) map;
+            for (int i = 0; i < other.size; i++) {
+                int index = this.insert(other.types[i]);
+                this.primitives[index] = other.primitives[i];
+                this.objects[index] = other.objects[i];
+            }
+            return;
+        }
+        for (Entry<? extends EntityDataType<?>, ?> entry : map.entrySet()) {
+            this.put0(entry.getKey(), entry.getValue());
+        }
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        for (int i = 0; i < this.size; i++) {
+            this.positions[this.types[i].ordinal()] = 0;
+            this.types[i] = null;
+            this.objects[i] = null;
+        }
+        this.size = 0;
+        this.modCount++;
     }
 
     @NonNull
     @Override
     public Set<EntityDataType<?>> keySet() {
-        return this.map.keySet();
-    }
+        Set<EntityDataType<?>> keySet = this.keySet;
+        if (keySet == null) {
+            this.keySet = keySet = new AbstractSet<EntityDataType<?>>() {
+                @Override
+                public Iterator<EntityDataType<?>> iterator() {
+                    return new IndexIterator<EntityDataType<?>>() {
+                        @Override
+                        EntityDataType<?> get(int index) {
+                            return EntityDataMap.this.types[index];
+                        }
+                    };
+                }
 
-    @NonNull
-    @Override
-    public Collection<Object> values() {
-        return this.map.values();
+                @Override
+                public int size() {
+                    return EntityDataMap.this.size;
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return EntityDataMap.this.containsKey(o);
+                }
+
+                @Override
+                public boolean remove(Object o) {
+                    int size = EntityDataMap.this.size;
+                    EntityDataMap.this.remove(o);
+                    return size != EntityDataMap.this.size;
+                }
+
+                @Override
+                public void clear() {
+                    EntityDataMap.this.clear();
+                }
+            };
+        }
+        return keySet;
     }
 
     @NonNull
     @Override
     public Set<Entry<EntityDataType<?>, Object>> entrySet() {
-        return this.map.entrySet();
+        Set<Entry<EntityDataType<?>, Object>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            this.entrySet = entrySet = new AbstractSet<Entry<EntityDataType<?>, Object>>() {
+                @Override
+                public Iterator<Entry<EntityDataType<?>, Object>> iterator() {
+                    return new IndexIterator<Entry<EntityDataType<?>, Object>>() {
+                        @Override
+                        Entry<EntityDataType<?>, Object> get(int index) {
+                            return new DataEntry(EntityDataMap.this.types[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return EntityDataMap.this.size;
+                }
+
+                @Override
+                public void clear() {
+                    EntityDataMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
-        EntityDataMap that = (EntityDataMap) o;
-        return this.map.equals(that.map);
+        return super.equals(o);
     }
 
     @Override
     public int hashCode() {
-        return this.map.hashCode();
+        return super.hashCode();
     }
 
     @Override
     public String toString() {
-        Iterator<Entry<EntityDataType<?>, Object>> i = map.entrySet().iterator();
-        if (!i.hasNext())
-            return "{}";
-
         StringBuilder sb = new StringBuilder();
         sb.append('{');
-        while (i.hasNext()) {
-            Entry<EntityDataType<?>, Object> e = i.next();
-            EntityDataType<?> key = e.getKey();
+        boolean first = true;
+        for (int i = 0; i < this.size; i++) {
+            EntityDataType<?> key = this.types[i];
             if (key == FLAGS_2) continue; // We don't want this to be visible.
-            String stringVal = NbtUtils.toString(e.getValue());
-            sb.append(key.toString()).append('=').append(stringVal);
-            if (!i.hasNext())
-                return sb.append('}').toString();
-            sb.append(',').append(' ');
+            if (!first) {
+                sb.append(',').append(' ');
+            }
+            first = false;
+            sb.append(key.toString()).append('=').append(NbtUtils.toString(this.valueAt(i)));
+        }
+        return sb.append('}').toString();
+    }
+
+    private Object put0(EntityDataType<?> key, Object value) {
+        int index = this.indexOf(key);
+        Object previous = index < 0 ? null : this.valueAt(index);
+        index = this.insert(key);
+        EntityDataFormat format = key.getPrimitiveFormat();
+        if (format == null) {
+            this.objects[index] = value;
+        } else {
+            this.primitives[index] = toBits(format, value);
+        }
+        return previous;
+    }
+
+    private void putPrimitive(EntityDataType<?> type, EntityDataFormat format, long bits) {
+        checkNotNull(type, "type");
+        checkArgument(type.getPrimitiveFormat() == format, "%s is not of format %s", type, format);
+        this.primitives[this.insert(type)] = bits;
+    }
+
+    private int indexOfPrimitive(EntityDataType<?> type, EntityDataFormat format) {
+        checkArgument(type.getPrimitiveFormat() == format && format != null, "%s is not of format %s", type, format);
+        return this.indexOf(type);
+    }
+
+    private int indexOf(EntityDataType<?> type) {
+        int ordinal = type.ordinal();
+        return ordinal < this.positions.length ? this.positions[ordinal] - 1 : -1;
+    }
+
+    /**
+     * @return index of the entry of the type, appended if it was missing
+     */
+    private int insert(EntityDataType<?> type) {
+        int index = this.indexOf(type);
+        if (index >= 0) {
+            return index;
+        }
+
+        int ordinal = type.ordinal();
+        if (ordinal >= this.positions.length) {
+            this.positions = Arrays.copyOf(this.positions, Math.max(ordinal + 1, EntityDataType.count()));
+        }
+        if (this.size == this.types.length) {
+            int capacity = this.size << 1;
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.primitives = Arrays.copyOf(this.primitives, capacity);
+            this.objects = Arrays.copyOf(this.objects, capacity);
+        }
+
+        index = this.size++;
+        this.types[index] = type;
+        this.objects[index] = null;
+        this.positions[ordinal] = (short) (index + 1);
+        this.modCount++;
+        return index;
+    }
+
+    private void removeAt(int index) {
+        this.positions[this.types[index].ordinal()] = 0;
+        int moved = this.size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(this.types, index + 1, this.types, index, moved);
+            System.arraycopy(this.primitives, index + 1, this.primitives, index, moved);
+            System.arraycopy(this.objects, index + 1, this.objects, index, moved);
+            for (int i = index; i < index + moved; i++) {
+                this.positions[this.types[i].ordinal()] = (short) (i + 1);
+            }
+        }
+        this.size--;
+        this.types[this.size] = null;
+        this.objects[this.size] = null;
+        this.modCount++;
+    }
+
+    private Object valueAt(int index) {
+        EntityDataFormat format = this.types[index].getPrimitiveFormat();
+        if (format == null) {
+            return this.objects[index];
+        }
+
+        long bits = this.primitives[index];
+        switch (format) {
+            case BYTE:
+                return (byte) bits;
+            case SHORT:
+                return (short) bits;
+            case INT:
+                return (int) bits;
+            case FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            default:
+                return bits;
+        }
+    }
+
+    private static long toBits(EntityDataFormat format, Object value) {
+        if (format == EntityDataFormat.FLOAT) {
+            return Float.floatToRawIntBits((Float) value);
+        }
+        return ((Number) value).longValue();
+    }
+
+    private abstract class IndexIterator<E> implements Iterator<E> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = EntityDataMap.this.modCount;
+
+        abstract E get(int index);
+
+        @Override
+        public boolean hasNext() {
+            return this.next < EntityDataMap.this.size;
+        }
+
+        @Override
+        public E next() {
+            if (EntityDataMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.next >= EntityDataMap.this.size) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next++;
+            return this.get(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            if (EntityDataMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            EntityDataMap.this.removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = EntityDataMap.this.modCount;
+        }
+    }
+
+    private final class DataEntry implements Entry<EntityDataType<?>, Object> {
+        private final EntityDataType<?> type;
+
+        private DataEntry(EntityDataType<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public EntityDataType<?> getKey() {
+            return this.type;
+        }
+
+        @Override
+        public Object getValue() {
+            return EntityDataMap.this.get(this.type);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            // Replacing a value is not a structural change, iteration goes on
+            return EntityDataMap.this.put(this.type, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return this.type.equals(entry.getKey()) && Objects.equals(this.getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.type.hashCode() ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.type + "=" + this.getValue();
         }
-        return sb.toString();
     }
 }
@@ -1,13 +1,20 @@
 package org.cloudburstmc.protocol.bedrock.data.entity;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class EntityDataType<T> {
 
+    private static final AtomicInteger ORDINALS = new AtomicInteger();
+
     private final String name;
     private final Class<?> type;
+    private final int ordinal = ORDINALS.getAndIncrement();
+    private final EntityDataFormat primitiveFormat;
 
     public EntityDataType(Class<? super T> type, String name) {
         this.name = name;
         this.type = type;
+        this.primitiveFormat = primitiveFormat(type);
     }
 
     public boolean isInstance(Object value) {
@@ -18,6 +25,43 @@ public class EntityDataType<T> {
         return this.type.getTypeName();
     }
 
+    /**
+     * Unique index of this type among all types created so far, used by {@link EntityDataMap} to index its arrays.
+     *
+     * @return ordinal of this type
+     */
+    public int ordinal() {
+        return this.ordinal;
+    }
+
+    /**
+     * Format of the primitive the values of this type are stored as, or null if they are objects.
+     *
+     * @return primitive format or null
+     */
+    public EntityDataFormat getPrimitiveFormat() {
+        return this.primitiveFormat;
+    }
+
+    static int count() {
+        return ORDINALS.get();
+    }
+
+    private static EntityDataFormat primitiveFormat(Class<?> type) {
+        if (type == Byte.class) {
+            return EntityDataFormat.BYTE;
+        } else if (type == Short.class) {
+            return EntityDataFormat.SHORT;
+        } else if (type == Integer.class) {
+            return EntityDataFormat.INT;
+        } else if (type == Float.class) {
+            return EntityDataFormat.FLOAT;
+        } else if (type == Long.class) {
+            return EntityDataFormat.LONG;
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         return name;
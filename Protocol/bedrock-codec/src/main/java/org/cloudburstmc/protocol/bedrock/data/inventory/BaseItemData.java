@@ -3,6 +3,7 @@ package org.cloudburstmc.protocol.bedrock.data.inventory;
 import lombok.Data;
 import lombok.experimental.NonFinal;
 import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.protocol.bedrock.data.LazyNbtMap;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
 
@@ -15,7 +16,7 @@ final class BaseItemData implements ItemData {
     private ItemDefinition definition;
     private final int damage;
     private final int count;
-    private final NbtMap tag;
+    private final LazyNbtMap lazyTag;
     private final String[] canPlace;
     private final String[] canBreak;
     private final long blockingTicks;
@@ -24,11 +25,11 @@ final class BaseItemData implements ItemData {
     private boolean usingNetId;
     private int netId;
 
-    BaseItemData(ItemDefinition definition, int damage, int count, NbtMap tag, String[] canPlace, String[] canBreak, long blockingTicks, BlockDefinition blockDefinition, boolean hasNetId, int netId) {
+    BaseItemData(ItemDefinition definition, int damage, int count, LazyNbtMap tag, String[] canPlace, String[] canBreak, long blockingTicks, BlockDefinition blockDefinition, boolean hasNetId, int netId) {
         this.definition = definition;
         this.damage = damage;
         this.count = count;
-        this.tag = tag;
+        this.lazyTag = tag;
         this.canPlace = canPlace == null ? EMPTY_ARRAY : canPlace;
         this.canBreak = canBreak == null ? EMPTY_ARRAY : canBreak;
         this.blockingTicks = blockingTicks;
@@ -37,6 +38,11 @@ final class BaseItemData implements ItemData {
         this.usingNetId = hasNetId;
     }
 
+    @Override
+    public NbtMap getTag() {
+        return this.lazyTag == null ? null : this.lazyTag.get();
+    }
+
     public boolean isValid() {
         return !isNull() && definition != null && definition != ItemDefinition.AIR;
     }
@@ -47,7 +53,7 @@ final class BaseItemData implements ItemData {
 
     @Override
     public int hashCode() {
-        return Objects.hash(definition, damage, count, tag, Arrays.hashCode(canPlace), Arrays.hashCode(canBreak), blockingTicks,
+        return Objects.hash(definition, damage, count, lazyTag, Arrays.hashCode(canPlace), Arrays.hashCode(canBreak), blockingTicks,
                 blockDefinition);
     }
 
@@ -55,7 +61,7 @@ final class BaseItemData implements ItemData {
         return definition == other.getDefinition() &&
                 (!checkAmount || count == other.getCount()) &&
                 (!checkMetadata || (damage == other.getDamage() && blockingTicks == other.getBlockingTicks())) &&
-                (!checkUserdata || (Objects.equals(tag, other.getTag()) && Arrays.equals(canPlace, other.getCanPlace()) && Arrays.equals(canBreak, other.getCanBreak())));
+                (!checkUserdata || (Objects.equals(lazyTag, other.getLazyTag()) && Arrays.equals(canPlace, other.getCanPlace()) && Arrays.equals(canBreak, other.getCanBreak())));
     }
 
     @Override
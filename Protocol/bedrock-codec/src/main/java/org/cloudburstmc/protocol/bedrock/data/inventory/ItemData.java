@@ -3,6 +3,7 @@ package org.cloudburstmc.protocol.bedrock.data.inventory;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.protocol.bedrock.data.LazyNbtMap;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
 
@@ -42,6 +43,17 @@ public interface ItemData {
     @Nullable
     NbtMap getTag();
 
+    /**
+     * Gets the item NBT without parsing it if it was read lazily.
+     *
+     * @return the item NBT
+     */
+    @Nullable
+    default LazyNbtMap getLazyTag() {
+        NbtMap tag = this.getTag();
+        return tag == null ? null : LazyNbtMap.of(tag);
+    }
+
     /**
      * Gets the blocks this item can be placed on.
      *
@@ -142,7 +154,7 @@ public interface ItemData {
         private ItemDefinition definition;
         private int damage;
         private int count;
-        private NbtMap tag;
+        private LazyNbtMap tag;
         private String[] canPlace;
         private String[] canBreak;
         private long blockingTicks;
@@ -157,7 +169,7 @@ public interface ItemData {
             this.definition = data.getDefinition();
             this.damage = data.getDamage();
             this.count = data.getCount();
-            this.tag = data.getTag();
+            this.tag = data.getLazyTag();
             this.canPlace = data.getCanPlace();
             this.canBreak = data.getCanBreak();
             this.blockingTicks = data.getBlockingTicks();
@@ -182,6 +194,11 @@ public interface ItemData {
         }
 
         public Builder tag(NbtMap tag) {
+            this.tag = tag == null ? null : LazyNbtMap.of(tag);
+            return this;
+        }
+
+        public Builder lazyTag(LazyNbtMap tag) {
             this.tag = tag;
             return this;
         }
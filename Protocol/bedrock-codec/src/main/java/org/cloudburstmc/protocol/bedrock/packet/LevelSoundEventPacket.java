@@ -10,7 +10,7 @@ import org.cloudburstmc.protocol.common.PacketSignal;
 @Data
 @EqualsAndHashCode(doNotUseGetters = true)
 @ToString(doNotUseGetters = true)
-public class LevelSoundEventPacket implements BedrockPacket {
+public class LevelSoundEventPacket implements RecyclablePacket {
     public SoundEvent sound;
     public Vector3f position;
     public int extraData;
@@ -29,6 +29,17 @@ public class LevelSoundEventPacket implements BedrockPacket {
         return BedrockPacketType.LEVEL_SOUND_EVENT;
     }
 
+    @Override
+    public void reset() {
+        this.sound = null;
+        this.position = null;
+        this.extraData = 0;
+        this.identifier = null;
+        this.babySound = false;
+        this.relativeVolumeDisabled = false;
+        this.entityUniqueId = 0;
+    }
+
     @Override
     public LevelSoundEventPacket clone() {
         try {
@@ -1,7 +1,9 @@
 package org.cloudburstmc.protocol.bedrock.packet;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Setter;
 import org.cloudburstmc.protocol.common.PacketSignal;
 
 import java.util.EnumSet;
@@ -9,10 +11,12 @@ import java.util.Set;
 
 @Data
 @EqualsAndHashCode(doNotUseGetters = true)
-public class MoveEntityDeltaPacket implements BedrockPacket {
+public class MoveEntityDeltaPacket implements RecyclablePacket {
     public long runtimeEntityId;
 
-    public final Set<Flag> flags = EnumSet.noneOf(Flag.class);
+    // Not final so clone() can copy it, reset() clears it in place
+    @Setter(AccessLevel.NONE)
+    public Set<Flag> flags = EnumSet.noneOf(Flag.class);
 
     public int deltaX;
     public int deltaY;
@@ -54,10 +58,27 @@ public class MoveEntityDeltaPacket implements BedrockPacket {
         FORCE_MOVE_LOCAL_ENTITY
     }
 
+    @Override
+    public void reset() {
+        this.runtimeEntityId = 0;
+        this.flags.clear();
+        this.deltaX = 0;
+        this.deltaY = 0;
+        this.deltaZ = 0;
+        this.x = 0;
+        this.y = 0;
+        this.z = 0;
+        this.pitch = 0;
+        this.yaw = 0;
+        this.headYaw = 0;
+    }
+
     @Override
     public MoveEntityDeltaPacket clone() {
         try {
-            return (MoveEntityDeltaPacket) super.clone();
+            MoveEntityDeltaPacket clone = (MoveEntityDeltaPacket) super.clone();
+            clone.flags = EnumSet.copyOf(this.flags);
+            return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError(e);
         }
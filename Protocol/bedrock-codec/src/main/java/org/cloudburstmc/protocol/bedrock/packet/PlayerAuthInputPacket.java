@@ -1,8 +1,10 @@
 package org.cloudburstmc.protocol.bedrock.packet;
 
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Setter;
 import lombok.ToString;
 import org.cloudburstmc.math.vector.Vector2f;
 import org.cloudburstmc.math.vector.Vector3f;
@@ -18,11 +20,13 @@ import java.util.Set;
 @Data
 @EqualsAndHashCode(doNotUseGetters = true)
 @ToString(doNotUseGetters = true)
-public class PlayerAuthInputPacket implements BedrockPacket {
+public class PlayerAuthInputPacket implements RecyclablePacket {
     public Vector3f rotation; // head rot after motion
     public Vector3f position;
     public Vector2f motion;
-    public final Set<PlayerAuthInputData> inputData = EnumSet.noneOf(PlayerAuthInputData.class);
+    // Not final so clone() can copy the collections, reset() clears them in place
+    @Setter(AccessLevel.NONE)
+    public Set<PlayerAuthInputData> inputData = EnumSet.noneOf(PlayerAuthInputData.class);
     public InputMode inputMode;
     public ClientPlayMode playMode;
     /**
@@ -48,7 +52,8 @@ public class PlayerAuthInputPacket implements BedrockPacket {
      *
      * @since v428
      */
-    public final List<PlayerBlockActionData> playerActions = new ObjectArrayList<>();
+    @Setter(AccessLevel.NONE)
+    public List<PlayerBlockActionData> playerActions = new ObjectArrayList<>();
     /**
      * @since v527
      */
@@ -87,10 +92,36 @@ public class PlayerAuthInputPacket implements BedrockPacket {
         return BedrockPacketType.PLAYER_AUTH_INPUT;
     }
 
+    @Override
+    public void reset() {
+        this.rotation = null;
+        this.position = null;
+        this.motion = null;
+        this.inputData.clear();
+        this.inputMode = null;
+        this.playMode = null;
+        this.vrGazeDirection = null;
+        this.tick = 0;
+        this.delta = null;
+        this.itemUseTransaction = null;
+        this.itemStackRequest = null;
+        this.playerActions.clear();
+        this.inputInteractionModel = null;
+        this.interactRotation = null;
+        this.analogMoveVector = null;
+        this.predictedVehicle = 0;
+        this.vehicleRotation = null;
+        this.cameraOrientation = null;
+        this.rawMoveVector = null;
+    }
+
     @Override
     public PlayerAuthInputPacket clone() {
         try {
-            return (PlayerAuthInputPacket) super.clone();
+            PlayerAuthInputPacket clone = (PlayerAuthInputPacket) super.clone();
+            clone.inputData = EnumSet.copyOf(this.inputData);
+            clone.playerActions = new ObjectArrayList<>(this.playerActions);
+            return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError(e);
         }
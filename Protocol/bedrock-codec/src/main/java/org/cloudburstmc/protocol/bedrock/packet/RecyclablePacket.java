@@ -0,0 +1,13 @@
+package org.cloudburstmc.protocol.bedrock.packet;
+
+/**
+ * Packet received at a high rate whose instances can be reused through
+ * {@link org.cloudburstmc.protocol.bedrock.codec.BedrockPacketPool} once the wrapper holding them is released.
+ */
+public interface RecyclablePacket extends BedrockPacket {
+
+    /**
+     * Restores the state of a newly created instance so the packet can be decoded into again.
+     */
+    void reset();
+}
@@ -9,7 +9,7 @@ import org.cloudburstmc.protocol.common.PacketSignal;
 @Data
 @EqualsAndHashCode(doNotUseGetters = true)
 @ToString(doNotUseGetters = true)
-public class SetEntityMotionPacket implements BedrockPacket {
+public class SetEntityMotionPacket implements RecyclablePacket {
     public long runtimeEntityId;
     public Vector3f motion;
     /**
@@ -26,6 +26,13 @@ public class SetEntityMotionPacket implements BedrockPacket {
         return BedrockPacketType.SET_ENTITY_MOTION;
     }
 
+    @Override
+    public void reset() {
+        this.runtimeEntityId = 0;
+        this.motion = null;
+        this.tick = 0;
+    }
+
     @Override
     public SetEntityMotionPacket clone() {
         try {
@@ -10,7 +10,7 @@ plugins {
 
 
 dependencies {
-    compileOnly(libs.netty.transport.raknet)
+    compileOnly(project(":Network:transport-raknet"))
     api(project(":Protocol:bedrock-codec"))
     api(libs.snappy)
 }
\ No newline at end of file
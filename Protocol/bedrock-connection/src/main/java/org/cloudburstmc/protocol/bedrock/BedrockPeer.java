@@ -4,8 +4,10 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.DecoderException;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
 import io.netty.util.concurrent.ScheduledFuture;
 import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.logging.InternalLogger;
@@ -15,10 +17,13 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.cloudburstmc.netty.channel.raknet.RakDisconnectReason;
 import org.cloudburstmc.netty.channel.raknet.config.RakChannelOption;
+import org.cloudburstmc.netty.channel.raknet.telemetry.RakHistogram;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
+import org.cloudburstmc.protocol.bedrock.codec.PacketSerializeException;
 import org.cloudburstmc.protocol.bedrock.codec.v428.Bedrock_v428;
 import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
 import org.cloudburstmc.protocol.bedrock.netty.BedrockPacketWrapper;
 import org.cloudburstmc.protocol.bedrock.netty.codec.FrameIdCodec;
 import org.cloudburstmc.protocol.bedrock.netty.codec.batch.BedrockBatchDecoder;
@@ -31,6 +36,7 @@ import org.cloudburstmc.protocol.bedrock.netty.codec.encryption.BedrockEncryptio
 import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec;
 import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockChannelInitializer;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UnknownPacket;
 import org.cloudburstmc.protocol.bedrock.util.EncryptionUtils;
 
 import javax.crypto.SecretKey;
@@ -39,6 +45,8 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A Bedrock peer that represents a single network connection to the remote peer.
@@ -47,15 +55,24 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class BedrockPeer extends ChannelInboundHandlerAdapter {
 
     public static final String NAME = "bedrock-peer";
+    public static final String BATCH_TRACKER_NAME = "bedrock-batch-tracker";
 
     private static final InternalLogger log = InternalLoggerFactory.getInstance(BedrockPeer.class);
 
     protected final Int2ObjectMap<BedrockSession> sessions = new Int2ObjectOpenHashMap<>();
-    protected final Queue<BedrockPacketWrapper> packetQueue = PlatformDependent.newMpscQueue();
+    protected final Queue<ReferenceCounted> packetQueue = PlatformDependent.newMpscQueue();
     protected final Channel channel;
     protected final BedrockSessionFactory sessionFactory;
     protected ScheduledFuture<?> tickFuture;
     protected AtomicBoolean closed = new AtomicBoolean();
+    protected final RakHistogram queueDelay = new RakHistogram();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger queuedPackets = new AtomicInteger();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private volatile boolean writeThrough;
+    private volatile int flushPacketBudget = 64;
+    private volatile int flushByteBudget = 64 * 1024;
+    private volatile boolean validateEncryption = BedrockEncryptionDecoder.DEFAULT_VALIDATE;
 
     public BedrockPeer(Channel channel, BedrockSessionFactory sessionFactory) {
         this.channel = channel;
@@ -87,13 +104,52 @@ public class BedrockPeer extends ChannelInboundHandlerAdapter {
             return;
         }
 
-        if (!this.packetQueue.isEmpty()) {
-            BedrockPacketWrapper packet;
-            while ((packet = this.packetQueue.poll()) != null) {
-                this.channel.write(packet);
+        this.drainQueue();
+    }
+
+    private void drainQueue() {
+        this.flushScheduled.set(false);
+        if (this.packetQueue.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        ReferenceCounted message;
+        while ((message = this.packetQueue.poll()) != null) {
+            this.queuedPackets.decrementAndGet();
+            if (message instanceof BedrockPacketWrapper) {
+                BedrockPacketWrapper packet = (BedrockPacketWrapper) message;
+                this.queuedBytes.addAndGet(-estimateSize(packet.getPacket()));
+                this.queueDelay.record((now - packet.getEnqueueTime()) / 1000);
+            } else {
+                this.queuedBytes.addAndGet(-((BedrockBatchWrapper) message).getCompressed().readableBytes());
             }
-            this.channel.flush();
+            this.channel.write(message);
+        }
+        this.channel.flush();
+    }
+
+    /**
+     * Writes out every queued packet without waiting for the next tick. Safe to call from any thread; calls
+     * made outside the event loop are coalesced into a single task.
+     */
+    public void flush() {
+        if (this.closed.get() || this.packetQueue.isEmpty()) {
+            return;
+        }
+
+        if (this.channel.eventLoop().inEventLoop()) {
+            this.drainQueue();
+        } else if (this.flushScheduled.compareAndSet(false, true)) {
+            this.channel.eventLoop().execute(this::drainQueue);
+        }
+    }
+
+    private static int estimateSize(BedrockPacket packet) {
+        if (packet instanceof UnknownPacket && ((UnknownPacket) packet).getPayload() != null) {
+            return ((UnknownPacket) packet).getPayload().readableBytes();
         }
+        return 0;
     }
 
     private void onRakNetDisconnect(ChannelHandlerContext ctx, RakDisconnectReason reason) {
@@ -104,13 +160,50 @@ public class BedrockPeer extends ChannelInboundHandlerAdapter {
     }
 
     private void free() {
-        for (BedrockPacketWrapper wrapper : this.packetQueue) {
-            ReferenceCountUtil.safeRelease(wrapper);
+        ReferenceCounted message;
+        while ((message = this.packetQueue.poll()) != null) {
+            ReferenceCountUtil.safeRelease(message);
         }
     }
 
     public void sendPacket(int senderClientId, int targetClientId, BedrockPacket packet) {
-        this.packetQueue.add(BedrockPacketWrapper.create(0, senderClientId, targetClientId, packet, null));
+        BedrockPacketWrapper wrapper = BedrockPacketWrapper.create(0, senderClientId, targetClientId, packet, null);
+        wrapper.setEnqueueTime(System.nanoTime());
+        this.packetQueue.add(wrapper);
+
+        int packets = this.queuedPackets.incrementAndGet();
+        long bytes = this.queuedBytes.addAndGet(estimateSize(packet));
+        if (this.writeThrough && (packets >= this.flushPacketBudget || bytes >= this.flushByteBudget)) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Queues a batch that was received, still compressed, from another peer so it is written without being
+     * re-encoded or recompressed. The batch is written in order with packets queued through
+     * {@link #sendPacket(int, int, BedrockPacket)}.
+     *
+     * @param batch inbound batch holding its compressed payload
+     * @return false if the batch uses a compression this peer cannot pass through
+     */
+    public boolean sendBatch(BedrockBatchWrapper batch) {
+        CompressionCodec codec = this.channel.pipeline().get(CompressionCodec.class);
+        if (codec == null || !codec.canPassThrough(batch)) {
+            return false;
+        }
+
+        // The outbound pipeline replaces the compressed buffer when encrypting, so the inbound batch must not be shared
+        BedrockBatchWrapper copy = BedrockBatchWrapper.newInstance(batch.getCompressed().retainedSlice(), null);
+        copy.setAlgorithm(batch.getAlgorithm());
+        copy.setPrefixed(batch.isPrefixed());
+        this.packetQueue.add(copy);
+
+        int packets = this.queuedPackets.incrementAndGet();
+        long bytes = this.queuedBytes.addAndGet(copy.getCompressed().readableBytes());
+        if (this.writeThrough && (packets >= this.flushPacketBudget || bytes >= this.flushByteBudget)) {
+            this.flush();
+        }
+        return true;
     }
 
     public void sendPacketImmediately(int senderClientId, int targetClientId, BedrockPacket packet) {
@@ -134,7 +227,7 @@ public class BedrockPeer extends ChannelInboundHandlerAdapter {
         this.channel.pipeline().addAfter(FrameIdCodec.NAME, BedrockEncryptionEncoder.NAME,
                 new BedrockEncryptionEncoder(secretKey, EncryptionUtils.createCipher(useCtr, true, secretKey)));
         this.channel.pipeline().addAfter(FrameIdCodec.NAME, BedrockEncryptionDecoder.NAME,
-                new BedrockEncryptionDecoder(secretKey, EncryptionUtils.createCipher(useCtr, false, secretKey)));
+                new BedrockEncryptionDecoder(secretKey, EncryptionUtils.createCipher(useCtr, false, secretKey), this.validateEncryption));
 
         log.debug("Encryption enabled for {}", getSocketAddress());
     }
@@ -178,6 +271,40 @@ public class BedrockPeer extends ChannelInboundHandlerAdapter {
         this.channel.pipeline().get(BedrockPacketCodec.class).setCodec(codec);
     }
 
+    public void setLazyDecoding(boolean lazyDecoding) {
+        this.channel.pipeline().get(BedrockPacketCodec.class).setLazyDecoding(lazyDecoding);
+    }
+
+    public boolean isLazyDecoding() {
+        return this.channel.pipeline().get(BedrockPacketCodec.class).isLazyDecoding();
+    }
+
+    /**
+     * Reuses the instances of high-rate inbound packets, see {@link BedrockPacketCodec#setPacketRecycling(boolean)}.
+     * Packets passed to {@link BedrockSession#onPacket(BedrockPacketWrapper)} are then only valid until it returns.
+     */
+    public void setPacketRecycling(boolean packetRecycling) {
+        this.channel.pipeline().get(BedrockPacketCodec.class).setPacketRecycling(packetRecycling);
+    }
+
+    public boolean isPacketRecycling() {
+        return this.channel.pipeline().get(BedrockPacketCodec.class).isPacketRecycling();
+    }
+
+    /**
+     * Materializes the packet of a wrapper received while lazy decoding is enabled.
+     *
+     * @param wrapper inbound packet wrapper
+     * @return decoded packet
+     */
+    public BedrockPacket decodePacket(BedrockPacketWrapper wrapper) {
+        try {
+            return this.channel.pipeline().get(BedrockPacketCodec.class).decodePacket(wrapper);
+        } catch (PacketSerializeException e) {
+            throw new DecoderException(e);
+        }
+    }
+
     public void close(String reason) {
         for (BedrockSession session : this.sessions.values()) {
             session.disconnectReason = reason;
@@ -210,6 +337,78 @@ public class BedrockPeer extends ChannelInboundHandlerAdapter {
         this.free();
     }
 
+    /**
+     * In write-through mode queued packets are flushed as soon as the inbound read batch that produced them
+     * completes (see {@link BedrockSession#onReadComplete()}) or a packet/byte budget is reached, instead of
+     * waiting for the next 50ms tick. The tick remains as a fallback for packets queued outside a read.
+     *
+     * @param writeThrough whether to enable write-through flushing
+     */
+    public void setWriteThrough(boolean writeThrough) {
+        this.writeThrough = writeThrough;
+    }
+
+    public boolean isWriteThrough() {
+        return writeThrough;
+    }
+
+    /**
+     * Enables notifying sessions of inbound batch boundaries through {@link BedrockSession#onBatchStart} and
+     * {@link BedrockSession#onBatchEnd}. Every packet of a batch is dispatched between the two calls.
+     *
+     * @param trackBatches whether to track inbound batches
+     */
+    public void setBatchTracking(boolean trackBatches) {
+        ChannelPipeline pipeline = this.channel.pipeline();
+        if (trackBatches == (pipeline.get(BATCH_TRACKER_NAME) != null)) {
+            return;
+        }
+
+        if (trackBatches) {
+            // A compression codec added later lands between the tracker and the batch decoder. It passes the same
+            // batch on synchronously, so the tracker still sees the decompressed batch by the time the read returns.
+            pipeline.addBefore(BedrockBatchDecoder.NAME, BATCH_TRACKER_NAME, new BatchTracker());
+        } else {
+            pipeline.remove(BATCH_TRACKER_NAME);
+        }
+    }
+
+    /**
+     * Controls whether the checksum trailer of encrypted batches is verified, which costs hashing every received
+     * batch. Defaults to the {@code cloudburst.validateEncryption} system property and may be changed at any time.
+     *
+     * @param validateEncryption whether to verify trailers
+     */
+    public void setEncryptionValidation(boolean validateEncryption) {
+        this.validateEncryption = validateEncryption;
+        BedrockEncryptionDecoder decoder = this.channel.pipeline().get(BedrockEncryptionDecoder.class);
+        if (decoder != null) {
+            decoder.setValidate(validateEncryption);
+        }
+    }
+
+    public boolean isEncryptionValidation() {
+        return this.validateEncryption;
+    }
+
+    public void setFlushBudget(int packets, int bytes) {
+        if (packets <= 0 || bytes <= 0) {
+            throw new IllegalArgumentException("Flush budget must be positive");
+        }
+        this.flushPacketBudget = packets;
+        this.flushByteBudget = bytes;
+    }
+
+    /**
+     * Time packets spent in the send queue between {@link #sendPacket(int, int, BedrockPacket)} and being
+     * written to the channel.
+     *
+     * @return queue delay histogram in microseconds
+     */
+    public RakHistogram getQueueDelayHistogram() {
+        return queueDelay;
+    }
+
     public boolean isConnected() {
         return !this.closed.get() && this.channel.isOpen();
     }
@@ -239,6 +438,34 @@ public class BedrockPeer extends ChannelInboundHandlerAdapter {
         this.onClose();
     }
 
+    private class BatchTracker extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (!(msg instanceof BedrockBatchWrapper)) {
+                ctx.fireChannelRead(msg);
+                return;
+            }
+
+            BedrockBatchWrapper batch = (BedrockBatchWrapper) msg;
+            for (BedrockSession session : sessions.values()) {
+                session.onBatchStart(batch);
+            }
+            try {
+                // The batch decoder and packet codec dispatch synchronously, so every packet reaches the sessions here
+                ctx.fireChannelRead(batch.retain());
+            } finally {
+                try {
+                    for (BedrockSession session : sessions.values()) {
+                        session.onBatchEnd(batch);
+                    }
+                } finally {
+                    batch.release();
+                }
+            }
+        }
+    }
+
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
         this.sessions.put(0, this.sessionFactory.createSession(this, 0));
@@ -263,6 +490,14 @@ public class BedrockPeer extends ChannelInboundHandlerAdapter {
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        for (BedrockSession session : this.sessions.values()) {
+            session.onReadComplete();
+        }
+        super.channelReadComplete(ctx);
+    }
+
     @Override
     public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
         if (evt instanceof RakDisconnectReason) {
@@ -6,6 +6,7 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
 import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
 import org.cloudburstmc.protocol.bedrock.netty.BedrockPacketWrapper;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacketHandler;
@@ -84,6 +85,13 @@ public abstract class BedrockSession {
         this.peer.enableEncryption(key);
     }
 
+    public void setEncryptionValidation(boolean validateEncryption) {
+        if (isSubClient()) {
+            throw new IllegalStateException("Encryption validation can only be set by the primary session");
+        }
+        this.peer.setEncryptionValidation(validateEncryption);
+    }
+
     public void close(String reason) {
         checkForClosed();
 
@@ -110,6 +118,9 @@ public abstract class BedrockSession {
 
     protected void onPacket(BedrockPacketWrapper wrapper) {
         BedrockPacket packet = wrapper.getPacket();
+        if (packet == null) {
+            packet = this.peer.decodePacket(wrapper);
+        }
         this.logInbound(packet);
 
         if (packetHandler == null) {
@@ -123,6 +134,28 @@ public abstract class BedrockSession {
         }
     }
 
+    /**
+     * Called once the peer has finished processing a batch of inbound reads.
+     */
+    protected void onReadComplete() {
+    }
+
+    /**
+     * Called before the packets of an inbound batch are dispatched when batch tracking is enabled on the peer.
+     *
+     * @param batch decompressed batch, only valid until {@link #onBatchEnd(BedrockBatchWrapper)}
+     */
+    protected void onBatchStart(BedrockBatchWrapper batch) {
+    }
+
+    /**
+     * Called after every packet of an inbound batch has been dispatched when batch tracking is enabled on the peer.
+     *
+     * @param batch decompressed batch, retain it to keep it past this call
+     */
+    protected void onBatchEnd(BedrockBatchWrapper batch) {
+    }
+
     protected void logOutbound(BedrockPacket packet) {
         if (log.isTraceEnabled() && this.logging) {
             log.trace("Outbound {}{}: {}", this.getSocketAddress(), this.subClientId, packet);
@@ -24,6 +24,10 @@ public class BedrockBatchWrapper extends AbstractReferenceCounted {
 
     private ByteBuf compressed;
     private CompressionAlgorithm algorithm;
+    /**
+     * Whether {@link #compressed} starts with a compression algorithm header.
+     */
+    private boolean prefixed;
 
     private ByteBuf uncompressed;
     private List<BedrockPacketWrapper> packets = new ObjectArrayList<>();
@@ -69,6 +73,7 @@ public class BedrockBatchWrapper extends AbstractReferenceCounted {
         this.packets.clear();
         this.modified = false;
         this.algorithm = null;
+        this.prefixed = false;
         this.flags.clear();
         this.handle.recycle(this);
     }
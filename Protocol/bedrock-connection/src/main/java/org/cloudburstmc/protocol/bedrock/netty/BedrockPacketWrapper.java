@@ -3,11 +3,15 @@ package org.cloudburstmc.protocol.bedrock.netty;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.AbstractReferenceCounted;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetectorFactory;
+import io.netty.util.ResourceLeakTracker;
 import io.netty.util.internal.ObjectPool;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.*;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockPacketPool;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RecyclablePacket;
 import org.cloudburstmc.protocol.bedrock.util.PacketFlag;
 
 import java.util.Set;
@@ -16,6 +20,11 @@ import java.util.Set;
 @EqualsAndHashCode(callSuper = false)
 public class BedrockPacketWrapper extends AbstractReferenceCounted {
     private static final ObjectPool<BedrockPacketWrapper> RECYCLER = ObjectPool.newPool(BedrockPacketWrapper::new);
+    /**
+     * Reports wrappers holding a pooled packet that were never released, following the Netty leak detection level.
+     */
+    private static final ResourceLeakDetector<BedrockPacketWrapper> LEAK_DETECTOR =
+            ResourceLeakDetectorFactory.instance().newResourceLeakDetector(BedrockPacketWrapper.class);
     private final ObjectPool.Handle<BedrockPacketWrapper> handle;
 
     private int packetId;
@@ -24,7 +33,18 @@ public class BedrockPacketWrapper extends AbstractReferenceCounted {
     private int headerLength;
     private BedrockPacket packet;
     private ByteBuf packetBuffer;
+    private long enqueueTime;
     private Set<PacketFlag> flags = new ObjectOpenHashSet<>();
+    /**
+     * Whether the packet was taken from {@link BedrockPacketPool} and goes back to it when this wrapper is deallocated.
+     */
+    @Setter(AccessLevel.NONE)
+    private boolean packetPooled;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ResourceLeakTracker<BedrockPacketWrapper> leak;
 
     public static BedrockPacketWrapper create(int packetId, int senderSubClientId, int targetSubClientId, BedrockPacket packet, ByteBuf packetBuffer) {
         BedrockPacketWrapper wrapper = RECYCLER.get();
@@ -56,6 +76,24 @@ public class BedrockPacketWrapper extends AbstractReferenceCounted {
         this.handle = handle;
     }
 
+    public void setPacket(BedrockPacket packet) {
+        this.packet = packet;
+        this.packetPooled = false;
+        this.closeLeak();
+    }
+
+    /**
+     * Hands over a packet decoded with recycling enabled. The packet is reset and reused once this wrapper is
+     * deallocated, so it must not be used or kept after the last release.
+     */
+    public void setPooledPacket(RecyclablePacket packet) {
+        this.packet = packet;
+        this.packetPooled = true;
+        if (this.leak == null) {
+            this.leak = LEAK_DETECTOR.track(this);
+        }
+    }
+
     public void setFlag(PacketFlag flag) {
         this.flags.add(flag);
     }
@@ -70,12 +108,19 @@ public class BedrockPacketWrapper extends AbstractReferenceCounted {
 
     @Override
     protected void deallocate() {
-        ReferenceCountUtil.safeRelease(this.packet);
+        if (this.packetPooled) {
+            BedrockPacketPool.recycle((RecyclablePacket) this.packet);
+            this.packetPooled = false;
+        } else {
+            ReferenceCountUtil.safeRelease(this.packet);
+        }
+        this.closeLeak();
         ReferenceCountUtil.safeRelease(this.packetBuffer);
         this.packetId = 0;
         this.senderSubClientId = 0;
         this.targetSubClientId = 0;
         this.headerLength = 0;
+        this.enqueueTime = 0;
         this.packet = null;
         this.packetBuffer = null;
         this.flags.clear();
@@ -84,6 +129,9 @@ public class BedrockPacketWrapper extends AbstractReferenceCounted {
 
     @Override
     public BedrockPacketWrapper touch(Object hint) {
+        if (this.leak != null) {
+            this.leak.record(hint);
+        }
         ReferenceCountUtil.touch(this.packet);
         ReferenceCountUtil.touch(this.packetBuffer);
         return this;
@@ -93,4 +141,11 @@ public class BedrockPacketWrapper extends AbstractReferenceCounted {
     public BedrockPacketWrapper retain() {
         return (BedrockPacketWrapper) super.retain();
     }
+
+    private void closeLeak() {
+        if (this.leak != null) {
+            this.leak.close(this);
+            this.leak = null;
+        }
+    }
 }
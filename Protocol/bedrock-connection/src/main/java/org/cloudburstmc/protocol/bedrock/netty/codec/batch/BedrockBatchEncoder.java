@@ -21,6 +21,10 @@ public class BedrockBatchEncoder extends ChannelOutboundHandlerAdapter {
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         if (!(msg instanceof BedrockPacketWrapper)) {
+            if (msg instanceof BedrockBatchWrapper) {
+                // Pre-built batches must not overtake packets that are still waiting to be batched
+                this.writeBatch(ctx);
+            }
             super.write(ctx, msg, promise);
             return;
         }
@@ -32,8 +36,12 @@ public class BedrockBatchEncoder extends ChannelOutboundHandlerAdapter {
 
     @Override
     public void flush(ChannelHandlerContext ctx) throws Exception {
+        this.writeBatch(ctx);
+        super.flush(ctx);
+    }
+
+    private void writeBatch(ChannelHandlerContext ctx) {
         if (messages.isEmpty()) {
-            super.flush(ctx);
             return;
         }
 
@@ -63,8 +71,6 @@ public class BedrockBatchEncoder extends ChannelOutboundHandlerAdapter {
             buf.release();
             batch.release();
         }
-
-        super.flush(ctx);
     }
 
     @Override
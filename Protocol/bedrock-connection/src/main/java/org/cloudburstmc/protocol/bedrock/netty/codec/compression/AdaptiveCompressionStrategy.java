@@ -0,0 +1,210 @@
+package org.cloudburstmc.protocol.bedrock.netty.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import org.cloudburstmc.protocol.bedrock.data.CompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zlib compression strategy choosing the deflate level of every outgoing batch.
+ * <p>
+ * Batches below the threshold are sent uncompressed when prefixed, or as stored deflate blocks otherwise.
+ * Larger batches get a level based on their size and average packet size, so bursts of small movement
+ * packets stay cheap while chunk data is compressed well. The level is further capped while compression
+ * takes more than its CPU budget, measured as a share of wall time.
+ * <p>
+ * The level of every {@link BatchCompression} handed out is the highest level of the strategy. Setting it on any of
+ * them changes that ceiling for the whole connection, the level of a single batch is still chosen below it.
+ * <p>
+ * The strategy keeps per connection state and must not be shared between channels.
+ */
+public class AdaptiveCompressionStrategy implements CompressionStrategy {
+    /**
+     * Threshold of {@link #loopback(boolean)}, also suitable to announce to the local client.
+     */
+    public static final int LOOPBACK_THRESHOLD = 4096;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int SMALL_PACKET_BYTES = 128;
+    private static final int LARGE_BATCH_BYTES = 16 * 1024;
+
+    private static final int MAX_DEFLATE_LEVEL = 9;
+
+    private final CompressionStrategy decoding;
+    private final BatchCompression none;
+    private final LevelCompression[] levels;
+    private final int threshold;
+    private final double cpuBudget;
+
+    private int maxLevel;
+
+    private int levelCap;
+    private long windowStart = System.nanoTime();
+    private long windowCompressNanos;
+
+    /**
+     * @param backend   deflate implementation, usually the shared one of {@link DeflateBackend#create(boolean)}
+     * @param threshold batches smaller than this many bytes are not compressed
+     * @param maxLevel  highest deflate level used, between 0 and 9
+     * @param cpuBudget fraction of wall time compression may take before the level is lowered
+     */
+    public AdaptiveCompressionStrategy(DeflateBackend backend, int threshold, int maxLevel, double cpuBudget) {
+        checkLevel(maxLevel);
+        this.levels = new LevelCompression[MAX_DEFLATE_LEVEL + 1];
+        for (int i = 0; i <= MAX_DEFLATE_LEVEL; i++) {
+            this.levels[i] = new LevelCompression(backend, i);
+        }
+        this.decoding = new SimpleCompressionStrategy(this.levels[maxLevel]);
+        this.none = this.decoding.getCompression(PacketCompressionAlgorithm.NONE);
+        this.threshold = threshold;
+        this.maxLevel = maxLevel;
+        this.cpuBudget = cpuBudget;
+        this.levelCap = maxLevel;
+    }
+
+    /**
+     * Strategy for connections to remote servers.
+     *
+     * @param threshold compression threshold announced by the server
+     */
+    public static AdaptiveCompressionStrategy remote(boolean raw, int threshold) {
+        return new AdaptiveCompressionStrategy(DeflateBackend.create(raw), threshold, 7, 0.25);
+    }
+
+    /**
+     * Strategy for a client on the same machine, where bandwidth is free and compression only adds latency.
+     */
+    public static AdaptiveCompressionStrategy loopback(boolean raw) {
+        return new AdaptiveCompressionStrategy(DeflateBackend.create(raw), LOOPBACK_THRESHOLD, 1, 0.05);
+    }
+
+    @Override
+    public BatchCompression getCompression(BedrockBatchWrapper wrapper) {
+        return this.getCompression(wrapper, false);
+    }
+
+    @Override
+    public BatchCompression getCompression(BedrockBatchWrapper wrapper, boolean prefixed) {
+        ByteBuf uncompressed = wrapper.getUncompressed();
+        int size = uncompressed == null ? 0 : uncompressed.readableBytes();
+        if (size < this.threshold) {
+            return prefixed ? this.none : this.levels[0];
+        }
+
+        int packets = Math.max(1, wrapper.getPackets().size());
+        int level;
+        if (size >= LARGE_BATCH_BYTES) {
+            level = this.maxLevel;
+        } else if (size / packets < SMALL_PACKET_BYTES) {
+            level = 1;
+        } else {
+            level = (this.maxLevel + 1) / 2;
+        }
+
+        level = Math.min(level, this.levelCap);
+        if (level == 0 && prefixed) {
+            return this.none;
+        }
+        return this.levels[level];
+    }
+
+    @Override
+    public BatchCompression getCompression(CompressionAlgorithm algorithm) {
+        return this.decoding.getCompression(algorithm);
+    }
+
+    @Override
+    public BatchCompression getDefaultCompression() {
+        return this.levels[this.maxLevel];
+    }
+
+    /**
+     * @return highest level batches are currently compressed with
+     */
+    public int getLevelCap() {
+        return this.levelCap;
+    }
+
+    public int getMaxLevel() {
+        return this.maxLevel;
+    }
+
+    /**
+     * Sets the highest level any batch is compressed with. The CPU budget may still keep batches below it.
+     */
+    public void setMaxLevel(int maxLevel) {
+        checkLevel(maxLevel);
+        this.maxLevel = maxLevel;
+        this.levelCap = maxLevel;
+    }
+
+    private static void checkLevel(int level) {
+        if (level < 0 || level > MAX_DEFLATE_LEVEL) {
+            throw new IllegalArgumentException("Deflate level must be between 0 and " + MAX_DEFLATE_LEVEL);
+        }
+    }
+
+    private void onCompressed(long nanos) {
+        this.windowCompressNanos += nanos;
+
+        long now = System.nanoTime();
+        long elapsed = now - this.windowStart;
+        if (elapsed < WINDOW_NANOS) {
+            return;
+        }
+
+        double share = (double) this.windowCompressNanos / elapsed;
+        if (share > this.cpuBudget && this.levelCap > 0) {
+            this.levelCap--;
+        } else if (share < this.cpuBudget / 2 && this.levelCap < this.maxLevel) {
+            this.levelCap++;
+        }
+        this.windowStart = now;
+        this.windowCompressNanos = 0;
+    }
+
+    /**
+     * Compresses at one fixed level and reports the time taken to the strategy.
+     */
+    private class LevelCompression implements BatchCompression {
+        private final DeflateCompression compression;
+
+        LevelCompression(DeflateBackend backend, int level) {
+            this.compression = new DeflateCompression(backend);
+            this.compression.setLevel(level);
+        }
+
+        @Override
+        public ByteBuf encode(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+            long start = System.nanoTime();
+            try {
+                return this.compression.encode(ctx, msg);
+            } finally {
+                onCompressed(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public ByteBuf decode(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+            return this.compression.decode(ctx, msg);
+        }
+
+        @Override
+        public CompressionAlgorithm getAlgorithm() {
+            return this.compression.getAlgorithm();
+        }
+
+        @Override
+        public void setLevel(int level) {
+            setMaxLevel(level);
+        }
+
+        @Override
+        public int getLevel() {
+            return maxLevel;
+        }
+    }
+}
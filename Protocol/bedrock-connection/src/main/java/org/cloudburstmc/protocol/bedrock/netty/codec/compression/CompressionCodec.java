@@ -6,6 +6,7 @@ import io.netty.handler.codec.MessageToMessageCodec;
 import org.cloudburstmc.protocol.bedrock.data.CompressionAlgorithm;
 import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
 import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
+import org.cloudburstmc.protocol.bedrock.netty.codec.encryption.BedrockEncryptionEncoder;
 
 import java.util.List;
 
@@ -32,7 +33,7 @@ public class CompressionCodec extends MessageToMessageCodec<BedrockBatchWrapper,
             return;
         }
 
-        BatchCompression compression = this.strategy.getCompression(msg);
+        BatchCompression compression = this.strategy.getCompression(msg, this.prefixed);
         if (!this.prefixed && this.strategy.getDefaultCompression().getAlgorithm() != compression.getAlgorithm()) {
             throw new IllegalStateException("Non-default compression algorithm used without prefixing");
         }
@@ -41,8 +42,8 @@ public class CompressionCodec extends MessageToMessageCodec<BedrockBatchWrapper,
         try {
             ByteBuf outBuf;
             if (this.prefixed) {
-                // Do not use a composite buffer as encryption does not like it
-                outBuf = ctx.alloc().ioBuffer(1 + compressed.readableBytes());
+                // Do not use a composite buffer as encryption does not like it, and leave room to encrypt in place
+                outBuf = ctx.alloc().ioBuffer(1 + compressed.readableBytes() + BedrockEncryptionEncoder.TRAILER_SIZE);
                 outBuf.writeByte(this.getCompressionHeader(compression.getAlgorithm()));
                 outBuf.writeBytes(compressed);
             } else {
@@ -50,6 +51,7 @@ public class CompressionCodec extends MessageToMessageCodec<BedrockBatchWrapper,
             }
 
             msg.setCompressed(outBuf, compression.getAlgorithm());
+            msg.setPrefixed(this.prefixed);
         } finally {
             compressed.release();
         }
@@ -71,11 +73,25 @@ public class CompressionCodec extends MessageToMessageCodec<BedrockBatchWrapper,
         }
 
         msg.setAlgorithm(compression.getAlgorithm());
+        msg.setPrefixed(this.prefixed);
         msg.setUncompressed(compression.decode(ctx, compressed.slice()));
         this.onDecompressed(ctx, msg);
         out.add(msg.retain());
     }
 
+    /**
+     * Checks whether a batch compressed by another pipeline can be written by this codec without recompressing.
+     *
+     * @param msg batch holding compressed data
+     * @return true if the compressed data is understood by the remote end of this codec
+     */
+    public boolean canPassThrough(BedrockBatchWrapper msg) {
+        if (msg.getCompressed() == null || msg.isModified() || msg.getAlgorithm() == null || msg.isPrefixed() != this.prefixed) {
+            return false;
+        }
+        return this.prefixed || this.strategy.getDefaultCompression().getAlgorithm() == msg.getAlgorithm();
+    }
+
     protected void onPassedThrough(ChannelHandlerContext ctx, BedrockBatchWrapper msg) {
     }
 
@@ -129,4 +145,8 @@ public class CompressionCodec extends MessageToMessageCodec<BedrockBatchWrapper,
     public CompressionStrategy getStrategy() {
         return this.strategy;
     }
+
+    public boolean isPrefixed() {
+        return this.prefixed;
+    }
 }
@@ -7,6 +7,18 @@ public interface CompressionStrategy {
 
     BatchCompression getCompression(BedrockBatchWrapper wrapper);
 
+    /**
+     * Picks the compression of an outgoing batch. Algorithms other than the default one may only be returned
+     * when the batch is prefixed with its compression header.
+     *
+     * @param wrapper  batch about to be compressed
+     * @param prefixed whether the batch will be written with a compression header
+     * @return compression to encode the batch with
+     */
+    default BatchCompression getCompression(BedrockBatchWrapper wrapper, boolean prefixed) {
+        return this.getCompression(wrapper);
+    }
+
     BatchCompression getCompression(CompressionAlgorithm algorithm);
 
     BatchCompression getDefaultCompression();
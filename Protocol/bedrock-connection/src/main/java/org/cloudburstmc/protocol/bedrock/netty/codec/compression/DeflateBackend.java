@@ -0,0 +1,59 @@
+package org.cloudburstmc.protocol.bedrock.netty.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.zip.DataFormatException;
+
+/**
+ * Deflate implementation used by {@link DeflateCompression}.
+ * <p>
+ * The JDK implementation is used unless the {@code bedrock.deflateBackend} system property names another
+ * implementation, such as a binding to a native deflate library. That class needs a public constructor taking
+ * a single {@code boolean} which is true for raw deflate streams and false for zlib wrapped ones.
+ * <p>
+ * Backends hold per-thread deflate state and are meant to be shared by all connections, {@link #create(boolean)}
+ * returns one instance per stream format.
+ */
+public interface DeflateBackend {
+
+    /**
+     * Compresses the readable bytes of {@code input} into {@code output}, which is grown as needed.
+     * The reader index of {@code input} is left untouched.
+     */
+    void deflate(ByteBuf input, ByteBuf output, int level) throws DataFormatException;
+
+    /**
+     * Decompresses the readable bytes of {@code input} into {@code output}, which is grown as needed.
+     * The reader index of {@code input} is left untouched.
+     *
+     * @param maxSize maximum number of bytes to produce, or 0 for no limit
+     * @throws DataFormatException if the data is malformed or inflates beyond {@code maxSize}
+     */
+    void inflate(ByteBuf input, ByteBuf output, int maxSize) throws DataFormatException;
+
+    /**
+     * @return the shared backend for raw deflate streams when {@code raw} is true, zlib wrapped ones otherwise
+     */
+    static DeflateBackend create(boolean raw) {
+        return raw ? SharedDeflateBackends.RAW : SharedDeflateBackends.ZLIB;
+    }
+
+    /**
+     * Creates a new backend of the configured implementation. Prefer {@link #create(boolean)}.
+     */
+    static DeflateBackend newInstance(boolean raw) {
+        String className = System.getProperty("bedrock.deflateBackend");
+        if (className == null || className.isEmpty()) {
+            return new JdkDeflateBackend(raw);
+        }
+
+        try {
+            return Class.forName(className)
+                    .asSubclass(DeflateBackend.class)
+                    .getConstructor(boolean.class)
+                    .newInstance(raw);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Unable to create deflate backend " + className, e);
+        }
+    }
+}
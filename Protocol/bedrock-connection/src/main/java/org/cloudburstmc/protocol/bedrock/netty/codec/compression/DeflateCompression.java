@@ -0,0 +1,60 @@
+package org.cloudburstmc.protocol.bedrock.netty.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.Getter;
+import lombok.Setter;
+import org.cloudburstmc.protocol.bedrock.data.CompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+
+/**
+ * Zlib batch compression working on the batch buffers in place through a {@link DeflateBackend}.
+ */
+public class DeflateCompression implements BatchCompression {
+    private static final int MAX_DECOMPRESSED_BYTES = Integer.getInteger("bedrock.maxDecompressedBytes", 1024 * 1024 * 10);
+
+    private final DeflateBackend backend;
+
+    @Getter @Setter
+    private int level = 7;
+
+    public DeflateCompression(DeflateBackend backend) {
+        this.backend = backend;
+    }
+
+    public DeflateCompression(boolean raw) {
+        this(DeflateBackend.create(raw));
+    }
+
+    @Override
+    public ByteBuf encode(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+        // Deflate output rarely exceeds the input, the backend grows the buffer otherwise
+        ByteBuf outBuf = ctx.alloc().ioBuffer(msg.readableBytes() + 64);
+        try {
+            this.backend.deflate(msg, outBuf, this.level);
+            return outBuf.retain();
+        } finally {
+            outBuf.release();
+        }
+    }
+
+    @Override
+    public ByteBuf decode(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+        ByteBuf outBuf = ctx.alloc().ioBuffer(Math.min(msg.readableBytes() << 2, MAX_DECOMPRESSED_BYTES));
+        try {
+            this.backend.inflate(msg, outBuf, MAX_DECOMPRESSED_BYTES);
+            return outBuf.retain();
+        } finally {
+            outBuf.release();
+        }
+    }
+
+    @Override
+    public CompressionAlgorithm getAlgorithm() {
+        return PacketCompressionAlgorithm.ZLIB;
+    }
+
+    public DeflateBackend getBackend() {
+        return this.backend;
+    }
+}
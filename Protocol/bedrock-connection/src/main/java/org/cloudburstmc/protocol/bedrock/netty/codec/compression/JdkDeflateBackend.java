@@ -0,0 +1,216 @@
+package org.cloudburstmc.protocol.bedrock.netty.codec.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link DeflateBackend} using {@link Deflater} and {@link Inflater}.
+ * <p>
+ * Heap buffers are handed over as arrays and direct buffers as {@link ByteBuffer}s, so neither side is copied.
+ * Runtimes without the {@link ByteBuffer} overloads (Android before API 33) stream direct memory through
+ * per-thread scratch arrays instead.
+ */
+public class JdkDeflateBackend implements DeflateBackend {
+
+    private static final boolean BUFFER_API = hasBufferApi();
+    private static final int CHUNK = 8192;
+
+    private static final FastThreadLocal<byte[]> INPUT_CHUNK = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[CHUNK];
+        }
+    };
+    private static final FastThreadLocal<byte[]> OUTPUT_CHUNK = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[CHUNK];
+        }
+    };
+
+    // One pair per stream format shared by all instances, Netty never frees the index of a FastThreadLocal
+    private static final FastThreadLocal<Inflater> RAW_INFLATER = inflaterLocal(true);
+    private static final FastThreadLocal<Inflater> ZLIB_INFLATER = inflaterLocal(false);
+    private static final FastThreadLocal<Deflater> RAW_DEFLATER = deflaterLocal(true);
+    private static final FastThreadLocal<Deflater> ZLIB_DEFLATER = deflaterLocal(false);
+
+    private final FastThreadLocal<Inflater> inflaterLocal;
+    private final FastThreadLocal<Deflater> deflaterLocal;
+
+    /**
+     * Use {@link DeflateBackend#create(boolean)} to get the shared instance instead.
+     */
+    public JdkDeflateBackend(boolean raw) {
+        this.inflaterLocal = raw ? RAW_INFLATER : ZLIB_INFLATER;
+        this.deflaterLocal = raw ? RAW_DEFLATER : ZLIB_DEFLATER;
+    }
+
+    private static FastThreadLocal<Inflater> inflaterLocal(boolean raw) {
+        return new FastThreadLocal<Inflater>() {
+            @Override
+            protected Inflater initialValue() {
+                return new Inflater(raw);
+            }
+
+            @Override
+            protected void onRemoval(Inflater inflater) {
+                inflater.end();
+            }
+        };
+    }
+
+    private static FastThreadLocal<Deflater> deflaterLocal(boolean raw) {
+        return new FastThreadLocal<Deflater>() {
+            @Override
+            protected Deflater initialValue() {
+                return new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+            }
+
+            @Override
+            protected void onRemoval(Deflater deflater) {
+                deflater.end();
+            }
+        };
+    }
+
+    private static boolean hasBufferApi() {
+        try {
+            Deflater.class.getMethod("setInput", ByteBuffer.class);
+            Deflater.class.getMethod("deflate", ByteBuffer.class);
+            Inflater.class.getMethod("setInput", ByteBuffer.class);
+            Inflater.class.getMethod("inflate", ByteBuffer.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void deflate(ByteBuf input, ByteBuf output, int level) throws DataFormatException {
+        Deflater deflater = this.deflaterLocal.get();
+        deflater.reset();
+        deflater.setLevel(level);
+
+        int index = input.readerIndex();
+        int length = input.readableBytes();
+        if (input.hasArray()) {
+            deflater.setInput(input.array(), input.arrayOffset() + index, length);
+        } else if (BUFFER_API && input.nioBufferCount() > 0) {
+            for (ByteBuffer buffer : input.nioBuffers(index, length)) {
+                deflater.setInput(buffer);
+                drain(deflater, output, false);
+            }
+        } else {
+            byte[] chunk = INPUT_CHUNK.get();
+            int end = index + length;
+            while (index < end) {
+                int read = Math.min(CHUNK, end - index);
+                input.getBytes(index, chunk, 0, read);
+                index += read;
+                deflater.setInput(chunk, 0, read);
+                drain(deflater, output, false);
+            }
+        }
+
+        deflater.finish();
+        drain(deflater, output, true);
+    }
+
+    /**
+     * Runs the deflater until it wants more input or, when finishing, until the stream is complete.
+     */
+    private static void drain(Deflater deflater, ByteBuf output, boolean finish) {
+        while (finish ? !deflater.finished() : !deflater.needsInput()) {
+            output.ensureWritable(CHUNK);
+            int writerIndex = output.writerIndex();
+            int written;
+            if (output.hasArray()) {
+                written = deflater.deflate(output.array(), output.arrayOffset() + writerIndex, output.writableBytes());
+            } else if (BUFFER_API) {
+                written = deflater.deflate(output.internalNioBuffer(writerIndex, output.writableBytes()));
+            } else {
+                byte[] chunk = OUTPUT_CHUNK.get();
+                written = deflater.deflate(chunk, 0, Math.min(CHUNK, output.writableBytes()));
+                output.setBytes(writerIndex, chunk, 0, written);
+            }
+            output.writerIndex(writerIndex + written);
+        }
+    }
+
+    @Override
+    public void inflate(ByteBuf input, ByteBuf output, int maxSize) throws DataFormatException {
+        Inflater inflater = this.inflaterLocal.get();
+        inflater.reset();
+
+        int start = output.writerIndex();
+        int index = input.readerIndex();
+        int length = input.readableBytes();
+        if (input.hasArray()) {
+            inflater.setInput(input.array(), input.arrayOffset() + index, length);
+            drain(inflater, output, start, maxSize);
+        } else if (BUFFER_API && input.nioBufferCount() > 0) {
+            for (ByteBuffer buffer : input.nioBuffers(index, length)) {
+                inflater.setInput(buffer);
+                if (drain(inflater, output, start, maxSize)) {
+                    break;
+                }
+            }
+        } else {
+            byte[] chunk = INPUT_CHUNK.get();
+            int end = index + length;
+            while (index < end) {
+                int read = Math.min(CHUNK, end - index);
+                input.getBytes(index, chunk, 0, read);
+                index += read;
+                inflater.setInput(chunk, 0, read);
+                if (drain(inflater, output, start, maxSize)) {
+                    break;
+                }
+            }
+        }
+
+        if (!inflater.finished()) {
+            throw new DataFormatException("Deflate stream is truncated");
+        }
+    }
+
+    /**
+     * Runs the inflater until it wants more input or the stream is complete.
+     *
+     * @return true once the end of the stream was reached
+     */
+    private static boolean drain(Inflater inflater, ByteBuf output, int start, int maxSize) throws DataFormatException {
+        while (!inflater.finished()) {
+            if (inflater.needsDictionary()) {
+                throw new DataFormatException("Preset dictionaries are not supported");
+            }
+            if (inflater.needsInput()) {
+                return false;
+            }
+
+            output.ensureWritable(CHUNK);
+            int writerIndex = output.writerIndex();
+            int written;
+            if (output.hasArray()) {
+                written = inflater.inflate(output.array(), output.arrayOffset() + writerIndex, output.writableBytes());
+            } else if (BUFFER_API) {
+                written = inflater.inflate(output.internalNioBuffer(writerIndex, output.writableBytes()));
+            } else {
+                byte[] chunk = OUTPUT_CHUNK.get();
+                written = inflater.inflate(chunk, 0, Math.min(CHUNK, output.writableBytes()));
+                output.setBytes(writerIndex, chunk, 0, written);
+            }
+            output.writerIndex(writerIndex + written);
+
+            if (maxSize > 0 && output.writerIndex() - start > maxSize) {
+                throw new DataFormatException("Inflated data exceeds maximum size");
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package org.cloudburstmc.protocol.bedrock.netty.codec.compression;
+
+/**
+ * Backends returned by {@link DeflateBackend#create(boolean)}, created on first use.
+ */
+final class SharedDeflateBackends {
+    static final DeflateBackend RAW = DeflateBackend.newInstance(true);
+    static final DeflateBackend ZLIB = DeflateBackend.newInstance(false);
+
+    private SharedDeflateBackends() {
+    }
+}
@@ -3,7 +3,6 @@ package org.cloudburstmc.protocol.bedrock.netty.codec.compression;
 import org.cloudburstmc.protocol.bedrock.data.CompressionAlgorithm;
 import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
 import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
-import org.cloudburstmc.protocol.common.util.Zlib;
 
 /**
  * A simple compression strategy that uses the same compression for all packets, but
@@ -24,10 +23,10 @@ public class SimpleCompressionStrategy implements CompressionStrategy {
             this.zlib = compression;
             this.snappy = new SnappyCompression();
         } else if (compression.getAlgorithm() == PacketCompressionAlgorithm.SNAPPY) {
-            this.zlib = new ZlibCompression(Zlib.RAW);
+            this.zlib = new DeflateCompression(true);
             this.snappy = compression;
         } else {
-            this.zlib = new ZlibCompression(Zlib.RAW);
+            this.zlib = new DeflateCompression(true);
             this.snappy = new SnappyCompression();
         }
     }
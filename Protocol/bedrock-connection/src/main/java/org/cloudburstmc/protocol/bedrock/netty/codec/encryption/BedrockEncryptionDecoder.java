@@ -4,51 +4,67 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.CorruptedFrameException;
 import io.netty.handler.codec.MessageToMessageDecoder;
-import lombok.RequiredArgsConstructor;
 import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
-@RequiredArgsConstructor
 public class BedrockEncryptionDecoder extends MessageToMessageDecoder<BedrockBatchWrapper> {
 
     public static final String NAME = "bedrock-encryption-decoder";
 
-    private static final boolean VALIDATE = Boolean.getBoolean("cloudburst.validateEncryption");
+    /**
+     * Whether trailers are verified unless the session decides otherwise.
+     */
+    public static final boolean DEFAULT_VALIDATE = Boolean.getBoolean("cloudburst.validateEncryption");
 
-    private final AtomicLong packetCounter = new AtomicLong();
-    private final SecretKey key;
+    private final EncryptionTrailer trailer;
     private final Cipher cipher;
+    private volatile boolean validate;
 
-    @Override
-    protected void decode(ChannelHandlerContext ctx, BedrockBatchWrapper msg, List<Object> out) throws Exception {
-        ByteBuffer inBuffer = msg.getCompressed().nioBuffer();
-        ByteBuffer outBuffer = inBuffer.duplicate();
-
-        // Copy-safe so we can use the same buffer.
-        this.cipher.update(inBuffer, outBuffer);
-
-        ByteBuf output = msg.getCompressed().readSlice(msg.getCompressed().readableBytes() - 8);
+    public BedrockEncryptionDecoder(SecretKey key, Cipher cipher) {
+        this(key, cipher, DEFAULT_VALIDATE);
+    }
 
-        if (VALIDATE) {
-            ByteBuf trailer = msg.getCompressed().readSlice(8);
+    public BedrockEncryptionDecoder(SecretKey key, Cipher cipher, boolean validate) {
+        this.trailer = new EncryptionTrailer(key);
+        this.cipher = cipher;
+        this.validate = validate;
+    }
 
-            byte[] actual = new byte[8];
-            trailer.readBytes(actual);
+    @Override
+    protected void decode(ChannelHandlerContext ctx, BedrockBatchWrapper msg, List<Object> out) throws Exception {
+        // Reassembled split packets are composites, decrypt every part where it is. Copy-safe so we can use the same buffer.
+        for (ByteBuffer inBuffer : msg.getCompressed().nioBuffers()) {
+            this.cipher.update(inBuffer, inBuffer.duplicate());
+        }
 
-            byte[] expected = BedrockEncryptionEncoder.generateTrailer(output, this.key, this.packetCounter);
+        ByteBuf output = msg.getCompressed().readSlice(msg.getCompressed().readableBytes() - EncryptionTrailer.SIZE);
 
-            if (!Arrays.equals(expected, actual)) {
+        if (this.validate) {
+            ByteBuf trailer = msg.getCompressed().readSlice(EncryptionTrailer.SIZE);
+            if (!this.trailer.verify(output, trailer)) {
                 throw new CorruptedFrameException("Invalid encryption trailer");
             }
+        } else {
+            // Keep counting so validation can be enabled later on
+            this.trailer.skip();
         }
 
         msg.setCompressed(output.retain());
         out.add(msg.retain());
     }
+
+    public boolean isValidate() {
+        return this.validate;
+    }
+
+    /**
+     * Skipping validation saves hashing every batch, decryption errors then show up as garbage when decompressing.
+     */
+    public void setValidate(boolean validate) {
+        this.validate = validate;
+    }
 }
@@ -1,51 +1,59 @@
 package org.cloudburstmc.protocol.bedrock.netty.codec.encryption;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageEncoder;
-import io.netty.util.concurrent.FastThreadLocal;
-import lombok.RequiredArgsConstructor;
 import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import java.nio.ByteBuffer;
-import java.security.MessageDigest;
-import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
-@RequiredArgsConstructor
 public class BedrockEncryptionEncoder extends MessageToMessageEncoder<BedrockBatchWrapper> {
 
     public static final String NAME = "bedrock-encryption-encoder";
 
-    private static final FastThreadLocal<MessageDigest> DIGEST = new FastThreadLocal<MessageDigest>() {
-        @Override
-        protected MessageDigest initialValue() {
-            try {
-                return MessageDigest.getInstance("SHA-256");
-            } catch (Exception e) {
-                throw new AssertionError(e);
-            }
-        }
-    };
+    /**
+     * Bytes appended to every batch. Reserve them after the compressed data to let the batch be encrypted in place.
+     */
+    public static final int TRAILER_SIZE = EncryptionTrailer.SIZE;
 
-    private final AtomicLong packetCounter = new AtomicLong();
-    private final SecretKey key;
+    private final EncryptionTrailer trailer;
     private final Cipher cipher;
 
+    public BedrockEncryptionEncoder(SecretKey key, Cipher cipher) {
+        this.trailer = new EncryptionTrailer(key);
+        this.cipher = cipher;
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, BedrockBatchWrapper in, List<Object> out) throws Exception {
-        ByteBuf buf = ctx.alloc().ioBuffer(in.getCompressed().readableBytes() + 8);
-        try {
-            ByteBuffer trailer = ByteBuffer.wrap(generateTrailer(in.getCompressed(), this.key, this.packetCounter));
-            ByteBuffer inBuffer = in.getCompressed().nioBuffer();
-            ByteBuffer outBuffer = buf.nioBuffer(0, in.getCompressed().readableBytes() + 8);
+        ByteBuf compressed = in.getCompressed();
+        byte[] trailer = this.trailer.generate(compressed);
+
+        if (isExclusive(compressed) && compressed.maxWritableBytes() >= TRAILER_SIZE) {
+            // Nobody else can see the plain text, overwrite it with the cipher text. Cipher updates are copy-safe.
+            compressed.writeBytes(trailer, 0, TRAILER_SIZE);
+            this.encryptInPlace(compressed);
+            out.add(in.retain());
+            return;
+        }
 
-            int index = this.cipher.update(inBuffer, outBuffer);
-            index += this.cipher.update(trailer, outBuffer);
+        // Shared with a decoded batch when passed through, encrypt into a new buffer
+        ByteBuf buf = ctx.alloc().ioBuffer(compressed.readableBytes() + TRAILER_SIZE);
+        try {
+            ByteBuffer outBuffer = buf.nioBuffer(0, buf.capacity());
+            int index = 0;
+            if (compressed.nioBufferCount() == 1) {
+                index += this.cipher.update(compressed.nioBuffer(), outBuffer);
+            } else {
+                for (ByteBuffer inBuffer : compressed.nioBuffers()) {
+                    index += this.cipher.update(inBuffer, outBuffer);
+                }
+            }
+            index += this.cipher.update(ByteBuffer.wrap(trailer, 0, TRAILER_SIZE), outBuffer);
 
             buf.writerIndex(index);
             in.setCompressed(buf.retain());
@@ -55,21 +63,22 @@ public class BedrockEncryptionEncoder extends MessageToMessageEncoder<BedrockBat
         }
     }
 
-    static byte[] generateTrailer(ByteBuf buf, SecretKey key, AtomicLong counter) {
-        MessageDigest digest = DIGEST.get();
-        ByteBuf counterBuf = ByteBufAllocator.DEFAULT.directBuffer(8);
-        try {
-            counterBuf.writeLongLE(counter.getAndIncrement());
-            ByteBuffer keyBuffer = ByteBuffer.wrap(key.getEncoded());
-
-            digest.update(counterBuf.nioBuffer(0, 8));
-            digest.update(buf.nioBuffer(buf.readerIndex(), buf.readableBytes()));
-            digest.update(keyBuffer);
-            byte[] hash = digest.digest();
-            return Arrays.copyOf(hash, 8);
-        } finally {
-            counterBuf.release();
-            digest.reset();
+    private void encryptInPlace(ByteBuf buf) throws Exception {
+        if (buf.nioBufferCount() == 1) {
+            ByteBuffer buffer = buf.internalNioBuffer(buf.readerIndex(), buf.readableBytes());
+            this.cipher.update(buffer, buffer.duplicate());
+        } else {
+            for (ByteBuffer buffer : buf.nioBuffers()) {
+                this.cipher.update(buffer, buffer.duplicate());
+            }
         }
     }
+
+    /**
+     * Derived buffers may share their memory with other buffers and a higher reference count means the batch is
+     * queued or inspected elsewhere, only a buffer without either is safe to overwrite.
+     */
+    private static boolean isExclusive(ByteBuf buf) {
+        return buf.refCnt() == 1 && buf.unwrap() == null && !buf.isReadOnly() && !(buf instanceof CompositeByteBuf);
+    }
 }
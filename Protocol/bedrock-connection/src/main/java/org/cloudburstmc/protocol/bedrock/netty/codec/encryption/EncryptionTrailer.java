@@ -0,0 +1,89 @@
+package org.cloudburstmc.protocol.bedrock.netty.codec.encryption;
+
+import io.netty.buffer.ByteBuf;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the 8 byte checksum appended to every encrypted batch, the start of SHA-256(counter, payload, key).
+ * <p>
+ * The key bytes, digest and scratch space are set up once per codec, so computing a trailer does not allocate.
+ * Not thread safe, each codec owns its trailer and uses it from the event loop of its channel.
+ */
+final class EncryptionTrailer {
+    static final int SIZE = 8;
+
+    private final byte[] key;
+    private final MessageDigest digest;
+    private final byte[] counter = new byte[8];
+    private final byte[] hash;
+    private long packetCounter;
+
+    EncryptionTrailer(SecretKey key) {
+        this.key = key.getEncoded();
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+        this.hash = new byte[this.digest.getDigestLength()];
+    }
+
+    /**
+     * Computes the trailer of the readable bytes of the payload and advances the packet counter.
+     *
+     * @return scratch array holding the trailer in its first {@link #SIZE} bytes, only valid until the next call
+     */
+    byte[] generate(ByteBuf payload) {
+        long counter = this.packetCounter++;
+        for (int i = 0; i < 8; i++) {
+            this.counter[i] = (byte) (counter >>> (i << 3));
+        }
+
+        this.digest.update(this.counter);
+        int index = payload.readerIndex();
+        int length = payload.readableBytes();
+        if (payload.hasArray()) {
+            this.digest.update(payload.array(), payload.arrayOffset() + index, length);
+        } else if (payload.nioBufferCount() == 1) {
+            this.digest.update(payload.internalNioBuffer(index, length));
+        } else {
+            for (ByteBuffer buffer : payload.nioBuffers(index, length)) {
+                this.digest.update(buffer);
+            }
+        }
+        this.digest.update(this.key);
+
+        try {
+            // Resets the digest as well
+            this.digest.digest(this.hash, 0, this.hash.length);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+        return this.hash;
+    }
+
+    /**
+     * Advances the packet counter for a batch whose trailer is not checked.
+     */
+    void skip() {
+        this.packetCounter++;
+    }
+
+    /**
+     * @return whether the {@link #SIZE} bytes at the reader index of the trailer match the payload
+     */
+    boolean verify(ByteBuf payload, ByteBuf trailer) {
+        byte[] expected = this.generate(payload);
+        int index = trailer.readerIndex();
+        int difference = 0;
+        for (int i = 0; i < SIZE; i++) {
+            difference |= expected[i] ^ trailer.getByte(index + i);
+        }
+        return difference == 0;
+    }
+}
@@ -8,10 +8,12 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 import org.cloudburstmc.protocol.bedrock.PacketDirection;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
+import org.cloudburstmc.protocol.bedrock.codec.PacketSerializeException;
 import org.cloudburstmc.protocol.bedrock.codec.compat.BedrockCompat;
 import org.cloudburstmc.protocol.bedrock.data.PacketRecipient;
 import org.cloudburstmc.protocol.bedrock.netty.BedrockPacketWrapper;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RecyclablePacket;
 import org.cloudburstmc.protocol.bedrock.packet.UnknownPacket;
 
 import java.util.List;
@@ -26,6 +28,8 @@ public abstract class BedrockPacketCodec extends MessageToMessageCodec<ByteBuf,
     private BedrockCodecHelper helper = codec.createHelper();
 
     private PacketRecipient inboundRecipient;
+    private boolean lazyDecoding;
+    private boolean packetRecycling;
 
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
@@ -69,7 +73,9 @@ public abstract class BedrockPacketCodec extends MessageToMessageCodec<ByteBuf,
             int index = msg.readerIndex();
             this.decodeHeader(msg, wrapper);
             wrapper.setHeaderLength(msg.readerIndex() - index);
-            wrapper.setPacket(this.codec.tryDecode(helper, msg, wrapper.getPacketId(), this.inboundRecipient));
+            if (!this.lazyDecoding) {
+                this.decodePacket(wrapper, msg);
+            }
             out.add(wrapper.retain());
         } catch (Throwable t) {
             if (log.isDebugEnabled()) {
@@ -81,6 +87,45 @@ public abstract class BedrockPacketCodec extends MessageToMessageCodec<ByteBuf,
         }
     }
 
+    /**
+     * Deserializes the packet of a wrapper that was decoded lazily. The wrapper keeps ownership of the
+     * packet, so repeated calls return the same instance.
+     *
+     * @param wrapper inbound wrapper holding the raw packet buffer
+     * @return the decoded packet
+     */
+    public final BedrockPacket decodePacket(BedrockPacketWrapper wrapper) throws PacketSerializeException {
+        if (wrapper.getPacket() != null) {
+            return wrapper.getPacket();
+        }
+
+        ByteBuf buffer = wrapper.getPacketBuffer();
+        if (buffer == null) {
+            throw new IllegalStateException("Packet buffer has already been released");
+        }
+
+        ByteBuf body = buffer.slice(buffer.readerIndex() + wrapper.getHeaderLength(),
+                buffer.readableBytes() - wrapper.getHeaderLength());
+        try {
+            this.decodePacket(wrapper, body);
+        } catch (Throwable t) {
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to decode packet", t);
+            }
+            throw t;
+        }
+        return wrapper.getPacket();
+    }
+
+    private void decodePacket(BedrockPacketWrapper wrapper, ByteBuf body) throws PacketSerializeException {
+        BedrockPacket packet = this.codec.tryDecode(helper, body, wrapper.getPacketId(), this.inboundRecipient, this.packetRecycling);
+        if (this.packetRecycling && packet instanceof RecyclablePacket) {
+            wrapper.setPooledPacket((RecyclablePacket) packet);
+        } else {
+            wrapper.setPacket(packet);
+        }
+    }
+
     public abstract void encodeHeader(ByteBuf buf, BedrockPacketWrapper msg);
 
     public abstract void decodeHeader(ByteBuf buf, BedrockPacketWrapper msg);
@@ -104,4 +149,29 @@ public abstract class BedrockPacketCodec extends MessageToMessageCodec<ByteBuf,
     public BedrockCodecHelper getHelper() {
         return helper;
     }
+
+    /**
+     * When enabled, inbound packets are only split off their header and left undecoded. Consumers must call
+     * {@link #decodePacket(BedrockPacketWrapper)} for the packets they actually want to inspect.
+     */
+    public final void setLazyDecoding(boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+    }
+
+    public final boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * When enabled, inbound packets of {@link RecyclablePacket} types are taken from and returned to
+     * {@link org.cloudburstmc.protocol.bedrock.codec.BedrockPacketPool}. A packet is only valid until its wrapper is
+     * released, so consumers must copy anything they keep and must not send the packet itself.
+     */
+    public final void setPacketRecycling(boolean packetRecycling) {
+        this.packetRecycling = packetRecycling;
+    }
+
+    public final boolean isPacketRecycling() {
+        return packetRecycling;
+    }
 }
@@ -15,7 +15,6 @@ import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec;
 import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec_v1;
 import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec_v2;
 import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec_v3;
-import org.cloudburstmc.protocol.common.util.Zlib;
 
 public abstract class BedrockChannelInitializer<T extends BedrockSession> extends ChannelInitializer<Channel> {
 
@@ -23,8 +22,8 @@ public abstract class BedrockChannelInitializer<T extends BedrockSession> extend
     private static final FrameIdCodec RAKNET_FRAME_CODEC = new FrameIdCodec(RAKNET_MINECRAFT_ID);
     private static final BedrockBatchDecoder BATCH_DECODER = new BedrockBatchDecoder();
 
-    private static final CompressionStrategy ZLIB_RAW_STRATEGY = new SimpleCompressionStrategy(new ZlibCompression(Zlib.RAW));
-    private static final CompressionStrategy ZLIB_STRATEGY = new SimpleCompressionStrategy(new ZlibCompression(Zlib.DEFAULT));
+    private static final CompressionStrategy ZLIB_RAW_STRATEGY = new SimpleCompressionStrategy(new DeflateCompression(true));
+    private static final CompressionStrategy ZLIB_STRATEGY = new SimpleCompressionStrategy(new DeflateCompression(false));
     private static final CompressionStrategy SNAPPY_STRATEGY = new SimpleCompressionStrategy(new SnappyCompression());
     private static final CompressionStrategy NOOP_STRATEGY = new SimpleCompressionStrategy(new NoopCompression());
 
@@ -147,6 +147,7 @@ dependencies {
     implementation(libs.fastutil.long.common)
     implementation(libs.fastutil.long.obj.maps)
     implementation(libs.fastutil.int.obj.maps)
+    implementation(libs.fastutil.int.int.maps)
     implementation(libs.fastutil.obj.int.maps)
     implementation(libs.jose4j)
     implementation(libs.math)
@@ -0,0 +1,44 @@
+package com.phoenix.luminacn.constructors
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.cloudburstmc.protocol.bedrock.packet.BossEventPacket
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class PacketDispatchIndexTest {
+
+    @Test
+    fun everyRegisteredElementDeclaresItsPackets() {
+        for (element in GameManager.elements) {
+            assertNotNull("${element.name} receives every packet", element.interestedPackets)
+        }
+    }
+
+    @Test
+    fun defaultElementsLeaveUntouchedPacketsUndecoded() {
+        val index = PacketDispatchIndex(GameManager.elements)
+
+        val packets = NetBound.interestedPackets(index)
+        assertNotNull(packets)
+        assertFalse(BossEventPacket::class.java in packets!!)
+        assertTrue(index.elementsFor(BossEventPacket::class.java).isEmpty())
+    }
+
+    @Test
+    fun disabledElementsKeepTheirAlwaysInterestedPackets() {
+        val index = PacketDispatchIndex(GameManager.elements)
+
+        val receivers = index.elementsFor(PlayerAuthInputPacket::class.java)
+        for (element in GameManager.elements) {
+            if (!element.isEnabled) {
+                val always = PlayerAuthInputPacket::class.java in element.alwaysInterestedPackets
+                assertTrue(element.name, always == (element in receivers))
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.phoenix.luminacn.game.event.GameEvent
 import com.phoenix.luminacn.game.event.EventModuleToggle
 import com.phoenix.luminacn.game.module.api.setting.ChoiceValue
 import kotlinx.serialization.json.*
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 import kotlin.properties.Delegates
 
 import androidx.compose.runtime.getValue
@@ -45,6 +46,20 @@ abstract class Element(
     open lateinit var session: NetBound
     private var _isEnabled by mutableStateOf(defaultEnabled)
 
+    /**
+     * Packet classes handled in [beforePacketBound] and [afterPacketBound] while enabled, or null to receive every
+     * packet whether enabled or not. A single null keeps every relayed packet decoded, registered elements declare theirs.
+     */
+    open val interestedPackets: Set<Class<out BedrockPacket>>?
+        get() = null
+
+    /**
+     * Packet classes handled even while disabled, such as those used to undo the element's effect.
+     * Only consulted when [interestedPackets] is declared.
+     */
+    open val alwaysInterestedPackets: Set<Class<out BedrockPacket>>
+        get() = emptySet()
+
     protected val handlers = mutableListOf<EventHook<in GameEvent>>()
     lateinit var moduleManager: GameManager
 
@@ -67,6 +82,7 @@ abstract class Element(
             }
 
             _isEnabled = value
+            GameManager.invalidatePacketDispatch()
             if (value) {
                 onEnabled()
             } else {
@@ -192,4 +208,4 @@ abstract class Element(
             Log.w("AppCrashChan :3", "Failed to show module notification: ${e.message}")
         }
     }
-}
\ No newline at end of file
+}
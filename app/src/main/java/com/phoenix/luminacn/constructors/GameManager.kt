@@ -190,6 +190,16 @@ object GameManager {
     }
 
 
+    @Volatile
+    private var packetDispatch: PacketDispatchIndex? = null
+
+    val packetDispatchIndex: PacketDispatchIndex
+        get() = packetDispatch ?: PacketDispatchIndex(elements).also { packetDispatch = it }
+
+    fun invalidatePacketDispatch() {
+        packetDispatch = null
+    }
+
     var netBound: NetBound? = null
         private set
 
@@ -29,12 +29,40 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.cloudburstmc.math.vector.Vector3f
+import org.cloudburstmc.protocol.bedrock.packet.AddEntityPacket
+import org.cloudburstmc.protocol.bedrock.packet.AddItemEntityPacket
+import org.cloudburstmc.protocol.bedrock.packet.AddPlayerPacket
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
+import org.cloudburstmc.protocol.bedrock.packet.ChangeDimensionPacket
+import org.cloudburstmc.protocol.bedrock.packet.ChunkRadiusUpdatedPacket
+import org.cloudburstmc.protocol.bedrock.packet.ContainerClosePacket
+import org.cloudburstmc.protocol.bedrock.packet.ContainerOpenPacket
+import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket
+import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket
+import org.cloudburstmc.protocol.bedrock.packet.InventoryTransactionPacket
+import org.cloudburstmc.protocol.bedrock.packet.ItemStackRequestPacket
+import org.cloudburstmc.protocol.bedrock.packet.ItemStackResponsePacket
+import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket
 import org.cloudburstmc.protocol.bedrock.packet.StartGamePacket
 import org.cloudburstmc.protocol.bedrock.packet.TextPacket
 import org.cloudburstmc.protocol.bedrock.packet.PlayerListPacket
 import org.cloudburstmc.protocol.bedrock.packet.LevelEventPacket
+import org.cloudburstmc.protocol.bedrock.packet.MobArmorEquipmentPacket
+import org.cloudburstmc.protocol.bedrock.packet.MobEffectPacket
+import org.cloudburstmc.protocol.bedrock.packet.MobEquipmentPacket
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityAbsolutePacket
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket
+import org.cloudburstmc.protocol.bedrock.packet.MovePlayerPacket
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
+import org.cloudburstmc.protocol.bedrock.packet.PlayerHotbarPacket
+import org.cloudburstmc.protocol.bedrock.packet.RemoveEntityPacket
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityDataPacket
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityLinkPacket
 import org.cloudburstmc.protocol.bedrock.packet.SetTimePacket
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkPacket
+import org.cloudburstmc.protocol.bedrock.packet.TakeItemEntityPacket
+import org.cloudburstmc.protocol.bedrock.packet.UpdateAttributesPacket
+import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket
 import java.util.Collections
 import java.util.UUID
 
@@ -83,6 +111,24 @@ class NetBound(val luminaRelaySession: LuminaRelaySession) : ComposedPacketHandl
     private var minimapDotSize = 5
     private var tracersEnabled = false
 
+    @Volatile
+    private var interest: Pair<PacketDispatchIndex, Set<Class<out BedrockPacket>>?>? = null
+
+    /**
+     * Packets tracked by the session state plus those handled by the current elements.
+     */
+    override val interestedPackets: Set<Class<out BedrockPacket>>?
+        get() {
+            if (eventManager.hasHandlers(EventPacketInbound::class.java)) return null
+
+            val index = GameManager.packetDispatchIndex
+            interest?.let { (cached, packets) -> if (cached === index) return packets }
+
+            val packets = interestedPackets(index)
+            interest = index to packets
+            return packets
+        }
+
     private val versionName by lazy(LazyThreadSafetyMode.SYNCHRONIZED) {
         AppContext.instance.packageManager.getPackageInfo(
             AppContext.instance.packageName, 0
@@ -150,10 +196,13 @@ class NetBound(val luminaRelaySession: LuminaRelaySession) : ComposedPacketHandl
 
         if (event.isCanceled()) return true
 
-        val interceptablePacket = InterceptablePacket(packet)
-        for (module in GameManager.elements) {
-            module.beforePacketBound(interceptablePacket)
-            if (interceptablePacket.isIntercepted) return true
+        val modules = GameManager.packetDispatchIndex.elementsFor(packet.javaClass)
+        if (modules.isNotEmpty()) {
+            val interceptablePacket = InterceptablePacket(packet)
+            for (module in modules) {
+                module.beforePacketBound(interceptablePacket)
+                if (interceptablePacket.isIntercepted) return true
+            }
         }
 
         if (!welcomeTipShown && packet is StartGamePacket) {
@@ -173,7 +222,7 @@ class NetBound(val luminaRelaySession: LuminaRelaySession) : ComposedPacketHandl
     }
 
     override fun afterPacketBound(packet: BedrockPacket) {
-        for (module in GameManager.elements) {
+        for (module in GameManager.packetDispatchIndex.elementsFor(packet.javaClass)) {
             module.afterPacketBound(packet)
         }
     }
@@ -427,4 +476,51 @@ class NetBound(val luminaRelaySession: LuminaRelaySession) : ComposedPacketHandl
             TargetHudOverlay.showTargetHud(user, null, distance, maxdistance, hurtTime)
         }
     }
+
+    companion object {
+
+        /**
+         * Packets read by the world, level, local player and inventory trackers.
+         */
+        private val SESSION_PACKETS: Set<Class<out BedrockPacket>> = setOf(
+            StartGamePacket::class.java,
+            TextPacket::class.java,
+            PlayerListPacket::class.java,
+            LevelChunkPacket::class.java,
+            SubChunkPacket::class.java,
+            ChunkRadiusUpdatedPacket::class.java,
+            ChangeDimensionPacket::class.java,
+            UpdateBlockPacket::class.java,
+            AddEntityPacket::class.java,
+            AddItemEntityPacket::class.java,
+            AddPlayerPacket::class.java,
+            RemoveEntityPacket::class.java,
+            TakeItemEntityPacket::class.java,
+            MoveEntityAbsolutePacket::class.java,
+            MoveEntityDeltaPacket::class.java,
+            MovePlayerPacket::class.java,
+            SetEntityDataPacket::class.java,
+            SetEntityLinkPacket::class.java,
+            UpdateAttributesPacket::class.java,
+            MobEffectPacket::class.java,
+            MobEquipmentPacket::class.java,
+            MobArmorEquipmentPacket::class.java,
+            PlayerAuthInputPacket::class.java,
+            PlayerHotbarPacket::class.java,
+            ContainerOpenPacket::class.java,
+            ContainerClosePacket::class.java,
+            InventoryContentPacket::class.java,
+            InventorySlotPacket::class.java,
+            InventoryTransactionPacket::class.java,
+            ItemStackRequestPacket::class.java,
+            ItemStackResponsePacket::class.java
+        )
+
+        /**
+         * Packets a session decodes for the elements of [index], or null if every packet has to be decoded.
+         */
+        internal fun interestedPackets(index: PacketDispatchIndex): Set<Class<out BedrockPacket>>? {
+            return index.interestedPackets?.let { SESSION_PACKETS + it }
+        }
+    }
 }
\ No newline at end of file
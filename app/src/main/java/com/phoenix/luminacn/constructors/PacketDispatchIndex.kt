@@ -0,0 +1,39 @@
+package com.phoenix.luminacn.constructors
+
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Snapshot of which elements receive each packet class, in element registration order.
+ * Built from the enabled state at creation time, [GameManager] replaces it whenever an element is toggled.
+ */
+class PacketDispatchIndex(private val elements: List<Element>) {
+
+    private val byPacket = ConcurrentHashMap<Class<out BedrockPacket>, List<Element>>()
+
+    /**
+     * Union of the packets handled by the elements, or null if any element receives every packet.
+     */
+    val interestedPackets: Set<Class<out BedrockPacket>>? = run {
+        val packets = HashSet<Class<out BedrockPacket>>()
+        for (element in elements) {
+            val interested = element.interestedPackets ?: return@run null
+            if (element.isEnabled) {
+                packets.addAll(interested)
+            }
+            packets.addAll(element.alwaysInterestedPackets)
+        }
+        packets
+    }
+
+    fun elementsFor(packetClass: Class<out BedrockPacket>): List<Element> {
+        return byPacket.computeIfAbsent(packetClass) {
+            elements.filter { element ->
+                element.interestedPackets?.let {
+                    element.isEnabled && packetClass in it || packetClass in element.alwaysInterestedPackets
+                } ?: true
+            }
+        }
+    }
+
+}
@@ -25,6 +25,10 @@ class EventManager {
 
 
 
+	fun hasHandlers(eventClass: Class<out GameEvent>): Boolean {
+		return registry[eventClass]?.isNotEmpty() == true
+	}
+
 	@Suppress("unchecked_cast")
     inline fun <reified T : GameEvent> listenNoCondition(noinline handler: Handler<T>) {
         register(EventHook(T::class.java, handler) as EventHook<in GameEvent>)
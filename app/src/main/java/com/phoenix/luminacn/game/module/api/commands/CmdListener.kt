@@ -15,6 +15,7 @@ import com.phoenix.luminacn.game.InterceptablePacket
 import com.phoenix.luminacn.remlink.TerminalViewModel
 import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 import org.cloudburstmc.protocol.bedrock.packet.TextPacket
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class CmdListener(gameManager: GameManager) : Element(
     name = "ChatListener",
@@ -66,6 +67,13 @@ class CmdListener(gameManager: GameManager) : Element(
         }
     }
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(
+        PlayerAuthInputPacket::class.java,
+        TextPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isModuleEnabled) return
 
@@ -35,6 +35,7 @@ import android.provider.Settings
 import android.util.Log
 import androidx.core.content.ContextCompat
 import kotlinx.serialization.json.jsonObject
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class ConfigManagerElement : Element(
     name = "config_manager",
@@ -388,6 +389,8 @@ class ConfigManagerElement : Element(
     /**
      * Required implementation of abstract method from Module
      */
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
     override fun beforePacketBound(packet: InterceptablePacket): Unit {
         
     }
@@ -8,6 +8,7 @@ import com.phoenix.luminacn.game.entity.LocalPlayer
 import com.phoenix.luminacn.util.AssetManager
 import com.phoenix.luminacn.game.InterceptablePacket
 import com.phoenix.luminacn.game.module.api.setting.stringValue
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class AntiBotElement(iconResId: Int = AssetManager.getAsset("ic_ghost_black_24dp")) : Element(
     name = "AntiBot",
@@ -49,6 +50,8 @@ class AntiBotElement(iconResId: Int = AssetManager.getAsset("ic_ghost_black_24dp
             }
         }
 
+        override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
         override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         }
     }
\ No newline at end of file
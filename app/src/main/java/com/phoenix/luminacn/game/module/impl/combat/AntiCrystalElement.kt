@@ -15,6 +15,8 @@ class AntiCrystalElement(iconResId: Int = AssetManager.getAsset("dice_d20_36"))
 ) {
     private var ylevel by floatValue("Y 轴", 0.4f, 0.1f..1.61f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
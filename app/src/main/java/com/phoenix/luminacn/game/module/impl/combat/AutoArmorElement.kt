@@ -19,6 +19,7 @@ import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData
 import org.cloudburstmc.protocol.bedrock.packet.ContainerClosePacket
 import org.cloudburstmc.protocol.bedrock.packet.ContainerOpenPacket
 import org.cloudburstmc.protocol.bedrock.packet.InteractPacket
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class AutoArmorElement(iconResId: Int = AssetManager.getAsset("ic_heart_black_24dp")) : Element(
     name = "AutoArmor",
@@ -34,6 +35,8 @@ class AutoArmorElement(iconResId: Int = AssetManager.getAsset("ic_heart_black_24
     private var hasSimulatedWaitForClose = false
     private var lastActionTime = 0L
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {}
 
     private val armorSlots = arrayOf(
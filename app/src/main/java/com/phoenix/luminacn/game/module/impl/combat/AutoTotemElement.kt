@@ -10,6 +10,7 @@ import com.phoenix.luminacn.game.inventory.PlayerInventory
 import com.phoenix.luminacn.game.registry.itemDefinition
 import com.phoenix.luminacn.util.AssetManager
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 /**
  * AutoTotemElement is a module that automatically moves a Totem of Undying
@@ -27,6 +28,8 @@ class AutoTotemElement(iconResId: Int = AssetManager.getAsset("ic_heart_black_24
 ) {
     val autoTotemEnabled by boolValue("AutoTotem", true)
     private var tickListener: EventHook<EventTick>? = null
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
     }
     override fun onEnabled() {
@@ -101,6 +101,12 @@ class CritBotElement(iconResId: Int = AssetManager.getAsset("ic_angle")) : Eleme
         }
     }
 
+    override val interestedPackets = setOf(
+        MovePlayerPacket::class.java,
+        PlayerActionPacket::class.java,
+        SetEntityMotionPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || !isSessionCreated) return
 
@@ -26,6 +26,8 @@ class DamageBoostElement(iconResId: Int = AssetManager.getAsset("ic_border_outer
     private var lastYaw: Float = 0.0f
     private var isPlayerMoving: Boolean = false
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java, SetEntityMotionPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -43,6 +43,8 @@ class FightBotElement(iconResId: Int = AssetManager.getAsset("ic_eye")) : Elemen
 
     private var lastAttackTime = 0L
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
         if (interceptablePacket.packet !is PlayerAuthInputPacket) return
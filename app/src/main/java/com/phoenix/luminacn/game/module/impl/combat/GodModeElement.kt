@@ -28,6 +28,8 @@ class GodModeElement(iconResId: Int = AssetManager.getAsset("ic_ghost_black_24dp
     private val GHOST_OFFSET get() = Vector3f.from(ghostX, ghostY, ghostZ)
 
 
+    override val interestedPackets = setOf(MovePlayerPacket::class.java, PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
         val packet = interceptablePacket.packet
@@ -28,6 +28,8 @@ class HitboxElement(iconResId: Int = AssetManager.getAsset("ic_box")) : Element(
     private var lastParticleTime = 0L
     private val particleInterval = 500L
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
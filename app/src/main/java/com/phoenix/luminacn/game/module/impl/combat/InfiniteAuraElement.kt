@@ -76,6 +76,8 @@ class InfiniteAuraElement(iconResId: Int = AssetManager.getAsset("ic_analyze"))
         serverSidePos = session.localPlayer.vec3Position
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
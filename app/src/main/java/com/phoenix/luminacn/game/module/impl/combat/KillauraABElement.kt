@@ -34,6 +34,8 @@ class KillauraABElement(iconResId: Int = AssetManager.getAsset("ic_sword_cross_b
     private var switchIndex = 0
     private var lastNotificationTime = 0L
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || interceptablePacket.packet !is PlayerAuthInputPacket) return
 
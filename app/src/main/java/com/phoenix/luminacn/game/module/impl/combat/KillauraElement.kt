@@ -39,6 +39,8 @@ class KillauraElement(iconResId: Int = AssetManager.getAsset("ic_sword_cross_bla
     private var tpCooldown = 0L
     private var lastNotificationTime = 0L
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || interceptablePacket.packet !is PlayerAuthInputPacket) return
 
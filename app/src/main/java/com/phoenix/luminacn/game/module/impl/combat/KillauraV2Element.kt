@@ -38,6 +38,8 @@ class KillauraV2Element(
     private val particleInterval = 500L
     private var lastAttackTime = 0L
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
         val packet = interceptablePacket.packet
@@ -75,6 +75,8 @@ class MaceAuraElement(iconResId: Int = AssetManager.getAsset("ic_cube_scan_black
     private var packetsSent = 0
     private var packetsRequired = 0
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
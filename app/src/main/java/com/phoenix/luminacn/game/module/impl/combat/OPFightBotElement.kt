@@ -50,6 +50,8 @@ class OPFightBotElement(iconResId: Int = AssetManager.getAsset("ic_eye")) : Elem
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
         if (interceptablePacket.packet !is PlayerAuthInputPacket) return
@@ -87,6 +87,8 @@ class QuickAttackElement(iconResId: Int = AssetManager.getAsset("ic_flash_black_
         resetState()
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || interceptablePacket.packet !is PlayerAuthInputPacket) return
 
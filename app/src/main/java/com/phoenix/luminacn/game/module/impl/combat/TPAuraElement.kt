@@ -34,6 +34,8 @@ class TPAuraElement(iconResId: Int = AssetManager.getAsset("ic_dice_3_outline_bl
     
     private var lastTeleportTime = 0L
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -71,6 +71,8 @@ class TriggerBotElement(iconResId: Int = AssetManager.getAsset("ic_bullseye_arro
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
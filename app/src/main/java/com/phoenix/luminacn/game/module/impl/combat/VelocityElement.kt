@@ -107,6 +107,8 @@ class VelocityElement(iconResId: Int = AssetManager.getAsset("ic_file_download_b
         }
     }
 
+    override val interestedPackets = setOf(SetEntityMotionPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
@@ -129,6 +129,14 @@ class AntiKickElement : Element(
         }
     }
 
+    override val interestedPackets = setOf(
+        DisconnectPacket::class.java,
+        NetworkSettingsPacket::class.java,
+        PlayStatusPacket::class.java,
+        PlayerAuthInputPacket::class.java,
+        TransferPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
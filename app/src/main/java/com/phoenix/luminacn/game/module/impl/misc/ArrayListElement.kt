@@ -5,6 +5,8 @@ import com.phoenix.luminacn.constructors.Element
 import com.phoenix.luminacn.game.InterceptablePacket
 import com.phoenix.luminacn.constructors.CheatCategory
 import com.phoenix.luminacn.util.AssetManager
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 
 class ArrayListElement(iconResId: Int = AssetManager.getAsset("ic_alien")) : Element(
     name = "ArrayList",
@@ -20,6 +22,10 @@ class ArrayListElement(iconResId: Int = AssetManager.getAsset("ic_alien")) : Ele
     private var splitStyle = false
     private var outlineStyle = false
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             session.enableArrayList(false)
@@ -19,6 +19,8 @@ class ChestStealerElement : Element(
     private val delayMs = 150L
     private var lastStealTime = 0L
 
+    override val interestedPackets = setOf(ContainerOpenPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
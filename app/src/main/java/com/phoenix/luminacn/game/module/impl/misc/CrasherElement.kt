@@ -43,6 +43,7 @@ import com.phoenix.luminacn.constructors.CheatCategory
 import com.phoenix.luminacn.util.AssetManager
 import org.cloudburstmc.math.vector.Vector3i
 import org.cloudburstmc.protocol.bedrock.packet.SubChunkRequestPacket
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 
 
 
@@ -54,6 +55,8 @@ class CrasherElement(iconResId: Int = AssetManager.getAsset("ic_at_off")) : Elem
     iconResId = iconResId
 ) {
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
@@ -52,6 +52,8 @@ class DesyncElement(iconResId: Int = AssetManager.getAsset("ic_timer_sand_black_
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || !isDesynced) {
             return
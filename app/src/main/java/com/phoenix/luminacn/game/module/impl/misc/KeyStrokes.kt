@@ -56,6 +56,8 @@ class KeyStrokes : Element(
 
 
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(p: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -33,6 +33,8 @@ class PingSpoofElement(iconResId: Int = AssetManager.getAsset("ic_timer_sand_bla
         pendingResponses.clear()
     }
 
+    override val interestedPackets = setOf(NetworkStackLatencyPacket::class.java, PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
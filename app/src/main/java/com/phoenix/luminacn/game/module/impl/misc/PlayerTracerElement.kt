@@ -115,6 +115,12 @@ class PlayerTracerElement : Element(
     }
 
     
+    override val interestedPackets = setOf(
+        MoveEntityAbsolutePacket::class.java,
+        PlayerAuthInputPacket::class.java,
+        PlayerListPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
@@ -24,6 +24,8 @@ class PositionLoggerElement : Element(
 
     private val logInterval by intValue("间隔", 5000, 1000..60000)
 
+    override val interestedPackets = setOf(MoveEntityAbsolutePacket::class.java, PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
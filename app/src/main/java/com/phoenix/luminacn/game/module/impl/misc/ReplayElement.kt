@@ -84,6 +84,8 @@ class ReplayElement : Element(
     private var playbackThread: Thread? = null
     private var originalPosition: Vector3f? = null
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -43,6 +43,7 @@ import com.phoenix.luminacn.overlay.mods.SessionStatsOverlay
 import com.phoenix.luminacn.util.AssetManager
 import org.cloudburstmc.protocol.bedrock.packet.AnimatePacket
 import kotlin.math.floor
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 
 class SessionInfoElement(iconResId: Int = AssetManager.getAsset("ic_info_hexagon"))  : Element(
     name = "SessionInfo",
@@ -79,6 +80,10 @@ class SessionInfoElement(iconResId: Int = AssetManager.getAsset("ic_info_hexagon
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
+    override val alwaysInterestedPackets = setOf(AnimatePacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         val packet = interceptablePacket.packet
         val currentTime = System.currentTimeMillis()
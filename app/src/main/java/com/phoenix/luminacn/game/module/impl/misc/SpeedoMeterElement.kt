@@ -69,6 +69,8 @@ class SpeedoMeterElement(iconResId: Int = AssetManager.getAsset("ic_speedometer_
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -11,6 +11,8 @@ import com.phoenix.luminacn.game.entity.Player
 import com.phoenix.luminacn.overlay.mods.TargetHudOverlay
 import java.util.Locale
 import com.phoenix.luminacn.util.AssetManager
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 
 class TargetHud(iconResId: Int = AssetManager.getAsset("ic_target")) : Element(
     name = "TargetHud",
@@ -23,6 +25,10 @@ class TargetHud(iconResId: Int = AssetManager.getAsset("ic_target")) : Element(
     private val rangeValue = 7f
     private val maxDistance by floatValue("最大距离", 7f, 1f..10f )
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             try {
@@ -17,6 +17,8 @@ class TimeShiftElement : Element(
     private var lastTimeUpdate = 0L
     private var timeMultiplier by floatValue("时间调整", 2f, 0.1f..10f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
@@ -6,6 +6,8 @@ import com.phoenix.luminacn.constructors.Element
 import com.phoenix.luminacn.game.InterceptablePacket
 import com.phoenix.luminacn.game.module.api.setting.stringValue
 import com.phoenix.luminacn.util.AssetManager
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 
 class ToggleSound : Element(
     name = "ToggleSound",
@@ -15,6 +17,10 @@ class ToggleSound : Element(
 ) {
     private var selectedSound by stringValue("音效选择", "protohax", listOf("天体", "Nursultan", "舒适", "protohax", "syneo", "sybrse"))
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             session.toggleSounds(false)
@@ -7,6 +7,7 @@ import com.phoenix.luminacn.constructors.Element
 import com.phoenix.luminacn.constructors.CheatCategory
 import com.phoenix.luminacn.overlay.mods.ClientOverlay
 import com.phoenix.luminacn.util.AssetManager
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class WaterMarkElement(
     iconResId: Int = AssetManager.getAsset("ic_waterpolo")
@@ -43,6 +44,8 @@ class WaterMarkElement(
         handler.removeCallbacksAndMessages(null)
     }
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
     }
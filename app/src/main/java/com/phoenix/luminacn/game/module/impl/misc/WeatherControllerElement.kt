@@ -24,6 +24,8 @@ class WeatherControllerElement : Element(
     private var lastUpdate = 0L
     private var lastPosition = Vector3f.ZERO
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
@@ -24,6 +24,8 @@ class AntiAFKElement(iconResId: Int = AssetManager.getAsset("ic_app_update")) :
     private var lastGlitchTime = 0L
     private var lastActionTime = System.currentTimeMillis()
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
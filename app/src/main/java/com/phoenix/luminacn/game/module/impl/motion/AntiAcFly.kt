@@ -40,6 +40,8 @@ class AntiACFly(iconResId: Int = AssetManager.getAsset("ic_menu_arrow_up_black_2
     private var jitterState = false
     private var effectiveGlideSpeed: Float = 0.0f
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
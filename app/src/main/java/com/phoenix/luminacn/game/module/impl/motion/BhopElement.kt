@@ -22,6 +22,8 @@ class BhopElement(iconResId: Int = AssetManager.getAsset("ic_chevron_double_up_b
     private var lastMotionTime = 0L
     private var speed by floatValue("速度", 0.5f, 0.1f..1f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
 
         val packet = interceptablePacket.packet
@@ -35,6 +35,8 @@ class FarSightElement(iconResId: Int = AssetManager.getAsset("ic_farsight")) : E
     private var derpTargetPitch = 0f
     private var lastDerpUpdate = 0L
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
         val packet = interceptablePacket.packet
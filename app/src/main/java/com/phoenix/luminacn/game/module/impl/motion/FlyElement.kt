@@ -15,6 +15,7 @@ import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 import org.cloudburstmc.protocol.bedrock.packet.RequestAbilityPacket
 import org.cloudburstmc.protocol.bedrock.packet.SetEntityMotionPacket
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAbilitiesPacket
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 
 class FlyElement(iconResId: Int = AssetManager.getAsset("ic_feather_black_24dp")) : Element(
@@ -76,6 +77,14 @@ class FlyElement(iconResId: Int = AssetManager.getAsset("ic_feather_black_24dp")
 
     private var canFly = false
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(
+        PlayerAuthInputPacket::class.java,
+        RequestAbilityPacket::class.java,
+        UpdateAbilitiesPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         val packet = interceptablePacket.packet
         if (packet is RequestAbilityPacket && packet.ability == Ability.FLYING) {
@@ -19,6 +19,8 @@ class FullStopElement(iconResId: Int = AssetManager.getAsset("ic_arrow_collapse_
     private var lastKeyState: Boolean = false
     private var lastYVelocity: Float = 0.0f
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java, SetEntityMotionPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
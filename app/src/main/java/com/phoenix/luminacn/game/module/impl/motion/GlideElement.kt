@@ -57,6 +57,8 @@ class GlideElement(iconResId: Int = AssetManager.getAsset("ic_fan_black_24dp"))
     private var glideSpeed by floatValue("滑行速度", 0.3f, 0.1f..0.8f)
     private var descentRate by floatValue("下降率", 0.05f, 0.01f..0.1f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
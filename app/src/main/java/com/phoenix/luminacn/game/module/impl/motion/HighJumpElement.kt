@@ -20,6 +20,8 @@ class HighJumpElement(iconResId: Int = AssetManager.getAsset("ic_chevron_double_
 
     private var jumpHeight by floatValue("跳跃高度", 1f, 0.5f..5f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
@@ -21,6 +21,8 @@ class JetPackElement(iconResId: Int = AssetManager.getAsset("ic_ethereum_black_2
 
     private var speed by floatValue("速度", 0.5f, 0.1f..1.5f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
@@ -30,6 +30,8 @@ class JitterFlyElement(iconResId: Int = AssetManager.getAsset("ic_menu_arrow_up_
     private var jitterState = false
     private var effectiveGlideSpeed: Float = 0.0f
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
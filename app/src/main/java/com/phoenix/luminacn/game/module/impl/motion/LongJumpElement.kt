@@ -60,6 +60,8 @@ class LongJumpElement(iconResId: Int = AssetManager.getAsset("ic_waves_black_24d
 
     private var jumped = false
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -22,6 +22,8 @@ class SpeedElement(iconResId: Int = AssetManager.getAsset("ic_run_black_24dp"))
     private var speedMultiplier by floatValue("速度", 1.5f, 1.1f..3.0f)
 
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
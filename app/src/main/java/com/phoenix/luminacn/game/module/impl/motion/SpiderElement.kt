@@ -54,6 +54,8 @@ class SpiderElement(iconResId: Int = AssetManager.getAsset("ic_spider_black_24dp
 ) {
     private var climbSpeed by floatValue("爬墙速度", 0.5f, 0.1f..2.0f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -7,6 +7,7 @@ import com.phoenix.luminacn.constructors.CheatCategory
 import com.phoenix.luminacn.util.AssetManager
 import org.cloudburstmc.protocol.bedrock.data.PlayerAuthInputData
 import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class SprintElement(iconResId: Int = AssetManager.getAsset("ic_run_fast_black_24dp")) : Element(
     name = "Sprint",
@@ -14,6 +15,10 @@ class SprintElement(iconResId: Int = AssetManager.getAsset("ic_run_fast_black_24
     iconResId,
     displayNameResId = AssetManager.getString("module_sprint_display_name")
 ) {
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         val packet = interceptablePacket.packet
 
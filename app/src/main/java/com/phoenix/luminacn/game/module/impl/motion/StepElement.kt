@@ -54,6 +54,8 @@ class StepElement(iconResId: Int = AssetManager.getAsset("ic_welcome")) : Elemen
 ) {
     private var stepHeight by floatValue("高度", 1.0f, 0.5f..2.5f)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -63,6 +63,8 @@ class AntiBlindElement(iconResId: Int = AssetManager.getAsset("ic_eye_off")) : E
         }
     }
 
+    override val interestedPackets = setOf(MobEffectPacket::class.java, PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -13,6 +13,7 @@ import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import android.graphics.Paint
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 class ArrayListShiyiElement(iconResId: Int = AssetManager.getAsset("ic_alien")) : Element(
     name = "ArrayList2",
     category = CheatCategory.Visual,
@@ -138,6 +139,8 @@ class ArrayListShiyiElement(iconResId: Int = AssetManager.getAsset("ic_alien"))
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || !isSessionCreated) return
 
@@ -18,6 +18,8 @@ class DamageTextElement(
     displayNameResId = AssetManager.getString("module_damage_text_display_name")
 ) {
 
+    override val interestedPackets = setOf(EntityEventPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
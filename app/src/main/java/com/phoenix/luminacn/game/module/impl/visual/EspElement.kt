@@ -18,6 +18,7 @@ import org.cloudburstmc.math.vector.Vector2f
 import org.cloudburstmc.math.vector.Vector3f
 import kotlin.math.cos
 import kotlin.math.sin
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class EspElement(iconResId: Int = AssetManager.getAsset("ic_eye_black_24dp")) : Element(
     name = "ESP",
@@ -46,6 +47,8 @@ class EspElement(iconResId: Int = AssetManager.getAsset("ic_eye_black_24dp")) :
     private val showNames by boolValue("show_names", true)
 
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
     }
 
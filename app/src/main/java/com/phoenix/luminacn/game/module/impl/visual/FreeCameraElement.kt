@@ -24,6 +24,7 @@ import org.cloudburstmc.protocol.bedrock.packet.SetPlayerGameTypePacket
 import org.cloudburstmc.protocol.bedrock.packet.TextPacket
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAbilitiesPacket
 import com.phoenix.luminacn.util.AssetManager
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class FreeCameraElement(iconResId: Int = AssetManager.getAsset("ic_movie_open_black_24dp")) : Element(
     name = "FreeCam",
@@ -158,6 +159,14 @@ class FreeCameraElement(iconResId: Int = AssetManager.getAsset("ic_movie_open_bl
         })
     }
     private var canFly = true
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(
+        PlayerAuthInputPacket::class.java,
+        RequestAbilityPacket::class.java,
+        UpdateAbilitiesPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
 
         val packet = interceptablePacket.packet
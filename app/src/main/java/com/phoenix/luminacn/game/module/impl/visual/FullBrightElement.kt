@@ -57,6 +57,8 @@ class FullBrightElement(iconResId: Int = AssetManager.getAsset("video_camera_alt
         }
     }
 
+    override val interestedPackets = setOf(MobEffectPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
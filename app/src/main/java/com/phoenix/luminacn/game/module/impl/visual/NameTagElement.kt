@@ -17,6 +17,7 @@ import org.cloudburstmc.math.vector.Vector2d
 import kotlin.math.cos
 import kotlin.math.sin
 import com.phoenix.luminacn.util.AssetManager
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class NameTagElement(iconResId: Int = AssetManager.getAsset("ic_guy_fawkes_mask_black_24dp")) : Element(
     name = "NameTage",
@@ -29,6 +30,8 @@ class NameTagElement(iconResId: Int = AssetManager.getAsset("ic_guy_fawkes_mask_
     private val originalSizeValue by boolValue("OriginalSize", false)
     private val avoidScreenValue by boolValue("AvoidScreen", true)
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
     }
 
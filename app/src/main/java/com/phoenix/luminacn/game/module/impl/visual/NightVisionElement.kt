@@ -36,6 +36,8 @@ class NightVisionElement(iconResId: Int = AssetManager.getAsset("ic_camera_outli
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
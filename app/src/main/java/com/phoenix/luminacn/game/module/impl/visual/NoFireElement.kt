@@ -14,6 +14,8 @@ class NoFireElement : Element(
     displayNameResId = AssetManager.getString("module_nofire")
 ) {
 
+    override val interestedPackets = setOf(SetEntityDataPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
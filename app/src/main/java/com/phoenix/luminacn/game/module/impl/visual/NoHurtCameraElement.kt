@@ -15,6 +15,8 @@ class NoHurtCameraElement(iconResId: Int = AssetManager.getAsset("ic_creeper_bla
     displayNameResId = AssetManager.getString("module_no_hurt_camera_display_name")
 ) {
 
+    override val interestedPackets = setOf(EntityEventPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) {
             return
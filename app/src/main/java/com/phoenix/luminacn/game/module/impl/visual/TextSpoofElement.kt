@@ -16,6 +16,8 @@ class TextSpoofElement(iconResId: Int = AssetManager.getAsset("ic_script")) : El
     private var oldTextValue: String = "steve"
     private var newTextValue: String = "LuminaCN User"
 
+    override val interestedPackets = setOf(TextPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
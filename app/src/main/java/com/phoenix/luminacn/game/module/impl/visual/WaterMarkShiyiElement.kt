@@ -11,6 +11,7 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
+import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 
 class WaterMarkShiyiElement(
     iconResId: Int = AssetManager.getAsset("ic_waterpolo")
@@ -97,6 +98,8 @@ class WaterMarkShiyiElement(
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || !isSessionCreated) return
 
@@ -11,6 +11,7 @@ import org.cloudburstmc.protocol.bedrock.data.command.CommandPermission
 import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAbilitiesPacket
 import com.phoenix.luminacn.util.AssetManager
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class ZoomElement(iconResId: Int = AssetManager.getAsset("ic_zoom_in_black_24dp")) : Element(
     name = "Zoom",
@@ -65,6 +66,10 @@ class ZoomElement(iconResId: Int = AssetManager.getAsset("ic_zoom_in_black_24dp"
 
     private var isZoomEnabled = false
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         val packet = interceptablePacket.packet
         if (packet is PlayerAuthInputPacket) {
@@ -49,6 +49,8 @@ class AutoNavigatorElement : Element(
         }
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java, TextPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if(!isEnabled) return
         val packet = interceptablePacket.packet
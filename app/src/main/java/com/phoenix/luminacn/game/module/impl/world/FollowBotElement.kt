@@ -22,6 +22,8 @@ class FollowBotElement : Element(
     private var speed by floatValue("速度", 3.0f, 1.0f..7.0f)
     private var passive by boolValue("被动", false)
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
         if (interceptablePacket.packet !is PlayerAuthInputPacket) return
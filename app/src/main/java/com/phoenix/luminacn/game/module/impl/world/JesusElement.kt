@@ -51,6 +51,8 @@ class JesusElement : Element(
     private var hoverHeight by floatValue("Height", 0.1f, 0.0f..0.5f)
     private var assumeLiquid by boolValue("Is Liquid", false) 
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled) return
 
@@ -101,6 +101,8 @@ class MinimapElement : Element(
         session.updateDotSize(dotSizeOption)
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || !isSessionCreated) return
 
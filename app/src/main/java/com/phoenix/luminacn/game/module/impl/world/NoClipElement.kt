@@ -12,6 +12,7 @@ import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 import org.cloudburstmc.protocol.bedrock.packet.RequestAbilityPacket
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAbilitiesPacket
 import kotlin.collections.addAll
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class NoClipElement(iconResId: Int = R.drawable.ic_circle_double_black_24dp) : Element(
     name = "NoClip",
@@ -73,6 +74,14 @@ class NoClipElement(iconResId: Int = R.drawable.ic_circle_double_black_24dp) : E
 
     private var speed by floatValue("速度", 0.5f, 0.1f..2.0f)
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(
+        PlayerAuthInputPacket::class.java,
+        RequestAbilityPacket::class.java,
+        UpdateAbilitiesPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         val packet = interceptablePacket.packet
         if (packet is RequestAbilityPacket && packet.ability == Ability.NO_CLIP) {
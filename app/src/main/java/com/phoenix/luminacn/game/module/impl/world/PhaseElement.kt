@@ -13,6 +13,7 @@ import org.cloudburstmc.protocol.bedrock.packet.PlayerAuthInputPacket
 import org.cloudburstmc.protocol.bedrock.packet.RequestAbilityPacket
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAbilitiesPacket
 import kotlin.collections.addAll
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
 
 class PhaseElement(iconResId: Int = AssetManager.getAsset("ic_ghost_black_24dp")) : Element(
     name = "Phase",
@@ -73,6 +74,14 @@ class PhaseElement(iconResId: Int = AssetManager.getAsset("ic_ghost_black_24dp")
 
     private var noClipEnabled = false
 
+    override val interestedPackets: Set<Class<out BedrockPacket>> = emptySet()
+
+    override val alwaysInterestedPackets = setOf(
+        PlayerAuthInputPacket::class.java,
+        RequestAbilityPacket::class.java,
+        UpdateAbilitiesPacket::class.java
+    )
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         val packet = interceptablePacket.packet
         if (packet is RequestAbilityPacket && packet.ability == Ability.NO_CLIP) {
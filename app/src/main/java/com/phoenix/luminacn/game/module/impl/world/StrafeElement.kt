@@ -40,6 +40,8 @@ class StrafeElement(iconResId: Int = AssetManager.getAsset("ic_run_fast_black_24
         lastTarget = null
     }
 
+    override val interestedPackets = setOf(PlayerAuthInputPacket::class.java)
+
     override fun beforePacketBound(interceptablePacket: InterceptablePacket) {
         if (!isEnabled || interceptablePacket.packet !is PlayerAuthInputPacket) return
 
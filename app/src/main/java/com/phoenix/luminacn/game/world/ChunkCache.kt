@@ -0,0 +1,122 @@
+package com.phoenix.luminacn.game.world
+
+import com.phoenix.luminacn.game.world.chunk.Chunk
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Chunk store bounded by an estimated memory budget.
+ *
+ * Lookups are lock free; only their access time is recorded. Once the budget is exceeded, [trim] evicts the chunks
+ * farthest from the given center first and the least recently used among equally distant ones, until usage falls
+ * back below [TRIM_RATIO] of the budget. Every chunk leaving the cache is passed to [onUnload].
+ */
+class ChunkCache(memoryBudget: Long, private val onUnload: (Chunk) -> Unit) {
+
+    private class Entry(val chunk: Chunk, var memory: Long) {
+        @Volatile
+        var lastAccess = 0L
+    }
+
+    private val chunks = ConcurrentHashMap<Long, Entry>()
+
+    // Not atomic on purpose: an increment lost between readers only blurs the LRU order
+    @Volatile
+    private var accessClock = 0L
+
+    var memoryBudget = memoryBudget
+        set(value) {
+            require(value > 0) { "Chunk memory budget must be positive" }
+            field = value
+        }
+
+    var memoryUsage = 0L
+        private set
+
+    val size: Int
+        get() = chunks.size
+
+    operator fun get(x: Int, z: Int): Chunk? {
+        val entry = chunks[Chunk.hash(x, z)] ?: return null
+        entry.lastAccess = ++accessClock
+        return entry.chunk
+    }
+
+    /**
+     * Stores a chunk, replacing the one at the same position without unloading it.
+     */
+    @Synchronized
+    fun put(chunk: Chunk) {
+        val entry = Entry(chunk, chunk.estimateMemory())
+        entry.lastAccess = ++accessClock
+        chunks.put(chunk.hash, entry)?.let { memoryUsage -= it.memory }
+        memoryUsage += entry.memory
+    }
+
+    /**
+     * Re-estimates the footprint of a chunk after its sections were replaced.
+     */
+    @Synchronized
+    fun update(chunk: Chunk) {
+        val entry = chunks[chunk.hash]?.takeIf { it.chunk === chunk } ?: return
+        val memory = chunk.estimateMemory()
+        memoryUsage += memory - entry.memory
+        entry.memory = memory
+    }
+
+    @Synchronized
+    fun removeIf(predicate: (Chunk) -> Boolean) {
+        val iterator = chunks.values.iterator()
+        while (iterator.hasNext()) {
+            val entry = iterator.next()
+            if (predicate(entry.chunk)) {
+                iterator.remove()
+                unload(entry)
+            }
+        }
+    }
+
+    @Synchronized
+    fun clear() {
+        removeIf { true }
+    }
+
+    /**
+     * Evicts chunks while the cache is over budget.
+     *
+     * @param centerX chunk x coordinate the player is in
+     * @param centerZ chunk z coordinate the player is in
+     */
+    @Synchronized
+    fun trim(centerX: Int, centerZ: Int) {
+        if (memoryUsage <= memoryBudget) return
+
+        val target = (memoryBudget * TRIM_RATIO).toLong()
+        val candidates = chunks.values.sortedWith(
+            compareByDescending<Entry> { distanceSquared(it.chunk, centerX, centerZ) }
+                .thenBy { it.lastAccess }
+        )
+        for (entry in candidates) {
+            if (memoryUsage <= target) break
+            if (chunks.remove(entry.chunk.hash, entry)) {
+                unload(entry)
+            }
+        }
+    }
+
+    private fun unload(entry: Entry) {
+        memoryUsage -= entry.memory
+        onUnload(entry.chunk)
+    }
+
+    companion object {
+        const val DEFAULT_MEMORY_BUDGET = 48L * 1024 * 1024
+
+        private const val TRIM_RATIO = 0.75
+
+        private fun distanceSquared(chunk: Chunk, x: Int, z: Int): Long {
+            val dx = (chunk.x - x).toLong()
+            val dz = (chunk.z - z).toLong()
+            return dx * dx + dz * dz
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.phoenix.luminacn.game.world
+
+import io.netty.buffer.ByteBuf
+import java.io.File
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Worker pool parsing chunk data away from the network threads.
+ *
+ * The pool is sized to the performance cores of the device. When its queue is full the submitting thread decodes
+ * the data itself, which throttles the connection instead of buffering without bound.
+ */
+object ChunkDecoder {
+
+    private const val QUEUE_CAPACITY = 1024
+
+    val parallelism = performanceCoreCount()
+
+    private val threadFactory = object : ThreadFactory {
+        private val counter = AtomicInteger()
+
+        override fun newThread(runnable: Runnable): Thread {
+            return Thread(runnable, "chunk-decoder-${counter.incrementAndGet()}").apply { isDaemon = true }
+        }
+    }
+
+    private val executor = ThreadPoolExecutor(
+        parallelism, parallelism, 30, TimeUnit.SECONDS,
+        ArrayBlockingQueue(QUEUE_CAPACITY), threadFactory, ThreadPoolExecutor.CallerRunsPolicy()
+    ).apply { allowCoreThreadTimeOut(true) }
+
+    /**
+     * Decodes [buffer] on the pool. The buffer is released once [block] returns, so callers pass a retained slice.
+     */
+    fun <T> decode(buffer: ByteBuf, block: (ByteBuf) -> T): CompletableFuture<T> {
+        return CompletableFuture.supplyAsync({
+            try {
+                block(buffer)
+            } finally {
+                buffer.release()
+            }
+        }, executor)
+    }
+
+    /**
+     * Counts the cores clocked above the slowest cluster, leaving at least one core to the network threads.
+     */
+    private fun performanceCoreCount(): Int {
+        val cpus = Runtime.getRuntime().availableProcessors()
+        val limit = (cpus - 1).coerceAtLeast(1)
+
+        val frequencies = (0 until cpus).map { cpu ->
+            runCatching {
+                File("/sys/devices/system/cpu/cpu$cpu/cpufreq/cpuinfo_max_freq").readText().trim().toLong()
+            }.getOrNull() ?: return (cpus / 2).coerceIn(1, limit)
+        }
+
+        val slowest = frequencies.min()
+        val fast = frequencies.count { it > slowest }
+        return (if (fast == 0) cpus / 2 else fast).coerceIn(1, limit)
+    }
+}
@@ -10,14 +10,26 @@ import com.phoenix.luminacn.game.event.EventEntityDespawn
 import com.phoenix.luminacn.game.event.EventEntitySpawn
 import com.phoenix.luminacn.game.event.GameEvent
 import com.phoenix.luminacn.game.event.Listenable
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap
+import org.cloudburstmc.protocol.bedrock.data.entity.EntityLinkData
 import org.cloudburstmc.protocol.bedrock.packet.AddEntityPacket
 import org.cloudburstmc.protocol.bedrock.packet.AddItemEntityPacket
 import org.cloudburstmc.protocol.bedrock.packet.AddPlayerPacket
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket
+import org.cloudburstmc.protocol.bedrock.packet.MobArmorEquipmentPacket
+import org.cloudburstmc.protocol.bedrock.packet.MobEffectPacket
+import org.cloudburstmc.protocol.bedrock.packet.MobEquipmentPacket
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityAbsolutePacket
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket
+import org.cloudburstmc.protocol.bedrock.packet.MovePlayerPacket
 import org.cloudburstmc.protocol.bedrock.packet.PlayerListPacket
 import org.cloudburstmc.protocol.bedrock.packet.RemoveEntityPacket
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityDataPacket
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityLinkPacket
 import org.cloudburstmc.protocol.bedrock.packet.StartGamePacket
 import org.cloudburstmc.protocol.bedrock.packet.TakeItemEntityPacket
+import org.cloudburstmc.protocol.bedrock.packet.UpdateAttributesPacket
 import java.util.UUID
 import java.util.concurrent.ConcurrentHashMap
 
@@ -30,6 +42,13 @@ class Level(val session: NetBound) : Listenable {
     val entityMap = ConcurrentHashMap<Long, Entity>()
     val playerMap = ConcurrentHashMap<UUID, PlayerListPacket.Entry>()
 
+    /**
+     * Primitive indexes used to route entity packets, guarded by their own monitor.
+     * [entityMap] stays the view modules iterate from other threads.
+     */
+    private val entitiesByRuntimeId: Long2ObjectMap<Entity> = Long2ObjectOpenHashMap()
+    private val entitiesByUniqueId: Long2ObjectMap<Entity> = Long2ObjectOpenHashMap()
+
     private fun safeEmit(event: GameEvent) {
         if (eventManager != null) {
             if (pendingEvents.isNotEmpty()) {
@@ -43,17 +62,53 @@ class Level(val session: NetBound) : Listenable {
     }
 
     fun initFromStartGame(packet: StartGamePacket) {
-        entityMap.clear()
+        clearEntities()
         playerMap.clear()
         Log.i("Level", "🌟 Initialized Level from StartGamePacket")
     }
 
 
     fun onDisconnect() {
-        entityMap.clear()
+        clearEntities()
         playerMap.clear()
     }
 
+    fun getEntityByRuntimeId(runtimeEntityId: Long): Entity? {
+        return synchronized(entitiesByRuntimeId) { entitiesByRuntimeId.get(runtimeEntityId) }
+    }
+
+    fun getEntityByUniqueId(uniqueEntityId: Long): Entity? {
+        return synchronized(entitiesByRuntimeId) { entitiesByUniqueId.get(uniqueEntityId) }
+    }
+
+    private fun addEntity(entity: Entity) {
+        synchronized(entitiesByRuntimeId) {
+            entitiesByRuntimeId.put(entity.runtimeEntityId, entity)?.let {
+                entitiesByUniqueId.remove(it.uniqueEntityId, it)
+            }
+            entitiesByUniqueId.put(entity.uniqueEntityId, entity)
+        }
+        entityMap[entity.runtimeEntityId] = entity
+    }
+
+    private fun removeEntity(runtimeEntityId: Long): Entity? {
+        val entity = synchronized(entitiesByRuntimeId) {
+            entitiesByRuntimeId.remove(runtimeEntityId)?.also {
+                entitiesByUniqueId.remove(it.uniqueEntityId, it)
+            }
+        }
+        entityMap.remove(runtimeEntityId)
+        return entity
+    }
+
+    private fun clearEntities() {
+        synchronized(entitiesByRuntimeId) {
+            entitiesByRuntimeId.clear()
+            entitiesByUniqueId.clear()
+        }
+        entityMap.clear()
+    }
+
     fun onPacketBound(packet: BedrockPacket) {
         when (packet) {
             is AddEntityPacket -> {
@@ -67,7 +122,7 @@ class Level(val session: NetBound) : Listenable {
                     handleSetData(packet.metadata)
                     handleSetAttribute(packet.attributes)
                 }
-                entityMap[packet.runtimeEntityId] = entity
+                addEntity(entity)
                 safeEmit(EventEntitySpawn(session, entity))
             }
 
@@ -76,7 +131,7 @@ class Level(val session: NetBound) : Listenable {
                     move(packet.position)
                     handleSetData(packet.metadata)
                 }
-                entityMap[packet.runtimeEntityId] = entity
+                addEntity(entity)
                 safeEmit(EventEntitySpawn(session, entity))
             }
 
@@ -91,19 +146,18 @@ class Level(val session: NetBound) : Listenable {
                     rotate(packet.rotation)
                     handleSetData(packet.metadata)
                 }
-                entityMap[packet.runtimeEntityId] = entity
+                addEntity(entity)
                 safeEmit(EventEntitySpawn(session, entity))
             }
 
             is RemoveEntityPacket -> {
-                val entityToRemove =
-                    entityMap.values.find { it.uniqueEntityId == packet.uniqueEntityId } ?: return
-                entityMap.remove(entityToRemove.runtimeEntityId)
+                val entityToRemove = getEntityByUniqueId(packet.uniqueEntityId) ?: return
+                removeEntity(entityToRemove.runtimeEntityId)
                 safeEmit(EventEntityDespawn(session, entityToRemove))
             }
 
             is TakeItemEntityPacket -> {
-                entityMap.remove(packet.itemRuntimeEntityId)
+                removeEntity(packet.itemRuntimeEntityId)
             }
 
             is PlayerListPacket -> {
@@ -117,14 +171,23 @@ class Level(val session: NetBound) : Listenable {
                 }
             }
             is StartGamePacket -> {
-                entityMap.clear()
+                clearEntities()
                 playerMap.clear()
             }
 
-            else -> {
-                entityMap.values.forEach { entity ->
-                    entity.onPacketBound(packet)
-                }
+            is MoveEntityAbsolutePacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.onPacketBound(packet)
+            is MoveEntityDeltaPacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.onPacketBound(packet)
+            is MovePlayerPacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.onPacketBound(packet)
+            is SetEntityDataPacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.onPacketBound(packet)
+            is UpdateAttributesPacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.onPacketBound(packet)
+            is MobEffectPacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.onPacketBound(packet)
+            is MobEquipmentPacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.inventory?.onPacketBound(packet)
+            is MobArmorEquipmentPacket -> getEntityByRuntimeId(packet.runtimeEntityId)?.inventory?.onPacketBound(packet)
+
+            is SetEntityLinkPacket -> {
+                val link = packet.entityLink
+                val entity = if (link.type == EntityLinkData.Type.PASSENGER) link.to else link.from
+                getEntityByUniqueId(entity)?.onPacketBound(packet)
             }
         }
     }
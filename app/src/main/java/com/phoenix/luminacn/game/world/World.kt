@@ -3,22 +3,52 @@ package com.phoenix.luminacn.game.world
 import android.util.Log
 import com.phoenix.luminacn.constructors.NetBound
 import com.phoenix.luminacn.game.event.EventChunkLoad
+import com.phoenix.luminacn.game.event.EventChunkUnload
 import com.phoenix.luminacn.game.event.GameEvent
 import com.phoenix.luminacn.game.event.Listenable
 import com.phoenix.luminacn.game.world.chunk.Chunk
+import com.phoenix.luminacn.game.world.chunk.ChunkSection
 import org.cloudburstmc.math.vector.Vector3i
 import org.cloudburstmc.protocol.bedrock.data.SubChunkRequestResult
 import org.cloudburstmc.protocol.bedrock.packet.*
-import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
 import kotlin.math.floor
 
 class World(val session: NetBound) : Listenable {
 
     override val eventManager = session.eventManager
     private val pendingEvents = mutableListOf<GameEvent>()
-    private val chunks = ConcurrentHashMap<Long, Chunk>()
+    private val chunks = ChunkCache(ChunkCache.DEFAULT_MEMORY_BUDGET) { safeEmit(EventChunkUnload(session, it)) }
     private var viewDistance = -1
 
+    /**
+     * Guards the pending columns, which decoder threads complete while the network thread queues new steps.
+     */
+    private val chunkLock = Any()
+
+    /**
+     * Last queued step per chunk column. Steps of a column are applied in packet order, columns progress independently.
+     */
+    private val pendingColumns = HashMap<Long, CompletableFuture<Unit>>()
+
+    /**
+     * Bumped whenever the loaded chunks are discarded, so decodes still in flight are dropped.
+     */
+    private var chunkEpoch = 0
+
+    /**
+     * Estimated bytes the loaded chunks may occupy before the farthest ones are dropped.
+     */
+    var chunkMemoryBudget: Long
+        get() = chunks.memoryBudget
+        set(value) {
+            chunks.memoryBudget = value
+        }
+
+    val chunkMemoryUsage: Long
+        get() = chunks.memoryUsage
+
     private fun safeEmit(event: GameEvent) {
         if (eventManager != null) {
             if (pendingEvents.isNotEmpty()) {
@@ -32,67 +62,132 @@ class World(val session: NetBound) : Listenable {
     }
 
     fun initFromStartGame(packet: StartGamePacket) {
-        chunks.clear()
+        clearChunks()
         viewDistance = packet.serverChunkTickRange
         Log.i("World", "🌍 Initialized World from StartGamePacket with viewDistance $viewDistance")
     }
 
     fun onPacket(packet: BedrockPacket) {
         when (packet) {
-            is LevelChunkPacket -> {
-                val chunk = Chunk(packet.chunkX, packet.chunkZ, packet.dimension, session)
-                chunk.read(packet.data, packet.subChunksLength)
-                chunks[chunk.hash] = chunk
-
-                safeEmit(EventChunkLoad(session, chunk))
-            }
+            is LevelChunkPacket -> handleLevelChunk(packet)
             is ChunkRadiusUpdatedPacket -> {
                 viewDistance = packet.radius
                 cleanupChunks()
             }
             is SubChunkPacket -> handleSubChunk(packet)
-            is ChangeDimensionPacket -> chunks.clear()
+            is ChangeDimensionPacket -> clearChunks()
             is UpdateBlockPacket -> {
                 if (packet.dataLayer == 0) {
-                    setBlockId(packet.blockPosition.x, packet.blockPosition.y, packet.blockPosition.z, packet.definition.runtimeId)
+                    val pos = packet.blockPosition
+                    val runtimeId = packet.definition.runtimeId
+                    // Applied after any pending decode of the column so the update is not overwritten
+                    enqueue(Chunk.hash(pos.x shr 4, pos.z shr 4), CompletableFuture.completedFuture(Unit)) {
+                        setBlockId(pos.x, pos.y, pos.z, runtimeId)
+                    }
                 }
             }
         }
     }
 
-
     private fun handleLevelChunk(packet: LevelChunkPacket) {
-        val chunk = Chunk(
-            packet.chunkX,
-            packet.chunkZ,
-            packet.dimension,
-            session
-        )
-        chunk.read(packet.data, packet.subChunksLength)
-        chunks[chunk.hash] = chunk
-
-        eventManager.emit(EventChunkLoad(session, chunk))
+        val x = packet.chunkX
+        val z = packet.chunkZ
+        val dimension = packet.dimension
+        val subChunkCount = packet.subChunksLength
+
+        val decoded = ChunkDecoder.decode(packet.data.retainedSlice()) { data ->
+            Chunk(x, z, dimension, session).apply { read(data, subChunkCount) }
+        }
+        enqueue(Chunk.hash(x, z), decoded) { chunk ->
+            chunks.put(chunk)
+            safeEmit(EventChunkLoad(session, chunk))
+            trimChunks()
+        }
     }
 
     private fun handleSubChunk(packet: SubChunkPacket) {
         val center = packet.centerPosition
         for (subChunk in packet.subChunks) {
             if (subChunk.result != SubChunkRequestResult.SUCCESS) continue
-            val pos = subChunk.position.add(center).add(0, 4, 0)
-            getChunk(pos.x, pos.z)?.readSubChunk(pos.y, subChunk.data)
+            val pos = subChunk.position.add(center)
+
+            val decoded = ChunkDecoder.decode(subChunk.data.retainedSlice()) { data ->
+                ChunkSection().apply { read(data) }
+            }
+            enqueue(Chunk.hash(pos.x, pos.z), decoded) { section ->
+                val chunk = getChunk(pos.x, pos.z) ?: return@enqueue
+                chunk.setSection(pos.y, section)
+                chunks.update(chunk)
+                trimChunks()
+            }
         }
     }
 
+    /**
+     * Event loop of the connection the world packets arrive on. Decoded chunks are published there, so the cache
+     * and the chunk events are only touched by the thread that handles the packets, as before decoding moved off it.
+     */
+    private val publishExecutor: Executor
+        get() = session.luminaRelaySession.client?.peer?.channel?.eventLoop() ?: Executor { it.run() }
+
+    /**
+     * Publishes [decoded] on [publishExecutor] once every earlier step of the same column has been published.
+     */
+    private fun <T> enqueue(column: Long, decoded: CompletableFuture<T>, publish: (T) -> Unit) {
+        synchronized(chunkLock) {
+            val epoch = chunkEpoch
+            val ready = pendingColumns[column]?.let { previous -> decoded.thenCombine(previous) { value, _ -> value } }
+                ?: decoded
+
+            // Never completes exceptionally, a failed chunk must not stall the rest of its column
+            val step = ready.handleAsync({ value, error ->
+                synchronized(chunkLock) {
+                    if (error != null) {
+                        Log.e("World", "Failed to decode chunk data", error)
+                    } else if (epoch == chunkEpoch) {
+                        try {
+                            publish(value)
+                        } catch (e: Exception) {
+                            Log.e("World", "Failed to publish chunk data", e)
+                        }
+                    }
+                }
+            }, publishExecutor)
+            pendingColumns[column] = step
+            step.whenComplete { _, _ ->
+                synchronized(chunkLock) {
+                    pendingColumns.remove(column, step)
+                }
+            }
+        }
+    }
+
+    private fun clearChunks() {
+        synchronized(chunkLock) {
+            chunkEpoch++
+            pendingColumns.clear()
+            chunks.clear()
+        }
+    }
+
+    private fun trimChunks() {
+        val px = floor(session.localPlayer.posX).toInt() shr 4
+        val pz = floor(session.localPlayer.posZ).toInt() shr 4
+        chunks.trim(px, pz)
+    }
+
     private fun cleanupChunks() {
         if (viewDistance < 0) return
         val px = floor(session.localPlayer.posX).toInt() shr 4
         val pz = floor(session.localPlayer.posZ).toInt() shr 4
         val limit = viewDistance + 1
 
-        chunks.entries.removeIf { (_, chunk) ->
-            val dx = chunk.x - px
-            val dz = chunk.z - pz
-            dx * dx + dz * dz > limit * limit
+        synchronized(chunkLock) {
+            chunks.removeIf { chunk ->
+                val dx = chunk.x - px
+                val dz = chunk.z - pz
+                dx * dx + dz * dz > limit * limit
+            }
         }
     }
 
@@ -101,7 +196,12 @@ class World(val session: NetBound) : Listenable {
     }
 
     fun setBlockId(x: Int, y: Int, z: Int, id: Int) {
-        getChunkAt(x, z)?.setBlock(x and 15, y, z and 15, id)
+        val chunk = getChunkAt(x, z) ?: return
+        if (chunk.setBlock(x and 15, y, z and 15, id)) {
+            // A new palette entry may have widened the bit array
+            chunks.update(chunk)
+            trimChunks()
+        }
     }
 
     private fun getChunkAt(x: Int, z: Int): Chunk? {
@@ -109,7 +209,7 @@ class World(val session: NetBound) : Listenable {
     }
 
     private fun getChunk(x: Int, z: Int): Chunk? {
-        return chunks[Chunk.hash(x, z)]
+        return chunks[x, z]
     }
 
     fun getBlockIdAt(vec: Vector3i): Int = getBlockId(vec.x, vec.y, vec.z)
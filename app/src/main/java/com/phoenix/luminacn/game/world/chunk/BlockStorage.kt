@@ -2,54 +2,179 @@ package com.phoenix.luminacn.game.world.chunk
 
 import com.phoenix.luminacn.game.world.chunk.palette.BitArray
 import com.phoenix.luminacn.game.world.chunk.palette.BitArrayVersion
-import com.phoenix.luminacn.game.world.chunk.palette.Pow2BitArray
 import io.netty.buffer.ByteBuf
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap
 import org.cloudburstmc.protocol.common.util.VarInts
 
+/**
+ * Paletted block layer of a sub chunk.
+ *
+ * A layer holding a single block keeps no bit array at all. Otherwise the bit array is widened when the palette
+ * outgrows it, after dropping palette entries that are no longer referenced.
+ */
 class BlockStorage {
-    var bitArray: BitArray
-    val palette = mutableListOf<Int>()
 
-    constructor(version: BitArrayVersion, airId: Int) {
-        bitArray = version.createPalette(MAX_BLOCKS)
-        palette.add(airId)
+    /**
+     * Null while every block of the layer is [getPaletteEntry] 0.
+     */
+    var bitArray: BitArray?
+        private set
+
+    private var palette: IntArray
+    var paletteSize: Int
+        private set
+
+    /**
+     * Reverse palette lookup, only built once a linear scan gets more expensive than hashing.
+     */
+    private var paletteIndex: Int2IntOpenHashMap? = null
+
+    constructor(blockId: Int) {
+        bitArray = null
+        palette = intArrayOf(blockId)
+        paletteSize = 1
     }
 
     constructor(buf: ByteBuf, network: Boolean) {
-        val paletteHeader = buf.readByte().toInt()
-        val paletteBits = paletteHeader shr 1
-        val bitArrayVersion = BitArrayVersion.get(paletteBits, true)
-        bitArray = bitArrayVersion.createPalette(MAX_BLOCKS)
-
-        for (i in bitArray.getWords().indices) {
-            bitArray.getWords()[i] = buf.readIntLE()
-        }
+        val paletteBits = buf.readUnsignedByte().toInt() shr 1
 
         fun readInt(): Int {
             return if (network) VarInts.readInt(buf) else buf.readIntLE()
         }
 
-        val paletteSize = readInt()
-        repeat(paletteSize) {
-            palette.add(readInt())
+        if (paletteBits == 0) {
+            bitArray = null
+            // The network format leaves out the palette size of single block layers
+            val size = if (network) 1 else readInt()
+            palette = IntArray(size) { readInt() }
+            paletteSize = 1
+            return
+        }
+
+        val bitArrayVersion = BitArrayVersion.get(paletteBits, true)
+        val words = IntArray(bitArrayVersion.getWordsForSize(MAX_BLOCKS))
+        for (i in words.indices) {
+            words[i] = buf.readIntLE()
+        }
+        bitArray = bitArrayVersion.createPalette(MAX_BLOCKS, words)
+
+        paletteSize = readInt()
+        palette = IntArray(paletteSize) { readInt() }
+        if (paletteSize > LINEAR_SCAN_LIMIT) {
+            rebuildPaletteIndex()
         }
     }
 
+    /**
+     * Rough heap footprint of this layer in bytes.
+     */
+    fun estimateMemory(): Int {
+        val words = bitArray?.getWords()?.size ?: 0
+        val index = paletteIndex?.let { it.size * 16 } ?: 0
+        return OBJECT_OVERHEAD + words * 4 + palette.size * 4 + index
+    }
+
+    fun getPaletteEntry(index: Int): Int {
+        if (index >= paletteSize) throw IndexOutOfBoundsException("Palette index $index out of $paletteSize")
+        return palette[index]
+    }
+
     fun getBlock(x: Int, y: Int, z: Int): Int {
-        val index = (x shl 8) or (z shl 4) or y
-        return palette[bitArray.get(index)]
+        val bitArray = bitArray ?: return palette[0]
+        return palette[bitArray.get((x shl 8) or (z shl 4) or y)]
     }
 
-    fun setBlock(x: Int, y: Int, z: Int, id: Int) {
-        val index = (x shl 8) or (z shl 4) or y
-        val paletteIndex = palette.indexOf(id).takeIf { it != -1 } ?: run {
-            palette.add(id)
-            palette.lastIndex
+    /**
+     * @return whether the palette or the bit array changed, which may change [estimateMemory]
+     */
+    fun setBlock(x: Int, y: Int, z: Int, id: Int): Boolean {
+        var paletteIndex = indexOf(id)
+        val grown = paletteIndex == -1
+        if (grown) {
+            paletteIndex = addToPalette(id)
+        } else if (bitArray == null) {
+            return false
         }
-        bitArray.set(index, paletteIndex)
+        bitArray!!.set((x shl 8) or (z shl 4) or y, paletteIndex)
+        return grown
+    }
+
+    private fun indexOf(id: Int): Int {
+        paletteIndex?.let { return it.get(id) }
+        for (i in 0 until paletteSize) {
+            if (palette[i] == id) return i
+        }
+        return -1
+    }
+
+    private fun addToPalette(id: Int): Int {
+        val bitArray = bitArray
+        if (bitArray == null) {
+            // Every block already refers to entry 0, so a zeroed array keeps the layer as it was
+            this.bitArray = BitArrayVersion.V1.createPalette(MAX_BLOCKS)
+        } else if (paletteSize > bitArray.getVersion().maxEntryValue) {
+            repack(1)
+        }
+
+        if (paletteSize == palette.size) {
+            palette = palette.copyOf(paletteSize * 2)
+        }
+        palette[paletteSize] = id
+        paletteIndex?.put(id, paletteSize)
+        paletteSize++
+
+        if (paletteIndex == null && paletteSize > LINEAR_SCAN_LIMIT) {
+            rebuildPaletteIndex()
+        }
+        return paletteSize - 1
+    }
+
+    /**
+     * Drops unused palette entries and moves to the narrowest bit array that fits the remaining entries
+     * plus [extraEntries].
+     */
+    private fun repack(extraEntries: Int) {
+        val oldArray = bitArray ?: return
+
+        val used = BooleanArray(paletteSize)
+        for (i in 0 until MAX_BLOCKS) {
+            used[oldArray.get(i)] = true
+        }
+
+        val remap = IntArray(paletteSize)
+        var size = 0
+        for (i in 0 until paletteSize) {
+            if (used[i]) {
+                remap[i] = size
+                palette[size++] = palette[i]
+            }
+        }
+
+        val newArray = BitArrayVersion.forEntries(size + extraEntries).createPalette(MAX_BLOCKS)
+        for (i in 0 until MAX_BLOCKS) {
+            newArray.set(i, remap[oldArray.get(i)])
+        }
+
+        bitArray = newArray
+        paletteSize = size
+        if (paletteIndex != null) {
+            rebuildPaletteIndex()
+        }
+    }
+
+    private fun rebuildPaletteIndex() {
+        val index = Int2IntOpenHashMap(paletteSize * 2)
+        index.defaultReturnValue(-1)
+        for (i in 0 until paletteSize) {
+            index.putIfAbsent(palette[i], i)
+        }
+        paletteIndex = index
     }
 
     companion object {
         const val MAX_BLOCKS = 4096
+
+        private const val LINEAR_SCAN_LIMIT = 16
+        private const val OBJECT_OVERHEAD = 64
     }
 }
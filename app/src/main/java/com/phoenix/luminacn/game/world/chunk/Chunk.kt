@@ -9,8 +9,13 @@ class Chunk(
     val dimension: Int,
     private val session: NetBound
 ) {
-    val sectionStorage = Array(16) { ChunkSection() }
-    val maximumHeight = 16 * sectionStorage.size
+    /**
+     * Section Y of [sectionStorage] index 0.
+     */
+    val minimumSection = if (dimension == DIMENSION_OVERWORLD) -4 else 0
+    val sectionStorage = Array(sectionCount(dimension)) { ChunkSection() }
+    val minimumHeight = minimumSection shl 4
+    val maximumHeight = minimumHeight + 16 * sectionStorage.size
 
     val is384World: Boolean
         get() = sectionStorage.size > 16
@@ -21,26 +26,53 @@ class Chunk(
         }
     }
 
-    fun readSubChunk(index: Int, buffer: ByteBuf) {
+    /**
+     * Replaces the section at the absolute section Y with one decoded elsewhere.
+     */
+    fun setSection(sectionY: Int, section: ChunkSection) {
+        val index = sectionY - minimumSection
         if (index in sectionStorage.indices) {
-            sectionStorage[index].read(buffer)
+            sectionStorage[index] = section
         }
     }
 
+    /**
+     * Rough heap footprint of this chunk in bytes.
+     */
+    fun estimateMemory(): Long {
+        var bytes = 64L + sectionStorage.size * 8L
+        for (section in sectionStorage) {
+            bytes += section.estimateMemory()
+        }
+        return bytes
+    }
+
     fun getBlock(x: Int, y: Int, z: Int): Int {
-        if (y !in 0 until maximumHeight) return 0
-        return sectionStorage[y shr 4].getBlock(x, y and 15, z)
+        if (y < minimumHeight || y >= maximumHeight) return 0
+        return sectionStorage[(y shr 4) - minimumSection].getBlock(x, y and 15, z)
     }
 
-    fun setBlock(x: Int, y: Int, z: Int, id: Int) {
-        if (y !in 0 until maximumHeight) return
-        sectionStorage[y shr 4].setBlock(x, y and 15, z, id)
+    /**
+     * @return whether the footprint of the chunk may have changed, see [estimateMemory]
+     */
+    fun setBlock(x: Int, y: Int, z: Int, id: Int): Boolean {
+        if (y < minimumHeight || y >= maximumHeight) return false
+        return sectionStorage[(y shr 4) - minimumSection].setBlock(x, y and 15, z, id)
     }
 
     val hash: Long
         get() = hash(x, z)
 
     companion object {
+        const val DIMENSION_OVERWORLD = 0
+        const val DIMENSION_NETHER = 1
+
+        fun sectionCount(dimension: Int): Int = when (dimension) {
+            DIMENSION_OVERWORLD -> 24
+            DIMENSION_NETHER -> 8
+            else -> 16
+        }
+
         fun hash(x: Int, z: Int): Long {
             return (x.toLong() shl 32) or (z.toLong() and 0xFFFFFFFFL)
         }
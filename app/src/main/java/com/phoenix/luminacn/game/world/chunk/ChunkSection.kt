@@ -2,12 +2,13 @@ package com.phoenix.luminacn.game.world.chunk
 
 import io.netty.buffer.ByteBuf
 import com.phoenix.luminacn.game.world.chunk.palette.BitArrayVersion
-import com.phoenix.luminacn.game.world.chunk.palette.Pow2BitArray
 import org.cloudburstmc.protocol.common.util.VarInts
 
 class ChunkSection {
 
-    var storage = BlockStorage(BitArrayVersion.V2, 0)
+    // Volatile so a section swapped in by a decoder thread is fully visible to readers
+    @Volatile
+    var storage = BlockStorage(0)
 
     fun read(buf: ByteBuf) {
         val version = buf.readByte().toInt()
@@ -36,7 +37,7 @@ class ChunkSection {
     }
 
     private fun writeStorageLayer(buffer: ByteBuf, storage: BlockStorage) {
-        val bitArray = storage.bitArray
+        val bitArray = storage.bitArray ?: BitArrayVersion.V1.createPalette(BlockStorage.MAX_BLOCKS)
         val words = bitArray.getWords()
 
         
@@ -48,9 +49,9 @@ class ChunkSection {
         }
 
         
-        VarInts.writeInt(buffer, storage.palette.size)
-        for (runtimeId in storage.palette) {
-            VarInts.writeInt(buffer, runtimeId)
+        VarInts.writeInt(buffer, storage.paletteSize)
+        for (i in 0 until storage.paletteSize) {
+            VarInts.writeInt(buffer, storage.getPaletteEntry(i))
         }
     }
 
@@ -59,7 +60,9 @@ class ChunkSection {
         return storage.getBlock(x, y, z)
     }
 
-    fun setBlock(x: Int, y: Int, z: Int, id: Int) {
-        storage.setBlock(x, y, z, id)
+    fun estimateMemory(): Int = 16 + storage.estimateMemory()
+
+    fun setBlock(x: Int, y: Int, z: Int, id: Int): Boolean {
+        return storage.setBlock(x, y, z, id)
     }
 }
@@ -31,6 +31,17 @@ enum class BitArrayVersion(val bits: Int, val entriesPerWord: Int, val next: Bit
     }
 
     companion object {
+        /**
+         * Returns the narrowest version able to index the given number of palette entries.
+         */
+        fun forEntries(entries: Int): BitArrayVersion {
+            var version = V1
+            while (version.maxEntryValue < entries - 1) {
+                version = version.next ?: throw IllegalArgumentException("Too many palette entries: $entries")
+            }
+            return version
+        }
+
         fun get(bits: Int, read: Boolean): BitArrayVersion {
             return values().firstOrNull {
                 (!read && it.entriesPerWord <= bits) || (read && it.bits == bits)